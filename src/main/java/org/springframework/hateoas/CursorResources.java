@@ -0,0 +1,323 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO to implement binding response representations of a collection navigated by keyset cursors. The cursors are
+ * opaque to clients, e.g. an encoded form of the sort key of the last element of the current slice, and only handed out
+ * as part of the links to the next and previous slice. Thus neither the total number of elements has to be calculated
+ * nor do deep slices require skipping over all elements in front of them. As cursors end up in URIs they should only
+ * consist of URL safe characters, e.g. by using the URL safe Base64 alphabet.
+ * 
+ * @author agent
+ * @since 0.18
+ * @see SlicedResources
+ */
+@XmlRootElement(name = "cursorEntities")
+public class CursorResources<T> extends Resources<T> {
+
+	/**
+	 * The name of the template variable to take the cursor.
+	 */
+	public static final String CURSOR_VARIABLE = "cursor";
+
+	/**
+	 * The name of the template variable to take the size of the slice.
+	 */
+	public static final String SIZE_VARIABLE = "size";
+
+	private CursorMetadata metadata;
+
+	/**
+	 * Default constructor to allow instantiation by reflection.
+	 */
+	protected CursorResources() {
+		this(new ArrayList<T>(), null);
+	}
+
+	/**
+	 * Creates a new {@link CursorResources} from the given content, {@link CursorMetadata} and {@link Link}s (optional).
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param metadata
+	 * @param links
+	 */
+	public CursorResources(Collection<T> content, CursorMetadata metadata, Link... links) {
+		this(content, metadata, Arrays.asList(links));
+	}
+
+	/**
+	 * Creates a new {@link CursorResources} from the given content, {@link CursorMetadata} and {@link Link}s.
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param metadata
+	 * @param links
+	 */
+	public CursorResources(Collection<T> content, CursorMetadata metadata, Iterable<Link> links) {
+		super(content, links);
+		this.metadata = metadata;
+	}
+
+	/**
+	 * Returns the cursor metadata.
+	 * 
+	 * @return the metadata
+	 */
+	@JsonProperty("slice")
+	public CursorMetadata getMetadata() {
+		return metadata;
+	}
+
+	/**
+	 * Adds links to the previous and next slice (if available) by expanding the given template with the
+	 * {@value #CURSOR_VARIABLE} and {@value #SIZE_VARIABLE} variables, e.g.
+	 * {@code http://localhost/orders{?cursor,size}}.
+	 * 
+	 * @param template must not be {@literal null}.
+	 */
+	public void addPaginationLinks(Link template) {
+
+		Assert.notNull(template, "Link template must not be null!");
+		Assert.state(metadata != null, "Pagination links can only be added if cursor metadata is available!");
+
+		if (metadata.previousCursor != null) {
+			add(expand(template, metadata.previousCursor).withRel(Link.REL_PREVIOUS));
+		}
+
+		if (metadata.nextCursor != null) {
+			add(expand(template, metadata.nextCursor).withRel(Link.REL_NEXT));
+		}
+	}
+
+	private Link expand(Link template, String cursor) {
+
+		Map<String, Object> values = new HashMap<String, Object>();
+		values.put(CURSOR_VARIABLE, cursor);
+		values.put(SIZE_VARIABLE, metadata.size);
+
+		return template.expand(values);
+	}
+
+	/**
+	 * Returns the Link pointing to the next slice (if set).
+	 * 
+	 * @see #addPaginationLinks(Link)
+	 * @return
+	 */
+	@JsonIgnore
+	public Link getNextLink() {
+		return getLink(Link.REL_NEXT);
+	}
+
+	/**
+	 * Returns the Link pointing to the previous slice (if set).
+	 * 
+	 * @see #addPaginationLinks(Link)
+	 * @return
+	 */
+	@JsonIgnore
+	public Link getPreviousLink() {
+		return getLink(Link.REL_PREVIOUS);
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.Resources#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("CursorResources { content: %s, metadata: %s, links: %s }", getContent(), metadata,
+				getLinks());
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.Resources#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+
+		if (this == obj) {
+			return true;
+		}
+
+		if (obj == null || !getClass().equals(obj.getClass())) {
+			return false;
+		}
+
+		CursorResources<?> that = (CursorResources<?>) obj;
+		boolean metadataEquals = this.metadata == null ? that.metadata == null : this.metadata.equals(that.metadata);
+
+		return metadataEquals ? super.equals(obj) : false;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.Resources#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+
+		int result = super.hashCode();
+		result += this.metadata == null ? 0 : 31 * this.metadata.hashCode();
+		return result;
+	}
+
+	/**
+	 * Value object for cursor metadata. The cursors themselves are not rendered but only used to build the links to the
+	 * next and previous slice.
+	 */
+	public static class CursorMetadata {
+
+		@XmlAttribute @JsonProperty private long size;
+		@XmlAttribute @JsonProperty private boolean hasNext;
+		@XmlAttribute @JsonProperty private boolean hasPrevious;
+
+		private String nextCursor;
+		private String previousCursor;
+
+		protected CursorMetadata() {
+
+		}
+
+		/**
+		 * Creates a new {@link CursorMetadata} from the given size and cursors.
+		 * 
+		 * @param size the size of the slice
+		 * @param nextCursor the cursor pointing to the next slice, {@literal null} if there is none.
+		 * @param previousCursor the cursor pointing to the previous slice, {@literal null} if there is none.
+		 */
+		public CursorMetadata(long size, String nextCursor, String previousCursor) {
+
+			Assert.isTrue(size > -1, "Size must not be negative!");
+
+			this.size = size;
+			this.nextCursor = nextCursor;
+			this.previousCursor = previousCursor;
+			this.hasNext = nextCursor != null;
+			this.hasPrevious = previousCursor != null;
+		}
+
+		/**
+		 * Returns the requested size of the slice.
+		 * 
+		 * @return the size a positive long.
+		 */
+		public long getSize() {
+			return size;
+		}
+
+		/**
+		 * Returns whether there's a next slice.
+		 * 
+		 * @return
+		 */
+		public boolean hasNext() {
+			return hasNext;
+		}
+
+		/**
+		 * Returns whether there's a previous slice.
+		 * 
+		 * @return
+		 */
+		public boolean hasPrevious() {
+			return hasPrevious;
+		}
+
+		/**
+		 * Returns the cursor pointing to the next slice. Not available on deserialized instances.
+		 * 
+		 * @return can be {@literal null}.
+		 */
+		@JsonIgnore
+		public String getNextCursor() {
+			return nextCursor;
+		}
+
+		/**
+		 * Returns the cursor pointing to the previous slice. Not available on deserialized instances.
+		 * 
+		 * @return can be {@literal null}.
+		 */
+		@JsonIgnore
+		public String getPreviousCursor() {
+			return previousCursor;
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return String.format("Metadata { size: %d, next: %s, previous: %s }", size, nextCursor, previousCursor);
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (obj == null || !obj.getClass().equals(getClass())) {
+				return false;
+			}
+
+			CursorMetadata that = (CursorMetadata) obj;
+
+			return this.size == that.size && this.hasNext == that.hasNext && this.hasPrevious == that.hasPrevious
+					&& ObjectUtils.nullSafeEquals(this.nextCursor, that.nextCursor)
+					&& ObjectUtils.nullSafeEquals(this.previousCursor, that.previousCursor);
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+
+			int result = 17;
+			result += 31 * (int) (this.size ^ this.size >>> 32);
+			result += 31 * (hasNext ? 1 : 0);
+			result += 31 * (hasPrevious ? 2 : 0);
+			result += 31 * ObjectUtils.nullSafeHashCode(nextCursor);
+			result += 31 * ObjectUtils.nullSafeHashCode(previousCursor);
+			return result;
+		}
+	}
+}
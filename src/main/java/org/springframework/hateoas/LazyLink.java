@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link Link} whose rel is known up front but whose URI is only built once it is accessed for the first time, e.g.
+ * when the link is rendered. Thus expensive link building, like {@code linkTo(methodOn(…))}, is skipped for links that
+ * are never rendered as the response turns out to be filtered, a {@code HEAD} request or not modified. The built URI
+ * is memoized.
+ * 
+ * <pre>
+ * resource.add(Link.REL_SELF, new LinkSupplier() {
+ * 	public Link getLink() {
+ * 		return linkTo(methodOn(OrderController.class).order(id)).withSelfRel();
+ * 	}
+ * });
+ * </pre>
+ * 
+ * @author agent
+ * @since 0.18
+ * @see ResourceSupport#add(String, LinkSupplier)
+ */
+public class LazyLink extends Link {
+
+	private static final long serialVersionUID = -1924378120376526185L;
+
+	private transient volatile LinkSupplier supplier;
+
+	/**
+	 * Creates a new {@link LazyLink} with the given rel building its URI using the given {@link LinkSupplier}. The rel
+	 * of the supplied {@link Link} is ignored.
+	 * 
+	 * @param rel must not be {@literal null} or empty.
+	 * @param supplier must not be {@literal null}.
+	 */
+	public LazyLink(String rel, LinkSupplier supplier) {
+
+		Assert.notNull(supplier, "LinkSupplier must not be null!");
+
+		setRel(rel);
+		this.supplier = supplier;
+	}
+
+	/**
+	 * Returns whether the URI of the link has already been built.
+	 * 
+	 * @return
+	 */
+	boolean isResolved() {
+		return supplier == null;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.Link#getHref()
+	 */
+	@Override
+	public String getHref() {
+
+		if (supplier != null) {
+
+			synchronized (this) {
+
+				if (supplier != null) {
+
+					Link link = supplier.getLink();
+					Assert.state(link != null, String.format("LinkSupplier for rel %s returned null!", getRel()));
+
+					// Publishes the href through the volatile write of the supplier
+					setHref(link.getHref());
+					this.supplier = null;
+				}
+			}
+		}
+
+		return super.getHref();
+	}
+
+	/**
+	 * Replaces the {@link LazyLink} with a plain {@link Link} on Java serialization.
+	 * 
+	 * @return
+	 */
+	private Object writeReplace() {
+		return new Link(getHref(), getRel());
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2014 the original author or authors.
+ * Copyright 2012-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.xml.bind.Marshaller;
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlTransient;
 import javax.xml.bind.annotation.XmlType;
@@ -99,6 +100,28 @@ public class Link implements Serializable {
 
 	}
 
+	/**
+	 * Sets the rel of a {@link Link} created through the empty constructor.
+	 * 
+	 * @param rel must not be {@literal null} or empty.
+	 */
+	void setRel(String rel) {
+
+		Assert.hasText(rel, "Rel must not be null or empty!");
+		this.rel = rel;
+	}
+
+	/**
+	 * Sets the URI of a {@link Link} created through the empty constructor.
+	 * 
+	 * @param href must not be {@literal null}.
+	 */
+	void setHref(String href) {
+
+		Assert.notNull(href, "Href must not be null!");
+		this.href = href;
+	}
+
 	/**
 	 * Returns the actual URI the link is pointing to.
 	 * 
@@ -124,7 +147,7 @@ public class Link implements Serializable {
 	 * @return
 	 */
 	public Link withRel(String rel) {
-		return new Link(href, rel);
+		return new Link(getHref(), rel);
 	}
 
 	/**
@@ -188,12 +211,22 @@ public class Link implements Serializable {
 	private UriTemplate getUriTemplate() {
 
 		if (template == null) {
-			this.template = new UriTemplate(href);
+			this.template = new UriTemplate(getHref());
 		}
 
 		return template;
 	}
 
+	/**
+	 * JAXB callback to make sure subclasses computing the URI on access expose it to the field based marshalling.
+	 * 
+	 * @param marshaller
+	 */
+	@SuppressWarnings("unused")
+	private void beforeMarshal(Marshaller marshaller) {
+		this.href = getHref();
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see java.lang.Object#equals(java.lang.Object)
@@ -211,7 +244,7 @@ public class Link implements Serializable {
 
 		Link that = (Link) obj;
 
-		return this.href.equals(that.href) && this.rel.equals(that.rel);
+		return this.getHref().equals(that.getHref()) && this.getRel().equals(that.getRel());
 	}
 
 	/* 
@@ -222,8 +255,8 @@ public class Link implements Serializable {
 	public int hashCode() {
 
 		int result = 17;
-		result += 31 * href.hashCode();
-		result += 31 * rel.hashCode();
+		result += 31 * getHref().hashCode();
+		result += 31 * getRel().hashCode();
 		return result;
 	}
 
@@ -233,7 +266,7 @@ public class Link implements Serializable {
 	 */
 	@Override
 	public String toString() {
-		return String.format("<%s>;rel=\"%s\"", href, rel);
+		return String.format("<%s>;rel=\"%s\"", getHref(), getRel());
 	}
 
 	/**
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Value object to capture the link relation types a client is interested in. The relation types can be requested
+ * using the {@value #PARAMETER} request parameter (e.g. {@code ?rels=self,next}) or a parameter of the same name in the
+ * {@code Accept} header (e.g. {@code application/hal+json;rels="self next"}). If neither is present, all links are
+ * considered requested. Serializers only render requested links and resource assemblers can use
+ * {@link #isRequested(String)} to skip building links nobody asked for. Embedded resources are always rendered.
+ *
+ * @author agent
+ * @since 0.18
+ */
+public class LinkFilter {
+
+	/**
+	 * The name of the request parameter and {@code Accept} header parameter to list the requested relation types.
+	 */
+	public static final String PARAMETER = "rels";
+
+	/**
+	 * A {@link LinkFilter} considering all relation types requested.
+	 */
+	public static final LinkFilter ALL = new LinkFilter(null);
+
+	private static final String ATTRIBUTE_NAME = LinkFilter.class.getName();
+	private static final String DELIMITERS = ", ";
+
+	private final Set<String> rels;
+
+	/**
+	 * Creates a new {@link LinkFilter} for the given relation types, {@literal null} means all relation types.
+	 *
+	 * @param rels
+	 */
+	private LinkFilter(Collection<String> rels) {
+		this.rels = rels == null ? null : Collections.unmodifiableSet(new HashSet<String>(rels));
+	}
+
+	/**
+	 * Creates a new {@link LinkFilter} for the given relation types.
+	 *
+	 * @param rels must not be {@literal null}.
+	 * @return
+	 */
+	public static LinkFilter of(String... rels) {
+
+		Assert.notNull(rels, "Rels must not be null!");
+		return new LinkFilter(Arrays.asList(rels));
+	}
+
+	/**
+	 * Returns the {@link LinkFilter} for the current request. Returns {@link #ALL} if no request is bound to the current
+	 * thread or the request does not restrict the relation types.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public static LinkFilter getCurrent() {
+
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+		if (!(attributes instanceof ServletRequestAttributes)) {
+			return ALL;
+		}
+
+		LinkFilter filter = (LinkFilter) attributes.getAttribute(ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+
+		if (filter == null) {
+			filter = from(((ServletRequestAttributes) attributes).getRequest());
+			attributes.setAttribute(ATTRIBUTE_NAME, filter, RequestAttributes.SCOPE_REQUEST);
+		}
+
+		return filter;
+	}
+
+	/**
+	 * Returns whether links of the given relation type were requested by the current request.
+	 *
+	 * @param rel must not be {@literal null} or empty.
+	 * @return
+	 */
+	public static boolean isRequested(String rel) {
+		return getCurrent().includes(rel);
+	}
+
+	/**
+	 * Creates a {@link LinkFilter} from the given {@link HttpServletRequest}.
+	 *
+	 * @param request must not be {@literal null}.
+	 * @return
+	 */
+	static LinkFilter from(HttpServletRequest request) {
+
+		Assert.notNull(request, "Request must not be null!");
+
+		Set<String> rels = null;
+		String[] values = request.getParameterValues(PARAMETER);
+
+		if (values != null) {
+
+			rels = new HashSet<String>();
+
+			for (String value : values) {
+				rels.addAll(tokenize(value));
+			}
+		}
+
+		String accept = request.getHeader("Accept");
+
+		if (StringUtils.hasText(accept)) {
+
+			try {
+
+				for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+
+					String value = mediaType.getParameter(PARAMETER);
+
+					if (value != null) {
+						rels = rels == null ? new HashSet<String>() : rels;
+						rels.addAll(tokenize(value));
+					}
+				}
+
+			} catch (InvalidMediaTypeException o_O) {
+				// Invalid Accept headers are rejected by the content negotiation later on
+			}
+		}
+
+		return rels == null ? ALL : new LinkFilter(rels);
+	}
+
+	private static Collection<String> tokenize(String value) {
+
+		value = StringUtils.trimTrailingCharacter(StringUtils.trimLeadingCharacter(value.trim(), '"'), '"');
+		return Arrays.asList(StringUtils.tokenizeToStringArray(value, DELIMITERS));
+	}
+
+	/**
+	 * Returns whether the {@link LinkFilter} restricts the relation types at all.
+	 *
+	 * @return
+	 */
+	public boolean isFiltering() {
+		return rels != null;
+	}
+
+	/**
+	 * Returns the requested relation types in canonical form, i.e. sorted and comma-separated, or {@literal *} if the
+	 * {@link LinkFilter} doesn't restrict the relation types. Unlike {@link #hashCode()} it identifies the requested
+	 * relation types independently of the JVM, e.g. in ETags or cache keys.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public String toCanonicalString() {
+
+		if (rels == null) {
+			return "*";
+		}
+
+		List<String> sorted = new ArrayList<String>(rels);
+		Collections.sort(sorted);
+
+		return StringUtils.collectionToCommaDelimitedString(sorted);
+	}
+
+	/**
+	 * Returns whether links of the given relation type shall be rendered.
+	 *
+	 * @param rel can be {@literal null}.
+	 * @return
+	 */
+	public boolean includes(String rel) {
+		return rels == null || rels.contains(rel);
+	}
+
+	/**
+	 * Returns whether the given {@link Link} shall be rendered.
+	 *
+	 * @param link must not be {@literal null}.
+	 * @return
+	 */
+	public boolean includes(Link link) {
+
+		Assert.notNull(link, "Link must not be null!");
+		return includes(link.getRel());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof LinkFilter)) {
+			return false;
+		}
+
+		LinkFilter that = (LinkFilter) obj;
+
+		return this.rels == null ? that.rels == null : this.rels.equals(that.rels);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return rels == null ? 0 : rels.hashCode();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("LinkFilter { rels: %s }", rels == null ? "all" : rels);
+	}
+}
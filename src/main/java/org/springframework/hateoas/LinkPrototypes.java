@@ -0,0 +1,339 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.util.Assert;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * A precompiled set of templated {@link Link}s shared by all resources of a type, e.g. {@code /customers/{id}} and
+ * {@code /customers/{id}/orders}. Binding the prototypes to the variable values of a particular resource creates
+ * lightweight {@link Link}s that only refer to the shared prototypes and the values. The URIs are expanded on access,
+ * i.e. usually only during rendering, so that large collections don't keep a separate URI {@link String} and
+ * {@link UriTemplate} per link in memory.
+ *
+ * <pre>
+ * private static final LinkPrototypes PROTOTYPES = new LinkPrototypes(
+ * 		new Link("http://localhost/customers/{id}"),
+ * 		new Link("http://localhost/customers/{id}/orders{?page,size}", "orders"));
+ *
+ * resource.add(PROTOTYPES.bind(customer.getId()));
+ * </pre>
+ *
+ * Only simple variables (e.g. {@code {id}}) are bound, optional variables (e.g. {@code {?page,size}}) are kept as
+ * template in the resulting links. As the prototypes contain absolute URIs, they need to be set up per base URI in
+ * case the application is exposed under multiple ones.
+ *
+ * @author agent
+ * @since 0.18
+ */
+public class LinkPrototypes {
+
+	private static final Pattern SIMPLE_VARIABLE = Pattern.compile("\\{(\\w+)\\}");
+	private static final Pattern OPTIONAL_VARIABLE = Pattern.compile("\\{[\\?\\&#/]");
+	private static final String ENCODING = "UTF-8";
+
+	private final List<Prototype> prototypes;
+	private final List<String> variableNames;
+
+	/**
+	 * Creates a new {@link LinkPrototypes} instance from the given templated {@link Link}s.
+	 *
+	 * @param links must not be {@literal null}.
+	 */
+	public LinkPrototypes(Link... links) {
+		this(Arrays.asList(links));
+	}
+
+	/**
+	 * Creates a new {@link LinkPrototypes} instance from the given templated {@link Link}s.
+	 *
+	 * @param links must not be {@literal null}.
+	 */
+	public LinkPrototypes(Iterable<Link> links) {
+
+		Assert.notNull(links, "Links must not be null!");
+
+		List<String> variableNames = new ArrayList<String>();
+		List<Prototype> prototypes = new ArrayList<Prototype>();
+
+		for (Link link : links) {
+			Assert.notNull(link, "Link must not be null!");
+			prototypes.add(new Prototype(link, variableNames));
+		}
+
+		this.prototypes = prototypes;
+		this.variableNames = Collections.unmodifiableList(variableNames);
+	}
+
+	/**
+	 * Returns the names of the variables to be bound in the order they are expected by {@link #bind(Object...)}, i.e. in
+	 * the order of their first occurrence in the prototypes.
+	 *
+	 * @return
+	 */
+	public List<String> getVariableNames() {
+		return variableNames;
+	}
+
+	/**
+	 * Creates {@link Link}s from the prototypes using the given values for the variables in the order returned by
+	 * {@link #getVariableNames()}.
+	 *
+	 * @param values must not be {@literal null} and contain a non-{@literal null} value for every variable.
+	 * @return
+	 */
+	public List<Link> bind(Object... values) {
+
+		Assert.notNull(values, "Values must not be null!");
+		Assert.isTrue(values.length == variableNames.size(), String.format(
+				"Expected %s values for variables %s but got %s!", variableNames.size(), variableNames, values.length));
+
+		for (int i = 0; i < values.length; i++) {
+			Assert.notNull(values[i], String.format("No value given for variable %s!", variableNames.get(i)));
+		}
+
+		Object[] copy = values.clone();
+		Link[] links = new Link[prototypes.size()];
+
+		for (int i = 0; i < links.length; i++) {
+			links[i] = new BoundLink(prototypes.get(i), copy);
+		}
+
+		return Arrays.asList(links);
+	}
+
+	/**
+	 * Creates {@link Link}s from the prototypes using the given values for the variables.
+	 *
+	 * @param values must not be {@literal null} and contain a non-{@literal null} value for every variable.
+	 * @return
+	 */
+	public List<Link> bind(Map<String, ? extends Object> values) {
+
+		Assert.notNull(values, "Values must not be null!");
+
+		Object[] result = new Object[variableNames.size()];
+
+		for (int i = 0; i < result.length; i++) {
+			result[i] = values.get(variableNames.get(i));
+		}
+
+		return bind(result);
+	}
+
+	/**
+	 * A templated {@link Link} split up into literal parts and the variables in between.
+	 */
+	private static class Prototype {
+
+		private final String rel;
+		private final String[] literals;
+		private final int[] variables;
+		private final Component[] components;
+		private final String optionalVariables;
+
+		/**
+		 * Creates a new {@link Prototype} from the given {@link Link} registering the variable names found with the given
+		 * {@link List}.
+		 *
+		 * @param link must not be {@literal null}.
+		 * @param variableNames must not be {@literal null}.
+		 */
+		public Prototype(Link link, List<String> variableNames) {
+
+			String href = link.getHref();
+			Matcher optional = OPTIONAL_VARIABLE.matcher(href);
+			int baseEnd = optional.find() ? optional.start() : href.length();
+
+			String base = href.substring(0, baseEnd);
+			int fragmentStart = base.indexOf('#') < 0 ? base.length() : base.indexOf('#');
+			int queryStart = base.indexOf('?') < 0 ? fragmentStart : Math.min(base.indexOf('?'), fragmentStart);
+
+			List<String> literals = new ArrayList<String>();
+			List<Integer> variables = new ArrayList<Integer>();
+			List<Component> components = new ArrayList<Component>();
+
+			Matcher matcher = SIMPLE_VARIABLE.matcher(base);
+			int position = 0;
+
+			while (matcher.find()) {
+
+				String name = matcher.group(1);
+
+				if (!variableNames.contains(name)) {
+					variableNames.add(name);
+				}
+
+				literals.add(base.substring(position, matcher.start()));
+				variables.add(variableNames.indexOf(name));
+				components.add(matcher.start() > fragmentStart ? Component.FRAGMENT
+						: matcher.start() > queryStart ? Component.QUERY : Component.PATH);
+
+				position = matcher.end();
+			}
+
+			literals.add(base.substring(position));
+
+			// Variables with operators other than the optional ones, e.g. {+var}, are left in the literals
+			for (String literal : literals) {
+				Assert.isTrue(literal.indexOf('{') < 0, String.format("Unsupported template variable in %s!", href));
+			}
+
+			this.rel = link.getRel();
+			this.literals = literals.toArray(new String[literals.size()]);
+			this.variables = new int[variables.size()];
+			this.components = components.toArray(new Component[components.size()]);
+			this.optionalVariables = href.substring(baseEnd);
+
+			for (int i = 0; i < this.variables.length; i++) {
+				this.variables[i] = variables.get(i);
+			}
+		}
+
+		/**
+		 * Expands the prototype with the given values into the given {@link StringBuilder}.
+		 *
+		 * @param values must not be {@literal null}.
+		 * @param builder must not be {@literal null}.
+		 */
+		public void expand(Object[] values, StringBuilder builder) {
+
+			builder.append(literals[0]);
+
+			for (int i = 0; i < variables.length; i++) {
+				builder.append(components[i].encode(values[variables[i]].toString()));
+				builder.append(literals[i + 1]);
+			}
+
+			builder.append(optionalVariables);
+		}
+
+		private static boolean isUnreserved(String value) {
+
+			for (int i = 0; i < value.length(); i++) {
+
+				char c = value.charAt(i);
+
+				if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '-' || c == '.' || c == '_' || c == '~')) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+	}
+
+	/**
+	 * The URI component a variable is located in, defining how its values are encoded.
+	 */
+	private static enum Component {
+
+		PATH, QUERY, FRAGMENT;
+
+		public String encode(String value) {
+
+			if (Prototype.isUnreserved(value)) {
+				return value;
+			}
+
+			try {
+
+				switch (this) {
+					case QUERY:
+						return UriUtils.encodeQueryParam(value, ENCODING);
+					case FRAGMENT:
+						return UriUtils.encodeFragment(value, ENCODING);
+					default:
+						return UriUtils.encodePathSegment(value, ENCODING);
+				}
+
+			} catch (UnsupportedEncodingException o_O) {
+				throw new IllegalStateException(o_O);
+			}
+		}
+	}
+
+	/**
+	 * A {@link Link} bound to a {@link Prototype} and variable values. The URI is expanded on every access.
+	 */
+	public static final class BoundLink extends Link {
+
+		private static final long serialVersionUID = -6052101282829209826L;
+
+		private final transient Prototype prototype;
+		private final transient Object[] values;
+
+		private BoundLink(Prototype prototype, Object[] values) {
+
+			this.prototype = prototype;
+			this.values = values;
+
+			setRel(prototype.rel);
+		}
+
+		/**
+		 * Appends the URI of the link to the given {@link StringBuilder}.
+		 *
+		 * @param builder must not be {@literal null}.
+		 */
+		public void appendHref(StringBuilder builder) {
+
+			Assert.notNull(builder, "StringBuilder must not be null!");
+			prototype.expand(values, builder);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.hateoas.Link#getHref()
+		 */
+		@Override
+		public String getHref() {
+
+			StringBuilder builder = new StringBuilder();
+			appendHref(builder);
+
+			return builder.toString();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.hateoas.Link#isTemplated()
+		 */
+		@Override
+		public boolean isTemplated() {
+			return prototype.optionalVariables.length() != 0;
+		}
+
+		/**
+		 * Replaces the {@link BoundLink} with a plain {@link Link} on Java serialization.
+		 *
+		 * @return
+		 */
+		private Object writeReplace() {
+			return new Link(getHref(), getRel());
+		}
+	}
+}
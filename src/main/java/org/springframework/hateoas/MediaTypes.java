@@ -1,5 +1,5 @@
 /*
- * Copyright 2013 the original author or authors.
+ * Copyright 2013-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,4 +25,26 @@ import org.springframework.http.MediaType;
 public class MediaTypes {
 
 	public static final MediaType HAL_JSON = MediaType.valueOf("application/hal+json");
+
+	/**
+	 * HAL rendered in the binary Smile format (see http://wiki.fasterxml.com/SmileFormat).
+	 * 
+	 * @since 0.18
+	 */
+	public static final MediaType HAL_SMILE = MediaType.valueOf("application/hal+smile");
+
+	/**
+	 * HAL rendered in the binary CBOR format (see http://tools.ietf.org/html/rfc7049).
+	 * 
+	 * @since 0.18
+	 */
+	public static final MediaType HAL_CBOR = MediaType.valueOf("application/hal+cbor");
+
+	/**
+	 * A stream of HAL documents, one per line, as used for bulk exports (see http://ndjson.org). Links pointing to the
+	 * stream as a whole are exposed as {@code Link} header.
+	 * 
+	 * @since 0.18
+	 */
+	public static final MediaType HAL_NDJSON = MediaType.valueOf("application/x-hal+ndjson");
 }
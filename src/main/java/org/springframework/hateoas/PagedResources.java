@@ -18,6 +18,7 @@ package org.springframework.hateoas;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlRootElement;
@@ -65,10 +66,53 @@ public class PagedResources<T> extends Resources<T> {
 	 * @param links
 	 */
 	public PagedResources(Collection<T> content, PageMetadata metadata, Iterable<Link> links) {
-		super(content, links);
+		this(content, metadata, links, true);
+	}
+
+	/**
+	 * Creates a new {@link PagedResources} from the given content {@link PageMetadata} and {@link Link}s, optionally
+	 * copying the content.
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param metadata
+	 * @param links
+	 * @param copy whether to copy the given content or to use it as is.
+	 * @since 0.18
+	 */
+	protected PagedResources(Collection<T> content, PageMetadata metadata, Iterable<Link> links, boolean copy) {
+		super(content, links, copy);
 		this.metadata = metadata;
 	}
 
+	/**
+	 * Creates a new {@link PagedResources} using the given {@link Collection} as content as is, i.e. without copying it.
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param metadata
+	 * @param links
+	 * @return
+	 * @since 0.18
+	 */
+	public static <T> PagedResources<T> adopt(Collection<T> content, PageMetadata metadata, Link... links) {
+		return new PagedResources<T>(content, metadata, Arrays.asList(links), false);
+	}
+
+	/**
+	 * Creates a new {@link PagedResources} exposing the given domain class instances as {@link Resource}s created on
+	 * access instead of up front.
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param metadata
+	 * @param links
+	 * @return
+	 * @see Resources#wrapLazily(List, Link...)
+	 * @since 0.18
+	 */
+	public static <S> PagedResources<Resource<S>> wrapLazily(List<S> content, PageMetadata metadata, Link... links) {
+		return new PagedResources<Resource<S>>(new ResourceWrappingList<S>(content), metadata, Arrays.asList(links),
+				false);
+	}
+
 	/**
 	 * Returns the pagination metadata.
 	 * 
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.hateoas.PagedResources.PageMetadata;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Builds the pagination links for {@link PagedResources} from a base {@link Link}, e.g. the one pointing to the
+ * controller method serving the pages. The base is parsed once on construction, the links to the individual pages are
+ * then created by appending the {@code page} and {@code size} parameters only, so that there's no need to build a link
+ * to the controller method for every one of them. Existing {@code page} and {@code size} parameters of the base are
+ * dropped. Instances are immutable and can thus be kept around as long as the base doesn't change.
+ * <p>
+ * The builder doesn't cache anything per controller method itself, as the base usually depends on the base URI and
+ * path variables of the current request. Callers serving varying bases thus still build the base link, e.g. using
+ * {@code linkTo(…)}, and the {@link PaginationLinkBuilder} once per request, saving only the link building for the
+ * individual pages.
+ * 
+ * <pre>
+ * PaginationLinkBuilder builder = new PaginationLinkBuilder(linkTo(methodOn(OrderController.class).orders(null)).withSelfRel());
+ * builder.addPaginationLinks(resources);
+ * </pre>
+ * 
+ * Page numbers are considered zero-based.
+ * 
+ * @author agent
+ * @since 0.18
+ */
+public class PaginationLinkBuilder {
+
+	public static final String DEFAULT_PAGE_PARAMETER = "page";
+	public static final String DEFAULT_SIZE_PARAMETER = "size";
+
+	/**
+	 * The rel of the templated {@link Link} to arbitrary pages.
+	 */
+	public static final String REL_PAGE = "page";
+
+	private final String sizeParameter;
+
+	private final String prefix;
+	private final String fragment;
+	private final Link template;
+
+	/**
+	 * Creates a new {@link PaginationLinkBuilder} for the given base {@link Link} using the
+	 * {@value #DEFAULT_PAGE_PARAMETER} and {@value #DEFAULT_SIZE_PARAMETER} parameters.
+	 * 
+	 * @param base must not be {@literal null}.
+	 */
+	public PaginationLinkBuilder(Link base) {
+		this(base, DEFAULT_PAGE_PARAMETER, DEFAULT_SIZE_PARAMETER);
+	}
+
+	/**
+	 * Creates a new {@link PaginationLinkBuilder} for the given base {@link Link} using the given parameter names.
+	 * 
+	 * @param base must not be {@literal null}.
+	 * @param pageParameter must not be {@literal null} or empty.
+	 * @param sizeParameter must not be {@literal null} or empty.
+	 */
+	public PaginationLinkBuilder(Link base, String pageParameter, String sizeParameter) {
+
+		Assert.notNull(base, "Base link must not be null!");
+		Assert.isTrue(!base.isTemplated(), "Base link must not be templated!");
+		Assert.hasText(pageParameter, "Page parameter must not be null or empty!");
+		Assert.hasText(sizeParameter, "Size parameter must not be null or empty!");
+
+		UriComponents components = UriComponentsBuilder.fromUriString(base.getHref()) //
+				.replaceQueryParam(pageParameter) //
+				.replaceQueryParam(sizeParameter) //
+				.fragment(null).build();
+
+		String uri = components.toUriString();
+		boolean hasQuery = StringUtils.hasText(components.getQuery());
+
+		this.sizeParameter = sizeParameter;
+		this.prefix = uri.concat(hasQuery ? "&" : "?").concat(pageParameter).concat("=");
+		this.fragment = base.getHref().indexOf('#') < 0 ? "" : base.getHref().substring(base.getHref().indexOf('#'));
+		this.template = new Link(uri.concat(String.format("{%s%s,%s}", hasQuery ? "&" : "?", pageParameter,
+				sizeParameter)).concat(fragment), base.getRel());
+	}
+
+	/**
+	 * Returns the templated {@link Link} exposing the page and size parameters, using the rel of the base {@link Link}.
+	 * 
+	 * @return
+	 */
+	public Link getTemplate() {
+		return template;
+	}
+
+	/**
+	 * Returns the {@link Link} to the page with the given number and size.
+	 * 
+	 * @param number must not be negative.
+	 * @param size must not be negative.
+	 * @param rel must not be {@literal null} or empty.
+	 * @return
+	 */
+	public Link getLink(long number, long size, String rel) {
+
+		Assert.isTrue(number > -1, "Page number must not be negative!");
+		Assert.isTrue(size > -1, "Page size must not be negative!");
+
+		StringBuilder builder = new StringBuilder(prefix.length() + sizeParameter.length() + fragment.length() + 24);
+		builder.append(prefix).append(number).append('&').append(sizeParameter).append('=').append(size).append(fragment);
+
+		return new Link(builder.toString(), rel);
+	}
+
+	/**
+	 * Returns the pagination {@link Link}s for the page described by the given {@link PageMetadata}, i.e. links to the
+	 * first and previous page if the current one isn't the first one, the templated link to arbitrary pages using
+	 * {@value #REL_PAGE} as rel and links to the next and last page if the current one isn't the last one.
+	 * 
+	 * @param metadata must not be {@literal null}.
+	 * @return
+	 */
+	public List<Link> getLinks(PageMetadata metadata) {
+
+		Assert.notNull(metadata, "Page metadata must not be null!");
+
+		long number = metadata.getNumber();
+		long size = metadata.getSize();
+
+		List<Link> links = new ArrayList<Link>(5);
+
+		if (number > 0) {
+			links.add(getLink(0, size, Link.REL_FIRST));
+			links.add(getLink(number - 1, size, Link.REL_PREVIOUS));
+		}
+
+		links.add(template.withRel(REL_PAGE));
+
+		if (number + 1 < metadata.getTotalPages()) {
+			links.add(getLink(number + 1, size, Link.REL_NEXT));
+			links.add(getLink(metadata.getTotalPages() - 1, size, Link.REL_LAST));
+		}
+
+		return links;
+	}
+
+	/**
+	 * Adds the pagination {@link Link}s for the given {@link PagedResources} to it.
+	 * 
+	 * @param resources must not be {@literal null}.
+	 * @return the given {@link PagedResources}.
+	 * @see #getLinks(PageMetadata)
+	 */
+	public <T extends PagedResources<?>> T addPaginationLinks(T resources) {
+
+		Assert.notNull(resources, "PagedResources must not be null!");
+
+		resources.add(getLinks(resources.getMetadata()));
+		return resources;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("PaginationLinkBuilder { template: %s }", template.getHref());
+	}
+}
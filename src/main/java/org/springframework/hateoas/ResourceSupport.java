@@ -15,9 +15,14 @@
  */
 package org.springframework.hateoas;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 
 import javax.xml.bind.annotation.XmlElement;
 
@@ -27,16 +32,31 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
- * Base class for DTOs to collect links.
+ * Base class for DTOs to collect links. As collections can contain a huge number of resources, the links are stored
+ * compactly: no storage is allocated for resources without links, a single link is held directly and more links are
+ * kept in an array of the exact size, growing geometrically only beyond {@value #EXACT_SIZE_THRESHOLD} links.
+ * {@link #getLinks()} exposes them as modifiable {@link List} view, created once per resource, whose iterators fail fast
+ * if the links are modified through the resource or the view.
  * 
  * @author Oliver Gierke
  */
 public class ResourceSupport implements Identifiable<Link> {
 
-	private final List<Link> links;
+	private static final Link[] NO_LINKS = new Link[0];
+	static final int EXACT_SIZE_THRESHOLD = 4;
+
+	/**
+	 * {@link #NO_LINKS} if there are no links, the {@link Link} itself for a single one or a {@link Link} array with the
+	 * first {@link #linkCount} slots used.
+	 */
+	private @JsonIgnore Object links;
+	private @JsonIgnore int linkCount;
+	private @JsonIgnore int modCount;
+	private @JsonIgnore LinkList linkView;
+	private @JsonIgnore boolean linksFrozen;
 
 	public ResourceSupport() {
-		this.links = new ArrayList<Link>();
+		this.links = NO_LINKS;
 	}
 
 	/**
@@ -54,7 +74,7 @@ public class ResourceSupport implements Identifiable<Link> {
 	 */
 	public void add(Link link) {
 		Assert.notNull(link, "Link must not be null!");
-		this.links.add(link);
+		insertLink(linkCount, link);
 	}
 
 	/**
@@ -79,13 +99,27 @@ public class ResourceSupport implements Identifiable<Link> {
 		add(Arrays.asList(links));
 	}
 
+	/**
+	 * Adds a {@link Link} with the given rel that is only built using the given {@link LinkSupplier} once it is accessed,
+	 * e.g. for rendering. {@link #hasLink(String)} and {@link #getLink(String)} do not trigger building other links than
+	 * the one requested.
+	 * 
+	 * @param rel must not be {@literal null} or empty.
+	 * @param supplier must not be {@literal null}.
+	 * @see LazyLink
+	 * @since 0.18
+	 */
+	public void add(String rel, LinkSupplier supplier) {
+		add(new LazyLink(rel, supplier));
+	}
+
 	/**
 	 * Returns whether the resource contains {@link Link}s at all.
 	 * 
 	 * @return
 	 */
 	public boolean hasLinks() {
-		return !this.links.isEmpty();
+		return linkCount != 0;
 	}
 
 	/**
@@ -106,14 +140,24 @@ public class ResourceSupport implements Identifiable<Link> {
 	@XmlElement(name = "link", namespace = Link.ATOM_NAMESPACE)
 	@JsonProperty("links")
 	public List<Link> getLinks() {
-		return links;
+
+		if (linkView == null) {
+			linkView = new LinkList();
+		}
+
+		return linkView;
 	}
 
 	/**
 	 * Removes all {@link Link}s added to the resource so far.
 	 */
 	public void removeLinks() {
-		this.links.clear();
+
+		assertLinksNotFrozen();
+
+		this.links = NO_LINKS;
+		this.linkCount = 0;
+		this.modCount++;
 	}
 
 	/**
@@ -124,7 +168,10 @@ public class ResourceSupport implements Identifiable<Link> {
 	 */
 	public Link getLink(String rel) {
 
-		for (Link link : links) {
+		for (int i = 0; i < linkCount; i++) {
+
+			Link link = linkAt(i);
+
 			if (link.getRel().equals(rel)) {
 				return link;
 			}
@@ -133,13 +180,121 @@ public class ResourceSupport implements Identifiable<Link> {
 		return null;
 	}
 
+	/**
+	 * Prevents any further modification of the {@link Link}s of the resource, be it through the resource itself or
+	 * {@link #getLinks()}. Attempts to do so will cause an {@link IllegalStateException}. Meant for resources shared
+	 * between multiple callers, e.g. by a cache. Other state of the resource, like the content of a {@link Resource}, is
+	 * not affected.
+	 * 
+	 * @since 0.18
+	 */
+	public void freezeLinks() {
+		this.linksFrozen = true;
+	}
+
+	private void assertLinksNotFrozen() {
+
+		if (linksFrozen) {
+			throw new IllegalStateException(String.format("Links of %s are frozen and must not be modified!",
+					getClass().getName()));
+		}
+	}
+
+	private Link linkAt(int index) {
+		return linkCount == 1 ? (Link) links : ((Link[]) links)[index];
+	}
+
+	private void insertLink(int index, Link link) {
+
+		assertLinksNotFrozen();
+
+		if (linkCount == 0) {
+			this.links = link;
+		} else if (linkCount == 1) {
+			this.links = index == 0 ? new Link[] { link, (Link) links } : new Link[] { (Link) links, link };
+		} else {
+
+			Link[] current = (Link[]) links;
+
+			if (linkCount < current.length) {
+				System.arraycopy(current, index, current, index + 1, linkCount - index);
+			} else {
+
+				int capacity = linkCount < EXACT_SIZE_THRESHOLD ? linkCount + 1 : linkCount + (linkCount >> 1);
+				Link[] grown = new Link[capacity];
+
+				System.arraycopy(current, 0, grown, 0, index);
+				System.arraycopy(current, index, grown, index + 1, linkCount - index);
+
+				this.links = current = grown;
+			}
+
+			current[index] = link;
+		}
+
+		this.linkCount++;
+		this.modCount++;
+	}
+
+	private Link replaceLink(int index, Link link) {
+
+		assertLinksNotFrozen();
+
+		Link previous = linkAt(index);
+
+		if (linkCount == 1) {
+			this.links = link;
+		} else {
+			((Link[]) links)[index] = link;
+		}
+
+		return previous;
+	}
+
+	private Link removeLink(int index) {
+
+		assertLinksNotFrozen();
+
+		Link removed = linkAt(index);
+
+		if (linkCount == 1) {
+			this.links = NO_LINKS;
+		} else if (linkCount == 2) {
+			this.links = linkAt(1 - index);
+		} else {
+
+			Link[] current = (Link[]) links;
+			int remaining = linkCount - 1;
+
+			if (remaining <= EXACT_SIZE_THRESHOLD) {
+
+				Link[] trimmed = new Link[remaining];
+
+				System.arraycopy(current, 0, trimmed, 0, index);
+				System.arraycopy(current, index + 1, trimmed, index, remaining - index);
+
+				this.links = trimmed;
+
+			} else {
+
+				System.arraycopy(current, index + 1, current, index, remaining - index);
+				current[remaining] = null;
+			}
+		}
+
+		this.linkCount--;
+		this.modCount++;
+
+		return removed;
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
 	@Override
 	public String toString() {
-		return String.format("links: %s", links.toString());
+		return String.format("links: %s", getLinks().toString());
 	}
 
 	/* 
@@ -159,7 +314,7 @@ public class ResourceSupport implements Identifiable<Link> {
 
 		ResourceSupport that = (ResourceSupport) obj;
 
-		return this.links.equals(that.links);
+		return this.getLinks().equals(that.getLinks());
 	}
 
 	/* 
@@ -168,6 +323,254 @@ public class ResourceSupport implements Identifiable<Link> {
 	 */
 	@Override
 	public int hashCode() {
-		return this.links.hashCode();
+		return this.getLinks().hashCode();
+	}
+
+	/**
+	 * Modifiable {@link List} view on the {@link Link}s stored in the resource. Structural modifications bump the
+	 * inherited {@link AbstractList#modCount} in addition to the one of the resource as the former is what
+	 * {@link AbstractList#subList(int, int)} views check to fail fast.
+	 */
+	private class LinkList extends AbstractList<Link> implements RandomAccess {
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.AbstractList#get(int)
+		 */
+		@Override
+		public Link get(int index) {
+
+			checkIndex(index, linkCount);
+			return linkAt(index);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.AbstractCollection#size()
+		 */
+		@Override
+		public int size() {
+			return linkCount;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.AbstractList#set(int, java.lang.Object)
+		 */
+		@Override
+		public Link set(int index, Link element) {
+
+			checkIndex(index, linkCount);
+			return replaceLink(index, element);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.AbstractList#add(int, java.lang.Object)
+		 */
+		@Override
+		public void add(int index, Link element) {
+
+			checkIndex(index, linkCount + 1);
+
+			insertLink(index, element);
+			this.modCount++;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.AbstractList#remove(int)
+		 */
+		@Override
+		public Link remove(int index) {
+
+			checkIndex(index, linkCount);
+
+			Link removed = removeLink(index);
+			this.modCount++;
+
+			return removed;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.AbstractList#clear()
+		 */
+		@Override
+		public void clear() {
+
+			removeLinks();
+			this.modCount++;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.AbstractList#iterator()
+		 */
+		@Override
+		public Iterator<Link> iterator() {
+			return new LinkIterator(0);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.AbstractList#listIterator(int)
+		 */
+		@Override
+		public ListIterator<Link> listIterator(int index) {
+
+			checkIndex(index, linkCount + 1);
+			return new LinkIterator(index);
+		}
+
+		private void checkIndex(int index, int bound) {
+
+			if (index < 0 || index >= bound) {
+				throw new IndexOutOfBoundsException(String.format("Index: %s, Size: %s", index, linkCount));
+			}
+		}
+
+		/**
+		 * {@link ListIterator} failing fast on modifications of the links of the resource, independently of whether they
+		 * were made through the view or the resource itself.
+		 */
+		private class LinkIterator implements ListIterator<Link> {
+
+			private int cursor;
+			private int lastReturned = -1;
+			private int expectedModCount = ResourceSupport.this.modCount;
+
+			public LinkIterator(int cursor) {
+				this.cursor = cursor;
+			}
+
+			/*
+			 * (non-Javadoc)
+			 * @see java.util.ListIterator#hasNext()
+			 */
+			@Override
+			public boolean hasNext() {
+				return cursor < linkCount;
+			}
+
+			/*
+			 * (non-Javadoc)
+			 * @see java.util.ListIterator#next()
+			 */
+			@Override
+			public Link next() {
+
+				checkForComodification();
+
+				if (cursor >= linkCount) {
+					throw new NoSuchElementException();
+				}
+
+				lastReturned = cursor++;
+				return linkAt(lastReturned);
+			}
+
+			/*
+			 * (non-Javadoc)
+			 * @see java.util.ListIterator#hasPrevious()
+			 */
+			@Override
+			public boolean hasPrevious() {
+				return cursor > 0;
+			}
+
+			/*
+			 * (non-Javadoc)
+			 * @see java.util.ListIterator#previous()
+			 */
+			@Override
+			public Link previous() {
+
+				checkForComodification();
+
+				if (cursor <= 0) {
+					throw new NoSuchElementException();
+				}
+
+				lastReturned = --cursor;
+				return linkAt(lastReturned);
+			}
+
+			/*
+			 * (non-Javadoc)
+			 * @see java.util.ListIterator#nextIndex()
+			 */
+			@Override
+			public int nextIndex() {
+				return cursor;
+			}
+
+			/*
+			 * (non-Javadoc)
+			 * @see java.util.ListIterator#previousIndex()
+			 */
+			@Override
+			public int previousIndex() {
+				return cursor - 1;
+			}
+
+			/*
+			 * (non-Javadoc)
+			 * @see java.util.ListIterator#remove()
+			 */
+			@Override
+			public void remove() {
+
+				checkLastReturned();
+
+				LinkList.this.remove(lastReturned);
+
+				cursor = lastReturned;
+				lastReturned = -1;
+				expectedModCount = ResourceSupport.this.modCount;
+			}
+
+			/*
+			 * (non-Javadoc)
+			 * @see java.util.ListIterator#set(java.lang.Object)
+			 */
+			@Override
+			public void set(Link link) {
+
+				checkLastReturned();
+				LinkList.this.set(lastReturned, link);
+			}
+
+			/*
+			 * (non-Javadoc)
+			 * @see java.util.ListIterator#add(java.lang.Object)
+			 */
+			@Override
+			public void add(Link link) {
+
+				checkForComodification();
+
+				LinkList.this.add(cursor++, link);
+
+				lastReturned = -1;
+				expectedModCount = ResourceSupport.this.modCount;
+			}
+
+			private void checkLastReturned() {
+
+				if (lastReturned < 0) {
+					throw new IllegalStateException();
+				}
+
+				checkForComodification();
+			}
+
+			private void checkForComodification() {
+
+				if (ResourceSupport.this.modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+			}
+		}
 	}
 }
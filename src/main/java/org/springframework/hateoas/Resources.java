@@ -1,5 +1,5 @@
 /*
- * Copyright 2012 the original author or authors.
+ * Copyright 2012-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,11 +15,14 @@
  */
 package org.springframework.hateoas;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
 
 import javax.xml.bind.annotation.XmlAnyElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
@@ -38,6 +41,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 public class Resources<T> extends ResourceSupport implements Iterable<T> {
 
 	private final Collection<T> content;
+	private Collection<T> contentView;
 
 	/**
 	 * Creates an empty {@link Resources} instance.
@@ -63,15 +67,65 @@ public class Resources<T> extends ResourceSupport implements Iterable<T> {
 	 * @param links the links to be added to the {@link Resources}.
 	 */
 	public Resources(Iterable<T> content, Iterable<Link> links) {
+		this(copy(content), links, false);
+	}
+
+	/**
+	 * Creates a {@link Resources} instance with the given content and {@link Link}s, optionally copying the content.
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param links the links to be added to the {@link Resources}.
+	 * @param copy whether to copy the given content or to use it as is.
+	 * @since 0.18
+	 */
+	protected Resources(Collection<T> content, Iterable<Link> links, boolean copy) {
 
 		Assert.notNull(content);
 
-		this.content = new ArrayList<T>();
+		this.content = copy ? copy(content) : content;
+		this.add(links);
+	}
+
+	/**
+	 * Creates a {@link Resources} instance using the given {@link Collection} as content as is, i.e. without copying it.
+	 * Changes to the {@link Collection} will be reflected by the {@link Resources}.
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param links the links to be added to the {@link Resources}.
+	 * @return
+	 * @since 0.18
+	 */
+	public static <T> Resources<T> adopt(Collection<T> content, Link... links) {
+		return new Resources<T>(content, Arrays.asList(links), false);
+	}
+
+	/**
+	 * Creates a new {@link Resources} instance exposing the given domain class instances as {@link Resource}s. In
+	 * contrast to {@link #wrap(Iterable)} the {@link Resource}s are not created up front but on every access to an
+	 * element, e.g. while rendering, so that no additional memory is needed per element. Thus, the {@link Resource}s
+	 * handed out must not be modified.
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param links the links to be added to the {@link Resources}.
+	 * @return
+	 * @since 0.18
+	 */
+	public static <S> Resources<Resource<S>> wrapLazily(List<S> content, Link... links) {
+		return new Resources<Resource<S>>(new ResourceWrappingList<S>(content), Arrays.asList(links), false);
+	}
+
+	private static <T> List<T> copy(Iterable<T> content) {
+
+		Assert.notNull(content);
+
+		List<T> result = content instanceof Collection ? new ArrayList<T>(((Collection<T>) content).size())
+				: new ArrayList<T>();
 
 		for (T element : content) {
-			this.content.add(element);
+			result.add(element);
 		}
-		this.add(links);
+
+		return result;
 	}
 
 	/**
@@ -102,7 +156,15 @@ public class Resources<T> extends ResourceSupport implements Iterable<T> {
 	@XmlElementWrapper
 	@JsonProperty("content")
 	public Collection<T> getContent() {
-		return Collections.unmodifiableCollection(content);
+
+		Collection<T> contentView = this.contentView;
+
+		if (contentView == null) {
+			contentView = Collections.unmodifiableCollection(content);
+			this.contentView = contentView;
+		}
+
+		return contentView;
 	}
 
 	/* 
@@ -156,4 +218,69 @@ public class Resources<T> extends ResourceSupport implements Iterable<T> {
 
 		return result;
 	}
+
+	/**
+	 * Read-only {@link List} view wrapping the elements of a source {@link List} into {@link Resource}s on access.
+	 */
+	static class ResourceWrappingList<S> extends AbstractList<Resource<S>> implements RandomAccess {
+
+		private final List<S> source;
+
+		/**
+		 * Creates a new {@link ResourceWrappingList} for the given source {@link List}.
+		 * 
+		 * @param source must not be {@literal null}.
+		 */
+		public ResourceWrappingList(List<S> source) {
+
+			Assert.notNull(source, "Source list must not be null!");
+			this.source = source;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.AbstractList#get(int)
+		 */
+		@Override
+		public Resource<S> get(int index) {
+			return new Resource<S>(source.get(index));
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.AbstractCollection#size()
+		 */
+		@Override
+		public int size() {
+			return source.size();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.AbstractList#iterator()
+		 */
+		@Override
+		public Iterator<Resource<S>> iterator() {
+
+			final Iterator<S> iterator = source.iterator();
+
+			return new Iterator<Resource<S>>() {
+
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				@Override
+				public Resource<S> next() {
+					return new Resource<S>(iterator.next());
+				}
+
+				@Override
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+	}
 }
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO to implement binding response representations of a slice of a collection. In contrast to {@link PagedResources}
+ * it does not expose the total number of elements and pages but only whether there's a next slice, so that the total
+ * does not have to be calculated, e.g. by a count query.
+ * 
+ * @author agent
+ * @since 0.18
+ * @see CursorResources
+ */
+@XmlRootElement(name = "slicedEntities")
+public class SlicedResources<T> extends Resources<T> {
+
+	/**
+	 * The name of the template variable to take the number of the slice.
+	 */
+	public static final String PAGE_VARIABLE = "page";
+
+	/**
+	 * The name of the template variable to take the size of the slice.
+	 */
+	public static final String SIZE_VARIABLE = "size";
+
+	private SliceMetadata metadata;
+
+	/**
+	 * Default constructor to allow instantiation by reflection.
+	 */
+	protected SlicedResources() {
+		this(new ArrayList<T>(), null);
+	}
+
+	/**
+	 * Creates a new {@link SlicedResources} from the given content, {@link SliceMetadata} and {@link Link}s (optional).
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param metadata
+	 * @param links
+	 */
+	public SlicedResources(Collection<T> content, SliceMetadata metadata, Link... links) {
+		this(content, metadata, Arrays.asList(links));
+	}
+
+	/**
+	 * Creates a new {@link SlicedResources} from the given content, {@link SliceMetadata} and {@link Link}s.
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param metadata
+	 * @param links
+	 */
+	public SlicedResources(Collection<T> content, SliceMetadata metadata, Iterable<Link> links) {
+		super(content, links);
+		this.metadata = metadata;
+	}
+
+	/**
+	 * Returns the slice metadata.
+	 * 
+	 * @return the metadata
+	 */
+	@JsonProperty("slice")
+	public SliceMetadata getMetadata() {
+		return metadata;
+	}
+
+	/**
+	 * Adds links to the previous and next slice (if available) by expanding the given template with the
+	 * {@value #PAGE_VARIABLE} and {@value #SIZE_VARIABLE} variables, e.g. {@code http://localhost/orders{?page,size}}.
+	 * 
+	 * @param template must not be {@literal null}.
+	 */
+	public void addPaginationLinks(Link template) {
+
+		Assert.notNull(template, "Link template must not be null!");
+		Assert.state(metadata != null, "Pagination links can only be added if slice metadata is available!");
+
+		if (metadata.number > 0) {
+			add(expand(template, metadata.number - 1).withRel(Link.REL_PREVIOUS));
+		}
+
+		if (metadata.hasNext) {
+			add(expand(template, metadata.number + 1).withRel(Link.REL_NEXT));
+		}
+	}
+
+	private Link expand(Link template, long number) {
+
+		Map<String, Object> values = new HashMap<String, Object>();
+		values.put(PAGE_VARIABLE, number);
+		values.put(SIZE_VARIABLE, metadata.size);
+
+		return template.expand(values);
+	}
+
+	/**
+	 * Returns the Link pointing to the next slice (if set).
+	 * 
+	 * @see #addPaginationLinks(Link)
+	 * @return
+	 */
+	@JsonIgnore
+	public Link getNextLink() {
+		return getLink(Link.REL_NEXT);
+	}
+
+	/**
+	 * Returns the Link pointing to the previous slice (if set).
+	 * 
+	 * @see #addPaginationLinks(Link)
+	 * @return
+	 */
+	@JsonIgnore
+	public Link getPreviousLink() {
+		return getLink(Link.REL_PREVIOUS);
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.Resources#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("SlicedResources { content: %s, metadata: %s, links: %s }", getContent(), metadata,
+				getLinks());
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.Resources#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+
+		if (this == obj) {
+			return true;
+		}
+
+		if (obj == null || !getClass().equals(obj.getClass())) {
+			return false;
+		}
+
+		SlicedResources<?> that = (SlicedResources<?>) obj;
+		boolean metadataEquals = this.metadata == null ? that.metadata == null : this.metadata.equals(that.metadata);
+
+		return metadataEquals ? super.equals(obj) : false;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.Resources#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+
+		int result = super.hashCode();
+		result += this.metadata == null ? 0 : 31 * this.metadata.hashCode();
+		return result;
+	}
+
+	/**
+	 * Value object for slice metadata.
+	 */
+	public static class SliceMetadata {
+
+		@XmlAttribute @JsonProperty private long size;
+		@XmlAttribute @JsonProperty private long number;
+		@XmlAttribute @JsonProperty private boolean hasNext;
+
+		protected SliceMetadata() {
+
+		}
+
+		/**
+		 * Creates a new {@link SliceMetadata} from the given size, number and whether there's a next slice.
+		 * 
+		 * @param size the size of the slice
+		 * @param number the number of the slice
+		 * @param hasNext whether there's a next slice
+		 */
+		public SliceMetadata(long size, long number, boolean hasNext) {
+
+			Assert.isTrue(size > -1, "Size must not be negative!");
+			Assert.isTrue(number > -1, "Number must not be negative!");
+
+			this.size = size;
+			this.number = number;
+			this.hasNext = hasNext;
+		}
+
+		/**
+		 * Returns the requested size of the slice.
+		 * 
+		 * @return the size a positive long.
+		 */
+		public long getSize() {
+			return size;
+		}
+
+		/**
+		 * Returns the number of the current slice.
+		 * 
+		 * @return the number a positive long.
+		 */
+		public long getNumber() {
+			return number;
+		}
+
+		/**
+		 * Returns whether there's a next slice.
+		 * 
+		 * @return
+		 */
+		public boolean hasNext() {
+			return hasNext;
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return String.format("Metadata { number: %d, size: %d, has next: %s }", number, size, hasNext);
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (obj == null || !obj.getClass().equals(getClass())) {
+				return false;
+			}
+
+			SliceMetadata that = (SliceMetadata) obj;
+
+			return this.number == that.number && this.size == that.size && this.hasNext == that.hasNext;
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+
+			int result = 17;
+			result += 31 * (int) (this.number ^ this.number >>> 32);
+			result += 31 * (int) (this.size ^ this.size >>> 32);
+			result += 31 * (hasNext ? 1 : 0);
+			return result;
+		}
+	}
+}
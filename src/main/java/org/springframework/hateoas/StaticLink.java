@@ -0,0 +1,65 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+/**
+ * A {@link Link} whose representation does not change between requests, e.g. a {@code profile} link or a link to the
+ * API root. Serializers are free to render such links once and write the pre-rendered representation for subsequent
+ * requests.
+ *
+ * @author agent
+ * @since 0.18
+ */
+public class StaticLink extends Link {
+
+	private static final long serialVersionUID = 4016393410826787370L;
+
+	/**
+	 * Creates a new {@link StaticLink} to the given URI with the self rel.
+	 *
+	 * @param href must not be {@literal null} or empty.
+	 */
+	public StaticLink(String href) {
+		super(href);
+	}
+
+	/**
+	 * Creates a new {@link StaticLink} to the given URI with the given rel.
+	 *
+	 * @param href must not be {@literal null} or empty.
+	 * @param rel must not be {@literal null} or empty.
+	 */
+	public StaticLink(String href, String rel) {
+		super(href, rel);
+	}
+
+	/**
+	 * Creates a new {@link StaticLink} from the given {@link UriTemplate} and rel.
+	 *
+	 * @param template must not be {@literal null}.
+	 * @param rel must not be {@literal null} or empty.
+	 */
+	public StaticLink(UriTemplate template, String rel) {
+		super(template, rel);
+	}
+
+	/**
+	 * Empty constructor required by the marshalling framework.
+	 */
+	protected StaticLink() {
+
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Wrapper for a collection of entities backed by an {@link Iterator}, e.g. a database cursor. In contrast to
+ * {@link Resources} the content is not copied into memory up front but handed to the serializer element by element, so
+ * that the memory needed to render large collections is independent of the number of elements. If the source elements
+ * have to be turned into resources, the {@link ResourceAssembler} is invoked right before an element is rendered.
+ * <p>
+ * As the underlying {@link Iterator} can only be traversed once, so can the content of a {@link StreamingResources}. If
+ * the {@link Iterator} implements {@link Closeable} it will be closed once it has been rendered.
+ *
+ * @author agent
+ * @since 0.18
+ */
+public class StreamingResources<T> extends ResourceSupport {
+
+	private final Iterator<T> content;
+	private boolean consumed;
+
+	/**
+	 * Creates a new {@link StreamingResources} instance with the given content and {@link Link}s (optional).
+	 *
+	 * @param content must not be {@literal null}.
+	 * @param links the links to be added to the {@link StreamingResources}.
+	 */
+	public StreamingResources(Iterator<T> content, Link... links) {
+		this(content, Arrays.asList(links));
+	}
+
+	/**
+	 * Creates a new {@link StreamingResources} instance with the given content and {@link Link}s.
+	 *
+	 * @param content must not be {@literal null}.
+	 * @param links the links to be added to the {@link StreamingResources}.
+	 */
+	public StreamingResources(Iterator<T> content, Iterable<Link> links) {
+
+		Assert.notNull(content, "Content must not be null!");
+		Assert.notNull(links, "Links must not be null!");
+
+		this.content = content;
+		this.add(links);
+	}
+
+	/**
+	 * Creates a new {@link StreamingResources} instance turning the elements of the given source {@link Iterator} into
+	 * resources using the given {@link ResourceAssembler} lazily, i.e. one at a time while the content is rendered.
+	 *
+	 * @param source must not be {@literal null}.
+	 * @param assembler must not be {@literal null}.
+	 * @param links the links to be added to the {@link StreamingResources}.
+	 * @return
+	 */
+	public static <S, T extends ResourceSupport> StreamingResources<T> assemble(Iterator<? extends S> source,
+			ResourceAssembler<S, T> assembler, Link... links) {
+
+		Assert.notNull(assembler, "ResourceAssembler must not be null!");
+		return new StreamingResources<T>(new AssemblingIterator<S, T>(source, assembler), links);
+	}
+
+	/**
+	 * Returns the underlying elements. Can only be invoked once as the elements are handed out by the {@link Iterator}
+	 * the instance was created with.
+	 *
+	 * @return the content will never be {@literal null}.
+	 * @throws IllegalStateException in case the content has already been obtained before.
+	 */
+	@JsonProperty("content")
+	public Iterator<T> getContent() {
+
+		Assert.state(!consumed, "Content of StreamingResources can only be obtained once!");
+		this.consumed = true;
+
+		return content;
+	}
+
+	/**
+	 * Closes the given content {@link Iterator} in case it's {@link Closeable}.
+	 *
+	 * @param content can be {@literal null}.
+	 * @throws IOException
+	 */
+	public static void close(Iterator<?> content) throws IOException {
+
+		if (content instanceof Closeable) {
+			((Closeable) content).close();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.ResourceSupport#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("StreamingResources { content: %s, %s }", consumed ? "consumed" : content,
+				super.toString());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.ResourceSupport#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		return obj == this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.ResourceSupport#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return System.identityHashCode(this);
+	}
+
+	/**
+	 * {@link Iterator} to apply a {@link ResourceAssembler} to the elements of a source {@link Iterator} on access.
+	 */
+	private static class AssemblingIterator<S, T extends ResourceSupport> implements Iterator<T>, Closeable {
+
+		private final Iterator<? extends S> source;
+		private final ResourceAssembler<S, T> assembler;
+
+		public AssemblingIterator(Iterator<? extends S> source, ResourceAssembler<S, T> assembler) {
+
+			Assert.notNull(source, "Source must not be null!");
+
+			this.source = source;
+			this.assembler = assembler;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.Iterator#hasNext()
+		 */
+		@Override
+		public boolean hasNext() {
+			return source.hasNext();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.Iterator#next()
+		 */
+		@Override
+		public T next() {
+			return assembler.toResource(source.next());
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.Iterator#remove()
+		 */
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.Closeable#close()
+		 */
+		@Override
+		public void close() throws IOException {
+			StreamingResources.close(source);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return source.toString();
+		}
+	}
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Optional interface for {@link ResourceSupport} implementations to expose a version of the resource, e.g. the version
+ * attribute of the underlying entity or the last modification date of a collection. The version is used to calculate
+ * an ETag without rendering the resource, so that conditional requests can be answered without serializing it at
+ * all. The version has to change whenever the representation of the resource changes.
+ * 
+ * @author agent
+ * @since 0.18
+ */
+public interface VersionedResource {
+
+	/**
+	 * Returns the version of the resource.
+	 * 
+	 * @return can be {@literal null} in case no version is available and the ETag has to be calculated from the
+	 *         representation.
+	 */
+	@JsonIgnore
+	Object getResourceVersion();
+}
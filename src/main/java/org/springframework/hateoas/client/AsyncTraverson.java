@@ -0,0 +1,1315 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import static org.springframework.http.HttpMethod.*;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkDiscoverer;
+import org.springframework.hateoas.LinkDiscoverers;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.UriTemplate;
+import org.springframework.hateoas.client.PagedResourcesIterator.PageLoader;
+import org.springframework.hateoas.client.Rels.Rel;
+import org.springframework.hateoas.client.TraversalTree.Node;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.plugin.core.OrderAwarePluginRegistry;
+import org.springframework.util.Assert;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureAdapter;
+import org.springframework.util.concurrent.ListenableFutureCallback;
+import org.springframework.web.client.AsyncRestOperations;
+import org.springframework.web.client.AsyncRestTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * Non-blocking variant of {@link Traverson} built on top of {@link AsyncRestOperations}. Traversals return
+ * {@link ListenableFuture}s and every hop is issued from the callback of the previous one, so that no thread is blocked
+ * while waiting for responses. The number of requests in flight across all traversals started from the same
+ * {@link AsyncTraverson} can be limited, requests exceeding the limit are queued until running ones complete.
+ * 
+ * <pre>
+ * AsyncTraverson traverson = new AsyncTraverson(URI.create("http://localhost:8080"), MediaTypes.HAL_JSON);
+ * traverson.setMaxConcurrentRequests(20);
+ * 
+ * ListenableFuture&lt;String&gt; name = traverson.follow("movies", "movie", "actor").toObject("$.name");
+ * </pre>
+ * 
+ * Multiple paths sharing a common prefix can be traversed at once using {@link #followAll()}. Every resource on the
+ * way is requested only once and the branches are followed concurrently. Rels can be followed from every item of a
+ * collection resource concurrently using {@link AsyncTraversalBuilder#followEach(String, String...)}, the content of
+ * paged collection resources can be iterated over with pages requested in advance using
+ * {@link AsyncTraversalBuilder#toIterator(ParameterizedTypeReference)}.
+ * 
+ * @author agent
+ * @since 0.18
+ */
+public class AsyncTraverson {
+
+	private static final ObjectMapper ITEM_MAPPER = new ObjectMapper();
+
+	private final URI baseUri;
+	private final List<MediaType> mediaTypes;
+
+	private AsyncRestOperations operations;
+	private LinkDiscoverers discoverers;
+	private ConcurrencyLimiter limiter;
+
+	/**
+	 * Creates a new {@link AsyncTraverson} interacting with the given base URI and using the given {@link MediaType}s to
+	 * interact with the service.
+	 * 
+	 * @param baseUri must not be {@literal null}.
+	 * @param mediaTypes must not be {@literal null} or empty.
+	 */
+	public AsyncTraverson(URI baseUri, MediaType... mediaTypes) {
+		this(baseUri, Arrays.asList(mediaTypes));
+	}
+
+	/**
+	 * Creates a new {@link AsyncTraverson} interacting with the given base URI and using the given {@link MediaType}s to
+	 * interact with the service.
+	 * 
+	 * @param baseUri must not be {@literal null}.
+	 * @param mediaTypes must not be {@literal null} or empty.
+	 */
+	public AsyncTraverson(URI baseUri, List<MediaType> mediaTypes) {
+
+		Assert.notNull(baseUri, "Base URI must not be null!");
+		Assert.notEmpty(mediaTypes, "At least one media type must be given!");
+
+		this.baseUri = baseUri;
+		this.mediaTypes = mediaTypes;
+		this.discoverers = Traverson.DEFAULT_LINK_DISCOVERERS;
+		this.limiter = new ConcurrencyLimiter(Integer.MAX_VALUE);
+
+		setAsyncRestOperations(null);
+	}
+
+	private static AsyncRestOperations createDefaultTemplate(List<MediaType> mediaTypes) {
+
+		List<HttpMessageConverter<?>> converters = new ArrayList<HttpMessageConverter<?>>();
+		converters.add(new ByteArrayHttpMessageConverter());
+		converters.addAll(Traverson.getDefaultMessageConverters(mediaTypes));
+
+		AsyncRestTemplate template = new AsyncRestTemplate();
+		template.setMessageConverters(converters);
+
+		return template;
+	}
+
+	/**
+	 * Configures the {@link AsyncRestOperations} to use. If {@literal null} is provided a default
+	 * {@link AsyncRestTemplate} will be used. Custom instances need to be able to read {@code byte[]} responses to
+	 * discover links.
+	 * 
+	 * @param operations can be {@literal null}.
+	 * @return
+	 */
+	public AsyncTraverson setAsyncRestOperations(AsyncRestOperations operations) {
+
+		this.operations = operations == null ? createDefaultTemplate(mediaTypes) : operations;
+		return this;
+	}
+
+	/**
+	 * Sets the {@link LinkDiscoverer}s to use. If {@literal null} is provided the defaults of {@link Traverson} are
+	 * reapplied.
+	 * 
+	 * @param discoverers can be {@literal null}.
+	 * @return
+	 */
+	public AsyncTraverson setLinkDiscoverers(List<? extends LinkDiscoverer> discoverers) {
+
+		this.discoverers = discoverers == null ? Traverson.DEFAULT_LINK_DISCOVERERS : new LinkDiscoverers(
+				OrderAwarePluginRegistry.create(discoverers));
+
+		return this;
+	}
+
+	/**
+	 * Limits the number of requests in flight across all traversals started from this {@link AsyncTraverson}. Defaults
+	 * to no limit.
+	 * 
+	 * @param maxConcurrentRequests must be greater than zero.
+	 * @return
+	 */
+	public AsyncTraverson setMaxConcurrentRequests(int maxConcurrentRequests) {
+
+		this.limiter = new ConcurrencyLimiter(maxConcurrentRequests);
+		return this;
+	}
+
+	/**
+	 * Sets up an {@link AsyncTraversalBuilder} to follow the given rels.
+	 * 
+	 * @param rels must not be {@literal null}.
+	 * @return
+	 */
+	public AsyncTraversalBuilder follow(String... rels) {
+		return new AsyncTraversalBuilder().follow(rels);
+	}
+
+	/**
+	 * Sets up a {@link TraversalTreeBuilder} to follow multiple paths of rels at once. Paths sharing a common prefix are
+	 * merged so that every intermediate resource is requested only once and the links found in it are followed
+	 * concurrently.
+	 * 
+	 * <pre>
+	 * ListenableFuture&lt;Map&lt;List&lt;String&gt;, Link&gt;&gt; links = traverson.followAll(). //
+	 * 		follow("customers", "customer", "orders"). //
+	 * 		follow("customers", "customer", "addresses"). //
+	 * 		asLinks();
+	 * </pre>
+	 * 
+	 * @return
+	 */
+	public TraversalTreeBuilder followAll() {
+		return new TraversalTreeBuilder();
+	}
+
+	/**
+	 * Builder API to customize asynchronous traversals.
+	 */
+	public class AsyncTraversalBuilder {
+
+		private final List<String> rels = new ArrayList<String>();
+		private Map<String, Object> templateParameters = new HashMap<String, Object>();
+		private HttpHeaders headers = new HttpHeaders();
+
+		private AsyncTraversalBuilder() {}
+
+		private AsyncTraversalBuilder follow(String... rels) {
+
+			Assert.notNull(rels, "Rels must not be null!");
+
+			this.rels.addAll(Arrays.asList(rels));
+			return this;
+		}
+
+		/**
+		 * Adds the given template parameters to the traversal. If a link discovered by the traversal is templated, the
+		 * given parameters will be used to expand it into a resolvable URI.
+		 * 
+		 * @param parameters can be {@literal null}.
+		 * @return
+		 */
+		public AsyncTraversalBuilder withTemplateParameters(Map<String, Object> parameters) {
+
+			this.templateParameters = parameters;
+			return this;
+		}
+
+		/**
+		 * The {@link HttpHeaders} that shall be used for the requests of the traversal.
+		 * 
+		 * @param headers can be {@literal null}.
+		 * @return
+		 */
+		public AsyncTraversalBuilder withHeaders(HttpHeaders headers) {
+
+			this.headers = headers;
+			return this;
+		}
+
+		/**
+		 * Executes the traversal to a collection resource and sets up a {@link FanOutBuilder} to follow the given rels from
+		 * every item selected by the given JSON Path expression, e.g. {@code followEach("$._embedded.orders[*]",
+		 * "invoice")}.
+		 * 
+		 * @param itemsPath the JSON Path expression selecting the items, must not be {@literal null} or empty.
+		 * @param rels the rels to follow from every item, must not be {@literal null} or empty.
+		 * @return
+		 */
+		public FanOutBuilder followEach(String itemsPath, String... rels) {
+
+			Assert.hasText(itemsPath, "JSON path for items must not be null or empty!");
+			Assert.notEmpty(rels, "At least one rel needs to be provided!");
+
+			return new FanOutBuilder(this, itemsPath, Arrays.asList(rels));
+		}
+
+		/**
+		 * Executes the traversal and marshals the final response into an object of the given type.
+		 * 
+		 * @param type must not be {@literal null}.
+		 * @return
+		 */
+		public <T> ListenableFuture<T> toObject(Class<T> type) {
+			return body(toEntity(type));
+		}
+
+		/**
+		 * Executes the traversal and marshals the final response into an object of the given
+		 * {@link ParameterizedTypeReference}.
+		 * 
+		 * @param type must not be {@literal null}.
+		 * @return
+		 */
+		public <T> ListenableFuture<T> toObject(final ParameterizedTypeReference<T> type) {
+
+			Assert.notNull(type, "Target type must not be null!");
+
+			return body(exchange(new Exchange<T>() {
+
+				@Override
+				public ListenableFuture<ResponseEntity<T>> execute(String uri, HttpEntity<?> request) {
+					return operations.exchange(uri, GET, request, type);
+				}
+			}));
+		}
+
+		/**
+		 * Executes the traversal and returns the result of the given JSON Path expression evaluated against the final
+		 * representation.
+		 * 
+		 * @param jsonPath must not be {@literal null} or empty.
+		 * @return
+		 */
+		public <T> ListenableFuture<T> toObject(final String jsonPath) {
+
+			Assert.hasText(jsonPath, "JSON path must not be null or empty!");
+
+			return new ListenableFutureAdapter<T, String>(toObject(String.class)) {
+
+				@Override
+				protected T adapt(String representation) throws ExecutionException {
+					return JsonPath.read(representation, jsonPath);
+				}
+			};
+		}
+
+		/**
+		 * Executes the traversal to a paged collection resource and returns an {@link Iterator} over the content of all
+		 * of its pages, requesting up to {@value PagedResourcesIterator#DEFAULT_WINDOW} pages in advance.
+		 * 
+		 * @param type must not be {@literal null}.
+		 * @return
+		 * @see PagedResourcesIterator
+		 */
+		public <T> PagedResourcesIterator<T> toIterator(ParameterizedTypeReference<PagedResources<T>> type) {
+			return toIterator(type, PagedResourcesIterator.DEFAULT_WINDOW);
+		}
+
+		/**
+		 * Executes the traversal to a paged collection resource and returns an {@link Iterator} over the content of all
+		 * of its pages, requesting up to the given number of pages in advance.
+		 * 
+		 * @param type must not be {@literal null}.
+		 * @param window the number of pages to request in advance, must be greater than zero.
+		 * @return
+		 * @see PagedResourcesIterator
+		 */
+		public <T> PagedResourcesIterator<T> toIterator(final ParameterizedTypeReference<PagedResources<T>> type,
+				int window) {
+
+			Assert.notNull(type, "Target type must not be null!");
+
+			final HttpEntity<?> request = prepareRequest(headers);
+
+			return new PagedResourcesIterator<T>(toObject(type), new PageLoader<T>() {
+
+				@Override
+				public ListenableFuture<PagedResources<T>> load(final String uri) {
+
+					return body(limiter.submit(new Callable<ListenableFuture<ResponseEntity<PagedResources<T>>>>() {
+
+						@Override
+						public ListenableFuture<ResponseEntity<PagedResources<T>>> call() {
+							return operations.exchange(uri, GET, request, type);
+						}
+					}));
+				}
+			}, window);
+		}
+
+		/**
+		 * Returns the raw {@link ResponseEntity} with the representation unmarshalled into an instance of the given type.
+		 * 
+		 * @param type must not be {@literal null}.
+		 * @return
+		 */
+		public <T> ListenableFuture<ResponseEntity<T>> toEntity(final Class<T> type) {
+
+			Assert.notNull(type, "Target type must not be null!");
+
+			return exchange(new Exchange<T>() {
+
+				@Override
+				public ListenableFuture<ResponseEntity<T>> execute(String uri, HttpEntity<?> request) {
+					return operations.exchange(uri, GET, request, type);
+				}
+			});
+		}
+
+		/**
+		 * Returns the {@link Link} found for the last rel in the rels configured to follow, expanded using the template
+		 * parameters.
+		 * 
+		 * @return
+		 * @see #withTemplateParameters(Map)
+		 */
+		public ListenableFuture<Link> asLink() {
+			return traverseToLink(true);
+		}
+
+		/**
+		 * Returns the templated {@link Link} found for the last rel in the rels configured to follow.
+		 * 
+		 * @return
+		 */
+		public ListenableFuture<Link> asTemplatedLink() {
+			return traverseToLink(false);
+		}
+
+		private ListenableFuture<Link> traverseToLink(final boolean expandFinalUrl) {
+
+			Assert.isTrue(rels.size() > 0, "At least one rel needs to be provided!");
+
+			return new ListenableFutureAdapter<Link, String>(traverseToFinalUrl(expandFinalUrl)) {
+
+				@Override
+				protected Link adapt(String uri) throws ExecutionException {
+					return new Link(uri, rels.get(rels.size() - 1));
+				}
+			};
+		}
+
+		/**
+		 * Issues the final request using the given {@link Exchange} once the traversal has resolved the final URI.
+		 * 
+		 * @param exchange must not be {@literal null}.
+		 * @return
+		 */
+		private <T> ListenableFuture<ResponseEntity<T>> exchange(final Exchange<T> exchange) {
+
+			final DeferredListenableFuture<ResponseEntity<T>> result = new DeferredListenableFuture<ResponseEntity<T>>();
+			final HttpEntity<?> request = prepareRequest(headers);
+
+			traverseToFinalUrl(true).addCallback(new ListenableFutureCallback<String>() {
+
+				@Override
+				public void onSuccess(final String uri) {
+
+					if (result.isCancelled()) {
+						return;
+					}
+
+					ListenableFuture<ResponseEntity<T>> response = limiter
+							.submit(new Callable<ListenableFuture<ResponseEntity<T>>>() {
+
+								@Override
+								public ListenableFuture<ResponseEntity<T>> call() {
+									return exchange.execute(uri, request);
+								}
+							});
+
+					result.propagateCancellationTo(response);
+					result.completeWith(response);
+				}
+
+				@Override
+				public void onFailure(Throwable failure) {
+					result.fail(failure);
+				}
+			});
+
+			return result;
+		}
+
+		private ListenableFuture<String> traverseToFinalUrl(final boolean expandFinalUrl) {
+
+			final Map<String, Object> parameters = templateParameters;
+			DeferredListenableFuture<String> route = new DeferredListenableFuture<String>();
+
+			new Requests(prepareRequest(headers), parameters).follow(baseUri.toString(),
+					new ArrayList<String>(rels).iterator(), route);
+
+			return new ListenableFutureAdapter<String, String>(route) {
+
+				@Override
+				protected String adapt(String uri) throws ExecutionException {
+
+					UriTemplate uriTemplate = new UriTemplate(uri);
+					return expandFinalUrl ? uriTemplate.expand(parameters).toString() : uriTemplate.toString();
+				}
+			};
+		}
+	}
+
+	/**
+	 * Builder API to follow rels from every item of a collection resource. Items are followed concurrently, up to the
+	 * configured number of items at a time, and a resource linked from multiple items is requested only once.
+	 */
+	public class FanOutBuilder {
+
+		private final AsyncTraversalBuilder collection;
+		private final String itemsPath;
+		private final List<String> rels;
+		private int maxConcurrency = Integer.MAX_VALUE;
+		private boolean ordered;
+
+		private FanOutBuilder(AsyncTraversalBuilder collection, String itemsPath, List<String> rels) {
+
+			this.collection = collection;
+			this.itemsPath = itemsPath;
+			this.rels = rels;
+		}
+
+		/**
+		 * Limits the number of items followed concurrently. Defaults to no limit other than the one configured for the
+		 * {@link AsyncTraverson}.
+		 * 
+		 * @param maxConcurrency must be greater than zero.
+		 * @return
+		 */
+		public FanOutBuilder withMaxConcurrency(int maxConcurrency) {
+
+			Assert.isTrue(maxConcurrency > 0, "Maximum concurrency must be greater than zero!");
+
+			this.maxConcurrency = maxConcurrency;
+			return this;
+		}
+
+		/**
+		 * Makes {@link #forEach(Class, ListenableFutureCallback)} hand out the results in the order of the items instead
+		 * of the order they are completed in.
+		 * 
+		 * @return
+		 */
+		public FanOutBuilder inItemOrder() {
+
+			this.ordered = true;
+			return this;
+		}
+
+		/**
+		 * Follows the rels from every item and marshals the final responses into objects of the given type. The results
+		 * are returned in the order of the items, the returned future fails if one of the items fails.
+		 * 
+		 * @param type must not be {@literal null}.
+		 * @return
+		 */
+		public <T> ListenableFuture<List<T>> toObjects(Class<T> type) {
+			return collect(objectTarget(type));
+		}
+
+		/**
+		 * Follows the rels from every item and returns the results of the given JSON Path expression evaluated against the
+		 * final representations in the order of the items.
+		 * 
+		 * @param jsonPath must not be {@literal null} or empty.
+		 * @return
+		 */
+		public <T> ListenableFuture<List<T>> toObjects(String jsonPath) {
+			return collect(AsyncTraverson.this.<T> jsonPathTarget(jsonPath));
+		}
+
+		/**
+		 * Returns the {@link Link}s found for the last rel starting from every item in the order of the items. The
+		 * resources the links point to are not requested.
+		 * 
+		 * @return
+		 */
+		public ListenableFuture<List<Link>> asLinks() {
+			return collect(linkTarget());
+		}
+
+		/**
+		 * Follows the rels from every item and hands the final responses, marshalled into objects of the given type, to
+		 * the given callback as soon as they are available. Items that fail are handed to the callback as failure without
+		 * affecting the remaining items. Invocations of the callback are never concurrent.
+		 * 
+		 * @param type must not be {@literal null}.
+		 * @param callback must not be {@literal null}.
+		 * @return a future completed once all items have been handed to the callback, failed if the collection itself
+		 *         couldn't be read.
+		 * @see #inItemOrder()
+		 */
+		public <T> ListenableFuture<Void> forEach(Class<T> type, final ListenableFutureCallback<? super T> callback) {
+
+			Assert.notNull(callback, "Callback must not be null!");
+
+			return fanOut(objectTarget(type), new ItemListener<T>() {
+
+				private final Map<Integer, Object[]> pending = new HashMap<Integer, Object[]>();
+				private int next;
+
+				@Override
+				public void onItems(int count) {}
+
+				@Override
+				public synchronized void onItem(int index, T value, Throwable failure) {
+
+					if (!ordered) {
+						deliver(value, failure);
+						return;
+					}
+
+					pending.put(index, new Object[] { value, failure });
+
+					while (pending.containsKey(next)) {
+
+						Object[] result = pending.remove(next++);
+						deliver(result[0], (Throwable) result[1]);
+					}
+				}
+
+				@SuppressWarnings("unchecked")
+				private void deliver(Object value, Throwable failure) {
+
+					if (failure == null) {
+						callback.onSuccess((T) value);
+					} else {
+						callback.onFailure(failure);
+					}
+				}
+			});
+		}
+
+		private <T> ListenableFuture<List<T>> collect(Target<T> target) {
+
+			final DeferredListenableFuture<List<T>> result = new DeferredListenableFuture<List<T>>();
+			final List<T> values = new ArrayList<T>();
+
+			ListenableFuture<Void> done = fanOut(target, new ItemListener<T>() {
+
+				@Override
+				public void onItems(int count) {
+
+					synchronized (values) {
+						values.addAll(Collections.<T> nCopies(count, null));
+					}
+				}
+
+				@Override
+				public void onItem(int index, T value, Throwable failure) {
+
+					if (failure != null) {
+						result.fail(failure);
+						return;
+					}
+
+					synchronized (values) {
+						values.set(index, value);
+					}
+				}
+			});
+
+			done.addCallback(new ListenableFutureCallback<Void>() {
+
+				@Override
+				public void onSuccess(Void nothing) {
+
+					synchronized (values) {
+						result.complete(values);
+					}
+				}
+
+				@Override
+				public void onFailure(Throwable failure) {
+					result.fail(failure);
+				}
+			});
+
+			return result;
+		}
+
+		/**
+		 * Reads the items from the collection resource and follows the rels from each of them reporting the outcomes to
+		 * the given {@link ItemListener}.
+		 * 
+		 * @param target must not be {@literal null}.
+		 * @param listener must not be {@literal null}.
+		 * @return
+		 */
+		private <T> ListenableFuture<Void> fanOut(final Target<T> target, final ItemListener<T> listener) {
+
+			final DeferredListenableFuture<Void> done = new DeferredListenableFuture<Void>();
+			final Requests requests = new Requests(prepareRequest(collection.headers), collection.templateParameters);
+			final ConcurrencyLimiter items = new ConcurrencyLimiter(maxConcurrency);
+
+			collection.traverseToFinalUrl(true).addCallback(new ListenableFutureCallback<String>() {
+
+				@Override
+				public void onSuccess(String uri) {
+
+					ListenableFuture<ResponseEntity<byte[]>> document;
+
+					try {
+						document = requests.get(uri);
+					} catch (RuntimeException o_O) {
+						done.fail(o_O);
+						return;
+					}
+
+					document.addCallback(new ListenableFutureCallback<ResponseEntity<byte[]>>() {
+
+						@Override
+						public void onSuccess(ResponseEntity<byte[]> response) {
+
+							final MediaType contentType = response.getHeaders().getContentType();
+							List<byte[]> representations;
+
+							try {
+								representations = readItems(response);
+								listener.onItems(representations.size());
+							} catch (RuntimeException o_O) {
+								done.fail(o_O);
+								return;
+							}
+
+							if (representations.isEmpty()) {
+								done.complete(null);
+								return;
+							}
+
+							final AtomicInteger remaining = new AtomicInteger(representations.size());
+
+							for (int i = 0; i < representations.size(); i++) {
+
+								final int index = i;
+								final byte[] item = representations.get(i);
+
+								ListenableFuture<T> value = items.submit(new Callable<ListenableFuture<T>>() {
+
+									@Override
+									public ListenableFuture<T> call() {
+										return followItem(item, contentType, requests, target);
+									}
+								});
+
+								value.addCallback(new ListenableFutureCallback<T>() {
+
+									@Override
+									public void onSuccess(T value) {
+										handled(index, value, null);
+									}
+
+									@Override
+									public void onFailure(Throwable failure) {
+										handled(index, null, failure);
+									}
+
+									private void handled(int index, T value, Throwable failure) {
+
+										try {
+											listener.onItem(index, value, failure);
+										} finally {
+											if (remaining.decrementAndGet() == 0) {
+												done.complete(null);
+											}
+										}
+									}
+								});
+							}
+						}
+
+						@Override
+						public void onFailure(Throwable failure) {
+							done.fail(failure);
+						}
+					});
+				}
+
+				@Override
+				public void onFailure(Throwable failure) {
+					done.fail(failure);
+				}
+			});
+
+			return done;
+		}
+
+		/**
+		 * Returns the items selected by the JSON Path expression from the given collection response in raw form.
+		 * 
+		 * @param response must not be {@literal null}.
+		 * @return
+		 */
+		private List<byte[]> readItems(ResponseEntity<byte[]> response) {
+
+			byte[] body = response.getBody() == null ? new byte[0] : response.getBody();
+			Object selected = JsonPath.read(Rels.toString(body, response.getHeaders().getContentType()), itemsPath);
+
+			Collection<?> items = selected instanceof Collection ? (Collection<?>) selected : Collections
+					.singleton(selected);
+			List<byte[]> representations = new ArrayList<byte[]>(items.size());
+
+			try {
+
+				for (Object item : items) {
+					representations.add(ITEM_MAPPER.writeValueAsBytes(item));
+				}
+
+			} catch (JsonProcessingException o_O) {
+				throw new IllegalStateException(String.format("Could not read items %s!", itemsPath), o_O);
+			}
+
+			return representations;
+		}
+
+		private <T> ListenableFuture<T> followItem(byte[] item, MediaType contentType, final Requests requests,
+				final Target<T> target) {
+
+			Iterator<String> iterator = rels.iterator();
+			Rel rel = Rels.getRelFor(iterator.next(), discoverers);
+			Link link = rel.findInResponse(item, contentType);
+
+			if (link == null) {
+				throw new IllegalStateException(String.format("Expected to find link with rel '%s' in item %s!", rel,
+						Rels.toString(item, contentType)));
+			}
+
+			final DeferredListenableFuture<T> result = new DeferredListenableFuture<T>();
+			DeferredListenableFuture<String> uri = new DeferredListenableFuture<String>();
+
+			uri.addCallback(new ListenableFutureCallback<String>() {
+
+				@Override
+				public void onSuccess(String uri) {
+
+					try {
+						result.completeWith(target.resolve(uri, rels.get(rels.size() - 1), requests));
+					} catch (RuntimeException o_O) {
+						result.fail(o_O);
+					}
+				}
+
+				@Override
+				public void onFailure(Throwable failure) {
+					result.fail(failure);
+				}
+			});
+
+			requests.follow(link.getHref(), iterator, uri);
+
+			return result;
+		}
+	}
+
+	/**
+	 * Builder API to traverse multiple paths of rels at once. The results are keyed by the path of rels that led to them
+	 * in the order the paths were added.
+	 */
+	public class TraversalTreeBuilder {
+
+		private final TraversalTree tree = new TraversalTree();
+		private Map<String, Object> templateParameters = new HashMap<String, Object>();
+		private HttpHeaders headers = new HttpHeaders();
+
+		private TraversalTreeBuilder() {}
+
+		/**
+		 * Adds the given path of rels to the traversal.
+		 * 
+		 * @param rels must not be {@literal null} or empty.
+		 * @return
+		 */
+		public TraversalTreeBuilder follow(String... rels) {
+
+			Assert.notNull(rels, "Rels must not be null!");
+
+			tree.add(Arrays.asList(rels));
+			return this;
+		}
+
+		/**
+		 * Adds the given template parameters to the traversal. They're used to expand every templated link discovered.
+		 * 
+		 * @param parameters can be {@literal null}.
+		 * @return
+		 */
+		public TraversalTreeBuilder withTemplateParameters(Map<String, Object> parameters) {
+
+			this.templateParameters = parameters;
+			return this;
+		}
+
+		/**
+		 * The {@link HttpHeaders} that shall be used for all requests of the traversal.
+		 * 
+		 * @param headers can be {@literal null}.
+		 * @return
+		 */
+		public TraversalTreeBuilder withHeaders(HttpHeaders headers) {
+
+			this.headers = headers;
+			return this;
+		}
+
+		/**
+		 * Executes the traversal and returns the {@link Link}s found for the last rel of every path, expanded using the
+		 * template parameters. The resources the links point to are not requested.
+		 * 
+		 * @return
+		 */
+		public ListenableFuture<Map<List<String>, Link>> asLinks() {
+			return traverse(linkTarget());
+		}
+
+		/**
+		 * Executes the traversal and marshals the final response of every path into an object of the given type. Paths
+		 * ending at the same URI share a single request. As the final resources are requested for unmarshalling, a
+		 * resource that is the target of one path and on the way of another one is requested twice, use
+		 * {@link #toObjects(String)} to avoid that.
+		 * 
+		 * @param type must not be {@literal null}.
+		 * @return
+		 */
+		public <T> ListenableFuture<Map<List<String>, T>> toObjects(Class<T> type) {
+			return traverse(objectTarget(type));
+		}
+
+		/**
+		 * Executes the traversal and returns the result of the given JSON Path expression evaluated against the final
+		 * representation of every path. As the representations are read in raw form, a resource that is the target of one
+		 * path and on the way of another one is requested only once.
+		 * 
+		 * @param jsonPath must not be {@literal null} or empty.
+		 * @return
+		 */
+		public <T> ListenableFuture<Map<List<String>, T>> toObjects(String jsonPath) {
+			return traverse(AsyncTraverson.this.<T> jsonPathTarget(jsonPath));
+		}
+
+		private <T> ListenableFuture<Map<List<String>, T>> traverse(Target<T> target) {
+
+			Assert.isTrue(!tree.isEmpty(), "At least one path of rels needs to be provided!");
+
+			Requests requests = new Requests(prepareRequest(headers), templateParameters);
+			TreeTraversal<T> traversal = new TreeTraversal<T>(tree, requests, target);
+			traversal.visit(tree.getRoot(), baseUri.toString());
+
+			return traversal.result;
+		}
+	}
+
+	/**
+	 * Returns a {@link Target} producing the {@link Link} for the last rel, expanded using the template parameters.
+	 * 
+	 * @return
+	 */
+	private Target<Link> linkTarget() {
+
+		return new Target<Link>() {
+
+			@Override
+			public ListenableFuture<Link> resolve(String uri, String rel, Requests requests) {
+
+				DeferredListenableFuture<Link> link = new DeferredListenableFuture<Link>();
+				link.complete(new Link(requests.expand(uri).toString(), rel));
+
+				return link;
+			}
+		};
+	}
+
+	/**
+	 * Returns a {@link Target} requesting the final resource and marshalling it into an object of the given type. Every
+	 * URI is requested only once per {@link Target} but independently of the raw requests of the {@link Requests}.
+	 * 
+	 * @param type must not be {@literal null}.
+	 * @return
+	 */
+	private <T> Target<T> objectTarget(final Class<T> type) {
+
+		Assert.notNull(type, "Target type must not be null!");
+
+		return new Target<T>() {
+
+			private final Map<URI, ListenableFuture<T>> objects = new HashMap<URI, ListenableFuture<T>>();
+
+			@Override
+			public ListenableFuture<T> resolve(String uri, String rel, final Requests requests) {
+
+				final URI target = requests.expand(uri);
+
+				synchronized (objects) {
+
+					ListenableFuture<T> object = objects.get(target);
+
+					if (object == null) {
+
+						object = body(limiter.submit(new Callable<ListenableFuture<ResponseEntity<T>>>() {
+
+							@Override
+							public ListenableFuture<ResponseEntity<T>> call() {
+								return operations.exchange(target, GET, requests.request, type);
+							}
+						}));
+
+						objects.put(target, object);
+					}
+
+					return object;
+				}
+			}
+		};
+	}
+
+	/**
+	 * Returns a {@link Target} evaluating the given JSON Path expression against the raw final resource.
+	 * 
+	 * @param jsonPath must not be {@literal null} or empty.
+	 * @return
+	 */
+	private <T> Target<T> jsonPathTarget(final String jsonPath) {
+
+		Assert.hasText(jsonPath, "JSON path must not be null or empty!");
+
+		return new Target<T>() {
+
+			@Override
+			public ListenableFuture<T> resolve(String uri, String rel, Requests requests) {
+
+				return new ListenableFutureAdapter<T, ResponseEntity<byte[]>>(requests.get(uri)) {
+
+					@Override
+					protected T adapt(ResponseEntity<byte[]> response) throws ExecutionException {
+
+						byte[] body = response.getBody() == null ? new byte[0] : response.getBody();
+						return JsonPath.read(Rels.toString(body, response.getHeaders().getContentType()), jsonPath);
+					}
+				};
+			}
+		};
+	}
+
+	/**
+	 * The requests issued by a single traversal sharing the same {@link HttpEntity} and template parameters. Every URI is
+	 * requested at most once.
+	 */
+	private class Requests {
+
+		private final HttpEntity<?> request;
+		private final Map<String, Object> parameters;
+		private final Map<URI, ListenableFuture<ResponseEntity<byte[]>>> documents = new HashMap<URI, ListenableFuture<ResponseEntity<byte[]>>>();
+
+		public Requests(HttpEntity<?> request, Map<String, Object> parameters) {
+
+			this.request = request;
+			this.parameters = parameters;
+		}
+
+		/**
+		 * Expands the given URI using the template parameters of the traversal.
+		 * 
+		 * @param uri must not be {@literal null}.
+		 * @return
+		 */
+		public URI expand(String uri) {
+			return new UriTemplate(uri).expand(parameters);
+		}
+
+		/**
+		 * Returns the raw response of the resource with the given URI, requesting it only if it hasn't been requested
+		 * before.
+		 * 
+		 * @param uri must not be {@literal null}.
+		 * @return
+		 */
+		public ListenableFuture<ResponseEntity<byte[]>> get(String uri) {
+
+			final URI target = expand(uri);
+
+			synchronized (documents) {
+
+				ListenableFuture<ResponseEntity<byte[]>> document = documents.get(target);
+
+				if (document == null) {
+
+					document = limiter.submit(new Callable<ListenableFuture<ResponseEntity<byte[]>>>() {
+
+						@Override
+						public ListenableFuture<ResponseEntity<byte[]>> call() {
+							return operations.exchange(target, GET, request, byte[].class);
+						}
+					});
+
+					documents.put(target, document);
+				}
+
+				return document;
+			}
+		}
+
+		/**
+		 * Requests the given URI and continues the traversal with the link found for the next rel from the response
+		 * callback. Completes the given {@link DeferredListenableFuture} with the URI found for the last rel.
+		 * 
+		 * @param uri must not be {@literal null}.
+		 * @param rels must not be {@literal null}.
+		 * @param result must not be {@literal null}.
+		 */
+		public void follow(String uri, final Iterator<String> rels, final DeferredListenableFuture<String> result) {
+
+			if (!rels.hasNext()) {
+				result.complete(uri);
+				return;
+			}
+
+			ListenableFuture<ResponseEntity<byte[]>> response;
+
+			try {
+				response = get(uri);
+			} catch (RuntimeException o_O) {
+				result.fail(o_O);
+				return;
+			}
+
+			response.addCallback(new ListenableFutureCallback<ResponseEntity<byte[]>>() {
+
+				@Override
+				public void onSuccess(ResponseEntity<byte[]> response) {
+
+					Link link;
+
+					try {
+						link = findLink(rels.next(), response);
+					} catch (RuntimeException o_O) {
+						result.fail(o_O);
+						return;
+					}
+
+					follow(link.getHref(), rels, result);
+				}
+
+				@Override
+				public void onFailure(Throwable failure) {
+					result.fail(failure);
+				}
+			});
+		}
+
+		/**
+		 * Returns the {@link Link} with the given rel contained in the given response.
+		 * 
+		 * @param rel must not be {@literal null}.
+		 * @param response must not be {@literal null}.
+		 * @return
+		 * @throws IllegalStateException in case the response doesn't contain a link with the given rel.
+		 */
+		public Link findLink(String rel, ResponseEntity<byte[]> response) {
+
+			MediaType contentType = response.getHeaders().getContentType();
+			byte[] body = response.getBody() == null ? new byte[0] : response.getBody();
+
+			Rel discovered = Rels.getRelFor(rel, discoverers);
+			Link link = discovered.findInResponse(body, contentType);
+
+			if (link == null) {
+				throw new IllegalStateException(String.format("Expected to find link with rel '%s' in response %s!",
+						discovered, Rels.toString(body, contentType)));
+			}
+
+			return link;
+		}
+	}
+
+	/**
+	 * The state of a single execution of a {@link TraversalTree}. Resources are requested at most once per execution and
+	 * the result is completed once all paths are resolved or failed as soon as one of them fails.
+	 */
+	private class TreeTraversal<T> {
+
+		private final List<List<String>> paths;
+		private final Requests requests;
+		private final Target<T> target;
+
+		private final Object[] values;
+		private final AtomicInteger remaining;
+		private final DeferredListenableFuture<Map<List<String>, T>> result = new DeferredListenableFuture<Map<List<String>, T>>();
+
+		public TreeTraversal(TraversalTree tree, Requests requests, Target<T> target) {
+
+			this.paths = tree.getPaths();
+			this.requests = requests;
+			this.target = target;
+			this.values = new Object[paths.size()];
+			this.remaining = new AtomicInteger(paths.size());
+		}
+
+		/**
+		 * Resolves the path ending at the given {@link Node} (if any) and follows the rels of its children from the
+		 * resource with the given URI.
+		 * 
+		 * @param node must not be {@literal null}.
+		 * @param uri must not be {@literal null}.
+		 */
+		public void visit(final Node node, String uri) {
+
+			if (result.isDone()) {
+				return;
+			}
+
+			if (node.getIndex() >= 0) {
+
+				ListenableFuture<T> value;
+
+				try {
+					value = target.resolve(uri, node.getRel(), requests);
+				} catch (RuntimeException o_O) {
+					result.fail(o_O);
+					return;
+				}
+
+				value.addCallback(new ListenableFutureCallback<T>() {
+
+					@Override
+					public void onSuccess(T value) {
+						resolved(node.getIndex(), value);
+					}
+
+					@Override
+					public void onFailure(Throwable failure) {
+						result.fail(failure);
+					}
+				});
+			}
+
+			if (!node.hasChildren()) {
+				return;
+			}
+
+			ListenableFuture<ResponseEntity<byte[]>> document;
+
+			try {
+				document = requests.get(uri);
+			} catch (RuntimeException o_O) {
+				result.fail(o_O);
+				return;
+			}
+
+			document.addCallback(new ListenableFutureCallback<ResponseEntity<byte[]>>() {
+
+				@Override
+				public void onSuccess(ResponseEntity<byte[]> response) {
+
+					Map<Node, Link> links = new LinkedHashMap<Node, Link>();
+
+					try {
+						for (Node child : node.getChildren()) {
+							links.put(child, requests.findLink(child.getRel(), response));
+						}
+					} catch (RuntimeException o_O) {
+						result.fail(o_O);
+						return;
+					}
+
+					for (Map.Entry<Node, Link> entry : links.entrySet()) {
+						visit(entry.getKey(), entry.getValue().getHref());
+					}
+				}
+
+				@Override
+				public void onFailure(Throwable failure) {
+					result.fail(failure);
+				}
+			});
+		}
+
+		@SuppressWarnings("unchecked")
+		private void resolved(int index, T value) {
+
+			values[index] = value;
+
+			if (remaining.decrementAndGet() != 0) {
+				return;
+			}
+
+			Map<List<String>, T> results = new LinkedHashMap<List<String>, T>(paths.size());
+
+			for (int i = 0; i < values.length; i++) {
+				results.put(paths.get(i), (T) values[i]);
+			}
+
+			result.complete(results);
+		}
+	}
+
+	/**
+	 * Callback to produce the result for a path from the URI the path ends with.
+	 */
+	private interface Target<T> {
+
+		ListenableFuture<T> resolve(String uri, String rel, Requests requests);
+	}
+
+	/**
+	 * Callback to be notified about the outcome of following the rels from the items of a collection.
+	 */
+	private interface ItemListener<T> {
+
+		void onItems(int count);
+
+		void onItem(int index, T value, Throwable failure);
+	}
+
+	private static <T> ListenableFuture<T> body(ListenableFuture<ResponseEntity<T>> entity) {
+
+		return new ListenableFutureAdapter<T, ResponseEntity<T>>(entity) {
+
+			@Override
+			protected T adapt(ResponseEntity<T> entity) throws ExecutionException {
+				return entity.getBody();
+			}
+		};
+	}
+
+	private HttpEntity<?> prepareRequest(HttpHeaders headers) {
+
+		HttpHeaders toSend = new HttpHeaders();
+		toSend.putAll(headers);
+
+		if (headers.getAccept().isEmpty()) {
+			toSend.setAccept(mediaTypes);
+		}
+
+		return new HttpEntity<Void>(toSend);
+	}
+
+	/**
+	 * Callback to issue the final request of a traversal.
+	 */
+	private interface Exchange<T> {
+
+		ListenableFuture<ResponseEntity<T>> execute(String uri, HttpEntity<?> request);
+	}
+}
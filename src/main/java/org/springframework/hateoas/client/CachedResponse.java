@@ -0,0 +1,271 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * A response stored in an {@link HttpResponseCache}. Captures the raw body and headers of the response as well as the
+ * point in time until which it can be used without revalidating it, derived from the {@code Cache-Control} and
+ * {@code Expires} headers. Stale responses carrying an {@code ETag} or {@code Last-Modified} header can be revalidated
+ * using a conditional request.
+ * 
+ * @author agent
+ * @since 0.18
+ */
+public final class CachedResponse {
+
+	private static final String CACHE_CONTROL = "Cache-Control";
+	private static final String EXPIRES = "Expires";
+	private static final String LAST_MODIFIED = "Last-Modified";
+
+	private final byte[] body;
+	private final HttpHeaders headers;
+	private final long expires;
+
+	/**
+	 * Creates a new {@link CachedResponse} from the given body and headers that can be used until the given point in
+	 * time.
+	 * 
+	 * @param body must not be {@literal null}.
+	 * @param headers must not be {@literal null}.
+	 * @param expires the point in time (in milliseconds) until which the response can be used without revalidation.
+	 */
+	public CachedResponse(byte[] body, HttpHeaders headers, long expires) {
+
+		Assert.notNull(body, "Body must not be null!");
+		Assert.notNull(headers, "Headers must not be null!");
+
+		this.body = body;
+		this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+		this.expires = expires;
+	}
+
+	/**
+	 * Creates a {@link CachedResponse} from the given {@link ResponseEntity} received at the given point in time.
+	 * 
+	 * @param response must not be {@literal null}.
+	 * @param now the current time in milliseconds.
+	 * @return the {@link CachedResponse} or {@literal null} if the response must not be cached or could never be used
+	 *         again as it's neither fresh nor can be revalidated.
+	 */
+	static CachedResponse of(ResponseEntity<byte[]> response, long now) {
+
+		Assert.notNull(response, "Response must not be null!");
+
+		if (!HttpStatus.OK.equals(response.getStatusCode()) || response.getBody() == null) {
+			return null;
+		}
+
+		HttpHeaders headers = response.getHeaders();
+		long expires = getExpires(headers, now);
+
+		if (expires < 0) {
+			return null;
+		}
+
+		CachedResponse result = new CachedResponse(response.getBody(), headers, expires);
+
+		return result.isFresh(now) || result.isRevalidatable() ? result : null;
+	}
+
+	/**
+	 * Returns the point in time until which a response with the given headers is fresh, {@literal -1} if the response
+	 * must not be stored at all.
+	 * 
+	 * @param headers must not be {@literal null}.
+	 * @param now
+	 * @return
+	 */
+	private static long getExpires(HttpHeaders headers, long now) {
+
+		List<String> cacheControl = headers.get(CACHE_CONTROL);
+		boolean noCache = false;
+		Long maxAge = null;
+
+		if (cacheControl != null) {
+
+			for (String value : cacheControl) {
+				for (String directive : StringUtils.tokenizeToStringArray(value, ",")) {
+
+					if (directive.equalsIgnoreCase("no-store")) {
+						return -1;
+					}
+
+					if (directive.equalsIgnoreCase("no-cache")) {
+						noCache = true;
+					} else if (maxAge == null && directive.regionMatches(true, 0, "max-age=", 0, 8)) {
+						try {
+							maxAge = Long.parseLong(directive.substring(8).trim());
+						} catch (NumberFormatException o_O) {
+							maxAge = 0L;
+						}
+					}
+				}
+			}
+		}
+
+		// Applied only after all directives were inspected as no-store wins regardless of its position
+		if (noCache) {
+			return now;
+		}
+
+		if (maxAge != null) {
+			return now + maxAge * 1000;
+		}
+
+		if (headers.containsKey(EXPIRES)) {
+			try {
+				return Math.max(headers.getExpires(), now);
+			} catch (IllegalArgumentException o_O) {
+				// Invalid dates, e.g. 0, mean already expired
+				return now;
+			}
+		}
+
+		return now;
+	}
+
+	/**
+	 * Returns the raw body of the response.
+	 * 
+	 * @return will never be {@literal null}.
+	 */
+	public byte[] getBody() {
+		return body;
+	}
+
+	/**
+	 * Returns the headers of the response.
+	 * 
+	 * @return will never be {@literal null}.
+	 */
+	public HttpHeaders getHeaders() {
+		return headers;
+	}
+
+	/**
+	 * Returns the {@link MediaType} of the response.
+	 * 
+	 * @return
+	 */
+	public MediaType getContentType() {
+		return headers.getContentType();
+	}
+
+	/**
+	 * Returns the point in time (in milliseconds) until which the response can be used without revalidation.
+	 * 
+	 * @return
+	 */
+	public long getExpires() {
+		return expires;
+	}
+
+	/**
+	 * Returns whether the response can be used without revalidation at the given point in time.
+	 * 
+	 * @param now the current time in milliseconds.
+	 * @return
+	 */
+	public boolean isFresh(long now) {
+		return now < expires;
+	}
+
+	/**
+	 * Returns whether the response carries an {@code ETag} or {@code Last-Modified} header to revalidate it.
+	 * 
+	 * @return
+	 */
+	public boolean isRevalidatable() {
+		return headers.getETag() != null || headers.containsKey(LAST_MODIFIED);
+	}
+
+	/**
+	 * Returns the approximate number of bytes the response occupies.
+	 * 
+	 * @return
+	 */
+	public int getSize() {
+
+		int size = body.length;
+
+		for (Entry<String, List<String>> entry : headers.entrySet()) {
+			for (String value : entry.getValue()) {
+				size += entry.getKey().length() + value.length();
+			}
+		}
+
+		return size;
+	}
+
+	/**
+	 * Adds the conditional request headers to revalidate the response to the given {@link HttpHeaders}.
+	 * 
+	 * @param request must not be {@literal null}.
+	 */
+	void addConditionalHeaders(HttpHeaders request) {
+
+		if (headers.getETag() != null) {
+			request.setIfNoneMatch(headers.getETag());
+		}
+
+		if (headers.containsKey(LAST_MODIFIED)) {
+			request.set("If-Modified-Since", headers.getFirst(LAST_MODIFIED));
+		}
+	}
+
+	/**
+	 * Creates a new {@link CachedResponse} with the same body after the response was revalidated at the given point in
+	 * time with a {@code 304 Not Modified} response carrying the given headers.
+	 * 
+	 * @param notModified the headers of the {@code 304 Not Modified} response, must not be {@literal null}.
+	 * @param now the current time in milliseconds.
+	 * @return
+	 */
+	CachedResponse revalidated(HttpHeaders notModified, long now) {
+
+		Assert.notNull(notModified, "Headers must not be null!");
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.putAll(this.headers);
+
+		for (Entry<String, List<String>> entry : notModified.entrySet()) {
+			if (!entry.getKey().equalsIgnoreCase("Content-Length")) {
+				headers.put(entry.getKey(), entry.getValue());
+			}
+		}
+
+		return new CachedResponse(body, headers, Math.max(getExpires(headers, now), now));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("CachedResponse { size: %s, expires: %s, headers: %s }", body.length, expires, headers);
+	}
+}
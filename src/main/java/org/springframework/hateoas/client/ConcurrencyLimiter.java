@@ -0,0 +1,227 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+
+import org.springframework.util.Assert;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureCallback;
+
+/**
+ * Limits the number of asynchronous operations in flight without blocking the submitting threads. Operations
+ * exceeding the limit are queued and started in submission order as soon as running ones complete.
+ * 
+ * @author agent
+ * @since 0.18
+ */
+class ConcurrencyLimiter {
+
+	private final int maxConcurrency;
+	private final Queue<Runnable> pending = new LinkedList<Runnable>();
+	private final ThreadLocal<Queue<Runnable>> released = new ThreadLocal<Queue<Runnable>>();
+
+	private int running;
+
+	/**
+	 * Creates a new {@link ConcurrencyLimiter} allowing the given number of operations to run concurrently.
+	 * 
+	 * @param maxConcurrency must be greater than zero.
+	 */
+	public ConcurrencyLimiter(int maxConcurrency) {
+
+		Assert.isTrue(maxConcurrency > 0, "Maximum concurrency must be greater than zero!");
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	/**
+	 * Starts the operation represented by the given {@link Callable} as soon as the limit allows. Cancelling the
+	 * returned {@link ListenableFuture} removes the operation from the queue if it hasn't been started yet and cancels
+	 * the {@link ListenableFuture} returned by the operation otherwise.
+	 * 
+	 * @param operation must not be {@literal null}.
+	 * @return a {@link ListenableFuture} completed with the outcome of the operation.
+	 */
+	public <T> ListenableFuture<T> submit(Callable<? extends ListenableFuture<T>> operation) {
+
+		Assert.notNull(operation, "Operation must not be null!");
+
+		final Task<T> task = new Task<T>(operation);
+
+		task.result.addCallback(new ListenableFutureCallback<T>() {
+
+			@Override
+			public void onSuccess(T value) {}
+
+			@Override
+			public void onFailure(Throwable failure) {
+
+				if (task.result.isCancelled()) {
+					task.cancel();
+				}
+			}
+		});
+
+		synchronized (this) {
+
+			if (running >= maxConcurrency) {
+				pending.add(task);
+				return task.result;
+			}
+
+			running++;
+		}
+
+		task.run();
+
+		return task.result;
+	}
+
+	/**
+	 * Returns the number of operations currently running.
+	 * 
+	 * @return
+	 */
+	public synchronized int getRunning() {
+		return running;
+	}
+
+	/**
+	 * Returns the number of operations waiting to be started.
+	 * 
+	 * @return
+	 */
+	public synchronized int getPending() {
+		return pending.size();
+	}
+
+	/**
+	 * Hands the slot of a completed operation to the next pending one or frees it. Operations that complete while the
+	 * current thread is already starting released ones, e.g. as they fail synchronously, are queued and started in a
+	 * loop by the outermost invocation instead of recursively, so that a long queue can't overflow the stack.
+	 */
+	private void release() {
+
+		Runnable next;
+
+		synchronized (this) {
+
+			next = pending.poll();
+
+			if (next == null) {
+				running--;
+				return;
+			}
+		}
+
+		Queue<Runnable> queue = released.get();
+
+		if (queue != null) {
+			queue.add(next);
+			return;
+		}
+
+		queue = new LinkedList<Runnable>();
+		released.set(queue);
+
+		try {
+			for (; next != null; next = queue.poll()) {
+				next.run();
+			}
+		} finally {
+			released.remove();
+		}
+	}
+
+	/**
+	 * An operation along with the {@link ListenableFuture} handed out for it.
+	 */
+	private class Task<T> implements Runnable {
+
+		private final Callable<? extends ListenableFuture<T>> operation;
+		private final DeferredListenableFuture<T> result = new DeferredListenableFuture<T>();
+		private volatile ListenableFuture<T> future;
+
+		public Task(Callable<? extends ListenableFuture<T>> operation) {
+			this.operation = operation;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+
+			if (result.isCancelled()) {
+				release();
+				return;
+			}
+
+			ListenableFuture<T> future;
+
+			try {
+				future = operation.call();
+			} catch (Exception o_O) {
+				release();
+				result.fail(o_O);
+				return;
+			}
+
+			this.future = future;
+
+			future.addCallback(new ListenableFutureCallback<T>() {
+
+				@Override
+				public void onSuccess(T value) {
+					release();
+					result.complete(value);
+				}
+
+				@Override
+				public void onFailure(Throwable failure) {
+					release();
+					result.fail(failure);
+				}
+			});
+
+			// The result might have been cancelled before the future was published
+			if (result.isCancelled()) {
+				future.cancel(true);
+			}
+		}
+
+		/**
+		 * Removes the operation from the queue or cancels it if it was started already.
+		 */
+		public void cancel() {
+
+			synchronized (ConcurrencyLimiter.this) {
+				if (pending.remove(this)) {
+					return;
+				}
+			}
+
+			ListenableFuture<T> future = this.future;
+
+			if (future != null) {
+				future.cancel(true);
+			}
+		}
+	}
+}
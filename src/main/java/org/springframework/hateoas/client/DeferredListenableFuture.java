@@ -0,0 +1,108 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureCallback;
+import org.springframework.util.concurrent.ListenableFutureTask;
+
+/**
+ * {@link ListenableFuture} that is completed explicitly, e.g. from the callbacks of other {@link ListenableFuture}s.
+ * Registered {@link ListenableFutureCallback}s are invoked by the thread completing the future.
+ * 
+ * @author agent
+ * @since 0.18
+ */
+class DeferredListenableFuture<T> extends ListenableFutureTask<T> {
+
+	private static final Callable<Object> NOT_RUNNABLE = new Callable<Object>() {
+
+		@Override
+		public Object call() {
+			throw new IllegalStateException("DeferredListenableFuture must be completed explicitly!");
+		}
+	};
+
+	@SuppressWarnings("unchecked")
+	public DeferredListenableFuture() {
+		super((Callable<T>) NOT_RUNNABLE);
+	}
+
+	/**
+	 * Completes the future with the given value.
+	 * 
+	 * @param value can be {@literal null}.
+	 */
+	public void complete(T value) {
+		set(value);
+	}
+
+	/**
+	 * Completes the future with the given failure.
+	 * 
+	 * @param failure must not be {@literal null}.
+	 */
+	public void fail(Throwable failure) {
+		setException(failure);
+	}
+
+	/**
+	 * Cancels the given {@link Future} as soon as this future gets cancelled. Must only be used for futures not shared
+	 * with other consumers.
+	 * 
+	 * @param target must not be {@literal null}.
+	 */
+	public void propagateCancellationTo(final Future<?> target) {
+
+		addCallback(new ListenableFutureCallback<T>() {
+
+			@Override
+			public void onSuccess(T result) {}
+
+			@Override
+			public void onFailure(Throwable failure) {
+
+				if (isCancelled()) {
+					target.cancel(true);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Completes the future with the outcome of the given {@link ListenableFuture} once it's done.
+	 * 
+	 * @param source must not be {@literal null}.
+	 */
+	public void completeWith(ListenableFuture<? extends T> source) {
+
+		source.addCallback(new ListenableFutureCallback<T>() {
+
+			@Override
+			public void onSuccess(T result) {
+				complete(result);
+			}
+
+			@Override
+			public void onFailure(Throwable failure) {
+				fail(failure);
+			}
+		});
+	}
+}
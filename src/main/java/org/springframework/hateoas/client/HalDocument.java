@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import java.io.IOException;
+
+import org.springframework.hateoas.Link;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A parsed HAL document used by {@link Traverson} to look up links and embedded resources in memory.
+ * 
+ * @author agent
+ * @since 0.18
+ */
+class HalDocument {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private final JsonNode node;
+
+	private HalDocument(JsonNode node) {
+		this.node = node;
+	}
+
+	/**
+	 * Parses the given raw HAL representation.
+	 * 
+	 * @param representation must not be {@literal null}.
+	 * @return the {@link HalDocument} or {@literal null} if the representation is not a JSON object.
+	 * @throws IOException
+	 */
+	public static HalDocument parse(byte[] representation) throws IOException {
+
+		Assert.notNull(representation, "Representation must not be null!");
+
+		if (representation.length == 0) {
+			return null;
+		}
+
+		JsonNode node = MAPPER.readTree(representation);
+		return node != null && node.isObject() ? new HalDocument(node) : null;
+	}
+
+	/**
+	 * Returns the {@code href} of the (first) link with the given rel.
+	 * 
+	 * @param rel must not be {@literal null} or empty.
+	 * @return the {@code href} or {@literal null} if the document doesn't contain a link with the given rel.
+	 */
+	public String getHref(String rel) {
+		return getHref(node.path("_links").path(rel));
+	}
+
+	/**
+	 * Returns the resource embedded for the given rel which the given {@code href} points to. A single resource embedded
+	 * for the rel is considered if its self link matches the {@code href} or no {@code href} is given. Of multiple
+	 * resources embedded for the rel, the one whose self link matches the given {@code href} is returned.
+	 * 
+	 * @param rel must not be {@literal null} or empty.
+	 * @param href can be {@literal null}.
+	 * @return the embedded resource or {@literal null} if none matches.
+	 */
+	public HalDocument getEmbedded(String rel, String href) {
+
+		JsonNode embedded = node.path("_embedded").path(rel);
+
+		if (embedded.isArray()) {
+
+			for (JsonNode element : embedded) {
+				if (href != null && element.isObject() && href.equals(getSelfHref(element))) {
+					return new HalDocument(element);
+				}
+			}
+
+			return embedded.size() == 1 && href == null ? getEmbeddedIfSelfLinked(embedded.get(0)) : null;
+		}
+
+		if (!embedded.isObject()) {
+			return null;
+		}
+
+		return href == null || href.equals(getSelfHref(embedded)) ? getEmbeddedIfSelfLinked(embedded) : null;
+	}
+
+	/**
+	 * Returns the {@code href} of the document's self link.
+	 * 
+	 * @return
+	 */
+	public String getSelfHref() {
+		return getSelfHref(node);
+	}
+
+	private static HalDocument getEmbeddedIfSelfLinked(JsonNode node) {
+		return node.isObject() && getSelfHref(node) != null ? new HalDocument(node) : null;
+	}
+
+	private static String getSelfHref(JsonNode node) {
+		return getHref(node.path("_links").path(Link.REL_SELF));
+	}
+
+	private static String getHref(JsonNode link) {
+
+		JsonNode candidate = link.isArray() ? link.path(0) : link;
+		JsonNode href = candidate.path("href");
+
+		return href.isTextual() ? href.asText() : null;
+	}
+}
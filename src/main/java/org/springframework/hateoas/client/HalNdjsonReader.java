@@ -0,0 +1,134 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.hal.Jackson2HalModule;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads a {@link MediaTypes#HAL_NDJSON} stream incrementally, i.e. one line at a time while iterating over the
+ * elements. Only the element currently read is held in memory so that arbitrarily large exports can be consumed. The
+ * reader has to be closed to release the underlying {@link InputStream}.
+ *
+ * <pre>
+ * HalNdjsonReader&lt;Resource&lt;Order&gt;&gt; reader = new HalNdjsonReader&lt;Resource&lt;Order&gt;&gt;(stream,
+ * 		new ParameterizedTypeReference&lt;Resource&lt;Order&gt;&gt;() {});
+ *
+ * try {
+ * 	while (reader.hasNext()) {
+ * 		process(reader.next());
+ * 	}
+ * } finally {
+ * 	reader.close();
+ * }
+ * </pre>
+ *
+ * @author agent
+ * @since 0.18
+ */
+public class HalNdjsonReader<T> implements Iterator<T>, Closeable {
+
+	private final MappingIterator<T> delegate;
+
+	/**
+	 * Creates a new {@link HalNdjsonReader} for the given {@link InputStream} reading elements of the given type using a
+	 * default HAL {@link ObjectMapper}.
+	 *
+	 * @param stream must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 * @throws IOException
+	 */
+	public HalNdjsonReader(InputStream stream, ParameterizedTypeReference<T> type) throws IOException {
+		this(stream, type, getDefaultObjectMapper());
+	}
+
+	/**
+	 * Creates a new {@link HalNdjsonReader} for the given {@link InputStream} reading elements of the given type using
+	 * the given {@link ObjectMapper}.
+	 *
+	 * @param stream must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 * @param mapper must not be {@literal null}.
+	 * @throws IOException
+	 */
+	public HalNdjsonReader(InputStream stream, ParameterizedTypeReference<T> type, ObjectMapper mapper)
+			throws IOException {
+
+		Assert.notNull(stream, "InputStream must not be null!");
+		Assert.notNull(type, "Type must not be null!");
+		Assert.notNull(mapper, "ObjectMapper must not be null!");
+
+		JavaType javaType = mapper.getTypeFactory().constructType(type.getType());
+		this.delegate = mapper.reader(javaType).readValues(stream);
+	}
+
+	private static ObjectMapper getDefaultObjectMapper() {
+
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.registerModule(new Jackson2HalModule());
+		mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+		return mapper;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		return delegate.hasNext();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public T next() {
+		return delegate.next();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Iterator#remove()
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		delegate.close();
+	}
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ClientHttpRequestFactory} to hedge {@code GET} and {@code HEAD} requests against slow responses. If a request
+ * hasn't been answered within the configured percentile of the latencies observed so far, a duplicate request is issued
+ * and the response arriving first is used. The response to the other request is closed once it arrives, requests that
+ * haven't been started yet are skipped.
+ * <p>
+ * To limit the additional load, every request earns a fraction of a hedged request as defined by
+ * {@link #setBudget(double)}, a hedged request is only issued if a whole one has been earned. Requests with other HTTP
+ * methods are handed to the delegate {@link ClientHttpRequestFactory} directly.
+ *
+ * <pre>
+ * HedgingClientHttpRequestFactory factory = new HedgingClientHttpRequestFactory(
+ * 		new SimpleClientHttpRequestFactory(), Executors.newCachedThreadPool());
+ * factory.setPercentile(0.95);
+ * factory.setBudget(0.05);
+ *
+ * traverson.setRequestFactory(factory);
+ * </pre>
+ *
+ * Both requests are executed on the given {@link ExecutorService}, so it needs to be able to run two requests per
+ * request in flight.
+ *
+ * @author agent
+ * @since 0.18
+ */
+public class HedgingClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+	static final int SAMPLE_SIZE = 512;
+	static final int MIN_SAMPLES = 20;
+	static final double MAX_TOKENS = 10;
+
+	private static final int RECALCULATION_INTERVAL = 16;
+
+	private final ClientHttpRequestFactory delegate;
+	private final ExecutorService executor;
+
+	private final long[] samples = new long[SAMPLE_SIZE];
+	private int sampleCount;
+	private double tokens;
+
+	private volatile double percentile = 0.95;
+	private volatile double budget = 0.05;
+	private volatile long initialDelay = TimeUnit.MILLISECONDS.toNanos(100);
+	private volatile long delay = initialDelay;
+
+	private final AtomicLong hedgedRequests = new AtomicLong();
+
+	/**
+	 * Creates a new {@link HedgingClientHttpRequestFactory} for the given delegate {@link ClientHttpRequestFactory}
+	 * executing requests on the given {@link ExecutorService}.
+	 *
+	 * @param delegate must not be {@literal null}.
+	 * @param executor must not be {@literal null}.
+	 */
+	public HedgingClientHttpRequestFactory(ClientHttpRequestFactory delegate, ExecutorService executor) {
+
+		Assert.notNull(delegate, "Delegate ClientHttpRequestFactory must not be null!");
+		Assert.notNull(executor, "ExecutorService must not be null!");
+
+		this.delegate = delegate;
+		this.executor = executor;
+	}
+
+	/**
+	 * Configures the percentile of the observed latencies after which a request is hedged. Defaults to {@code 0.95}.
+	 *
+	 * @param percentile must be greater than zero and less than one.
+	 */
+	public void setPercentile(double percentile) {
+
+		Assert.isTrue(percentile > 0 && percentile < 1, "Percentile must be greater than zero and less than one!");
+		this.percentile = percentile;
+	}
+
+	/**
+	 * Configures the number of hedged requests allowed per request, e.g. {@code 0.05} to allow at most 5% additional
+	 * requests. Defaults to {@code 0.05}.
+	 *
+	 * @param budget must not be negative.
+	 */
+	public void setBudget(double budget) {
+
+		Assert.isTrue(budget >= 0, "Budget must not be negative!");
+		this.budget = budget;
+	}
+
+	/**
+	 * Configures the delay after which a request is hedged until enough latencies have been observed to calculate the
+	 * percentile. Defaults to 100 milliseconds.
+	 *
+	 * @param delay must not be negative.
+	 * @param unit must not be {@literal null}.
+	 */
+	public void setInitialDelay(long delay, TimeUnit unit) {
+
+		Assert.isTrue(delay >= 0, "Delay must not be negative!");
+		Assert.notNull(unit, "TimeUnit must not be null!");
+
+		this.initialDelay = unit.toNanos(delay);
+
+		synchronized (samples) {
+			if (sampleCount < MIN_SAMPLES) {
+				this.delay = initialDelay;
+			}
+		}
+	}
+
+	/**
+	 * Returns the current delay after which requests are hedged.
+	 *
+	 * @param unit must not be {@literal null}.
+	 * @return
+	 */
+	public long getDelay(TimeUnit unit) {
+		return unit.convert(delay, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Returns the number of hedged requests issued so far.
+	 *
+	 * @return
+	 */
+	public long getHedgedRequests() {
+		return hedgedRequests.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.http.client.ClientHttpRequestFactory#createRequest(java.net.URI, org.springframework.http.HttpMethod)
+	 */
+	@Override
+	public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+
+		if (!HttpMethod.GET.equals(httpMethod) && !HttpMethod.HEAD.equals(httpMethod)) {
+			return delegate.createRequest(uri, httpMethod);
+		}
+
+		return new HedgedRequest(uri, httpMethod);
+	}
+
+	/**
+	 * Records the given latency and recalculates the delay periodically.
+	 *
+	 * @param latency in nanoseconds.
+	 */
+	private void record(long latency) {
+
+		synchronized (samples) {
+
+			samples[sampleCount % SAMPLE_SIZE] = latency;
+			sampleCount++;
+
+			if (sampleCount < MIN_SAMPLES || sampleCount % RECALCULATION_INTERVAL != 0) {
+				return;
+			}
+
+			long[] sorted = Arrays.copyOf(samples, Math.min(sampleCount, SAMPLE_SIZE));
+			Arrays.sort(sorted);
+
+			this.delay = sorted[(int) Math.min(sorted.length - 1, Math.floor(sorted.length * percentile))];
+		}
+	}
+
+	/**
+	 * Earns the share of a hedged request for a new request.
+	 */
+	private void earn() {
+
+		synchronized (samples) {
+			tokens = Math.min(MAX_TOKENS, tokens + budget);
+		}
+	}
+
+	/**
+	 * Spends a hedged request if one has been earned.
+	 *
+	 * @return whether a hedged request may be issued.
+	 */
+	private boolean spend() {
+
+		synchronized (samples) {
+
+			if (tokens < 1) {
+				return false;
+			}
+
+			tokens--;
+			return true;
+		}
+	}
+
+	/**
+	 * {@link ClientHttpRequest} executing the request with the delegate {@link ClientHttpRequestFactory} and hedging it
+	 * if needed.
+	 */
+	private class HedgedRequest implements ClientHttpRequest {
+
+		private final URI uri;
+		private final HttpMethod method;
+		private final HttpHeaders headers = new HttpHeaders();
+		private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+		private final BlockingQueue<Object> outcomes = new LinkedBlockingQueue<Object>();
+		private boolean decided;
+
+		public HedgedRequest(URI uri, HttpMethod method) {
+
+			this.uri = uri;
+			this.method = method;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.http.HttpRequest#getMethod()
+		 */
+		@Override
+		public HttpMethod getMethod() {
+			return method;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.http.HttpRequest#getURI()
+		 */
+		@Override
+		public URI getURI() {
+			return uri;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.http.HttpMessage#getHeaders()
+		 */
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.http.HttpOutputMessage#getBody()
+		 */
+		@Override
+		public OutputStream getBody() throws IOException {
+			return body;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.http.client.ClientHttpRequest#execute()
+		 */
+		@Override
+		public ClientHttpResponse execute() throws IOException {
+
+			long start = System.nanoTime();
+			earn();
+
+			try {
+
+				start();
+
+				Object outcome = outcomes.poll(delay, TimeUnit.NANOSECONDS);
+				int attempts = 1;
+
+				if (outcome == null && spend()) {
+
+					hedgedRequests.incrementAndGet();
+					start();
+					attempts++;
+				}
+
+				outcome = outcome == null ? outcomes.take() : outcome;
+
+				if (outcome instanceof Throwable && attempts > 1) {
+
+					Object other = outcomes.take();
+					outcome = other instanceof Throwable ? outcome : other;
+				}
+
+				decide();
+
+				if (outcome instanceof IOException) {
+					throw (IOException) outcome;
+				} else if (outcome instanceof RuntimeException) {
+					throw (RuntimeException) outcome;
+				} else if (outcome instanceof Error) {
+					throw (Error) outcome;
+				} else if (outcome instanceof Throwable) {
+					throw new IOException((Throwable) outcome);
+				}
+
+				record(System.nanoTime() - start);
+				return (ClientHttpResponse) outcome;
+
+			} catch (InterruptedException o_O) {
+
+				decide();
+				Thread.currentThread().interrupt();
+
+				throw new InterruptedIOException(String.format("Interrupted while waiting for response of %s!", uri));
+			}
+		}
+
+		/**
+		 * Starts a request on the {@link ExecutorService}.
+		 */
+		private void start() {
+
+			try {
+
+				executor.execute(new Runnable() {
+
+					@Override
+					public void run() {
+						attempt();
+					}
+				});
+
+			} catch (RejectedExecutionException o_O) {
+				outcomes.add(o_O);
+			}
+		}
+
+		/**
+		 * Issues the actual request unless the outcome has already been decided and hands over the response, or closes
+		 * it if it's not needed anymore.
+		 */
+		private void attempt() {
+
+			synchronized (this) {
+				if (decided) {
+					return;
+				}
+			}
+
+			Object outcome;
+
+			try {
+
+				ClientHttpRequest request = delegate.createRequest(uri, method);
+				request.getHeaders().putAll(headers);
+
+				if (body.size() > 0) {
+					body.writeTo(request.getBody());
+				}
+
+				outcome = request.execute();
+
+			} catch (Throwable o_O) {
+				outcome = o_O;
+			}
+
+			synchronized (this) {
+
+				if (!decided) {
+					outcomes.add(outcome);
+					return;
+				}
+			}
+
+			if (outcome instanceof ClientHttpResponse) {
+				((ClientHttpResponse) outcome).close();
+			}
+		}
+
+		/**
+		 * Marks the outcome as decided and closes responses that arrived but are not needed.
+		 */
+		private void decide() {
+
+			synchronized (this) {
+				decided = true;
+			}
+
+			for (Object outcome : outcomes) {
+				if (outcome instanceof ClientHttpResponse) {
+					((ClientHttpResponse) outcome).close();
+				}
+			}
+
+			outcomes.clear();
+		}
+	}
+}
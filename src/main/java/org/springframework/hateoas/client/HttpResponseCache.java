@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+/**
+ * Cache for the responses of the requests issued by a {@link Traverson} to discover links. Implementations are
+ * expected to be thread-safe as a {@link Traverson} can be used by multiple threads concurrently.
+ * 
+ * @author agent
+ * @since 0.18
+ * @see InMemoryHttpResponseCache
+ * @see Traverson#setResponseCache(HttpResponseCache)
+ */
+public interface HttpResponseCache {
+
+	/**
+	 * Returns the {@link CachedResponse} stored for the given key.
+	 * 
+	 * @param key will never be {@literal null}.
+	 * @return the {@link CachedResponse} or {@literal null} if none is stored for the given key.
+	 */
+	CachedResponse get(String key);
+
+	/**
+	 * Stores the given {@link CachedResponse} under the given key, replacing the one stored before.
+	 * 
+	 * @param key will never be {@literal null}.
+	 * @param response will never be {@literal null}.
+	 */
+	void put(String key, CachedResponse response);
+
+	/**
+	 * Removes the {@link CachedResponse} stored under the given key.
+	 * 
+	 * @param key will never be {@literal null}.
+	 */
+	void evict(String key);
+}
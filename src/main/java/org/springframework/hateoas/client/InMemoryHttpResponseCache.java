@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link HttpResponseCache} keeping the responses in memory. The cache is bounded by the approximate number of bytes
+ * held (see {@link CachedResponse#getSize()}) and evicts the least recently used responses first.
+ * 
+ * @author agent
+ * @since 0.18
+ */
+public class InMemoryHttpResponseCache implements HttpResponseCache {
+
+	private final long maxBytes;
+	private final Map<String, CachedResponse> responses;
+
+	private long bytes;
+
+	/**
+	 * Creates a new {@link InMemoryHttpResponseCache} holding responses of the given total size.
+	 * 
+	 * @param maxBytes must be greater than zero.
+	 */
+	public InMemoryHttpResponseCache(long maxBytes) {
+
+		Assert.isTrue(maxBytes > 0, "Maximum number of bytes must be greater than zero!");
+
+		this.maxBytes = maxBytes;
+		this.responses = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.client.HttpResponseCache#get(java.lang.String)
+	 */
+	@Override
+	public synchronized CachedResponse get(String key) {
+		return responses.get(key);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.client.HttpResponseCache#put(java.lang.String, org.springframework.hateoas.client.CachedResponse)
+	 */
+	@Override
+	public synchronized void put(String key, CachedResponse response) {
+
+		Assert.notNull(key, "Key must not be null!");
+		Assert.notNull(response, "Response must not be null!");
+
+		evict(key);
+
+		if (response.getSize() > maxBytes) {
+			return;
+		}
+
+		responses.put(key, response);
+		bytes += response.getSize();
+
+		for (Iterator<CachedResponse> iterator = responses.values().iterator(); bytes > maxBytes && iterator.hasNext();) {
+			bytes -= iterator.next().getSize();
+			iterator.remove();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.client.HttpResponseCache#evict(java.lang.String)
+	 */
+	@Override
+	public synchronized void evict(String key) {
+
+		CachedResponse removed = responses.remove(key);
+
+		if (removed != null) {
+			bytes -= removed.getSize();
+		}
+	}
+
+	/**
+	 * Returns the number of responses currently cached.
+	 * 
+	 * @return
+	 */
+	public synchronized int size() {
+		return responses.size();
+	}
+
+	/**
+	 * Returns the approximate number of bytes currently cached.
+	 * 
+	 * @return
+	 */
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * Drops all cached responses.
+	 */
+	public synchronized void clear() {
+
+		responses.clear();
+		bytes = 0;
+	}
+}
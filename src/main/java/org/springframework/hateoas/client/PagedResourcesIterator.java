@@ -0,0 +1,231 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.PagedResources.PageMetadata;
+import org.springframework.hateoas.PaginationLinkBuilder;
+import org.springframework.util.Assert;
+import org.springframework.util.concurrent.ListenableFuture;
+
+/**
+ * {@link Iterator} over the content of all pages of a paged collection resource. Pages are requested ahead of the
+ * consumption of their content and the content is handed out in page order.
+ * <p>
+ * If the first page exposes {@link PageMetadata} and a templated link with a
+ * {@value PaginationLinkBuilder#DEFAULT_PAGE_PARAMETER} variable, e.g. {@code /orders{?page,size}}, the URIs of all
+ * remaining pages are known up front and up to the configured number of pages are requested concurrently. Otherwise the
+ * {@code next} link of a page is requested as soon as the iteration reaches the page.
+ * <p>
+ * {@link #hasNext()} and {@link #next()} block until the page they need is available. The iterator should be closed
+ * if it isn't consumed completely, to cancel the pages requested in advance along with their HTTP requests.
+ *
+ * @author agent
+ * @since 0.18
+ * @see AsyncTraverson.AsyncTraversalBuilder#toIterator(org.springframework.core.ParameterizedTypeReference)
+ */
+public class PagedResourcesIterator<T> implements Iterator<T>, Closeable {
+
+	/**
+	 * The number of pages requested in advance by default.
+	 */
+	public static final int DEFAULT_WINDOW = 4;
+
+	private final PageLoader<T> loader;
+	private final int window;
+	private final LinkedList<ListenableFuture<PagedResources<T>>> pages = new LinkedList<ListenableFuture<PagedResources<T>>>();
+
+	private Iterator<T> content = Collections.<T> emptyList().iterator();
+	private boolean firstPage = true;
+	private Link template;
+	private long pageSize;
+	private long nextPage;
+	private long totalPages;
+
+	/**
+	 * Creates a new {@link PagedResourcesIterator} starting with the given first page and using the given
+	 * {@link PageLoader} to request the remaining ones.
+	 *
+	 * @param first must not be {@literal null}.
+	 * @param loader must not be {@literal null}.
+	 * @param window the number of pages to request in advance, must be greater than zero.
+	 */
+	PagedResourcesIterator(ListenableFuture<PagedResources<T>> first, PageLoader<T> loader, int window) {
+
+		Assert.notNull(first, "First page must not be null!");
+		Assert.notNull(loader, "PageLoader must not be null!");
+		Assert.isTrue(window > 0, "Window must be greater than zero!");
+
+		this.loader = loader;
+		this.window = window;
+		this.pages.add(first);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+
+		while (!content.hasNext()) {
+
+			if (pages.isEmpty()) {
+				return false;
+			}
+
+			PagedResources<T> page = await(pages.removeFirst());
+			requestPagesAfter(page);
+
+			content = page.getContent().iterator();
+		}
+
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public T next() {
+
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		return content.next();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Iterator#remove()
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Cancels all pages requested in advance, including the underlying HTTP requests, and ends the iteration.
+	 */
+	@Override
+	public void close() {
+
+		for (ListenableFuture<PagedResources<T>> page : pages) {
+			page.cancel(true);
+		}
+
+		pages.clear();
+		content = Collections.<T> emptyList().iterator();
+		template = null;
+	}
+
+	/**
+	 * Requests the pages following the given one up to the configured window.
+	 *
+	 * @param page must not be {@literal null}.
+	 */
+	private void requestPagesAfter(PagedResources<T> page) {
+
+		if (firstPage) {
+
+			firstPage = false;
+			PageMetadata metadata = page.getMetadata();
+			template = metadata == null ? null : findPageTemplate(page);
+
+			if (template != null) {
+				pageSize = metadata.getSize();
+				nextPage = metadata.getNumber() + 1;
+				totalPages = metadata.getTotalPages();
+			}
+		}
+
+		if (template != null) {
+
+			while (pages.size() < window && nextPage < totalPages) {
+
+				Map<String, Object> parameters = new HashMap<String, Object>();
+				parameters.put(PaginationLinkBuilder.DEFAULT_PAGE_PARAMETER, nextPage++);
+				parameters.put(PaginationLinkBuilder.DEFAULT_SIZE_PARAMETER, pageSize);
+
+				pages.add(loader.load(template.expand(parameters).getHref()));
+			}
+
+			return;
+		}
+
+		Link next = page.getNextLink();
+
+		if (next != null) {
+			pages.add(loader.load(next.isTemplated() ? next.expand().getHref() : next.getHref()));
+		}
+	}
+
+	private static Link findPageTemplate(PagedResources<?> page) {
+
+		for (Link link : page.getLinks()) {
+			if (link.isTemplated() && link.getVariableNames().contains(PaginationLinkBuilder.DEFAULT_PAGE_PARAMETER)) {
+				return link;
+			}
+		}
+
+		return null;
+	}
+
+	private static <T> T await(ListenableFuture<T> future) {
+
+		try {
+			return future.get();
+		} catch (InterruptedException o_O) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for page!", o_O);
+		} catch (ExecutionException o_O) {
+
+			Throwable cause = o_O.getCause();
+
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+
+			throw new IllegalStateException("Could not load page!", cause);
+		}
+	}
+
+	/**
+	 * Callback to request a page.
+	 */
+	interface PageLoader<T> {
+
+		/**
+		 * Requests the page with the given URI.
+		 *
+		 * @param uri must not be {@literal null}.
+		 * @return
+		 */
+		ListenableFuture<PagedResources<T>> load(String uri);
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2013-2014 the original author or authors.
+ * Copyright 2013-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,11 +15,19 @@
  */
 package org.springframework.hateoas.client;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.LinkDiscoverer;
 import org.springframework.hateoas.LinkDiscoverers;
+import org.springframework.hateoas.hal.BinaryHalFormat;
+import org.springframework.hateoas.hal.StreamingHalLinkDiscoverer;
 import org.springframework.http.MediaType;
 import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
 
 import com.jayway.jsonpath.JsonPath;
 
@@ -31,6 +39,8 @@ import com.jayway.jsonpath.JsonPath;
  */
 class Rels {
 
+	private static final Charset DEFAULT_CHARSET = Charset.forName("UTF-8");
+
 	/**
 	 * Creates a new {@link Rel} for the given relation name and {@link LinkDiscoverers}.
 	 * 
@@ -50,16 +60,46 @@ class Rels {
 		return new LinkDiscovererRel(rel, discoverers);
 	}
 
+	/**
+	 * Returns the given raw representation as {@link String} using the charset of the given {@link MediaType} or UTF-8
+	 * if none is given. Binary HAL representations are rendered as a summary only.
+	 * 
+	 * @param representation must not be {@literal null}.
+	 * @param mediaType can be {@literal null}.
+	 * @return
+	 */
+	static String toString(byte[] representation, MediaType mediaType) {
+
+		if (BinaryHalFormat.forMediaType(mediaType) != null) {
+			return String.format("<%s bytes of %s>", representation.length, mediaType);
+		}
+
+		Charset charset = mediaType == null || mediaType.getCharSet() == null ? DEFAULT_CHARSET : mediaType.getCharSet();
+		return new String(representation, charset);
+	}
+
 	public interface Rel {
 
 		/**
-		 * Returns the link contained in the given representation of the given {@link MediaType}.
+		 * Returns the link contained in the given raw representation of the given {@link MediaType}.
 		 * 
 		 * @param representation
 		 * @param mediaType
 		 * @return
 		 */
-		Link findInResponse(String representation, MediaType mediaType);
+		Link findInResponse(byte[] representation, MediaType mediaType);
+
+		/**
+		 * Returns the link contained in the representation of the given {@link MediaType} read from the given
+		 * {@link InputStream}. Implementations may stop reading as soon as the link has been found.
+		 * 
+		 * @param representation must not be {@literal null}.
+		 * @param mediaType can be {@literal null}.
+		 * @return
+		 * @throws IOException
+		 * @since 0.18
+		 */
+		Link findInResponse(InputStream representation, MediaType mediaType) throws IOException;
 	}
 
 	/**
@@ -92,7 +132,7 @@ class Rels {
 		 * @see org.springframework.hateoas.client.Rels.Rel#findInResponse(java.lang.String, org.springframework.http.MediaType)
 		 */
 		@Override
-		public Link findInResponse(String response, MediaType mediaType) {
+		public Link findInResponse(byte[] response, MediaType mediaType) {
 
 			LinkDiscoverer discoverer = discoverers.getLinkDiscovererFor(mediaType);
 
@@ -101,7 +141,37 @@ class Rels {
 						mediaType));
 			}
 
-			return discoverer.findLinkWithRel(rel, response);
+			if (BinaryHalFormat.forMediaType(mediaType) != null) {
+				return discoverer.findLinkWithRel(rel, new ByteArrayInputStream(response));
+			}
+
+			return discoverer.findLinkWithRel(rel, Rels.toString(response, mediaType));
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see org.springframework.hateoas.client.Rels.Rel#findInResponse(java.io.InputStream, org.springframework.http.MediaType)
+		 */
+		@Override
+		public Link findInResponse(InputStream response, MediaType mediaType) throws IOException {
+
+			LinkDiscoverer discoverer = discoverers.getLinkDiscovererFor(mediaType);
+
+			// Only hand out the stream to discoverers reading just as much as needed
+			if (discoverer instanceof StreamingHalLinkDiscoverer) {
+				return discoverer.findLinkWithRel(rel, response);
+			}
+
+			return findInResponse(StreamUtils.copyToByteArray(response), mediaType);
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return rel;
 		}
 	}
 
@@ -135,8 +205,26 @@ class Rels {
 		 * @see org.springframework.hateoas.client.Rels.Rel#findInResponse(java.lang.String, org.springframework.http.MediaType)
 		 */
 		@Override
-		public Link findInResponse(String representation, MediaType mediaType) {
-			return new Link(JsonPath.<Object> read(representation, jsonPath).toString(), rel);
+		public Link findInResponse(byte[] representation, MediaType mediaType) {
+			return new Link(JsonPath.<Object> read(Rels.toString(representation, mediaType), jsonPath).toString(), rel);
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see org.springframework.hateoas.client.Rels.Rel#findInResponse(java.io.InputStream, org.springframework.http.MediaType)
+		 */
+		@Override
+		public Link findInResponse(InputStream representation, MediaType mediaType) throws IOException {
+			return findInResponse(StreamUtils.copyToByteArray(representation), mediaType);
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return jsonPath;
 		}
 	}
 }
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+/**
+ * Cache for the routes resolved by {@link Traverson}, i.e. the URI (template) a traversal from a base URI along a list
+ * of rels, using a set of template parameters and headers, ends up at. Repeated traversals only issue the final
+ * request as long as the route is cached. Routes expire after a configurable time to live and the cache is bounded in
+ * size, evicting the least recently used route.
+ * <p>
+ * If a {@link ScheduledExecutorService} is given, routes that were used after they had been resolved are resolved again
+ * in the background once {@value #REFRESH_AHEAD_FACTOR} of their time to live has passed, so that frequently used
+ * routes don't expire at all. {@link Traverson} evicts a route if the request to its final URI results in a
+ * {@code 404 Not Found} or {@code 410 Gone} and traverses again.
+ * 
+ * @author agent
+ * @since 0.18
+ * @see Traverson#setRouteCache(TraversalRouteCache)
+ */
+public class TraversalRouteCache {
+
+	static final double REFRESH_AHEAD_FACTOR = 0.8;
+
+	private final int maxSize;
+	private final long timeToLive;
+	private final ScheduledExecutorService scheduler;
+
+	private final Map<Object, Route> routes;
+
+	/**
+	 * Creates a new {@link TraversalRouteCache} holding at most the given number of routes for the given number of
+	 * milliseconds.
+	 * 
+	 * @param maxSize must be greater than zero.
+	 * @param timeToLive the time in milliseconds after which routes expire, must be greater than zero.
+	 */
+	public TraversalRouteCache(int maxSize, long timeToLive) {
+		this(maxSize, timeToLive, null);
+	}
+
+	/**
+	 * Creates a new {@link TraversalRouteCache} holding at most the given number of routes for the given number of
+	 * milliseconds and resolving used routes again using the given {@link ScheduledExecutorService} before they expire.
+	 * 
+	 * @param maxSize must be greater than zero.
+	 * @param timeToLive the time in milliseconds after which routes expire, must be greater than zero.
+	 * @param scheduler can be {@literal null} to disable refreshing routes ahead of their expiry.
+	 */
+	public TraversalRouteCache(int maxSize, long timeToLive, ScheduledExecutorService scheduler) {
+
+		Assert.isTrue(maxSize > 0, "Maximum size must be greater than zero!");
+		Assert.isTrue(timeToLive > 0, "Time to live must be greater than zero!");
+
+		this.maxSize = maxSize;
+		this.timeToLive = timeToLive;
+		this.scheduler = scheduler;
+		this.routes = new LinkedHashMap<Object, Route>(16, 0.75f, true);
+	}
+
+	/**
+	 * Returns the cached route for the given key or {@literal null} if none is cached or it has expired.
+	 * 
+	 * @param key must not be {@literal null}.
+	 * @return
+	 */
+	String get(Object key) {
+
+		Assert.notNull(key, "Key must not be null!");
+
+		long now = getCurrentTime();
+
+		synchronized (routes) {
+
+			Route route = routes.get(key);
+
+			if (route == null) {
+				return null;
+			}
+
+			if (route.expires <= now) {
+				routes.remove(key);
+				return null;
+			}
+
+			route.used = true;
+			return route.uri;
+		}
+	}
+
+	/**
+	 * Resolves the route for the given key using the given {@link Callable} and caches it.
+	 * 
+	 * @param key must not be {@literal null}.
+	 * @param resolver must not be {@literal null}.
+	 * @return the resolved route.
+	 * @throws Exception in case the {@link Callable} fails to resolve the route.
+	 */
+	String resolve(Object key, Callable<String> resolver) throws Exception {
+
+		Assert.notNull(key, "Key must not be null!");
+		Assert.notNull(resolver, "Resolver must not be null!");
+
+		String uri = resolver.call();
+		put(key, new Route(uri, getCurrentTime() + timeToLive), resolver);
+
+		return uri;
+	}
+
+	/**
+	 * Evicts the route cached for the given key.
+	 * 
+	 * @param key must not be {@literal null}.
+	 * @return whether a route was cached for the given key.
+	 */
+	boolean evict(Object key) {
+
+		Assert.notNull(key, "Key must not be null!");
+
+		synchronized (routes) {
+			return routes.remove(key) != null;
+		}
+	}
+
+	/**
+	 * Evicts all cached routes.
+	 */
+	public void evictAll() {
+
+		synchronized (routes) {
+			routes.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of routes currently cached.
+	 * 
+	 * @return
+	 */
+	public int size() {
+
+		synchronized (routes) {
+			return routes.size();
+		}
+	}
+
+	/**
+	 * Returns the current time in milliseconds. Exposed to be overridden in tests.
+	 * 
+	 * @return
+	 */
+	protected long getCurrentTime() {
+		return System.currentTimeMillis();
+	}
+
+	private void put(final Object key, final Route route, final Callable<String> resolver) {
+
+		synchronized (routes) {
+
+			routes.put(key, route);
+
+			for (Iterator<Route> iterator = routes.values().iterator(); routes.size() > maxSize && iterator.hasNext();) {
+				iterator.next();
+				iterator.remove();
+			}
+		}
+
+		if (scheduler == null) {
+			return;
+		}
+
+		scheduler.schedule(new Runnable() {
+
+			@Override
+			public void run() {
+				refresh(key, route, resolver);
+			}
+
+		}, (long) (timeToLive * REFRESH_AHEAD_FACTOR), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Resolves the route for the given key again in case the given {@link Route} is still the cached one and has been
+	 * used since it was resolved. Failures leave the route to expire.
+	 * 
+	 * @param key must not be {@literal null}.
+	 * @param route must not be {@literal null}.
+	 * @param resolver must not be {@literal null}.
+	 */
+	private void refresh(Object key, Route route, Callable<String> resolver) {
+
+		synchronized (routes) {
+			if (routes.get(key) != route || !route.used) {
+				return;
+			}
+		}
+
+		try {
+
+			String uri = resolver.call();
+
+			synchronized (routes) {
+				if (routes.get(key) != route) {
+					return;
+				}
+			}
+
+			put(key, new Route(uri, getCurrentTime() + timeToLive), resolver);
+
+		} catch (Exception o_O) {
+			// Keep the current route until it expires
+		}
+	}
+
+	/**
+	 * A resolved route along with its expiry.
+	 */
+	private static class Route {
+
+		private final String uri;
+		private final long expires;
+		private volatile boolean used;
+
+		public Route(String uri, long expires) {
+
+			this.uri = uri;
+			this.expires = expires;
+		}
+	}
+}
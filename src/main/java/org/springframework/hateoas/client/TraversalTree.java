@@ -0,0 +1,149 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+/**
+ * A set of rel paths merged by their common prefixes, so that every rel shared by multiple paths is only followed
+ * once. Paths are numbered in the order they were added, adding a path a second time doesn't change the tree.
+ *
+ * @author agent
+ * @since 0.18
+ */
+class TraversalTree {
+
+	private final Node root = new Node(null);
+	private final List<List<String>> paths = new ArrayList<List<String>>();
+
+	/**
+	 * Adds the given path of rels to the tree.
+	 *
+	 * @param rels must not be {@literal null} or empty.
+	 */
+	public void add(List<String> rels) {
+
+		Assert.notEmpty(rels, "At least one rel needs to be provided!");
+
+		Node node = root;
+
+		for (String rel : rels) {
+			Assert.hasText(rel, "Rel must not be null or empty!");
+			node = node.getOrCreateChild(rel);
+		}
+
+		if (node.index < 0) {
+			node.index = paths.size();
+			paths.add(Collections.unmodifiableList(new ArrayList<String>(rels)));
+		}
+	}
+
+	/**
+	 * Returns the root of the tree, i.e. the node representing the resource the traversal starts with.
+	 *
+	 * @return
+	 */
+	public Node getRoot() {
+		return root;
+	}
+
+	/**
+	 * Returns all paths in the order they were added.
+	 *
+	 * @return
+	 */
+	public List<List<String>> getPaths() {
+		return Collections.unmodifiableList(paths);
+	}
+
+	/**
+	 * Returns whether the tree doesn't contain any path.
+	 *
+	 * @return
+	 */
+	public boolean isEmpty() {
+		return paths.isEmpty();
+	}
+
+	/**
+	 * A rel within a {@link TraversalTree}.
+	 */
+	static class Node {
+
+		private final String rel;
+		private final Map<String, Node> children = new LinkedHashMap<String, Node>();
+		private int index = -1;
+
+		private Node(String rel) {
+			this.rel = rel;
+		}
+
+		private Node getOrCreateChild(String rel) {
+
+			Node child = children.get(rel);
+
+			if (child == null) {
+				child = new Node(rel);
+				children.put(rel, child);
+			}
+
+			return child;
+		}
+
+		/**
+		 * Returns the rel to follow to get to the resource represented by the node, {@literal null} for the root.
+		 *
+		 * @return
+		 */
+		public String getRel() {
+			return rel;
+		}
+
+		/**
+		 * Returns the nodes for the rels to follow from the resource represented by this node.
+		 *
+		 * @return
+		 */
+		public Collection<Node> getChildren() {
+			return children.values();
+		}
+
+		/**
+		 * Returns whether the resource of the node has to be requested to find the links for the child nodes.
+		 *
+		 * @return
+		 */
+		public boolean hasChildren() {
+			return !children.isEmpty();
+		}
+
+		/**
+		 * Returns the index of the path ending with this node or {@literal -1} if no path ends here.
+		 *
+		 * @return
+		 */
+		public int getIndex() {
+			return index;
+		}
+	}
+}
@@ -17,6 +17,7 @@ package org.springframework.hateoas.client;
 
 import static org.springframework.http.HttpMethod.*;
 
+import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
@@ -25,6 +26,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.hateoas.Link;
@@ -33,17 +35,29 @@ import org.springframework.hateoas.LinkDiscoverers;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.UriTemplate;
 import org.springframework.hateoas.client.Rels.Rel;
-import org.springframework.hateoas.hal.HalLinkDiscoverer;
+import org.springframework.hateoas.core.HeaderLinkDiscoverer;
+import org.springframework.hateoas.hal.BinaryHalFormat;
+import org.springframework.hateoas.hal.BinaryHalLinkDiscoverer;
 import org.springframework.hateoas.hal.Jackson2HalModule;
+import org.springframework.hateoas.hal.StreamingHalLinkDiscoverer;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.plugin.core.OrderAwarePluginRegistry;
 import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestOperations;
 import org.springframework.web.client.RestTemplate;
 
@@ -62,11 +76,20 @@ import com.jayway.jsonpath.JsonPath;
  */
 public class Traverson {
 
-	private static final LinkDiscoverers DEFAULT_LINK_DISCOVERERS;
+	static final LinkDiscoverers DEFAULT_LINK_DISCOVERERS;
+
+	private static final HeaderLinkDiscoverer HEADER_LINK_DISCOVERER = new HeaderLinkDiscoverer();
 
 	static {
-		LinkDiscoverer discoverer = new HalLinkDiscoverer();
-		DEFAULT_LINK_DISCOVERERS = new LinkDiscoverers(OrderAwarePluginRegistry.create(Arrays.asList(discoverer)));
+
+		List<LinkDiscoverer> discoverers = new ArrayList<LinkDiscoverer>();
+		discoverers.add(new StreamingHalLinkDiscoverer());
+
+		for (BinaryHalFormat format : BinaryHalFormat.getAvailableFormats()) {
+			discoverers.add(new BinaryHalLinkDiscoverer(format));
+		}
+
+		DEFAULT_LINK_DISCOVERERS = new LinkDiscoverers(OrderAwarePluginRegistry.create(discoverers));
 	}
 
 	private final URI baseUri;
@@ -74,6 +97,8 @@ public class Traverson {
 
 	private RestOperations operations;
 	private LinkDiscoverers discoverers;
+	private HttpResponseCache cache;
+	private TraversalRouteCache routeCache;
 
 	/**
 	 * Creates a new {@link Traverson} interacting with the given base URI and using the given {@link MediaType}s to
@@ -105,6 +130,29 @@ public class Traverson {
 		setRestOperations(createDefaultTemplate(this.mediaTypes));
 	}
 
+	/**
+	 * Creates a new {@link Traverson} using the given, already set up {@link RestOperations} and {@link LinkDiscoverers}
+	 * instead of creating a default {@link RestTemplate}.
+	 *
+	 * @param baseUri must not be {@literal null}.
+	 * @param mediaTypes must not be {@literal null} or empty.
+	 * @param operations must not be {@literal null}.
+	 * @param discoverers must not be {@literal null}.
+	 * @see TraversonFactory
+	 */
+	Traverson(URI baseUri, List<MediaType> mediaTypes, RestOperations operations, LinkDiscoverers discoverers) {
+
+		Assert.notNull(baseUri, "Base URI must not be null!");
+		Assert.notEmpty(mediaTypes, "At least one media type must be given!");
+		Assert.notNull(operations, "RestOperations must not be null!");
+		Assert.notNull(discoverers, "LinkDiscoverers must not be null!");
+
+		this.mediaTypes = mediaTypes;
+		this.baseUri = baseUri;
+		this.operations = operations;
+		this.discoverers = discoverers;
+	}
+
 	/**
 	 * Returns all {@link HttpMessageConverter}s that will be registered for the given {@link MediaType}s by default.
 	 * 
@@ -132,6 +180,12 @@ public class Traverson {
 			converters.add(getHalConverter());
 		}
 
+		for (BinaryHalFormat format : BinaryHalFormat.getAvailableFormats()) {
+			if (mediaTypes.contains(format.getMediaType())) {
+				converters.add(getBinaryHalConverter(format));
+			}
+		}
+
 		return converters;
 	}
 
@@ -162,6 +216,25 @@ public class Traverson {
 		return converter;
 	}
 
+	/**
+	 * Creates a new {@link HttpMessageConverter} to support the given binary HAL format.
+	 * 
+	 * @param format must not be {@literal null}.
+	 * @return
+	 */
+	private static final HttpMessageConverter<?> getBinaryHalConverter(BinaryHalFormat format) {
+
+		ObjectMapper mapper = format.createObjectMapper(null, null);
+		mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+		MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
+
+		converter.setObjectMapper(mapper);
+		converter.setSupportedMediaTypes(Arrays.asList(format.getMediaType()));
+
+		return converter;
+	}
+
 	/**
 	 * Configures the {@link RestOperations} to use. If {@literal null} is provided a default {@link RestTemplate} will be
 	 * used.
@@ -176,8 +249,28 @@ public class Traverson {
 	}
 
 	/**
-	 * Sets the {@link LinkDiscoverers} to use. By default a single {@link HalLinkDiscoverer} is registered. If
-	 * {@literal null} is provided the default is reapplied.
+	 * Configures the {@link ClientHttpRequestFactory} to be used by a default {@link RestTemplate}, e.g. a
+	 * {@link HedgingClientHttpRequestFactory} to hedge requests against slow responses. Replaces the
+	 * {@link RestOperations} configured before.
+	 * 
+	 * @param factory must not be {@literal null}.
+	 * @return
+	 * @since 0.18
+	 */
+	public Traverson setRequestFactory(ClientHttpRequestFactory factory) {
+
+		Assert.notNull(factory, "ClientHttpRequestFactory must not be null!");
+
+		RestTemplate template = (RestTemplate) createDefaultTemplate(mediaTypes);
+		template.setRequestFactory(factory);
+
+		this.operations = template;
+		return this;
+	}
+
+	/**
+	 * Sets the {@link LinkDiscoverers} to use. By default a {@link StreamingHalLinkDiscoverer} is registered along with
+	 * ones for the binary HAL formats available. If {@literal null} is provided the default is reapplied.
 	 * 
 	 * @param discoverer can be {@literal null}.
 	 * @return
@@ -190,6 +283,40 @@ public class Traverson {
 		return this;
 	}
 
+	/**
+	 * Configures the {@link HttpResponseCache} to store the responses of the requests issued to discover links in. Cached
+	 * responses are reused as long as they are fresh according to their {@code Cache-Control} or {@code Expires} header.
+	 * Stale ones are revalidated using a conditional request if they carry an {@code ETag} or {@code Last-Modified}
+	 * header. The final request of a traversal is never served from the cache. If {@literal null} is provided, caching
+	 * is disabled, which is the default.
+	 * 
+	 * @param cache can be {@literal null}.
+	 * @return
+	 * @since 0.18
+	 * @see InMemoryHttpResponseCache
+	 */
+	public Traverson setResponseCache(HttpResponseCache cache) {
+
+		this.cache = cache;
+		return this;
+	}
+
+	/**
+	 * Configures the {@link TraversalRouteCache} to remember the URIs traversals resolve to, so that repeated traversals
+	 * only issue the final request. If the final request of a traversal using a cached route results in a
+	 * {@code 404 Not Found} or {@code 410 Gone}, the route is evicted and the traversal is executed again. If
+	 * {@literal null} is provided, routes are not cached, which is the default.
+	 * 
+	 * @param routeCache can be {@literal null}.
+	 * @return
+	 * @since 0.18
+	 */
+	public Traverson setRouteCache(TraversalRouteCache routeCache) {
+
+		this.routeCache = routeCache;
+		return this;
+	}
+
 	/**
 	 * Sets up a {@link TraversalBuilder} to follow the given rels.
 	 * 
@@ -213,6 +340,64 @@ public class Traverson {
 		return new HttpEntity<Void>(toSend);
 	}
 
+	/**
+	 * Issues a {@code GET} request to the given {@link URI} and returns the raw response, using the configured
+	 * {@link HttpResponseCache} if present.
+	 * 
+	 * @param uri must not be {@literal null}.
+	 * @param headers must not be {@literal null}.
+	 * @return
+	 */
+	private ResponseEntity<byte[]> getRaw(URI uri, HttpHeaders headers) {
+
+		if (cache == null) {
+			return operations.execute(uri, GET, new HeadersRequestCallback(headers), RawResponseExtractor.INSTANCE);
+		}
+
+		String key = String.format("%s %s", uri, headers);
+		CachedResponse cached = cache.get(key);
+
+		if (cached != null && cached.isFresh(System.currentTimeMillis())) {
+			return toResponseEntity(cached);
+		}
+
+		HttpHeaders toSend = headers;
+
+		if (cached != null && cached.isRevalidatable()) {
+
+			toSend = new HttpHeaders();
+			toSend.putAll(headers);
+
+			cached.addConditionalHeaders(toSend);
+		}
+
+		ResponseEntity<byte[]> response = operations.execute(uri, GET, new HeadersRequestCallback(toSend),
+				RawResponseExtractor.INSTANCE);
+		long now = System.currentTimeMillis();
+
+		if (cached != null && HttpStatus.NOT_MODIFIED.equals(response.getStatusCode())) {
+
+			CachedResponse revalidated = cached.revalidated(response.getHeaders(), now);
+			cache.put(key, revalidated);
+
+			return toResponseEntity(revalidated);
+		}
+
+		CachedResponse fresh = CachedResponse.of(response, now);
+
+		if (fresh == null) {
+			cache.evict(key);
+		} else {
+			cache.put(key, fresh);
+		}
+
+		return response;
+	}
+
+	private static ResponseEntity<byte[]> toResponseEntity(CachedResponse response) {
+		return new ResponseEntity<byte[]>(response.getBody(), response.getHeaders(), HttpStatus.OK);
+	}
+
 	/**
 	 * Builder API to customize traversals.
 	 * 
@@ -223,6 +408,10 @@ public class Traverson {
 		private List<String> rels = new ArrayList<String>();
 		private Map<String, Object> templateParameters = new HashMap<String, Object>();
 		private HttpHeaders headers = new HttpHeaders();
+		private boolean routeFromCache;
+		private boolean preferEmbedded;
+		private boolean preferLinkHeaders;
+		private boolean probeWithHead;
 
 		private TraversalBuilder() {}
 
@@ -266,6 +455,53 @@ public class Traverson {
 			return this;
 		}
 
+		/**
+		 * Makes the traversal continue with resources embedded in HAL documents instead of requesting them. If a document
+		 * embeds the resource the link for the next rel points to (identified by its self link), or embeds a single
+		 * self-linked resource for the rel if the document doesn't contain a link for it, the traversal continues with
+		 * the embedded resource in memory. Only if the embedded resource doesn't contain the link for the rel after that,
+		 * it's requested from its self link. The final request of a traversal is always issued.
+		 * 
+		 * @return
+		 * @since 0.18
+		 */
+		public TraversalBuilder preferEmbeddedResources() {
+
+			this.preferEmbedded = true;
+			return this;
+		}
+
+		/**
+		 * Makes the traversal look for the links to follow in the {@code Link} headers of the intermediate responses
+		 * before inspecting their bodies. If a header contains the link, the body is neither read nor parsed. Rels given as
+		 * JSON Path expressions are always looked up in the body.
+		 * 
+		 * @return
+		 * @since 0.18
+		 * @see HeaderLinkDiscoverer
+		 */
+		public TraversalBuilder preferLinkHeaders() {
+
+			this.preferLinkHeaders = true;
+			return this;
+		}
+
+		/**
+		 * Makes the traversal issue {@code HEAD} requests for intermediate resources and look for the links to follow in
+		 * the {@code Link} headers of the responses, so that the bodies are not transferred at all. Resources that don't
+		 * expose the link in a header or don't support {@code HEAD} are requested using {@code GET} as usual.
+		 * 
+		 * @return
+		 * @since 0.18
+		 * @see #preferLinkHeaders()
+		 */
+		public TraversalBuilder probeLinkHeadersWithHead() {
+
+			this.preferLinkHeaders = true;
+			this.probeWithHead = true;
+			return this;
+		}
+
 		/**
 		 * Executes the traversal and marshals the final response into an object of the given type.
 		 * 
@@ -275,7 +511,7 @@ public class Traverson {
 		public <T> T toObject(Class<T> type) {
 
 			Assert.notNull(type, "Target type must not be null!");
-			return operations.exchange(traverseToFinalUrl(true), GET, prepareRequest(headers), type).getBody();
+			return exchange(type).getBody();
 		}
 
 		/**
@@ -288,7 +524,7 @@ public class Traverson {
 		public <T> T toObject(ParameterizedTypeReference<T> type) {
 
 			Assert.notNull(type, "Target type must not be null!");
-			return operations.exchange(traverseToFinalUrl(true), GET, prepareRequest(headers), type).getBody();
+			return exchange(type).getBody();
 		}
 
 		/**
@@ -302,8 +538,7 @@ public class Traverson {
 
 			Assert.hasText(jsonPath, "JSON path must not be null or empty!");
 
-			String forObject = operations.exchange(traverseToFinalUrl(true), GET, prepareRequest(headers), String.class)
-					.getBody();
+			String forObject = exchange(String.class).getBody();
 			return JsonPath.read(forObject, jsonPath);
 		}
 
@@ -316,7 +551,7 @@ public class Traverson {
 		public <T> ResponseEntity<T> toEntity(Class<T> type) {
 
 			Assert.notNull(type, "Target type must not be null!");
-			return operations.exchange(traverseToFinalUrl(true), GET, prepareRequest(headers), type);
+			return exchange(type);
 		}
 
 		/**
@@ -347,36 +582,363 @@ public class Traverson {
 			return new Link(traverseToFinalUrl(expandFinalUrl), rels.get(rels.size() - 1));
 		}
 
+		private <T> ResponseEntity<T> exchange(Class<T> type) {
+
+			try {
+				return operations.exchange(traverseToFinalUrl(true), GET, prepareRequest(headers), type);
+			} catch (HttpClientErrorException o_O) {
+				evictStaleRoute(o_O);
+				return operations.exchange(traverseToFinalUrl(true), GET, prepareRequest(headers), type);
+			}
+		}
+
+		private <T> ResponseEntity<T> exchange(ParameterizedTypeReference<T> type) {
+
+			try {
+				return operations.exchange(traverseToFinalUrl(true), GET, prepareRequest(headers), type);
+			} catch (HttpClientErrorException o_O) {
+				evictStaleRoute(o_O);
+				return operations.exchange(traverseToFinalUrl(true), GET, prepareRequest(headers), type);
+			}
+		}
+
+		/**
+		 * Evicts the cached route the final request was issued to if the given {@link HttpClientErrorException} indicates
+		 * the resource doesn't exist anymore. Rethrows the exception otherwise.
+		 * 
+		 * @param exception must not be {@literal null}.
+		 */
+		private void evictStaleRoute(HttpClientErrorException exception) {
+
+			HttpStatus status = exception.getStatusCode();
+
+			if (!routeFromCache || !HttpStatus.NOT_FOUND.equals(status) && !HttpStatus.GONE.equals(status)
+					|| !routeCache.evict(getRouteKey())) {
+				throw exception;
+			}
+		}
+
 		private String traverseToFinalUrl(boolean expandFinalUrl) {
 
-			String uri = getAndFindLinkWithRel(baseUri.toString(), rels.iterator());
+			String uri = resolveRoute();
 			UriTemplate uriTemplate = new UriTemplate(uri);
 			return expandFinalUrl ? uriTemplate.expand(templateParameters).toString() : uriTemplate.toString();
 		}
 
+		/**
+		 * Returns the URI (template) the traversal ends up at, using the {@link TraversalRouteCache} if configured.
+		 * 
+		 * @return
+		 */
+		private String resolveRoute() {
+
+			this.routeFromCache = false;
+
+			if (routeCache == null) {
+				return getAndFindLinkWithRel(baseUri.toString(), rels.iterator());
+			}
+
+			String uri = routeCache.get(getRouteKey());
+
+			if (uri != null) {
+				this.routeFromCache = true;
+				return uri;
+			}
+
+			final TraversalBuilder snapshot = copy();
+
+			try {
+
+				return routeCache.resolve(snapshot.getRouteKey(), new Callable<String>() {
+
+					@Override
+					public String call() {
+						return snapshot.getAndFindLinkWithRel(baseUri.toString(), snapshot.rels.iterator());
+					}
+				});
+
+			} catch (RuntimeException o_O) {
+				throw o_O;
+			} catch (Exception o_O) {
+				throw new IllegalStateException(o_O);
+			}
+		}
+
+		private Object getRouteKey() {
+			return Arrays.<Object> asList(baseUri, rels, templateParameters, headers, preferEmbedded);
+		}
+
+		/**
+		 * Returns a copy of the current {@link TraversalBuilder} to resolve the route independently of later changes.
+		 * 
+		 * @return
+		 */
+		private TraversalBuilder copy() {
+
+			TraversalBuilder copy = new TraversalBuilder();
+			copy.rels.addAll(rels);
+			copy.preferEmbedded = preferEmbedded;
+			copy.preferLinkHeaders = preferLinkHeaders;
+			copy.probeWithHead = probeWithHead;
+			copy.templateParameters = templateParameters == null ? null : new HashMap<String, Object>(templateParameters);
+
+			if (headers != null) {
+				copy.headers.putAll(headers);
+			} else {
+				copy.headers = null;
+			}
+
+			return copy;
+		}
+
 		private String getAndFindLinkWithRel(String uri, Iterator<String> rels) {
 
 			if (!rels.hasNext()) {
 				return uri;
 			}
 
+			if (preferEmbedded) {
+				return getAndFindLinkWithRel(uri, rels, null);
+			}
+
 			HttpEntity<?> request = prepareRequest(headers);
-			UriTemplate uriTemplate = new UriTemplate(uri);
+			URI target = new UriTemplate(uri).expand(templateParameters);
+			String relName = rels.next();
+			Rel rel = Rels.getRelFor(relName, discoverers);
+			String headerRel = preferLinkHeaders && !relName.startsWith("$") ? relName : null;
+
+			if (probeWithHead && headerRel != null) {
+
+				Link link = headAndFindLinkWithRel(target, headerRel, request.getHeaders());
 
-			ResponseEntity<String> responseEntity = operations.exchange(uriTemplate.expand(templateParameters), GET, request,
-					String.class);
+				if (link != null) {
+					return getAndFindLinkWithRel(link.getHref(), rels);
+				}
+			}
+
+			if (cache == null) {
+
+				// Stream the response to stop reading as soon as the link was found
+				Link link = operations.execute(target, GET, new HeadersRequestCallback(request.getHeaders()),
+						new LinkExtractor(rel, headerRel));
+
+				if (link == null) {
+					throw new IllegalStateException(String.format("Expected to find link with rel '%s' in response of %s!",
+							rel, target));
+				}
+
+				return getAndFindLinkWithRel(link.getHref(), rels);
+			}
+
+			ResponseEntity<byte[]> responseEntity = getRaw(target, request.getHeaders());
 			MediaType contentType = responseEntity.getHeaders().getContentType();
-			String responseBody = responseEntity.getBody();
+			byte[] responseBody = responseEntity.getBody();
 
-			Rel rel = Rels.getRelFor(rels.next(), discoverers);
-			Link link = rel.findInResponse(responseBody, contentType);
+			Link link = headerRel == null ? null : HEADER_LINK_DISCOVERER.findLinkWithRel(headerRel,
+					responseEntity.getHeaders());
+			link = link == null ? rel.findInResponse(responseBody, contentType) : link;
 
 			if (link == null) {
 				throw new IllegalStateException(String.format("Expected to find link with rel '%s' in response %s!", rel,
-						responseBody));
+						Rels.toString(responseBody, contentType)));
 			}
 
 			return getAndFindLinkWithRel(link.getHref(), rels);
 		}
+
+		/**
+		 * Issues a {@code HEAD} request to the given URI and looks up the link with the given rel in its {@code Link}
+		 * headers.
+		 * 
+		 * @param target must not be {@literal null}.
+		 * @param rel must not be {@literal null} or empty.
+		 * @param headers must not be {@literal null}.
+		 * @return the link found or {@literal null} if the response doesn't contain it or the request failed.
+		 */
+		private Link headAndFindLinkWithRel(URI target, String rel, HttpHeaders headers) {
+
+			HttpHeaders responseHeaders;
+
+			try {
+				responseHeaders = operations.execute(target, HEAD, new HeadersRequestCallback(headers),
+						HeadersExtractor.INSTANCE);
+			} catch (HttpStatusCodeException o_O) {
+				// Resource doesn't support HEAD, fall back to GET
+				return null;
+			}
+
+			return responseHeaders == null ? null : HEADER_LINK_DISCOVERER.findLinkWithRel(rel, responseHeaders);
+		}
+
+		/**
+		 * Follows the given rels preferring embedded resources over requesting them.
+		 * 
+		 * @param uri the URI of the current resource, must not be {@literal null}.
+		 * @param rels must not be {@literal null}.
+		 * @param document the current resource if it was embedded in a previous document, {@literal null} if it has to be
+		 *          requested.
+		 * @return
+		 */
+		private String getAndFindLinkWithRel(String uri, Iterator<String> rels, HalDocument document) {
+
+			if (!rels.hasNext()) {
+				return uri;
+			}
+
+			String rel = rels.next();
+
+			if (document == null || document.getHref(rel) == null) {
+
+				URI target = new UriTemplate(uri).expand(templateParameters);
+				ResponseEntity<byte[]> response = getRaw(target, prepareRequest(headers).getHeaders());
+				MediaType contentType = response.getHeaders().getContentType();
+				byte[] body = response.getBody() == null ? new byte[0] : response.getBody();
+
+				document = rel.startsWith("$") || contentType == null || !MediaTypes.HAL_JSON.isCompatibleWith(contentType) ? null
+						: parse(body);
+
+				if (document == null) {
+
+					Link link = Rels.getRelFor(rel, discoverers).findInResponse(body, contentType);
+
+					if (link == null) {
+						throw new IllegalStateException(String.format("Expected to find link with rel '%s' in response %s!",
+								rel, Rels.toString(body, contentType)));
+					}
+
+					return getAndFindLinkWithRel(link.getHref(), rels, null);
+				}
+			}
+
+			String href = document.getHref(rel);
+			HalDocument embedded = document.getEmbedded(rel,
+					href == null ? null : new UriTemplate(href).expand(templateParameters).toString());
+
+			if (href == null && embedded != null) {
+				href = embedded.getSelfHref();
+			}
+
+			if (href == null) {
+				throw new IllegalStateException(String.format("Expected to find link or embedded resource with rel '%s'!",
+						rel));
+			}
+
+			return getAndFindLinkWithRel(href, rels, embedded);
+		}
+	}
+
+	private static HalDocument parse(byte[] representation) {
+
+		try {
+			return HalDocument.parse(representation);
+		} catch (IOException o_O) {
+			throw new IllegalStateException(String.format("Could not parse HAL document %s!",
+					Rels.toString(representation, MediaTypes.HAL_JSON)), o_O);
+		}
+	}
+
+	/**
+	 * {@link RequestCallback} to apply the given {@link HttpHeaders} to the request.
+	 */
+	private static class HeadersRequestCallback implements RequestCallback {
+
+		private final HttpHeaders headers;
+
+		/**
+		 * Creates a new {@link HeadersRequestCallback} for the given {@link HttpHeaders}.
+		 * 
+		 * @param headers must not be {@literal null}.
+		 */
+		public HeadersRequestCallback(HttpHeaders headers) {
+			this.headers = headers;
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see org.springframework.web.client.RequestCallback#doWithRequest(org.springframework.http.client.ClientHttpRequest)
+		 */
+		@Override
+		public void doWithRequest(ClientHttpRequest request) throws IOException {
+			request.getHeaders().putAll(headers);
+		}
+	}
+
+	/**
+	 * {@link ResponseExtractor} to look up the link for a {@link Rel} directly in the response body, so that reading the
+	 * body can stop once the link was found.
+	 */
+	private static class LinkExtractor implements ResponseExtractor<Link> {
+
+		private final Rel rel;
+		private final String headerRel;
+
+		/**
+		 * Creates a new {@link LinkExtractor} for the given {@link Rel}.
+		 * 
+		 * @param rel must not be {@literal null}.
+		 * @param headerRel the rel to look up in the {@code Link} headers before reading the body, {@literal null} to only
+		 *          inspect the body.
+		 */
+		public LinkExtractor(Rel rel, String headerRel) {
+
+			this.rel = rel;
+			this.headerRel = headerRel;
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see org.springframework.web.client.ResponseExtractor#extractData(org.springframework.http.client.ClientHttpResponse)
+		 */
+		@Override
+		public Link extractData(ClientHttpResponse response) throws IOException {
+
+			if (headerRel != null) {
+
+				Link link = HEADER_LINK_DISCOVERER.findLinkWithRel(headerRel, response.getHeaders());
+
+				if (link != null) {
+					return link;
+				}
+			}
+
+			return rel.findInResponse(response.getBody(), response.getHeaders().getContentType());
+		}
+	}
+
+	/**
+	 * {@link ResponseExtractor} to only expose the headers of a response.
+	 */
+	private static enum HeadersExtractor implements ResponseExtractor<HttpHeaders> {
+
+		INSTANCE;
+
+		/* 
+		 * (non-Javadoc)
+		 * @see org.springframework.web.client.ResponseExtractor#extractData(org.springframework.http.client.ClientHttpResponse)
+		 */
+		@Override
+		public HttpHeaders extractData(ClientHttpResponse response) throws IOException {
+			return response.getHeaders();
+		}
+	}
+
+	/**
+	 * {@link ResponseExtractor} to read the raw response body without any conversion so that binary representations
+	 * can be inspected for links as well.
+	 */
+	private static enum RawResponseExtractor implements ResponseExtractor<ResponseEntity<byte[]>> {
+
+		INSTANCE;
+
+		/* 
+		 * (non-Javadoc)
+		 * @see org.springframework.web.client.ResponseExtractor#extractData(org.springframework.http.client.ClientHttpResponse)
+		 */
+		@Override
+		public ResponseEntity<byte[]> extractData(ClientHttpResponse response) throws IOException {
+
+			byte[] body = StreamUtils.copyToByteArray(response.getBody());
+			return new ResponseEntity<byte[]>(body, response.getHeaders(), response.getStatusCode());
+		}
 	}
 }
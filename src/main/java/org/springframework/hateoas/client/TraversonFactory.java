@@ -0,0 +1,238 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.hateoas.LinkDiscoverer;
+import org.springframework.hateoas.LinkDiscoverers;
+import org.springframework.hateoas.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.plugin.core.OrderAwarePluginRegistry;
+import org.springframework.util.Assert;
+import org.springframework.web.client.RestOperations;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Factory for {@link Traverson} instances sharing their client infrastructure. Creating a {@link Traverson} through
+ * its constructor sets up a new {@link RestTemplate} along with new {@link HttpMessageConverter}s and
+ * {@link ObjectMapper}s every time, which adds up if a {@link Traverson} is created per request or per base URI. The
+ * factory sets them up once and hands them to all {@link Traverson} instances it creates. The (de)serializers for the
+ * representation types used can be resolved up front through {@link #warmUp(Type...)}.
+ *
+ * <pre>
+ * TraversonFactory factory = new TraversonFactory(MediaTypes.HAL_JSON);
+ * factory.setRequestFactory(new HttpComponentsClientHttpRequestFactory(pooledHttpClient));
+ *
+ * Traverson traverson = factory.create(URI.create("http://localhost:8080/api"));
+ * </pre>
+ *
+ * Connections are pooled by the configured {@link ClientHttpRequestFactory}. The default one relies on the keep-alive
+ * connection cache of the JDK's {@link java.net.HttpURLConnection}. The factory is meant to be configured before
+ * creating {@link Traverson} instances, creating them is thread-safe.
+ *
+ * @author agent
+ * @since 0.18
+ */
+public class TraversonFactory {
+
+	private final List<MediaType> mediaTypes;
+	private final List<HttpMessageConverter<?>> converters;
+
+	private RestOperations operations;
+	private LinkDiscoverers discoverers;
+	private HttpResponseCache cache;
+	private TraversalRouteCache routeCache;
+
+	/**
+	 * Creates a new {@link TraversonFactory} for {@link Traverson}s using the given {@link MediaType}s to interact with
+	 * the service.
+	 *
+	 * @param mediaTypes must not be {@literal null} or empty.
+	 */
+	public TraversonFactory(MediaType... mediaTypes) {
+		this(Arrays.asList(mediaTypes));
+	}
+
+	/**
+	 * Creates a new {@link TraversonFactory} for {@link Traverson}s using the given {@link MediaType}s to interact with
+	 * the service.
+	 *
+	 * @param mediaTypes must not be {@literal null} or empty.
+	 */
+	public TraversonFactory(List<MediaType> mediaTypes) {
+
+		Assert.notEmpty(mediaTypes, "At least one media type must be given!");
+
+		this.mediaTypes = Collections.unmodifiableList(new ArrayList<MediaType>(mediaTypes));
+		this.converters = Collections.unmodifiableList(Traverson.getDefaultMessageConverters(this.mediaTypes));
+		this.operations = createTemplate(null);
+		this.discoverers = Traverson.DEFAULT_LINK_DISCOVERERS;
+	}
+
+	/**
+	 * Returns the {@link HttpMessageConverter}s shared by all {@link Traverson}s created, e.g. to set up a custom
+	 * {@link RestTemplate} handed into {@link #setRestOperations(RestOperations)}.
+	 *
+	 * @return an unmodifiable {@link List}, will never be {@literal null}.
+	 */
+	public List<HttpMessageConverter<?>> getMessageConverters() {
+		return converters;
+	}
+
+	/**
+	 * Configures the {@link RestOperations} to be shared by all {@link Traverson}s created. If {@literal null} is
+	 * provided a default {@link RestTemplate} using the shared {@link HttpMessageConverter}s will be used.
+	 *
+	 * @param operations can be {@literal null}.
+	 * @return
+	 */
+	public TraversonFactory setRestOperations(RestOperations operations) {
+
+		this.operations = operations == null ? createTemplate(null) : operations;
+		return this;
+	}
+
+	/**
+	 * Configures the {@link ClientHttpRequestFactory} to be used by the shared default {@link RestTemplate}, e.g. one
+	 * pooling connections. Replaces the {@link RestOperations} configured before.
+	 *
+	 * @param factory must not be {@literal null}.
+	 * @return
+	 */
+	public TraversonFactory setRequestFactory(ClientHttpRequestFactory factory) {
+
+		Assert.notNull(factory, "ClientHttpRequestFactory must not be null!");
+
+		this.operations = createTemplate(factory);
+		return this;
+	}
+
+	/**
+	 * Sets the {@link LinkDiscoverer}s to be shared by all {@link Traverson}s created. If {@literal null} is provided the
+	 * default ones are used.
+	 *
+	 * @param discoverers can be {@literal null}.
+	 * @return
+	 * @see Traverson#setLinkDiscoverers(List)
+	 */
+	public TraversonFactory setLinkDiscoverers(List<? extends LinkDiscoverer> discoverers) {
+
+		this.discoverers = discoverers == null ? Traverson.DEFAULT_LINK_DISCOVERERS : new LinkDiscoverers(
+				OrderAwarePluginRegistry.create(discoverers));
+
+		return this;
+	}
+
+	/**
+	 * Configures the {@link HttpResponseCache} to be shared by all {@link Traverson}s created.
+	 *
+	 * @param cache can be {@literal null}.
+	 * @return
+	 * @see Traverson#setResponseCache(HttpResponseCache)
+	 */
+	public TraversonFactory setResponseCache(HttpResponseCache cache) {
+
+		this.cache = cache;
+		return this;
+	}
+
+	/**
+	 * Configures the {@link TraversalRouteCache} to be shared by all {@link Traverson}s created.
+	 *
+	 * @param routeCache can be {@literal null}.
+	 * @return
+	 * @see Traverson#setRouteCache(TraversalRouteCache)
+	 */
+	public TraversonFactory setRouteCache(TraversalRouteCache routeCache) {
+
+		this.routeCache = routeCache;
+		return this;
+	}
+
+	/**
+	 * Resolves the deserializers and serializers of the shared {@link ObjectMapper}s for the given types, so that the
+	 * first responses read into them don't have to. Deserializers are resolved per fully parameterized type, i.e. warming
+	 * up the raw {@link Resource} type doesn't help reading a {@code Resource<Order>}. Use
+	 * {@link org.springframework.core.ParameterizedTypeReference#getType()} to hand in the exact types the
+	 * representations will be read into, e.g. {@code new ParameterizedTypeReference<Resource<Order>>() {}.getType()}.
+	 *
+	 * @param types must not be {@literal null}.
+	 * @return
+	 */
+	public TraversonFactory warmUp(Type... types) {
+
+		Assert.notNull(types, "Types must not be null!");
+
+		for (HttpMessageConverter<?> converter : converters) {
+
+			if (!(converter instanceof MappingJackson2HttpMessageConverter)) {
+				continue;
+			}
+
+			ObjectMapper mapper = ((MappingJackson2HttpMessageConverter) converter).getObjectMapper();
+
+			for (Type type : types) {
+
+				Assert.notNull(type, "Type must not be null!");
+
+				JavaType javaType = mapper.getTypeFactory().constructType(type);
+				mapper.canDeserialize(javaType);
+				mapper.canSerialize(javaType.getRawClass());
+			}
+		}
+
+		return this;
+	}
+
+	/**
+	 * Creates a new {@link Traverson} for the given base URI using the shared client infrastructure.
+	 *
+	 * @param baseUri must not be {@literal null}.
+	 * @return
+	 */
+	public Traverson create(URI baseUri) {
+
+		Assert.notNull(baseUri, "Base URI must not be null!");
+
+		return new Traverson(baseUri, mediaTypes, operations, discoverers).//
+				setResponseCache(cache).//
+				setRouteCache(routeCache);
+	}
+
+	private RestTemplate createTemplate(ClientHttpRequestFactory factory) {
+
+		RestTemplate template = new RestTemplate();
+		template.setMessageConverters(new ArrayList<HttpMessageConverter<?>>(converters));
+
+		if (factory != null) {
+			template.setRequestFactory(factory);
+		}
+
+		return template;
+	}
+}
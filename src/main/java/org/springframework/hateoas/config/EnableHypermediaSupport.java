@@ -1,5 +1,5 @@
 /*
- * Copyright 2013 the original author or authors.
+ * Copyright 2013-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,10 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Import;
 import org.springframework.hateoas.EntityLinks;
 import org.springframework.hateoas.LinkDiscoverer;
+import org.springframework.hateoas.hal.BinaryHalFormat;
+import org.springframework.hateoas.hal.HalRepresentationCache;
+import org.springframework.hateoas.mvc.EtagMappingJackson2HttpMessageConverter;
+import org.springframework.hateoas.mvc.HalNdjsonHttpMessageConverter;
 
 /**
  * Activates hypermedia support in the {@link ApplicationContext}. Will register infrastructure beans available for
@@ -35,6 +39,14 @@ import org.springframework.hateoas.LinkDiscoverer;
  * <li>{@link LinkDiscoverer}</li>
  * <li>a Jackson (1 or 2, dependning on what is on the classpath) module to correctly marshal the resource model classes
  * into the appropriate representation.
+ * <li>for HAL, additional {@link LinkDiscoverer}s and HTTP message converters for the binary Smile and CBOR variants of
+ * the format, if the corresponding Jackson data formats are present on the classpath (see {@link BinaryHalFormat}).
+ * <li>for HAL, an HTTP message converter to render collection resources as stream of HAL documents (see
+ * {@link HalNdjsonHttpMessageConverter}).
+ * <li>for HAL, support for conditional requests using ETags in the HTTP message converters if activated through
+ * {@link #conditionalRequests()} (see {@link EtagMappingJackson2HttpMessageConverter}).
+ * <li>for HAL, reuse of rendered embedded resources if a {@link HalRepresentationCache} bean is present in the
+ * {@link ApplicationContext}.
  * </ul>
  * 
  * @see LinkDiscoverer
@@ -54,6 +66,16 @@ public @interface EnableHypermediaSupport {
 	 */
 	HypermediaType[] type();
 
+	/**
+	 * Whether the HAL message converters shall answer conditional {@code GET} and {@code HEAD} requests using ETags.
+	 * Defaults to {@literal false} as the representations of all resources not implementing
+	 * {@link org.springframework.hateoas.VersionedResource} get buffered to calculate their ETag.
+	 * 
+	 * @return
+	 * @see EtagMappingJackson2HttpMessageConverter
+	 */
+	boolean conditionalRequests() default false;
+
 	/**
 	 * Hypermedia representation types supported.
 	 * 
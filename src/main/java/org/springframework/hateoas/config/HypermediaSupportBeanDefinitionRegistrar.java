@@ -1,5 +1,5 @@
 /*
- * Copyright 2013 the original author or authors.
+ * Copyright 2013-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -50,9 +50,14 @@ import org.springframework.hateoas.core.AnnotationRelProvider;
 import org.springframework.hateoas.core.DefaultRelProvider;
 import org.springframework.hateoas.core.DelegatingRelProvider;
 import org.springframework.hateoas.core.EvoInflectorRelProvider;
+import org.springframework.hateoas.hal.BinaryHalFormat;
+import org.springframework.hateoas.hal.BinaryHalLinkDiscoverer;
 import org.springframework.hateoas.hal.CurieProvider;
 import org.springframework.hateoas.hal.HalLinkDiscoverer;
+import org.springframework.hateoas.hal.HalRepresentationCache;
 import org.springframework.hateoas.hal.Jackson2HalModule;
+import org.springframework.hateoas.mvc.EtagMappingJackson2HttpMessageConverter;
+import org.springframework.hateoas.mvc.HalNdjsonHttpMessageConverter;
 import org.springframework.hateoas.mvc.TypeConstrainedMappingJackson2HttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
@@ -109,6 +114,16 @@ class HypermediaSupportBeanDefinitionRegistrar implements ImportBeanDefinitionRe
 			}
 		}
 
+		if (types.contains(HypermediaType.HAL) && JACKSON2_PRESENT) {
+
+			for (BinaryHalFormat format : BinaryHalFormat.getAvailableFormats()) {
+
+				BeanDefinitionBuilder builder = rootBeanDefinition(BinaryHalLinkDiscoverer.class);
+				builder.addConstructorArgValue(format);
+				registerSourcedBeanDefinition(builder, metadata, registry);
+			}
+		}
+
 		if (types.contains(HypermediaType.HAL)) {
 
 			if (JACKSON2_PRESENT) {
@@ -117,6 +132,7 @@ class HypermediaSupportBeanDefinitionRegistrar implements ImportBeanDefinitionRe
 				registerSourcedBeanDefinition(halQueryMapperBuilder, metadata, registry, HAL_OBJECT_MAPPER_BEAN_NAME);
 
 				BeanDefinitionBuilder builder = rootBeanDefinition(Jackson2ModuleRegisteringBeanPostProcessor.class);
+				builder.addPropertyValue("conditionalRequests", attributes.get("conditionalRequests"));
 				registerSourcedBeanDefinition(builder, metadata, registry);
 			}
 		}
@@ -181,6 +197,7 @@ class HypermediaSupportBeanDefinitionRegistrar implements ImportBeanDefinitionRe
 		switch (type) {
 			case HAL:
 				definition = new RootBeanDefinition(HalLinkDiscoverer.class);
+				definition.setPrimary(true);
 				break;
 			default:
 				throw new IllegalStateException(String.format("Unsupported hypermedia type %s!", type));
@@ -218,6 +235,17 @@ class HypermediaSupportBeanDefinitionRegistrar implements ImportBeanDefinitionRe
 	static class Jackson2ModuleRegisteringBeanPostProcessor implements BeanPostProcessor, BeanFactoryAware {
 
 		private BeanFactory beanFactory;
+		private boolean conditionalRequests;
+
+		/**
+		 * Configures whether the HAL message converters shall support conditional requests.
+		 * 
+		 * @param conditionalRequests
+		 * @see EnableHypermediaSupport#conditionalRequests()
+		 */
+		public void setConditionalRequests(boolean conditionalRequests) {
+			this.conditionalRequests = conditionalRequests;
+		}
 
 		/* 
 		 * (non-Javadoc)
@@ -285,19 +313,37 @@ class HypermediaSupportBeanDefinitionRegistrar implements ImportBeanDefinitionRe
 			ObjectMapper halObjectMapper = beanFactory.getBean(HAL_OBJECT_MAPPER_BEAN_NAME, ObjectMapper.class);
 
 			halObjectMapper.registerModule(new Jackson2HalModule());
-			halObjectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(relProvider, curieProvider));
+			halObjectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(relProvider, curieProvider,
+					true, getRepresentationCache(beanFactory)));
 
-			MappingJackson2HttpMessageConverter halConverter = new TypeConstrainedMappingJackson2HttpMessageConverter(
-					ResourceSupport.class);
+			MappingJackson2HttpMessageConverter halConverter = createConverter();
 			halConverter.setSupportedMediaTypes(Arrays.asList(HAL_JSON));
 			halConverter.setObjectMapper(halObjectMapper);
 
 			List<HttpMessageConverter<?>> result = new ArrayList<HttpMessageConverter<?>>(converters.size());
 			result.add(halConverter);
+
+			for (BinaryHalFormat format : BinaryHalFormat.getAvailableFormats()) {
+
+				MappingJackson2HttpMessageConverter binaryConverter = createConverter();
+				binaryConverter.setSupportedMediaTypes(Arrays.asList(format.getMediaType()));
+				binaryConverter.setObjectMapper(format.createObjectMapper(halObjectMapper));
+
+				result.add(binaryConverter);
+			}
+
+			result.add(new HalNdjsonHttpMessageConverter(halObjectMapper));
+
 			result.addAll(converters);
 			return result;
 		}
 
+		private MappingJackson2HttpMessageConverter createConverter() {
+
+			return conditionalRequests ? new EtagMappingJackson2HttpMessageConverter(ResourceSupport.class)
+					: new TypeConstrainedMappingJackson2HttpMessageConverter(ResourceSupport.class);
+		}
+
 		private static CurieProvider getCurieProvider(BeanFactory factory) {
 
 			try {
@@ -306,5 +352,14 @@ class HypermediaSupportBeanDefinitionRegistrar implements ImportBeanDefinitionRe
 				return null;
 			}
 		}
+
+		private static HalRepresentationCache getRepresentationCache(BeanFactory factory) {
+
+			try {
+				return factory.getBean(HalRepresentationCache.class);
+			} catch (NoSuchBeanDefinitionException e) {
+				return null;
+			}
+		}
 	}
 }
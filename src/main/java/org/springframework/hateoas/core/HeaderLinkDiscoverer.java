@@ -0,0 +1,249 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkDiscoverer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link LinkDiscoverer} to find links in the value of a {@code Link} header as defined in RFC 8288, e.g.
+ * {@code <http://localhost/orders?page=2>; rel="next last"}, as rendered by
+ * {@link org.springframework.hateoas.mvc.HeaderLinksResponseEntity}. Quoted and unquoted parameter values as well as
+ * multiple relation types per link are supported, relation types are compared case-insensitively. Multiple header
+ * values can be handed in joined by commas, see {@link #findLinkWithRel(String, HttpHeaders)}.
+ * <p>
+ * As the header is independent from the representation, the discoverer supports all media types. It's not meant to be
+ * registered with the {@link LinkDiscoverer}s looking into response bodies.
+ *
+ * @author agent
+ * @since 0.18
+ */
+public class HeaderLinkDiscoverer implements LinkDiscoverer {
+
+	private static final String LINK_HEADER = "Link";
+	private static final Charset CHARSET = Charset.forName("ISO-8859-1");
+
+	/**
+	 * Finds a single link with the given relation type in the {@code Link} headers of the given {@link HttpHeaders}.
+	 *
+	 * @param rel must not be {@literal null} or empty.
+	 * @param headers must not be {@literal null}.
+	 * @return the first link with the given relation type found, or {@literal null} if none was found.
+	 */
+	public Link findLinkWithRel(String rel, HttpHeaders headers) {
+
+		Assert.notNull(headers, "HttpHeaders must not be null!");
+
+		List<String> values = headers.get(LINK_HEADER);
+		return values == null ? null : findLinkWithRel(rel, StringUtils.collectionToDelimitedString(values, ","));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.LinkDiscoverer#findLinkWithRel(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Link findLinkWithRel(String rel, String representation) {
+
+		List<Link> links = findLinks(rel, representation, true);
+		return links.isEmpty() ? null : links.get(0);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.LinkDiscoverer#findLinkWithRel(java.lang.String, java.io.InputStream)
+	 */
+	@Override
+	public Link findLinkWithRel(String rel, InputStream representation) {
+		return findLinkWithRel(rel, read(representation));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.LinkDiscoverer#findLinksWithRel(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public List<Link> findLinksWithRel(String rel, String representation) {
+		return findLinks(rel, representation, false);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.LinkDiscoverer#findLinksWithRel(java.lang.String, java.io.InputStream)
+	 */
+	@Override
+	public List<Link> findLinksWithRel(String rel, InputStream representation) {
+		return findLinksWithRel(rel, read(representation));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.Plugin#supports(java.lang.Object)
+	 */
+	@Override
+	public boolean supports(MediaType delimiter) {
+		return true;
+	}
+
+	/**
+	 * Parses the given header value and returns the links with the given relation type.
+	 *
+	 * @param rel must not be {@literal null} or empty.
+	 * @param source can be {@literal null}.
+	 * @param firstOnly whether to stop after the first link found.
+	 * @return
+	 */
+	private static List<Link> findLinks(String rel, String source, boolean firstOnly) {
+
+		Assert.hasText(rel, "Rel must not be null or empty!");
+
+		if (!StringUtils.hasText(source)) {
+			return Collections.emptyList();
+		}
+
+		List<Link> links = new ArrayList<Link>();
+		int length = source.length();
+		int position = 0;
+
+		while (position < length) {
+
+			int uriStart = source.indexOf('<', position);
+
+			if (uriStart < 0) {
+				break;
+			}
+
+			int uriEnd = source.indexOf('>', uriStart);
+
+			if (uriEnd < 0) {
+				break;
+			}
+
+			String href = source.substring(uriStart + 1, uriEnd).trim();
+			String rels = null;
+			position = uriEnd + 1;
+
+			// Parameters up to the next comma outside of a quoted string
+			while (position < length && source.charAt(position) != ',') {
+
+				char c = source.charAt(position);
+
+				if (c == ';' || Character.isWhitespace(c)) {
+					position++;
+					continue;
+				}
+
+				int nameEnd = position;
+
+				while (nameEnd < length && "=;,".indexOf(source.charAt(nameEnd)) < 0) {
+					nameEnd++;
+				}
+
+				String name = source.substring(position, nameEnd).trim();
+				String value = null;
+				position = nameEnd;
+
+				if (position < length && source.charAt(position) == '=') {
+
+					position++;
+
+					while (position < length && Character.isWhitespace(source.charAt(position))) {
+						position++;
+					}
+
+					if (position < length && source.charAt(position) == '"') {
+
+						StringBuilder builder = new StringBuilder();
+						position++;
+
+						while (position < length && source.charAt(position) != '"') {
+
+							if (source.charAt(position) == '\\' && position + 1 < length) {
+								position++;
+							}
+
+							builder.append(source.charAt(position++));
+						}
+
+						position++;
+						value = builder.toString();
+
+					} else {
+
+						int valueEnd = position;
+
+						while (valueEnd < length && ";,".indexOf(source.charAt(valueEnd)) < 0) {
+							valueEnd++;
+						}
+
+						value = source.substring(position, valueEnd).trim();
+						position = valueEnd;
+					}
+				}
+
+				// Only the first occurrence of rel is considered
+				if ("rel".equalsIgnoreCase(name) && rels == null) {
+					rels = value;
+				}
+			}
+
+			position++;
+
+			if (rels != null && hasRel(rels, rel)) {
+
+				links.add(new Link(href, rel));
+
+				if (firstOnly) {
+					break;
+				}
+			}
+		}
+
+		return links;
+	}
+
+	private static boolean hasRel(String rels, String rel) {
+
+		for (String candidate : StringUtils.tokenizeToStringArray(rels, " \t")) {
+			if (candidate.equalsIgnoreCase(rel)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static String read(InputStream representation) {
+
+		try {
+			return StreamUtils.copyToString(representation, CHARSET);
+		} catch (IOException o_O) {
+			throw new IllegalStateException(o_O);
+		}
+	}
+}
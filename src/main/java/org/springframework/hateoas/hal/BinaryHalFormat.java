@@ -0,0 +1,187 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.hal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.RelProvider;
+import org.springframework.hateoas.hal.Jackson2HalModule.HalHandlerInstantiator;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+
+/**
+ * Binary data formats HAL can be rendered in using {@link Jackson2HalModule}. The Jackson data format implementations
+ * are optional dependencies and thus looked up reflectively, use {@link #isAvailable()} to find out whether a format
+ * can be used.
+ * 
+ * @author agent
+ * @since 0.18
+ */
+public enum BinaryHalFormat {
+
+	/**
+	 * HAL rendered in Smile, requires {@code jackson-dataformat-smile}.
+	 */
+	SMILE(MediaTypes.HAL_SMILE, "com.fasterxml.jackson.dataformat.smile.SmileFactory"),
+
+	/**
+	 * HAL rendered in CBOR, requires {@code jackson-dataformat-cbor}.
+	 */
+	CBOR(MediaTypes.HAL_CBOR, "com.fasterxml.jackson.dataformat.cbor.CBORFactory");
+
+	private final MediaType mediaType;
+	private final String factoryClassName;
+	private final boolean available;
+
+	private BinaryHalFormat(MediaType mediaType, String factoryClassName) {
+
+		this.mediaType = mediaType;
+		this.factoryClassName = factoryClassName;
+		this.available = ClassUtils.isPresent(factoryClassName, BinaryHalFormat.class.getClassLoader());
+	}
+
+	/**
+	 * Returns all {@link BinaryHalFormat}s whose Jackson data format is present on the classpath.
+	 * 
+	 * @return will never be {@literal null}.
+	 */
+	public static List<BinaryHalFormat> getAvailableFormats() {
+
+		List<BinaryHalFormat> result = new ArrayList<BinaryHalFormat>();
+
+		for (BinaryHalFormat format : values()) {
+			if (format.isAvailable()) {
+				result.add(format);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the {@link BinaryHalFormat} for the given {@link MediaType} or {@literal null} if the given
+	 * {@link MediaType} is not a binary HAL one.
+	 * 
+	 * @param mediaType can be {@literal null}.
+	 * @return
+	 */
+	public static BinaryHalFormat forMediaType(MediaType mediaType) {
+
+		if (mediaType == null) {
+			return null;
+		}
+
+		for (BinaryHalFormat format : values()) {
+			if (format.mediaType.isCompatibleWith(mediaType)) {
+				return format;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the {@link MediaType} of the format.
+	 * 
+	 * @return
+	 */
+	public MediaType getMediaType() {
+		return mediaType;
+	}
+
+	/**
+	 * Returns whether the Jackson data format backing the format is present on the classpath.
+	 * 
+	 * @return
+	 */
+	public boolean isAvailable() {
+		return available;
+	}
+
+	/**
+	 * Creates a new {@link JsonFactory} for the format.
+	 * 
+	 * @return
+	 * @throws IllegalStateException in case the Jackson data format is not present on the classpath.
+	 */
+	public JsonFactory createJsonFactory() {
+
+		if (!available) {
+			throw new IllegalStateException(String.format("%s not found on the classpath! Cannot render HAL as %s.",
+					factoryClassName, name()));
+		}
+
+		Class<?> factoryType = ClassUtils.resolveClassName(factoryClassName, BinaryHalFormat.class.getClassLoader());
+		return (JsonFactory) BeanUtils.instantiateClass(factoryType);
+	}
+
+	/**
+	 * Creates a new {@link ObjectMapper} for the format with the {@link Jackson2HalModule} registered.
+	 * 
+	 * @param relProvider can be {@literal null}, no {@link HalHandlerInstantiator} will be registered in that case.
+	 * @param curieProvider can be {@literal null}.
+	 * @return
+	 */
+	public ObjectMapper createObjectMapper(RelProvider relProvider, CurieProvider curieProvider) {
+
+		ObjectMapper mapper = new ObjectMapper(createJsonFactory());
+		mapper.registerModule(new Jackson2HalModule());
+
+		if (relProvider != null) {
+			mapper.setHandlerInstantiator(new HalHandlerInstantiator(relProvider, curieProvider));
+		}
+
+		return mapper;
+	}
+
+	/**
+	 * Creates a new {@link ObjectMapper} for the format derived from the given one, usually the one rendering HAL as
+	 * JSON. The new {@link ObjectMapper} shares the serializer and deserializer factories, the registered modules thus,
+	 * as well as the serialization and deserialization configuration, i.e. enabled features, mixins and the
+	 * {@link com.fasterxml.jackson.databind.cfg.HandlerInstantiator}, of the given one. Features of the
+	 * {@link JsonFactory} are not copied as they are specific to the format.
+	 * 
+	 * @param source must not be {@literal null}.
+	 * @return
+	 */
+	public ObjectMapper createObjectMapper(ObjectMapper source) {
+
+		Assert.notNull(source, "Source ObjectMapper must not be null!");
+
+		DefaultSerializerProvider serializerProvider = (DefaultSerializerProvider) source.getSerializerProvider();
+		DefaultDeserializationContext deserializationContext = (DefaultDeserializationContext) source
+				.getDeserializationContext();
+
+		ObjectMapper mapper = new ObjectMapper(createJsonFactory(), serializerProvider, deserializationContext);
+
+		mapper.setSerializerFactory(source.getSerializerFactory());
+		mapper.setSubtypeResolver(source.getSubtypeResolver());
+		mapper.setTypeFactory(source.getTypeFactory());
+		mapper.setConfig(source.getSerializationConfig());
+		mapper.setConfig(source.getDeserializationConfig());
+
+		return mapper;
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.hal;
+
+import java.io.InputStream;
+import java.util.List;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkDiscoverer;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+/**
+ * {@link LinkDiscoverer} implementation based on HAL link structure for binary representations (see
+ * {@link BinaryHalFormat}). Representations are read token by token as described in {@link StreamingHalLinkDiscoverer}.
+ * <p>
+ * <strong>Binary representations can't be held in a {@link String} without loss, so the {@link String} based methods
+ * are not supported and throw an {@link UnsupportedOperationException}. Use the {@link InputStream} based ones
+ * instead.</strong>
+ * 
+ * @author agent
+ * @since 0.18
+ */
+public class BinaryHalLinkDiscoverer extends StreamingHalLinkDiscoverer {
+
+	/**
+	 * Creates a new {@link BinaryHalLinkDiscoverer} for the given {@link BinaryHalFormat}.
+	 * 
+	 * @param format must not be {@literal null}.
+	 */
+	public BinaryHalLinkDiscoverer(BinaryHalFormat format) {
+		this(getFactory(format), format.getMediaType());
+	}
+
+	/**
+	 * Creates a new {@link BinaryHalLinkDiscoverer} using the given {@link JsonFactory} to parse representations of the
+	 * given {@link MediaType}.
+	 * 
+	 * @param factory must not be {@literal null}.
+	 * @param mediaType must not be {@literal null}.
+	 */
+	public BinaryHalLinkDiscoverer(JsonFactory factory, MediaType mediaType) {
+		super(factory, mediaType);
+	}
+
+	private static JsonFactory getFactory(BinaryHalFormat format) {
+
+		Assert.notNull(format, "BinaryHalFormat must not be null!");
+		return format.createJsonFactory();
+	}
+
+	/**
+	 * Not supported as binary representations can't be held in a {@link String}, use
+	 * {@link #findLinkWithRel(String, InputStream)} instead.
+	 * 
+	 * @throws UnsupportedOperationException always.
+	 */
+	@Override
+	public Link findLinkWithRel(String rel, String representation) {
+		throw new UnsupportedOperationException(getStringRepresentationMessage());
+	}
+
+	/**
+	 * Not supported as binary representations can't be held in a {@link String}, use
+	 * {@link #findLinksWithRel(String, InputStream)} instead.
+	 * 
+	 * @throws UnsupportedOperationException always.
+	 */
+	@Override
+	public List<Link> findLinksWithRel(String rel, String representation) {
+		throw new UnsupportedOperationException(getStringRepresentationMessage());
+	}
+
+	private static String getStringRepresentationMessage() {
+		return "Binary representations cannot be given as String! Use the InputStream based methods instead.";
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2013-2014 the original author or authors.
+ * Copyright 2013-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,10 +17,13 @@ package org.springframework.hateoas.hal;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.hateoas.IanaRels;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.Links;
+import org.springframework.hateoas.StaticLink;
 import org.springframework.hateoas.UriTemplate;
 import org.springframework.util.Assert;
 
@@ -33,7 +36,11 @@ import org.springframework.util.Assert;
  */
 public class DefaultCurieProvider implements CurieProvider {
 
+	private static final int MAX_CACHED_RELS = 1024;
+
 	private final Curie curie;
+	private final Collection<Curie> curieInformation;
+	private final ConcurrentMap<String, String> namespacedRels;
 
 	/**
 	 * Creates a new {@link DefaultCurieProvider} for the given name and {@link UriTemplate}.
@@ -49,6 +56,8 @@ public class DefaultCurieProvider implements CurieProvider {
 				String.format("Expected a single template variable in the UriTemplate %s!", uriTemplate.toString()));
 
 		this.curie = new Curie(name, uriTemplate.toString());
+		this.curieInformation = Collections.singleton(curie);
+		this.namespacedRels = new ConcurrentHashMap<String, String>();
 	}
 
 	/* 
@@ -57,7 +66,7 @@ public class DefaultCurieProvider implements CurieProvider {
 	 */
 	@Override
 	public Collection<? extends Object> getCurieInformation(Links links) {
-		return Collections.singleton(curie);
+		return curieInformation;
 	}
 
 	/* 
@@ -76,16 +85,29 @@ public class DefaultCurieProvider implements CurieProvider {
 	@Override
 	public String getNamespacedRelFor(String rel) {
 
+		String result = namespacedRels.get(rel);
+
+		if (result != null) {
+			return result;
+		}
+
 		boolean prefixingNeeded = !IanaRels.isIanaRel(rel) && !rel.contains(":");
-		return prefixingNeeded ? String.format("%s:%s", curie.name, rel) : rel;
+		result = prefixingNeeded ? curie.name.concat(":").concat(rel) : rel;
+
+		if (namespacedRels.size() < MAX_CACHED_RELS) {
+			namespacedRels.putIfAbsent(rel, result);
+		}
+
+		return result;
 	}
 
 	/**
-	 * Value object to get the curie {@link Link} rendered in JSON.
+	 * Value object to get the curie {@link Link} rendered in JSON. As it doesn't change between requests, it's a
+	 * {@link StaticLink} and thus only rendered once.
 	 * 
 	 * @author Oliver Gierke
 	 */
-	protected static class Curie extends Link {
+	protected static class Curie extends StaticLink {
 
 		private static final long serialVersionUID = 1L;
 
@@ -100,5 +122,34 @@ public class DefaultCurieProvider implements CurieProvider {
 		public String getName() {
 			return name;
 		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see org.springframework.hateoas.Link#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof Curie)) {
+				return false;
+			}
+
+			Curie that = (Curie) obj;
+
+			return this.name.equals(that.name) && super.equals(obj);
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see org.springframework.hateoas.Link#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return super.hashCode() + 31 * name.hashCode();
+		}
 	}
 }
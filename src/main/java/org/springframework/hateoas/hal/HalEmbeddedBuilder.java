@@ -98,6 +98,17 @@ class HalEmbeddedBuilder {
 		embeddeds.put(collectionRel, list);
 	}
 
+	/**
+	 * Returns the relation type the value of the given {@link EmbeddedWrapper} would be collected under if it was added
+	 * to a collection of values, i.e. without moving from the single resource relation to the collection one.
+	 * 
+	 * @param wrapper must not be {@literal null}.
+	 * @return
+	 */
+	String getCollectionRelFor(EmbeddedWrapper wrapper) {
+		return getDefaultedRelFor(wrapper, true);
+	}
+
 	@SuppressWarnings("unchecked")
 	private Collection<Object> asCollection(Object source) {
 		return source instanceof Collection ? (Collection<Object>) source : source == null ? Collections.emptySet()
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.hal;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkFilter;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.hateoas.VersionedResource;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+/**
+ * Cache of the rendered HAL representations of the elements of collection resources. Only elements that are
+ * {@link ResourceSupport}s implementing {@link VersionedResource}, exposing a version and a self link, are cached. They
+ * are keyed by their type, the href of the self link (which includes the base URI), the version and the output format.
+ * Once cached, the UTF-8 bytes of an element are copied into the output directly instead of serializing the element
+ * again.
+ * <p>
+ * The cache is bounded by the number of bytes held, evicting the least recently used representations. Cached
+ * representations are only used for plain JSON generators not using a pretty printer and not restricting the rendered
+ * relation types (see {@link LinkFilter}).
+ * 
+ * @author agent
+ * @since 0.18
+ * @see Jackson2HalModule.HalHandlerInstantiator
+ */
+public class HalRepresentationCache {
+
+	private final long maxBytes;
+	private final Map<Key, JsonFragment> fragments;
+
+	private long bytes, hits, misses;
+
+	/**
+	 * Creates a new {@link HalRepresentationCache} holding representations of the given total size.
+	 * 
+	 * @param maxBytes must be greater than zero.
+	 */
+	public HalRepresentationCache(long maxBytes) {
+
+		Assert.isTrue(maxBytes > 0, "Maximum number of bytes must be greater than zero!");
+
+		this.maxBytes = maxBytes;
+		this.fragments = new LinkedHashMap<Key, JsonFragment>(16, 0.75f, true);
+	}
+
+	/**
+	 * Returns whether cached representations can be written to the given {@link JsonGenerator} in the current request.
+	 * 
+	 * @param generator must not be {@literal null}.
+	 * @return
+	 */
+	public boolean supports(JsonGenerator generator) {
+		return generator instanceof JsonGeneratorImpl && generator.getPrettyPrinter() == null
+				&& generator.getCodec() != null && !LinkFilter.getCurrent().isFiltering();
+	}
+
+	/**
+	 * Writes the given value to the given {@link JsonGenerator}, using the cached representation if available. Values
+	 * that cannot be cached are serialized as usual.
+	 * 
+	 * @param value can be {@literal null}.
+	 * @param generator must not be {@literal null}.
+	 * @param provider must not be {@literal null}.
+	 * @throws IOException
+	 */
+	public void write(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+
+		Key key = getKey(value, generator);
+
+		if (key == null) {
+			provider.defaultSerializeValue(value, generator);
+			return;
+		}
+
+		JsonFragment fragment = get(key);
+
+		if (fragment == null) {
+			fragment = render(value, generator, provider);
+			put(key, fragment);
+		}
+
+		fragment.writeTo(generator);
+	}
+
+	/**
+	 * Returns the number of representations currently cached.
+	 * 
+	 * @return
+	 */
+	public synchronized int size() {
+		return fragments.size();
+	}
+
+	/**
+	 * Returns the number of bytes currently cached.
+	 * 
+	 * @return
+	 */
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * Returns the number of values written from the cache.
+	 * 
+	 * @return
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of cacheable values that had to be rendered.
+	 * 
+	 * @return
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Drops all cached representations.
+	 */
+	public synchronized void clear() {
+
+		fragments.clear();
+		bytes = 0;
+	}
+
+	private static Key getKey(Object value, JsonGenerator generator) {
+
+		if (!(value instanceof ResourceSupport) || !(value instanceof VersionedResource)) {
+			return null;
+		}
+
+		Object version = ((VersionedResource) value).getResourceVersion();
+		Link self = ((ResourceSupport) value).getId();
+
+		if (version == null || self == null) {
+			return null;
+		}
+
+		return new Key(value.getClass(), self.getHref(), version, generator.getCodec().getFactory().getFormatName());
+	}
+
+	private synchronized JsonFragment get(Key key) {
+
+		JsonFragment fragment = fragments.get(key);
+
+		if (fragment == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+
+		return fragment;
+	}
+
+	private synchronized void put(Key key, JsonFragment fragment) {
+
+		if (fragment.getLength() > maxBytes) {
+			return;
+		}
+
+		JsonFragment previous = fragments.put(key, fragment);
+		bytes += fragment.getLength() - (previous == null ? 0 : previous.getLength());
+
+		for (Iterator<JsonFragment> iterator = fragments.values().iterator(); bytes > maxBytes && iterator.hasNext();) {
+			bytes -= iterator.next().getLength();
+			iterator.remove();
+		}
+	}
+
+	private JsonFragment render(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+
+		return JsonFragment.render(value, provider.findTypedValueSerializer(value.getClass(), true, null), generator,
+				provider);
+	}
+
+	/**
+	 * Key of a cached representation.
+	 */
+	private static final class Key {
+
+		private final Class<?> type;
+		private final String href;
+		private final Object version;
+		private final String format;
+
+		public Key(Class<?> type, String href, Object version, String format) {
+
+			this.type = type;
+			this.href = href;
+			this.version = version;
+			this.format = format;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+
+			Key that = (Key) obj;
+
+			return this.type.equals(that.type) && this.href.equals(that.href) && this.version.equals(that.version)
+					&& this.format.equals(that.format);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+
+			int result = 17;
+			result += 31 * type.hashCode();
+			result += 31 * href.hashCode();
+			result += 31 * version.hashCode();
+			result += 31 * format.hashCode();
+			return result;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2014 the original author or authors.
+ * Copyright 2012-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,19 +19,28 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkFilter;
 import org.springframework.hateoas.Links;
 import org.springframework.hateoas.RelProvider;
 import org.springframework.hateoas.Resource;
 import org.springframework.hateoas.ResourceSupport;
 import org.springframework.hateoas.Resources;
+import org.springframework.hateoas.StaticLink;
+import org.springframework.hateoas.StreamingResources;
+import org.springframework.hateoas.core.EmbeddedWrapper;
+import org.springframework.hateoas.core.EmbeddedWrappers;
 import org.springframework.util.Assert;
 
 import com.fasterxml.jackson.core.JsonGenerationException;
@@ -86,6 +95,7 @@ public class Jackson2HalModule extends SimpleModule {
 		setMixInAnnotation(Link.class, LinkMixin.class);
 		setMixInAnnotation(ResourceSupport.class, ResourceSupportMixin.class);
 		setMixInAnnotation(Resources.class, ResourcesMixin.class);
+		setMixInAnnotation(StreamingResources.class, StreamingResourcesMixin.class);
 	}
 
 	/**
@@ -110,16 +120,22 @@ public class Jackson2HalModule extends SimpleModule {
 
 		private final BeanProperty property;
 		private final CurieProvider curieProvider;
+		private final JsonFragmentCache staticLinks;
 
 		public HalLinkListSerializer(CurieProvider curieProvider) {
 			this(null, curieProvider);
 		}
 
 		public HalLinkListSerializer(BeanProperty property, CurieProvider curieProvider) {
+			this(property, curieProvider, new JsonFragmentCache());
+		}
+
+		private HalLinkListSerializer(BeanProperty property, CurieProvider curieProvider, JsonFragmentCache staticLinks) {
 
 			super(List.class, false);
 			this.property = property;
 			this.curieProvider = curieProvider;
+			this.staticLinks = staticLinks;
 		}
 
 		/*
@@ -137,10 +153,16 @@ public class Jackson2HalModule extends SimpleModule {
 			boolean prefixingRequired = curieProvider != null;
 			boolean curiedLinkPresent = false;
 
+			LinkFilter filter = LinkFilter.getCurrent();
+
 			for (Link link : value) {
 
 				String rel = prefixingRequired ? curieProvider.getNamespacedRelFrom(link) : link.getRel();
 
+				if (!filter.includes(link) && !filter.includes(rel)) {
+					continue;
+				}
+
 				if (!link.getRel().equals(rel)) {
 					curiedLinkPresent = true;
 				}
@@ -167,7 +189,7 @@ public class Jackson2HalModule extends SimpleModule {
 			JavaType mapType = typeFactory.constructMapType(HashMap.class, keyType, valueType);
 
 			MapSerializer serializer = MapSerializer.construct(new String[] {}, mapType, true, null,
-					provider.findKeySerializer(keyType, null), new OptionalListJackson2Serializer(property), null);
+					provider.findKeySerializer(keyType, null), new OptionalListJackson2Serializer(property, staticLinks), null);
 
 			serializer.serialize(sortedLinks, jgen, provider);
 		}
@@ -179,7 +201,7 @@ public class Jackson2HalModule extends SimpleModule {
 		@Override
 		public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
 				throws JsonMappingException {
-			return new HalLinkListSerializer(property, curieProvider);
+			return new HalLinkListSerializer(property, curieProvider, staticLinks);
 		}
 
 		/*
@@ -206,7 +228,27 @@ public class Jackson2HalModule extends SimpleModule {
 		 */
 		@Override
 		public boolean isEmpty(List<Link> value) {
-			return value.isEmpty();
+
+			if (value.isEmpty()) {
+				return true;
+			}
+
+			LinkFilter filter = LinkFilter.getCurrent();
+
+			if (!filter.isFiltering()) {
+				return false;
+			}
+
+			for (Link link : value) {
+
+				String rel = curieProvider == null ? link.getRel() : curieProvider.getNamespacedRelFrom(link);
+
+				if (filter.includes(link) || filter.includes(rel)) {
+					return false;
+				}
+			}
+
+			return true;
 		}
 
 		/*
@@ -240,14 +282,35 @@ public class Jackson2HalModule extends SimpleModule {
 		private final RelProvider relProvider;
 		private final CurieProvider curieProvider;
 		private final boolean enforceEmbeddedCollections;
+		private final HalRepresentationCache cache;
 
 		public HalResourcesSerializer(RelProvider relPorvider, CurieProvider curieProvider,
 				boolean enforceEmbeddedCollections) {
-			this(null, relPorvider, curieProvider, enforceEmbeddedCollections);
+			this(relPorvider, curieProvider, enforceEmbeddedCollections, null);
+		}
+
+		/**
+		 * Creates a new {@link HalResourcesSerializer} using the given {@link HalRepresentationCache} to render the
+		 * embedded resources.
+		 * 
+		 * @param relProvider must not be {@literal null}.
+		 * @param curieProvider can be {@literal null}.
+		 * @param enforceEmbeddedCollections
+		 * @param cache can be {@literal null}.
+		 * @since 0.18
+		 */
+		public HalResourcesSerializer(RelProvider relProvider, CurieProvider curieProvider,
+				boolean enforceEmbeddedCollections, HalRepresentationCache cache) {
+			this(null, relProvider, curieProvider, enforceEmbeddedCollections, cache);
 		}
 
 		public HalResourcesSerializer(BeanProperty property, RelProvider relProvider, CurieProvider curieProvider,
 				boolean enforceEmbeddedCollections) {
+			this(property, relProvider, curieProvider, enforceEmbeddedCollections, null);
+		}
+
+		private HalResourcesSerializer(BeanProperty property, RelProvider relProvider, CurieProvider curieProvider,
+				boolean enforceEmbeddedCollections, HalRepresentationCache cache) {
 
 			super(Collection.class, false);
 
@@ -255,6 +318,7 @@ public class Jackson2HalModule extends SimpleModule {
 			this.relProvider = relProvider;
 			this.curieProvider = curieProvider;
 			this.enforceEmbeddedCollections = enforceEmbeddedCollections;
+			this.cache = cache;
 		}
 
 		/*
@@ -273,13 +337,55 @@ public class Jackson2HalModule extends SimpleModule {
 				builder.add(resource);
 			}
 
-			provider.findValueSerializer(Map.class, property).serialize(builder.asMap(), jgen, provider);
+			Map<String, Object> embeddeds = builder.asMap();
+
+			if (cache != null && cache.supports(jgen)) {
+				writeCached(embeddeds, jgen, provider);
+				return;
+			}
+
+			provider.findValueSerializer(Map.class, property).serialize(embeddeds, jgen, provider);
+		}
+
+		/**
+		 * Writes the given embedded resources using the {@link HalRepresentationCache}.
+		 * 
+		 * @param embeddeds must not be {@literal null}.
+		 * @param jgen must not be {@literal null}.
+		 * @param provider must not be {@literal null}.
+		 * @throws IOException
+		 */
+		private void writeCached(Map<String, Object> embeddeds, JsonGenerator jgen, SerializerProvider provider)
+				throws IOException {
+
+			jgen.writeStartObject();
+
+			for (Entry<String, Object> entry : embeddeds.entrySet()) {
+
+				jgen.writeFieldName(entry.getKey());
+
+				if (entry.getValue() instanceof Collection) {
+
+					jgen.writeStartArray();
+
+					for (Object element : (Collection<?>) entry.getValue()) {
+						cache.write(element, jgen, provider);
+					}
+
+					jgen.writeEndArray();
+
+				} else {
+					cache.write(entry.getValue(), jgen, provider);
+				}
+			}
+
+			jgen.writeEndObject();
 		}
 
 		@Override
 		public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property)
 				throws JsonMappingException {
-			return new HalResourcesSerializer(property, relProvider, curieProvider, enforceEmbeddedCollections);
+			return new HalResourcesSerializer(property, relProvider, curieProvider, enforceEmbeddedCollections, cache);
 		}
 
 		@Override
@@ -308,9 +414,179 @@ public class Jackson2HalModule extends SimpleModule {
 		}
 	}
 
+	/**
+	 * {@link JsonSerializer} to render the content of {@link StreamingResources} as {@code _embedded} element. Elements
+	 * are obtained from the underlying {@link Iterator} and written one by one, the output is flushed every
+	 * {@value #FLUSH_INTERVAL} elements so that clients receive the content in chunks. As the number of elements is not
+	 * known up front, the elements are always rendered under their collection relation type. Elements with the same
+	 * relation type have to be handed out by the {@link Iterator} consecutively.
+	 * 
+	 * @since 0.18
+	 */
+	public static class HalStreamingResourcesSerializer extends ContainerSerializer<Iterator<?>> implements
+			ContextualSerializer {
+
+		static final int FLUSH_INTERVAL = 100;
+
+		private final BeanProperty property;
+		private final RelProvider relProvider;
+		private final CurieProvider curieProvider;
+
+		public HalStreamingResourcesSerializer(RelProvider relProvider, CurieProvider curieProvider) {
+			this(null, relProvider, curieProvider);
+		}
+
+		public HalStreamingResourcesSerializer(BeanProperty property, RelProvider relProvider,
+				CurieProvider curieProvider) {
+
+			super(Iterator.class, false);
+
+			this.property = property;
+			this.relProvider = relProvider;
+			this.curieProvider = curieProvider;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.fasterxml.jackson.databind.ser.std.StdSerializer#serialize(java.lang.Object, com.fasterxml.jackson.core.JsonGenerator, com.fasterxml.jackson.databind.SerializerProvider)
+		 */
+		@Override
+		public void serialize(Iterator<?> value, JsonGenerator jgen, SerializerProvider provider) throws IOException,
+				JsonGenerationException {
+
+			HalEmbeddedBuilder builder = new HalEmbeddedBuilder(relProvider, curieProvider, true);
+			EmbeddedWrappers wrappers = new EmbeddedWrappers(true);
+			Set<String> rels = new HashSet<String>();
+
+			String currentRel = null;
+			int count = 0;
+
+			try {
+
+				jgen.writeStartObject();
+
+				while (value.hasNext()) {
+
+					EmbeddedWrapper wrapper = wrappers.wrap(value.next());
+
+					if (wrapper == null) {
+						continue;
+					}
+
+					String rel = builder.getCollectionRelFor(wrapper);
+
+					if (!rel.equals(currentRel)) {
+
+						if (currentRel != null) {
+							jgen.writeEndArray();
+						}
+
+						if (!rels.add(rel)) {
+							throw new JsonGenerationException(String.format(
+									"Elements with relation type %s not handed out consecutively!", rel));
+						}
+
+						jgen.writeArrayFieldStart(rel);
+						currentRel = rel;
+					}
+
+					for (Object element : asCollection(wrapper.getValue())) {
+						provider.defaultSerializeValue(element, jgen);
+					}
+
+					if (++count % FLUSH_INTERVAL == 0) {
+						jgen.flush();
+					}
+				}
+
+				if (currentRel != null) {
+					jgen.writeEndArray();
+				}
+
+				jgen.writeEndObject();
+
+			} finally {
+				StreamingResources.close(value);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private static Collection<Object> asCollection(Object source) {
+			return source instanceof Collection ? (Collection<Object>) source : Collections.singleton(source);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.fasterxml.jackson.databind.ser.ContextualSerializer#createContextual(com.fasterxml.jackson.databind.SerializerProvider, com.fasterxml.jackson.databind.BeanProperty)
+		 */
+		@Override
+		public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property)
+				throws JsonMappingException {
+			return new HalStreamingResourcesSerializer(property, relProvider, curieProvider);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.fasterxml.jackson.databind.ser.ContainerSerializer#getContentType()
+		 */
+		@Override
+		public JavaType getContentType() {
+			return null;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.fasterxml.jackson.databind.ser.ContainerSerializer#getContentSerializer()
+		 */
+		@Override
+		public JsonSerializer<?> getContentSerializer() {
+			return null;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.fasterxml.jackson.databind.JsonSerializer#isEmpty(java.lang.Object)
+		 */
+		@Override
+		public boolean isEmpty(Iterator<?> value) {
+
+			if (value.hasNext()) {
+				return false;
+			}
+
+			// serialize(…) won't be invoked for empty content, so we have to close the Iterator here
+			try {
+				StreamingResources.close(value);
+			} catch (IOException o_O) {
+				throw new IllegalStateException("Could not close content of StreamingResources!", o_O);
+			}
+
+			return true;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.fasterxml.jackson.databind.ser.ContainerSerializer#hasSingleElement(java.lang.Object)
+		 */
+		@Override
+		public boolean hasSingleElement(Iterator<?> value) {
+			return false;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.fasterxml.jackson.databind.ser.ContainerSerializer#_withValueTypeSerializer(com.fasterxml.jackson.databind.jsontype.TypeSerializer)
+		 */
+		@Override
+		protected ContainerSerializer<?> _withValueTypeSerializer(TypeSerializer vts) {
+			return null;
+		}
+	}
+
 	/**
 	 * Custom {@link JsonSerializer} to render Link instances in HAL compatible JSON. Renders the {@link Link} as
-	 * immediate object if we have a single one or as array if we have multiple ones.
+	 * immediate object if we have a single one or as array if we have multiple ones. {@link StaticLink}s are rendered
+	 * once and written as pre-rendered fragment subsequently.
 	 * 
 	 * @author Alexander Baetz
 	 * @author Oliver Gierke
@@ -320,6 +596,7 @@ public class Jackson2HalModule extends SimpleModule {
 
 		private final BeanProperty property;
 		private final Map<Class<?>, JsonSerializer<Object>> serializers;
+		private final JsonFragmentCache staticLinks;
 
 		public OptionalListJackson2Serializer() {
 			this(null);
@@ -331,10 +608,22 @@ public class Jackson2HalModule extends SimpleModule {
 		 * @param property
 		 */
 		public OptionalListJackson2Serializer(BeanProperty property) {
+			this(property, null);
+		}
+
+		/**
+		 * Creates a new {@link OptionalListJackson2Serializer} using the given {@link BeanProperty} and
+		 * {@link JsonFragmentCache} for {@link StaticLink}s.
+		 * 
+		 * @param property
+		 * @param staticLinks can be {@literal null}.
+		 */
+		OptionalListJackson2Serializer(BeanProperty property, JsonFragmentCache staticLinks) {
 
 			super(List.class, false);
 			this.property = property;
 			this.serializers = new HashMap<Class<?>, JsonSerializer<Object>>();
+			this.staticLinks = staticLinks;
 		}
 
 		/*
@@ -377,6 +666,13 @@ public class Jackson2HalModule extends SimpleModule {
 				Object elem = value.next();
 				if (elem == null) {
 					provider.defaultSerializeNull(jgen);
+				} else if (elem instanceof StaticLink && staticLinks != null && staticLinks.supports(jgen)) {
+					staticLinks.write(elem, getOrLookupSerializerFor(elem.getClass(), provider), jgen, provider);
+				} else if (elem instanceof Collection && staticLinks != null) {
+					// Curie information, render its elements individually to pick up the cached curies
+					jgen.writeStartArray();
+					serializeContents(((Collection<?>) elem).iterator(), jgen, provider);
+					jgen.writeEndArray();
 				} else {
 					getOrLookupSerializerFor(elem.getClass(), provider).serialize(elem, jgen, provider);
 				}
@@ -443,7 +739,7 @@ public class Jackson2HalModule extends SimpleModule {
 		@Override
 		public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
 				throws JsonMappingException {
-			return new OptionalListJackson2Serializer(property);
+			return new OptionalListJackson2Serializer(property, staticLinks);
 		}
 	}
 
@@ -508,6 +804,18 @@ public class Jackson2HalModule extends SimpleModule {
 
 			return result;
 		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.fasterxml.jackson.databind.JsonDeserializer#deserialize(com.fasterxml.jackson.core.JsonParser, com.fasterxml.jackson.databind.DeserializationContext, java.lang.Object)
+		 */
+		@Override
+		public List<Link> deserialize(JsonParser jp, DeserializationContext ctxt, List<Link> intoValue)
+				throws IOException, JsonProcessingException {
+
+			intoValue.addAll(deserialize(jp, ctxt));
+			return intoValue;
+		}
 	}
 
 	public static class HalResourcesDeserializer extends ContainerDeserializerBase<List<Object>> implements
@@ -602,10 +910,27 @@ public class Jackson2HalModule extends SimpleModule {
 		}
 
 		public HalHandlerInstantiator(RelProvider resolver, CurieProvider curieProvider, boolean enforceEmbeddedCollections) {
+			this(resolver, curieProvider, enforceEmbeddedCollections, null);
+		}
+
+		/**
+		 * Creates a new {@link HalHandlerInstantiator} rendering the embedded resources of collections using the given
+		 * {@link HalRepresentationCache}.
+		 * 
+		 * @param resolver must not be {@literal null}.
+		 * @param curieProvider can be {@literal null}.
+		 * @param enforceEmbeddedCollections
+		 * @param cache can be {@literal null}.
+		 * @since 0.18
+		 */
+		public HalHandlerInstantiator(RelProvider resolver, CurieProvider curieProvider,
+				boolean enforceEmbeddedCollections, HalRepresentationCache cache) {
 
 			Assert.notNull(resolver, "RelProvider must not be null!");
 			this.instanceMap.put(HalResourcesSerializer.class, new HalResourcesSerializer(resolver, curieProvider,
-					enforceEmbeddedCollections));
+					enforceEmbeddedCollections, cache));
+			this.instanceMap.put(HalStreamingResourcesSerializer.class, new HalStreamingResourcesSerializer(resolver,
+					curieProvider));
 			this.instanceMap.put(HalLinkListSerializer.class, new HalLinkListSerializer(curieProvider));
 		}
 
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.hal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+/**
+ * A pre-rendered JSON value held as UTF-8 bytes. Written through {@link JsonGenerator#writeRaw(SerializableString)},
+ * the bytes are copied into the output of byte based generators without encoding them again. Only the unquoted UTF-8
+ * bytes are used for writing raw values, all other methods of {@link SerializableString} fall back to a
+ * {@link SerializedString}.
+ * 
+ * @author agent
+ * @since 0.18
+ * @see JsonFragmentCache
+ * @see HalRepresentationCache
+ */
+final class JsonFragment implements SerializableString {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final byte[] bytes;
+	private final int length;
+
+	/**
+	 * Creates a new {@link JsonFragment} for the given UTF-8 bytes.
+	 * 
+	 * @param bytes must not be {@literal null}.
+	 */
+	public JsonFragment(byte[] bytes) {
+
+		Assert.notNull(bytes, "Bytes must not be null!");
+
+		this.bytes = bytes;
+		this.length = bytes.length;
+	}
+
+	/**
+	 * Renders the given value into a new {@link JsonFragment} using the given {@link JsonSerializer} and a generator
+	 * created by the factory of the given one's codec.
+	 * 
+	 * @param value must not be {@literal null}.
+	 * @param serializer must not be {@literal null}.
+	 * @param generator must not be {@literal null}.
+	 * @param provider must not be {@literal null}.
+	 * @return
+	 * @throws IOException
+	 */
+	public static JsonFragment render(Object value, JsonSerializer<Object> serializer, JsonGenerator generator,
+			SerializerProvider provider) throws IOException {
+
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		JsonGenerator fragmentGenerator = generator.getCodec().getFactory().createGenerator(stream, JsonEncoding.UTF8);
+
+		try {
+			serializer.serialize(value, fragmentGenerator, provider);
+		} finally {
+			fragmentGenerator.close();
+		}
+
+		return new JsonFragment(stream.toByteArray());
+	}
+
+	/**
+	 * Returns the number of bytes of the fragment.
+	 * 
+	 * @return
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * Writes the fragment as raw value to the given {@link JsonGenerator}.
+	 * 
+	 * @param generator must not be {@literal null}.
+	 * @throws IOException
+	 */
+	public void writeTo(JsonGenerator generator) throws IOException {
+
+		// Let the generator write separators as for any other value
+		generator.writeRawValue("", 0, 0);
+		generator.writeRaw(this);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.fasterxml.jackson.core.SerializableString#asUnquotedUTF8()
+	 */
+	@Override
+	public byte[] asUnquotedUTF8() {
+		return bytes;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.fasterxml.jackson.core.SerializableString#getValue()
+	 */
+	@Override
+	public String getValue() {
+		return new String(bytes, UTF_8);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.fasterxml.jackson.core.SerializableString#charLength()
+	 */
+	@Override
+	public int charLength() {
+		return getValue().length();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.fasterxml.jackson.core.SerializableString#appendUnquotedUTF8(byte[], int)
+	 */
+	@Override
+	public int appendUnquotedUTF8(byte[] buffer, int offset) {
+
+		if (offset + length > buffer.length) {
+			return -1;
+		}
+
+		System.arraycopy(bytes, 0, buffer, offset, length);
+		return length;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.fasterxml.jackson.core.SerializableString#writeUnquotedUTF8(java.io.OutputStream)
+	 */
+	@Override
+	public int writeUnquotedUTF8(OutputStream out) throws IOException {
+
+		out.write(bytes);
+		return length;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.fasterxml.jackson.core.SerializableString#putUnquotedUTF8(java.nio.ByteBuffer)
+	 */
+	@Override
+	public int putUnquotedUTF8(ByteBuffer buffer) throws IOException {
+
+		if (length > buffer.remaining()) {
+			return -1;
+		}
+
+		buffer.put(bytes);
+		return length;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.fasterxml.jackson.core.SerializableString#appendUnquoted(char[], int)
+	 */
+	@Override
+	public int appendUnquoted(char[] buffer, int offset) {
+		return toSerializedString().appendUnquoted(buffer, offset);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.fasterxml.jackson.core.SerializableString#asQuotedChars()
+	 */
+	@Override
+	public char[] asQuotedChars() {
+		return toSerializedString().asQuotedChars();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.fasterxml.jackson.core.SerializableString#asQuotedUTF8()
+	 */
+	@Override
+	public byte[] asQuotedUTF8() {
+		return toSerializedString().asQuotedUTF8();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.fasterxml.jackson.core.SerializableString#appendQuotedUTF8(byte[], int)
+	 */
+	@Override
+	public int appendQuotedUTF8(byte[] buffer, int offset) {
+		return toSerializedString().appendQuotedUTF8(buffer, offset);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.fasterxml.jackson.core.SerializableString#appendQuoted(char[], int)
+	 */
+	@Override
+	public int appendQuoted(char[] buffer, int offset) {
+		return toSerializedString().appendQuoted(buffer, offset);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.fasterxml.jackson.core.SerializableString#writeQuotedUTF8(java.io.OutputStream)
+	 */
+	@Override
+	public int writeQuotedUTF8(OutputStream out) throws IOException {
+		return toSerializedString().writeQuotedUTF8(out);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.fasterxml.jackson.core.SerializableString#putQuotedUTF8(java.nio.ByteBuffer)
+	 */
+	@Override
+	public int putQuotedUTF8(ByteBuffer buffer) throws IOException {
+		return toSerializedString().putQuotedUTF8(buffer);
+	}
+
+	private SerializedString toSerializedString() {
+		return new SerializedString(getValue());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return getValue();
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.hal;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+/**
+ * Cache of pre-rendered JSON fragments for values whose representation does not change between requests. A fragment
+ * is rendered once into UTF-8 bytes using the {@link JsonSerializer} that would have been used for the value anyway and
+ * written as raw value subsequently (see {@link JsonFragment}). Raw values are only written for plain JSON generators not using a pretty printer, so that the
+ * output is exactly the same as if the value had been serialized.
+ *
+ * @author agent
+ * @since 0.18
+ */
+class JsonFragmentCache {
+
+	static final int DEFAULT_MAX_ENTRIES = 256;
+
+	private final ConcurrentMap<Object, JsonFragment> fragments;
+	private final int maxEntries;
+
+	/**
+	 * Creates a new {@link JsonFragmentCache} holding {@value #DEFAULT_MAX_ENTRIES} fragments at most.
+	 */
+	public JsonFragmentCache() {
+		this(DEFAULT_MAX_ENTRIES);
+	}
+
+	/**
+	 * Creates a new {@link JsonFragmentCache} holding the given number of fragments at most.
+	 *
+	 * @param maxEntries must be greater than zero.
+	 */
+	public JsonFragmentCache(int maxEntries) {
+
+		Assert.isTrue(maxEntries > 0, "Maximum number of entries must be greater than zero!");
+
+		this.fragments = new ConcurrentHashMap<Object, JsonFragment>();
+		this.maxEntries = maxEntries;
+	}
+
+	/**
+	 * Returns whether pre-rendered fragments can be written to the given {@link JsonGenerator}.
+	 *
+	 * @param generator must not be {@literal null}.
+	 * @return
+	 */
+	public boolean supports(JsonGenerator generator) {
+		return generator instanceof JsonGeneratorImpl && generator.getPrettyPrinter() == null
+				&& generator.getCodec() != null;
+	}
+
+	/**
+	 * Writes the given value to the given {@link JsonGenerator}, either by writing the already rendered fragment or by
+	 * rendering the value using the given {@link JsonSerializer} first.
+	 *
+	 * @param value must not be {@literal null}.
+	 * @param serializer must not be {@literal null}.
+	 * @param generator must not be {@literal null}.
+	 * @param provider must not be {@literal null}.
+	 * @throws IOException
+	 */
+	public void write(Object value, JsonSerializer<Object> serializer, JsonGenerator generator,
+			SerializerProvider provider) throws IOException {
+
+		JsonFragment fragment = fragments.get(value);
+
+		if (fragment == null) {
+
+			fragment = JsonFragment.render(value, serializer, generator, provider);
+
+			if (fragments.size() < maxEntries) {
+				fragments.putIfAbsent(value, fragment);
+			}
+		}
+
+		fragment.writeTo(generator);
+	}
+
+	/**
+	 * Returns the number of fragments currently cached.
+	 *
+	 * @return
+	 */
+	public int size() {
+		return fragments.size();
+	}
+
+	/**
+	 * Drops all cached fragments.
+	 */
+	public void clear() {
+		fragments.clear();
+	}
+}
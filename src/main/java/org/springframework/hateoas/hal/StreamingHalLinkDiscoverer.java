@@ -0,0 +1,256 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.hal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkDiscoverer;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * {@link LinkDiscoverer} implementation based on HAL link structure that reads representations token by token. Only
+ * the top level of the document is inspected until the {@code _links} object is found, the values of all other
+ * properties are skipped without being materialized. Parsing ends as soon as the links of the requested relation type
+ * have been read or the {@code _links} object has ended, and the source is closed right away so that the remainder of
+ * the representation, e.g. a large {@code _embedded} section, is not read at all.
+ * <p>
+ * Unlike {@link HalLinkDiscoverer} only links directly nested in the {@code _links} object are considered, as defined
+ * by HAL.
+ * 
+ * @author agent
+ * @since 0.18
+ */
+public class StreamingHalLinkDiscoverer implements LinkDiscoverer {
+
+	private static final String LINKS = "_links";
+	private static final String HREF = "href";
+
+	private final JsonFactory factory;
+	private final MediaType mediaType;
+
+	/**
+	 * Creates a new {@link StreamingHalLinkDiscoverer} for {@link MediaTypes#HAL_JSON}.
+	 */
+	public StreamingHalLinkDiscoverer() {
+		this(createJsonFactory(), MediaTypes.HAL_JSON);
+	}
+
+	/**
+	 * Creates a new {@link StreamingHalLinkDiscoverer} using the given {@link JsonFactory} to parse representations of
+	 * the given {@link MediaType}.
+	 * 
+	 * @param factory must not be {@literal null}.
+	 * @param mediaType must not be {@literal null}.
+	 */
+	public StreamingHalLinkDiscoverer(JsonFactory factory, MediaType mediaType) {
+
+		Assert.notNull(factory, "JsonFactory must not be null!");
+		Assert.notNull(mediaType, "MediaType must not be null!");
+
+		this.factory = factory;
+		this.mediaType = mediaType;
+	}
+
+	private static JsonFactory createJsonFactory() {
+
+		JsonFactory factory = new JsonFactory();
+		factory.enable(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES);
+		factory.enable(JsonParser.Feature.ALLOW_SINGLE_QUOTES);
+
+		return factory;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.LinkDiscoverer#findLinkWithRel(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Link findLinkWithRel(String rel, String representation) {
+
+		List<Link> links = findLinksWithRel(rel, representation);
+		return links.isEmpty() ? null : links.get(0);
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.LinkDiscoverer#findLinkWithRel(java.lang.String, java.io.InputStream)
+	 */
+	@Override
+	public Link findLinkWithRel(String rel, InputStream representation) {
+
+		List<Link> links = findLinksWithRel(rel, representation);
+		return links.isEmpty() ? null : links.get(0);
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.LinkDiscoverer#findLinksWithRel(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public List<Link> findLinksWithRel(String rel, String representation) {
+
+		Assert.hasText(rel, "Rel must not be null or empty!");
+		Assert.notNull(representation, "Representation must not be null!");
+
+		try {
+			return findLinksWithRel(rel, factory.createParser(representation));
+		} catch (IOException o_O) {
+			throw new RuntimeException(o_O);
+		}
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.LinkDiscoverer#findLinksWithRel(java.lang.String, java.io.InputStream)
+	 */
+	@Override
+	public List<Link> findLinksWithRel(String rel, InputStream representation) {
+
+		Assert.hasText(rel, "Rel must not be null or empty!");
+		Assert.notNull(representation, "Representation must not be null!");
+
+		try {
+			return findLinksWithRel(rel, factory.createParser(representation));
+		} catch (IOException o_O) {
+			throw new RuntimeException(o_O);
+		}
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.Plugin#supports(java.lang.Object)
+	 */
+	@Override
+	public boolean supports(MediaType delimiter) {
+		return mediaType.isCompatibleWith(delimiter);
+	}
+
+	/**
+	 * Reads the links with the given rel from the given {@link JsonParser} and closes it.
+	 * 
+	 * @param rel must not be {@literal null} or empty.
+	 * @param parser must not be {@literal null}.
+	 * @return
+	 * @throws IOException
+	 */
+	protected static List<Link> findLinksWithRel(String rel, JsonParser parser) throws IOException {
+
+		try {
+
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				return Collections.emptyList();
+			}
+
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+				String name = parser.getCurrentName();
+				JsonToken value = parser.nextToken();
+
+				if (!LINKS.equals(name)) {
+					parser.skipChildren();
+					continue;
+				}
+
+				return value == JsonToken.START_OBJECT ? readLinksObject(rel, parser) : Collections.<Link> emptyList();
+			}
+
+			return Collections.emptyList();
+
+		} finally {
+			parser.close();
+		}
+	}
+
+	private static List<Link> readLinksObject(String rel, JsonParser parser) throws IOException {
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+			String name = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+
+			if (rel.equals(name)) {
+				return value == JsonToken.START_ARRAY ? readLinkArray(rel, parser) : readSingleLink(rel, parser);
+			}
+
+			parser.skipChildren();
+		}
+
+		return Collections.emptyList();
+	}
+
+	private static List<Link> readLinkArray(String rel, JsonParser parser) throws IOException {
+
+		List<Link> links = new ArrayList<Link>();
+		JsonToken token;
+
+		while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+
+			String href = token == JsonToken.START_OBJECT ? readHref(parser) : null;
+
+			if (href != null) {
+				links.add(new Link(href, rel));
+			} else {
+				parser.skipChildren();
+			}
+		}
+
+		return Collections.unmodifiableList(links);
+	}
+
+	private static List<Link> readSingleLink(String rel, JsonParser parser) throws IOException {
+
+		String href = parser.getCurrentToken() == JsonToken.START_OBJECT ? readHref(parser) : null;
+		return href == null ? Collections.<Link> emptyList() : Collections.singletonList(new Link(href, rel));
+	}
+
+	/**
+	 * Reads the {@code href} attribute of the link object the given {@link JsonParser} is positioned at, consuming the
+	 * entire object.
+	 * 
+	 * @param parser must not be {@literal null}.
+	 * @return the {@code href} or {@literal null} if the object doesn't contain one.
+	 * @throws IOException
+	 */
+	private static String readHref(JsonParser parser) throws IOException {
+
+		String href = null;
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+			String name = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+
+			if (HREF.equals(name) && value == JsonToken.VALUE_STRING) {
+				href = parser.getText();
+			} else {
+				parser.skipChildren();
+			}
+		}
+
+		return href;
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.hal;
+
+import java.util.Iterator;
+
+import org.springframework.hateoas.StreamingResources;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Jackson mixin for {@link StreamingResources} to render the links before the embedded content so that the content
+ * can be streamed.
+ *
+ * @author agent
+ * @since 0.18
+ */
+@JsonPropertyOrder({ "_links", "_embedded" })
+abstract class StreamingResourcesMixin<T> {
+
+	@JsonProperty("_embedded")
+	@JsonSerialize(include = JsonSerialize.Inclusion.NON_EMPTY,
+			using = Jackson2HalModule.HalStreamingResourcesSerializer.class)
+	public abstract Iterator<T> getContent();
+}
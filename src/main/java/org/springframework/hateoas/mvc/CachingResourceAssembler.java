@@ -0,0 +1,500 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.springframework.hateoas.LinkFilter;
+import org.springframework.hateoas.ResourceAssembler;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.hateoas.Resources;
+import org.springframework.hateoas.StreamingResources;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * {@link ResourceAssembler} decorator caching the resources created by a delegate {@link ResourceAssembler}. Resources
+ * are cached by the id and version of the entity they were created for as well as the base URI of the current request,
+ * as the links contained in them usually are absolute, and the relation types requested through the {@link LinkFilter},
+ * as assemblers might skip links that weren't requested. Thus a resource is assembled again as soon as the entity
+ * changes, the cache is bounded in size, evicting the least recently used entry, and entries can expire after a
+ * configurable time to live. To not serialize concurrent requests on a single lock, larger caches are split into up to
+ * {@value #MAX_SEGMENTS} segments by key, each of them evicting its own least recently used entry.
+ * <p>
+ * As the same resource instance is handed out to multiple callers, resources must not be modified after they were
+ * assembled. Their links are frozen (see {@link ResourceSupport#freezeLinks()}) when they are cached, so that any
+ * attempt to modify them fails with an {@link IllegalStateException} right away. Other state of the resources, like
+ * the content of a {@link org.springframework.hateoas.Resource}, is not guarded and must not be modified either.
+ * Collection resources like {@link Resources} cannot be cached at all.
+ * 
+ * @author agent
+ * @since 0.18
+ */
+public class CachingResourceAssembler<T, D extends ResourceSupport> implements ResourceAssembler<T, D> {
+
+	private static final String BASE_URI_ATTRIBUTE = CachingResourceAssembler.class.getName() + ".BASE_URI";
+	static final int MAX_SEGMENTS = 16;
+	private static final int MIN_SEGMENT_SIZE = 16;
+
+	private final ResourceAssembler<T, D> delegate;
+	private final KeyExtractor<? super T> extractor;
+	private final long timeToLive;
+	private final Segment<D>[] segments;
+
+	/**
+	 * Creates a new {@link CachingResourceAssembler} for the given delegate {@link ResourceAssembler} holding at most
+	 * the given number of resources without expiring them.
+	 * 
+	 * @param delegate must not be {@literal null}.
+	 * @param extractor must not be {@literal null}.
+	 * @param maxSize must be greater than zero.
+	 */
+	public CachingResourceAssembler(ResourceAssembler<T, D> delegate, KeyExtractor<? super T> extractor, int maxSize) {
+		this(delegate, extractor, maxSize, 0);
+	}
+
+	/**
+	 * Creates a new {@link CachingResourceAssembler} for the given delegate {@link ResourceAssembler} holding at most
+	 * the given number of resources for the given number of milliseconds.
+	 * 
+	 * @param delegate must not be {@literal null}.
+	 * @param extractor must not be {@literal null}.
+	 * @param maxSize must be greater than zero.
+	 * @param timeToLive the time in milliseconds after which cached resources expire, {@literal 0} for no expiry.
+	 */
+	public CachingResourceAssembler(ResourceAssembler<T, D> delegate, KeyExtractor<? super T> extractor, int maxSize,
+			long timeToLive) {
+
+		Assert.notNull(delegate, "Delegate ResourceAssembler must not be null!");
+		Assert.notNull(extractor, "KeyExtractor must not be null!");
+		Assert.isTrue(maxSize > 0, "Maximum size must be greater than zero!");
+		Assert.isTrue(timeToLive >= 0, "Time to live must not be negative!");
+
+		this.delegate = delegate;
+		this.extractor = extractor;
+		this.timeToLive = timeToLive;
+		this.segments = createSegments(maxSize);
+	}
+
+	/**
+	 * Splits the given maximum size across a power of two number of segments, each of them holding at least
+	 * {@value #MIN_SEGMENT_SIZE} resources, so that small caches keep evicting strictly the least recently used entry.
+	 * 
+	 * @param maxSize
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private static <D extends ResourceSupport> Segment<D>[] createSegments(int maxSize) {
+
+		int count = 1;
+
+		while (count < MAX_SEGMENTS && maxSize / (count * 2) >= MIN_SEGMENT_SIZE) {
+			count *= 2;
+		}
+
+		Segment<D>[] segments = new Segment[count];
+
+		for (int i = 0; i < count; i++) {
+			segments[i] = new Segment<D>(maxSize / count + (i < maxSize % count ? 1 : 0));
+		}
+
+		return segments;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.ResourceAssembler#toResource(java.lang.Object)
+	 */
+	@Override
+	public D toResource(T entity) {
+
+		Assert.notNull(entity, "Entity must not be null!");
+
+		Object id = extractor.getId(entity);
+
+		if (id == null) {
+			return delegate.toResource(entity);
+		}
+
+		CacheKey key = new CacheKey(id, extractor.getVersion(entity), getBaseUri(), LinkFilter.getCurrent()
+				.toCanonicalString());
+		Segment<D> segment = getSegment(key);
+		long now = getCurrentTime();
+
+		D cached = segment.get(key, now, timeToLive);
+
+		if (cached != null) {
+			return cached;
+		}
+
+		D resource = delegate.toResource(entity);
+
+		if (resource == null) {
+			return null;
+		}
+
+		Assert.isTrue(!(resource instanceof Resources || resource instanceof StreamingResources), String.format(
+				"Collection resource %s cannot be cached!", resource.getClass().getName()));
+
+		resource.freezeLinks();
+		segment.put(key, new CacheEntry<D>(resource, now));
+
+		return resource;
+	}
+
+	/**
+	 * Converts all given entities into resources.
+	 * 
+	 * @see #toResource(Object)
+	 * @param entities must not be {@literal null}.
+	 * @return
+	 */
+	public List<D> toResources(Iterable<? extends T> entities) {
+
+		Assert.notNull(entities, "Entities must not be null!");
+		List<D> result = new ArrayList<D>();
+
+		for (T entity : entities) {
+			result.add(toResource(entity));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Removes all resources cached for the entity with the given id, independently of the version, base URI and requested
+	 * relation types.
+	 * 
+	 * @param id must not be {@literal null}.
+	 */
+	public void evict(Object id) {
+
+		Assert.notNull(id, "Id must not be null!");
+
+		for (Segment<D> segment : segments) {
+			segment.evict(id);
+		}
+	}
+
+	/**
+	 * Removes all cached resources.
+	 */
+	public void evictAll() {
+
+		for (Segment<D> segment : segments) {
+			segment.clear();
+		}
+	}
+
+	/**
+	 * Returns the current statistics of the cache.
+	 * 
+	 * @return
+	 */
+	public Statistics getStatistics() {
+
+		Statistics statistics = new Statistics(0, 0, 0, 0);
+
+		for (Segment<D> segment : segments) {
+			statistics = segment.addTo(statistics);
+		}
+
+		return statistics;
+	}
+
+	/**
+	 * Returns the current time in milliseconds to calculate the expiry of cached resources.
+	 * 
+	 * @return
+	 */
+	protected long getCurrentTime() {
+		return System.currentTimeMillis();
+	}
+
+	private Segment<D> getSegment(CacheKey key) {
+
+		int hash = key.hashCode();
+		hash ^= hash >>> 16;
+
+		return segments[hash & segments.length - 1];
+	}
+
+	/**
+	 * Returns the base URI of the current request. It's calculated once per request and kept as request attribute so
+	 * that assembling multiple resources doesn't inspect the request over and over again.
+	 * 
+	 * @return the base URI or {@literal null} if no request is bound to the current thread.
+	 */
+	private static String getBaseUri() {
+
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+		if (!(attributes instanceof ServletRequestAttributes)) {
+			return null;
+		}
+
+		String baseUri = (String) attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+
+		if (baseUri == null) {
+			baseUri = ControllerLinkBuilder.getBuilder().build().toUriString();
+			attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+		}
+
+		return baseUri;
+	}
+
+	/**
+	 * Extracts the id and version from the entities to be turned into resources.
+	 */
+	public interface KeyExtractor<T> {
+
+		/**
+		 * Returns the id of the given entity.
+		 * 
+		 * @param entity will never be {@literal null}.
+		 * @return the id or {@literal null} in case the resource for the entity shall not be cached.
+		 */
+		Object getId(T entity);
+
+		/**
+		 * Returns the version of the given entity, i.e. a value that changes whenever the entity changes.
+		 * 
+		 * @param entity will never be {@literal null}.
+		 * @return can be {@literal null}.
+		 */
+		Object getVersion(T entity);
+	}
+
+	/**
+	 * Value object for statistics of a {@link CachingResourceAssembler}.
+	 */
+	public static class Statistics {
+
+		private final int size;
+		private final long hits, misses, evictions;
+
+		Statistics(int size, long hits, long misses, long evictions) {
+
+			this.size = size;
+			this.hits = hits;
+			this.misses = misses;
+			this.evictions = evictions;
+		}
+
+		/**
+		 * Returns the number of resources currently cached.
+		 * 
+		 * @return
+		 */
+		public int getSize() {
+			return size;
+		}
+
+		/**
+		 * Returns the number of requests served from the cache.
+		 * 
+		 * @return
+		 */
+		public long getHits() {
+			return hits;
+		}
+
+		/**
+		 * Returns the number of requests that required assembling the resource.
+		 * 
+		 * @return
+		 */
+		public long getMisses() {
+			return misses;
+		}
+
+		/**
+		 * Returns the number of resources removed from the cache as they expired or the cache exceeded its maximum size.
+		 * 
+		 * @return
+		 */
+		public long getEvictions() {
+			return evictions;
+		}
+
+		/**
+		 * Returns the ratio of requests served from the cache.
+		 * 
+		 * @return a value between {@literal 0} and {@literal 1}.
+		 */
+		public double getHitRatio() {
+
+			long requests = hits + misses;
+			return requests == 0 ? 0 : (double) hits / requests;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return String.format("Statistics { size: %s, hits: %s, misses: %s, evictions: %s }", size, hits, misses,
+					evictions);
+		}
+	}
+
+	/**
+	 * Key of a cached resource.
+	 */
+	private static final class CacheKey {
+
+		private final Object id, version;
+		private final String baseUri, rels;
+
+		public CacheKey(Object id, Object version, String baseUri, String rels) {
+
+			this.id = id;
+			this.version = version;
+			this.baseUri = baseUri;
+			this.rels = rels;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+
+			CacheKey that = (CacheKey) obj;
+
+			return this.id.equals(that.id) && ObjectUtils.nullSafeEquals(this.version, that.version)
+					&& ObjectUtils.nullSafeEquals(this.baseUri, that.baseUri) && this.rels.equals(that.rels);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+
+			int result = 17;
+			result += 31 * id.hashCode();
+			result += 31 * ObjectUtils.nullSafeHashCode(version);
+			result += 31 * ObjectUtils.nullSafeHashCode(baseUri);
+			result += 31 * rels.hashCode();
+			return result;
+		}
+	}
+
+	/**
+	 * A cached resource along with the time it was cached.
+	 */
+	private static final class CacheEntry<D extends ResourceSupport> {
+
+		private final D resource;
+		private final long created;
+
+		public CacheEntry(D resource, long created) {
+
+			this.resource = resource;
+			this.created = created;
+		}
+
+		public boolean isExpired(long now, long timeToLive) {
+			return timeToLive > 0 && now - created >= timeToLive;
+		}
+	}
+
+	/**
+	 * A part of the cache holding the resources for a subset of the keys in least recently used order, guarded by its
+	 * own lock.
+	 */
+	private static final class Segment<D extends ResourceSupport> {
+
+		private final int maxSize;
+		private final LinkedHashMap<CacheKey, CacheEntry<D>> entries;
+		private long hits, misses, evictions;
+
+		public Segment(int maxSize) {
+
+			this.maxSize = maxSize;
+			this.entries = new LinkedHashMap<CacheKey, CacheEntry<D>>(16, 0.75f, true);
+		}
+
+		public synchronized D get(CacheKey key, long now, long timeToLive) {
+
+			CacheEntry<D> entry = entries.get(key);
+
+			if (entry != null && entry.isExpired(now, timeToLive)) {
+				entries.remove(key);
+				evictions++;
+				entry = null;
+			}
+
+			if (entry == null) {
+				misses++;
+				return null;
+			}
+
+			hits++;
+			return entry.resource;
+		}
+
+		public synchronized void put(CacheKey key, CacheEntry<D> entry) {
+
+			entries.put(key, entry);
+
+			if (entries.size() > maxSize) {
+
+				Iterator<CacheKey> iterator = entries.keySet().iterator();
+				iterator.next();
+				iterator.remove();
+				evictions++;
+			}
+		}
+
+		public synchronized void evict(Object id) {
+
+			for (Iterator<Entry<CacheKey, CacheEntry<D>>> iterator = entries.entrySet().iterator(); iterator.hasNext();) {
+				if (iterator.next().getKey().id.equals(id)) {
+					iterator.remove();
+				}
+			}
+		}
+
+		public synchronized void clear() {
+			entries.clear();
+		}
+
+		public synchronized Statistics addTo(Statistics statistics) {
+			return new Statistics(statistics.size + entries.size(), statistics.hits + hits, statistics.misses + misses,
+					statistics.evictions + evictions);
+		}
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.hateoas.LinkFilter;
+import org.springframework.hateoas.StreamingResources;
+import org.springframework.hateoas.VersionedResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * {@link TypeConstrainedMappingJackson2HttpMessageConverter} to support conditional {@code GET} and {@code HEAD}
+ * requests. The converter adds a strong {@code ETag} header to the response and answers requests with a matching
+ * {@code If-None-Match} header with {@code 304 Not Modified} without writing the body.
+ * <p>
+ * For {@link VersionedResource}s the ETag is derived from the version, the base URI of the request (as the links
+ * rendered are usually absolute), the content type and the requested link relation types so that the resource doesn't
+ * have to be rendered at all if the client's copy is up to date. For all other objects the ETag is the MD5 hash of the
+ * representation, calculated while it is rendered into the buffer that is eventually written to the response. {@link StreamingResources} are not buffered and thus don't get an ETag. The
+ * same applies to requests other than {@code GET} and {@code HEAD} and responses that already carry an ETag.
+ * <p>
+ * As all other representations are buffered, the converter is not registered by default. Use
+ * {@link org.springframework.hateoas.config.EnableHypermediaSupport#conditionalRequests()} to activate it.
+ * 
+ * @author agent
+ * @since 0.18
+ */
+public class EtagMappingJackson2HttpMessageConverter extends TypeConstrainedMappingJackson2HttpMessageConverter {
+
+	private static final String IF_NONE_MATCH = "If-None-Match";
+	private static final String ETAG = "ETag";
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	/**
+	 * Creates a new {@link EtagMappingJackson2HttpMessageConverter} for the given type.
+	 * 
+	 * @param type must not be {@literal null}.
+	 */
+	public EtagMappingJackson2HttpMessageConverter(Class<?> type) {
+		super(type);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.http.converter.json.MappingJackson2HttpMessageConverter#writeInternal(java.lang.Object, org.springframework.http.HttpOutputMessage)
+	 */
+	@Override
+	protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException,
+			HttpMessageNotWritableException {
+
+		HttpServletRequest request = getCurrentRequest();
+		HttpHeaders headers = outputMessage.getHeaders();
+
+		if (request == null || object instanceof StreamingResources || headers.getETag() != null
+				|| !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))) {
+			super.writeInternal(object, outputMessage);
+			return;
+		}
+
+		Object version = object instanceof VersionedResource ? ((VersionedResource) object).getResourceVersion() : null;
+
+		if (version != null) {
+
+			String baseUri = ControllerLinkBuilder.getBuilder().build().toUriString();
+			String rels = LinkFilter.getCurrent().toCanonicalString();
+			String etag = toEtag(digest(String.format("%s;%s;%s;%s", version, baseUri, headers.getContentType(), rels)
+					.getBytes(UTF_8)));
+
+			headers.setETag(etag);
+
+			if (!isNotModified(request, etag, outputMessage)) {
+				super.writeInternal(object, outputMessage);
+			}
+
+			return;
+		}
+
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		DigestOutputStream stream = new DigestOutputStream(buffer, getDigest());
+
+		super.writeInternal(object, new BufferingHttpOutputMessage(headers, stream));
+
+		String etag = toEtag(stream.getMessageDigest().digest());
+		headers.setETag(etag);
+
+		if (!isNotModified(request, etag, outputMessage)) {
+			headers.setContentLength(buffer.size());
+			buffer.writeTo(outputMessage.getBody());
+		}
+	}
+
+	/**
+	 * Returns whether the given request's {@code If-None-Match} header matches the given ETag and switches the response
+	 * status to {@code 304 Not Modified} if so.
+	 * 
+	 * @param request must not be {@literal null}.
+	 * @param etag must not be {@literal null}.
+	 * @param outputMessage must not be {@literal null}.
+	 * @return
+	 */
+	private static boolean isNotModified(HttpServletRequest request, String etag, HttpOutputMessage outputMessage) {
+
+		if (!(outputMessage instanceof ServerHttpResponse) || !matches(request.getHeader(IF_NONE_MATCH), etag)) {
+			return false;
+		}
+
+		((ServerHttpResponse) outputMessage).setStatusCode(HttpStatus.NOT_MODIFIED);
+		return true;
+	}
+
+	/**
+	 * Returns whether the given {@code If-None-Match} header value matches the given ETag.
+	 * 
+	 * @param header can be {@literal null}.
+	 * @param etag must not be {@literal null}.
+	 * @return
+	 */
+	static boolean matches(String header, String etag) {
+
+		if (!StringUtils.hasText(header)) {
+			return false;
+		}
+
+		for (String candidate : StringUtils.commaDelimitedListToStringArray(header)) {
+
+			candidate = candidate.trim();
+			candidate = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+
+			if (candidate.equals("*") || candidate.equals(etag)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static HttpServletRequest getCurrentRequest() {
+
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		return attributes instanceof ServletRequestAttributes ? ((ServletRequestAttributes) attributes).getRequest() : null;
+	}
+
+	private static MessageDigest getDigest() {
+
+		try {
+			return MessageDigest.getInstance("MD5");
+		} catch (NoSuchAlgorithmException o_O) {
+			throw new IllegalStateException(o_O);
+		}
+	}
+
+	private static byte[] digest(byte[] source) {
+		return getDigest().digest(source);
+	}
+
+	private static String toEtag(byte[] digest) {
+
+		char[] result = new char[digest.length * 2 + 2];
+		result[0] = '"';
+
+		for (int i = 0; i < digest.length; i++) {
+			result[i * 2 + 1] = HEX[(digest[i] >> 4) & 0xf];
+			result[i * 2 + 2] = HEX[digest[i] & 0xf];
+		}
+
+		result[result.length - 1] = '"';
+
+		return new String(result);
+	}
+
+	/**
+	 * {@link HttpOutputMessage} sharing the headers of the actual message but writing the body to the given
+	 * {@link OutputStream}.
+	 */
+	private static class BufferingHttpOutputMessage implements HttpOutputMessage {
+
+		private final HttpHeaders headers;
+		private final OutputStream body;
+
+		public BufferingHttpOutputMessage(HttpHeaders headers, OutputStream body) {
+
+			this.headers = headers;
+			this.body = body;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.http.HttpMessage#getHeaders()
+		 */
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.http.HttpOutputMessage#getBody()
+		 */
+		@Override
+		public OutputStream getBody() throws IOException {
+			return body;
+		}
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Links;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.hateoas.Resources;
+import org.springframework.hateoas.StreamingResources;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * {@link AbstractHttpMessageConverter} to write the content of {@link Resources} and {@link StreamingResources} as
+ * {@link MediaTypes#HAL_NDJSON}, i.e. one HAL document per line. Elements are written as they are obtained from the
+ * underlying collection or {@link java.util.Iterator} and the output is flushed every {@value #FLUSH_INTERVAL} lines.
+ * Links of the collection itself, e.g. pagination links, are exposed as {@code Link} header in the same way as
+ * {@link HeaderLinksResponseEntity} does. The converter can only be used to write HTTP messages.
+ *
+ * @author agent
+ * @since 0.18
+ */
+public class HalNdjsonHttpMessageConverter extends AbstractHttpMessageConverter<ResourceSupport> {
+
+	static final int FLUSH_INTERVAL = 100;
+
+	private static final SerializedString LINE_SEPARATOR = new SerializedString("\n");
+
+	private final ObjectMapper mapper;
+	private final ObjectWriter writer;
+
+	/**
+	 * Creates a new {@link HalNdjsonHttpMessageConverter} using the given {@link ObjectMapper}, which is expected to be
+	 * set up to render HAL.
+	 *
+	 * @param mapper must not be {@literal null}.
+	 */
+	public HalNdjsonHttpMessageConverter(ObjectMapper mapper) {
+
+		super(MediaTypes.HAL_NDJSON);
+
+		Assert.notNull(mapper, "ObjectMapper must not be null!");
+
+		this.mapper = mapper;
+		this.writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.http.converter.AbstractHttpMessageConverter#supports(java.lang.Class)
+	 */
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return Resources.class.isAssignableFrom(clazz) || StreamingResources.class.isAssignableFrom(clazz);
+	}
+
+	/**
+	 * Excludes reading for all {@link MediaType}s, use {@link org.springframework.hateoas.client.HalNdjsonReader} to read
+	 * HAL streams.
+	 *
+	 * @see org.springframework.http.converter.AbstractHttpMessageConverter#canRead(org.springframework.http.MediaType)
+	 */
+	@Override
+	protected boolean canRead(MediaType mediaType) {
+		return false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.http.converter.AbstractHttpMessageConverter#readInternal(java.lang.Class, org.springframework.http.HttpInputMessage)
+	 */
+	@Override
+	protected ResourceSupport readInternal(Class<? extends ResourceSupport> clazz, HttpInputMessage inputMessage)
+			throws IOException, HttpMessageNotReadableException {
+		throw new HttpMessageNotReadableException("Reading HAL streams is not supported!");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.http.converter.AbstractHttpMessageConverter#writeInternal(java.lang.Object, org.springframework.http.HttpOutputMessage)
+	 */
+	@Override
+	protected void writeInternal(ResourceSupport resource, HttpOutputMessage outputMessage) throws IOException,
+			HttpMessageNotWritableException {
+
+		List<Link> links = resource.getLinks();
+
+		if (!links.isEmpty()) {
+			outputMessage.getHeaders().add("Link", new Links(links).toString());
+		}
+
+		Iterator<?> content = resource instanceof StreamingResources ? ((StreamingResources<?>) resource).getContent()
+				: ((Resources<?>) resource).getContent().iterator();
+
+		JsonGenerator generator = mapper.getFactory().createGenerator(outputMessage.getBody(), JsonEncoding.UTF8);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		generator.setRootValueSeparator(LINE_SEPARATOR);
+
+		try {
+
+			int count = 0;
+
+			while (content.hasNext()) {
+
+				Object element = content.next();
+
+				if (element == null) {
+					continue;
+				}
+
+				writer.writeValue(generator, element);
+
+				if (++count % FLUSH_INTERVAL == 0) {
+					generator.flush();
+				}
+			}
+
+			if (count > 0) {
+				generator.writeRaw(LINE_SEPARATOR.getValue());
+			}
+
+		} finally {
+
+			try {
+				generator.close();
+			} finally {
+				StreamingResources.close(content);
+			}
+		}
+	}
+}
@@ -61,6 +61,22 @@ public class TypeReferences {
 	public static class PagedResourcesType<T> extends
 			SyntheticParameterizedTypeReference<org.springframework.hateoas.PagedResources<T>> {}
 
+	/**
+	 * A {@link ParameterizedTypeReference} to return a {@link org.springframework.hateoas.SlicedResources} of some type.
+	 *
+	 * @since 0.18
+	 */
+	public static class SlicedResourcesType<T> extends
+			SyntheticParameterizedTypeReference<org.springframework.hateoas.SlicedResources<T>> {}
+
+	/**
+	 * A {@link ParameterizedTypeReference} to return a {@link org.springframework.hateoas.CursorResources} of some type.
+	 *
+	 * @since 0.18
+	 */
+	public static class CursorResourcesType<T> extends
+			SyntheticParameterizedTypeReference<org.springframework.hateoas.CursorResources<T>> {}
+
 	/**
 	 * Special {@link ParameterizedTypeReference} to customize the generic type detection and eventually return a sythetic
 	 * {@link ParameterizedType} to represent the resource type along side its generic parameter.
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+
+import org.junit.Test;
+import org.springframework.hateoas.CursorResources.CursorMetadata;
+
+/**
+ * Unit tests for {@link CursorResources}.
+ * 
+ * @author agent
+ */
+public class CursorResourcesUnitTest {
+
+	static final Link TEMPLATE = new Link("http://localhost/orders{?cursor,size}");
+
+	@Test
+	public void addsLinksForAvailableCursors() {
+
+		CursorResources<Object> resources = new CursorResources<Object>(Collections.emptyList(), new CursorMetadata(20,
+				"b3JkZXItNDI", "b3JkZXItMjM"));
+		resources.addPaginationLinks(TEMPLATE);
+
+		assertThat(resources.getNextLink(), is(new Link("http://localhost/orders?cursor=b3JkZXItNDI&size=20",
+				Link.REL_NEXT)));
+		assertThat(resources.getPreviousLink(), is(new Link("http://localhost/orders?cursor=b3JkZXItMjM&size=20",
+				Link.REL_PREVIOUS)));
+	}
+
+	@Test
+	public void omitsLinksForMissingCursors() {
+
+		CursorResources<Object> resources = new CursorResources<Object>(Collections.emptyList(), new CursorMetadata(20,
+				null, null));
+		resources.addPaginationLinks(TEMPLATE);
+
+		assertThat(resources.hasLinks(), is(false));
+		assertThat(resources.getMetadata().hasNext(), is(false));
+		assertThat(resources.getMetadata().hasPrevious(), is(false));
+	}
+
+	@Test
+	public void exposesCursors() {
+
+		CursorMetadata metadata = new CursorMetadata(20, "next", null);
+
+		assertThat(metadata.hasNext(), is(true));
+		assertThat(metadata.getNextCursor(), is("next"));
+		assertThat(metadata.hasPrevious(), is(false));
+		assertThat(metadata.getPreviousCursor(), is(nullValue()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void preventsNegativeSize() {
+		new CursorMetadata(-1, null, null);
+	}
+
+	@Test
+	public void equalsForSameContentAndMetadata() {
+
+		CursorResources<Object> left = new CursorResources<Object>(Collections.emptyList(), new CursorMetadata(20, "next",
+				null));
+		CursorResources<Object> right = new CursorResources<Object>(Collections.emptyList(), new CursorMetadata(20,
+				"next", null));
+
+		assertThat(left, is(right));
+		assertThat(left.hashCode(), is(right.hashCode()));
+		assertThat(left, is(not(new CursorResources<Object>(Collections.emptyList(), new CursorMetadata(20, "other",
+				null)))));
+	}
+}
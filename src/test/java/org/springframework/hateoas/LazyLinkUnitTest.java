@@ -0,0 +1,197 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.bind.JAXBContext;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link LazyLink}.
+ * 
+ * @author agent
+ */
+public class LazyLinkUnitTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNullSupplier() {
+		new LazyLink(Link.REL_SELF, null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsEmptyRel() {
+		new LazyLink("", new CountingSupplier("/foo"));
+	}
+
+	@Test
+	public void exposesRelWithoutBuildingLink() {
+
+		CountingSupplier supplier = new CountingSupplier("/foo");
+		LazyLink link = new LazyLink("foo", supplier);
+
+		assertThat(link.getRel(), is("foo"));
+		assertThat(link.isResolved(), is(false));
+		assertThat(supplier.invocations, is(0));
+	}
+
+	@Test
+	public void buildsLinkOnceOnAccess() {
+
+		CountingSupplier supplier = new CountingSupplier("/foo");
+		LazyLink link = new LazyLink("foo", supplier);
+
+		assertThat(link.getHref(), is("/foo"));
+		assertThat(link.getHref(), is("/foo"));
+		assertThat(link.isResolved(), is(true));
+		assertThat(supplier.invocations, is(1));
+	}
+
+	@Test
+	public void buildsLinkOnceOnConcurrentAccess() throws Exception {
+
+		final AtomicInteger invocations = new AtomicInteger();
+		final LazyLink link = new LazyLink("foo", new LinkSupplier() {
+
+			@Override
+			public Link getLink() {
+
+				invocations.incrementAndGet();
+
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException o_O) {
+					Thread.currentThread().interrupt();
+				}
+
+				return new Link("/foo");
+			}
+		});
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<String>> hrefs = new ArrayList<Future<String>>();
+
+		try {
+
+			for (int i = 0; i < 4; i++) {
+				hrefs.add(executor.submit(new Callable<String>() {
+
+					@Override
+					public String call() {
+						return link.getHref();
+					}
+				}));
+			}
+
+			for (Future<String> href : hrefs) {
+				assertThat(href.get(), is("/foo"));
+			}
+
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(invocations.get(), is(1));
+	}
+
+	@Test
+	public void equalsPlainLinkWithSameRelAndHref() {
+
+		LazyLink link = new LazyLink("foo", new CountingSupplier("/foo"));
+
+		TestUtils.assertEqualAndSameHashCode(link, new Link("/foo", "foo"));
+	}
+
+	@Test
+	public void exposesTemplateOfBuiltLink() {
+
+		LazyLink link = new LazyLink("foo", new CountingSupplier("/foo{?bar}"));
+
+		assertThat(link.isTemplated(), is(true));
+		assertThat(link.expand("baz"), is(new Link("/foo?bar=baz", "foo")));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsSupplierReturningNull() {
+
+		new LazyLink("foo", new LinkSupplier() {
+
+			@Override
+			public Link getLink() {
+				return null;
+			}
+		}).getHref();
+	}
+
+	@Test
+	public void serializesIntoPlainLink() throws Exception {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream stream = new ObjectOutputStream(bytes);
+		stream.writeObject(new LazyLink("foo", new CountingSupplier("/foo")));
+		stream.close();
+
+		Object result = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+		assertThat(result, is(instanceOf(Link.class)));
+		assertThat(result, is((Object) new Link("/foo", "foo")));
+	}
+
+	@Test
+	public void marshalsBuiltLinkToXml() throws Exception {
+
+		ResourceSupport resource = new Resources<Object>(java.util.Collections.emptyList());
+		resource.add("foo", new CountingSupplier("/foo"));
+
+		StringWriter writer = new StringWriter();
+		JAXBContext.newInstance(Resources.class).createMarshaller().marshal(resource, writer);
+
+		assertThat(writer.toString(), containsString("href=\"/foo\""));
+		assertThat(writer.toString(), containsString("rel=\"foo\""));
+	}
+
+	static class CountingSupplier implements LinkSupplier {
+
+		private final String href;
+		int invocations = 0;
+
+		public CountingSupplier(String href) {
+			this.href = href;
+		}
+
+		@Override
+		public Link getLink() {
+
+			invocations++;
+			return new Link(href);
+		}
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Unit tests for {@link LinkFilter}.
+ * 
+ * @author agent
+ */
+public class LinkFilterUnitTest {
+
+	MockHttpServletRequest request;
+
+	@Before
+	public void setUp() {
+
+		this.request = new MockHttpServletRequest();
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	@After
+	public void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	public void includesAllRelsWithoutRequest() {
+
+		RequestContextHolder.resetRequestAttributes();
+
+		assertThat(LinkFilter.getCurrent(), is(LinkFilter.ALL));
+		assertThat(LinkFilter.isRequested("foo"), is(true));
+	}
+
+	@Test
+	public void includesAllRelsIfNotRestricted() {
+
+		request.addHeader("Accept", "application/hal+json");
+
+		assertThat(LinkFilter.getCurrent().isFiltering(), is(false));
+		assertThat(LinkFilter.isRequested("foo"), is(true));
+	}
+
+	@Test
+	public void restrictsRelsToRequestParameter() {
+
+		request.addParameter(LinkFilter.PARAMETER, "self, next");
+
+		assertThat(LinkFilter.getCurrent().isFiltering(), is(true));
+		assertThat(LinkFilter.isRequested(Link.REL_SELF), is(true));
+		assertThat(LinkFilter.isRequested(Link.REL_NEXT), is(true));
+		assertThat(LinkFilter.isRequested(Link.REL_PREVIOUS), is(false));
+	}
+
+	@Test
+	public void restrictsRelsToAcceptHeaderParameter() {
+
+		request.addHeader("Accept", "application/hal+json;rels=\"self next\", application/json;q=0.8");
+
+		assertThat(LinkFilter.isRequested(Link.REL_SELF), is(true));
+		assertThat(LinkFilter.isRequested(Link.REL_NEXT), is(true));
+		assertThat(LinkFilter.isRequested(Link.REL_PREVIOUS), is(false));
+	}
+
+	@Test
+	public void combinesRequestParameterAndAcceptHeader() {
+
+		request.addParameter(LinkFilter.PARAMETER, "self");
+		request.addHeader("Accept", "application/hal+json;rels=next");
+
+		assertThat(LinkFilter.isRequested(Link.REL_SELF), is(true));
+		assertThat(LinkFilter.isRequested(Link.REL_NEXT), is(true));
+	}
+
+	@Test
+	public void ignoresInvalidAcceptHeader() {
+
+		request.addHeader("Accept", "foo");
+
+		assertThat(LinkFilter.getCurrent(), is(LinkFilter.ALL));
+	}
+
+	@Test
+	public void cachesFilterForRequest() {
+
+		request.addParameter(LinkFilter.PARAMETER, "self");
+
+		assertThat(LinkFilter.getCurrent(), is(sameInstance(LinkFilter.getCurrent())));
+	}
+
+	@Test
+	public void createsFilterForGivenRels() {
+
+		LinkFilter filter = LinkFilter.of(Link.REL_SELF);
+
+		assertThat(filter.includes(new Link("foo")), is(true));
+		assertThat(filter.includes(new Link("foo", Link.REL_NEXT)), is(false));
+	}
+
+	@Test
+	public void equalsForSameRels() {
+
+		assertThat(LinkFilter.of("self", "next"), is(LinkFilter.of("next", "self")));
+		assertThat(LinkFilter.of("self", "next").hashCode(), is(LinkFilter.of("next", "self").hashCode()));
+		assertThat(LinkFilter.of("self"), is(not(LinkFilter.ALL)));
+	}
+
+	@Test
+	public void rendersSortedRelsAsCanonicalString() {
+
+		assertThat(LinkFilter.of("self", "next", "prev").toCanonicalString(), is("next,prev,self"));
+		assertThat(LinkFilter.of("next", "self").toCanonicalString(), is(LinkFilter.of("self", "next").toCanonicalString()));
+		assertThat(LinkFilter.ALL.toCanonicalString(), is("*"));
+	}
+}
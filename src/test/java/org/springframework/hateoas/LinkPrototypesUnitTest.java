@@ -0,0 +1,160 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link LinkPrototypes}.
+ * 
+ * @author agent
+ */
+public class LinkPrototypesUnitTest {
+
+	static final Link SELF = new Link("http://localhost/customers/{id}");
+	static final Link ORDERS = new Link("http://localhost/customers/{id}/orders{?page,size}", "orders");
+	static final Link ADDRESS = new Link("http://localhost/customers/{id}/addresses/{addressId}", "address");
+
+	LinkPrototypes prototypes = new LinkPrototypes(SELF, ORDERS, ADDRESS);
+
+	@Test
+	public void exposesVariableNamesInOrderOfFirstOccurrence() {
+		assertThat(prototypes.getVariableNames(), contains("id", "addressId"));
+	}
+
+	@Test
+	public void bindsValuesByPosition() {
+
+		List<Link> links = prototypes.bind(4711, "home");
+
+		assertThat(links, hasSize(3));
+		assertThat(links.get(0), is(SELF.expand(4711)));
+		assertThat(links.get(2), is(ADDRESS.expand(4711, "home")));
+	}
+
+	@Test
+	public void bindsValuesByName() {
+
+		Map<String, Object> values = new HashMap<String, Object>();
+		values.put("id", 4711);
+		values.put("addressId", "home");
+
+		assertThat(prototypes.bind(values), is(prototypes.bind(4711, "home")));
+	}
+
+	@Test
+	public void keepsOptionalVariablesTemplated() {
+
+		Link link = prototypes.bind(4711, "home").get(1);
+
+		assertThat(link.getRel(), is("orders"));
+		assertThat(link.getHref(), is("http://localhost/customers/4711/orders{?page,size}"));
+		assertThat(link.isTemplated(), is(true));
+		assertThat(link.getVariableNames(), contains("page", "size"));
+		assertThat(link.expand(1, 20).getHref(), is("http://localhost/customers/4711/orders?page=1&size=20"));
+	}
+
+	@Test
+	public void encodesValues() {
+
+		LinkPrototypes prototypes = new LinkPrototypes(new Link("http://localhost/people/{name}?lang={lang}"));
+
+		assertThat(prototypes.bind("Dave Matthews", "en&de").get(0).getHref(),
+				is("http://localhost/people/Dave%20Matthews?lang=en%26de"));
+	}
+
+	@Test
+	public void bindsLinksWithoutVariables() {
+
+		LinkPrototypes prototypes = new LinkPrototypes(new Link("http://localhost/customers", "customers"));
+
+		assertThat(prototypes.getVariableNames(), is(Collections.<String> emptyList()));
+		assertThat(prototypes.bind(), contains(new Link("http://localhost/customers", "customers")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsMissingValues() {
+		prototypes.bind(4711);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNullValues() {
+		prototypes.bind(4711, null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsUnsupportedVariables() {
+		new LinkPrototypes(new Link("http://localhost/customers/{id,name}"));
+	}
+
+	@Test
+	public void rejectsOperatorsBeforeOptionalVariables() {
+
+		for (String href : Arrays.asList("http://localhost/{+path}/orders{?page}", "http://localhost/orders{.format}")) {
+
+			try {
+				new LinkPrototypes(new Link(href));
+				fail(String.format("Expected IllegalArgumentException for %s!", href));
+			} catch (IllegalArgumentException o_O) {}
+		}
+	}
+
+	@Test
+	public void encodesFragmentValuesAsFragment() {
+
+		LinkPrototypes prototypes = new LinkPrototypes(new Link("http://localhost/people?lang={lang}#{section}"));
+
+		assertThat(prototypes.bind("en&de", "a&b c").get(0).getHref(),
+				is("http://localhost/people?lang=en%26de#a&b%20c"));
+	}
+
+	@Test
+	public void doesNotShareValuesWithCaller() {
+
+		Object[] values = new Object[] { 4711, "home" };
+		List<Link> links = prototypes.bind(values);
+		values[0] = 42;
+
+		assertThat(links.get(0), is(SELF.expand(4711)));
+	}
+
+	@Test
+	public void serializesIntoPlainLink() throws Exception {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream stream = new ObjectOutputStream(bytes);
+		stream.writeObject(prototypes.bind(4711, "home").get(0));
+		stream.close();
+
+		Object result = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+		assertThat(result.getClass(), is(typeCompatibleWith(Link.class)));
+		assertThat(result, is((Object) SELF.expand(4711)));
+	}
+}
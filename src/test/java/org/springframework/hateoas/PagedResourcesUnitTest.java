@@ -18,7 +18,9 @@ package org.springframework.hateoas;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -103,4 +105,24 @@ public class PagedResourcesUnitTest {
 	public void calculatesTotalPagesCorrectly() {
 		assertThat(new PageMetadata(5, 0, 16).getTotalPages(), is(4L));
 	}
+
+	@Test
+	public void adoptsContentWithoutCopying() {
+
+		List<String> content = Arrays.asList("foo", "bar");
+		PagedResources<String> resources = PagedResources.adopt(content, metadata, new Link("foo", Link.REL_NEXT));
+
+		assertThat(resources.getMetadata(), is(metadata));
+		assertThat(resources.getNextLink(), is(notNullValue()));
+		assertThat(resources, is(new PagedResources<String>(content, metadata, new Link("foo", Link.REL_NEXT))));
+	}
+
+	@Test
+	public void wrapsElementsLazily() {
+
+		List<String> content = Arrays.asList("foo", "bar");
+		PagedResources<Resource<String>> resources = PagedResources.wrapLazily(content, metadata);
+
+		assertThat(resources, is(PagedResources.<Resource<String>, String> wrap(content, metadata)));
+	}
 }
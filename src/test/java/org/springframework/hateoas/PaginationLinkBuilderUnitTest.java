@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+
+import org.junit.Test;
+import org.springframework.hateoas.PagedResources.PageMetadata;
+
+/**
+ * Unit tests for {@link PaginationLinkBuilder}.
+ * 
+ * @author agent
+ */
+public class PaginationLinkBuilderUnitTest {
+
+	PaginationLinkBuilder builder = new PaginationLinkBuilder(new Link("http://localhost/orders"));
+
+	@Test
+	public void createsAllLinksForPageInBetween() {
+
+		assertThat(builder.getLinks(new PageMetadata(20, 2, 100)), contains( //
+				new Link("http://localhost/orders?page=0&size=20", Link.REL_FIRST), //
+				new Link("http://localhost/orders?page=1&size=20", Link.REL_PREVIOUS), //
+				new Link("http://localhost/orders{?page,size}", PaginationLinkBuilder.REL_PAGE), //
+				new Link("http://localhost/orders?page=3&size=20", Link.REL_NEXT), //
+				new Link("http://localhost/orders?page=4&size=20", Link.REL_LAST)));
+	}
+
+	@Test
+	public void omitsFirstAndPreviousLinkForFirstPage() {
+
+		assertThat(builder.getLinks(new PageMetadata(20, 0, 100)), contains( //
+				new Link("http://localhost/orders{?page,size}", PaginationLinkBuilder.REL_PAGE), //
+				new Link("http://localhost/orders?page=1&size=20", Link.REL_NEXT), //
+				new Link("http://localhost/orders?page=4&size=20", Link.REL_LAST)));
+	}
+
+	@Test
+	public void omitsNextAndLastLinkForLastPage() {
+
+		assertThat(builder.getLinks(new PageMetadata(20, 4, 100)), contains( //
+				new Link("http://localhost/orders?page=0&size=20", Link.REL_FIRST), //
+				new Link("http://localhost/orders?page=3&size=20", Link.REL_PREVIOUS), //
+				new Link("http://localhost/orders{?page,size}", PaginationLinkBuilder.REL_PAGE)));
+	}
+
+	@Test
+	public void keepsOtherParametersAndReplacesPaginationOnes() {
+
+		PaginationLinkBuilder builder = new PaginationLinkBuilder(new Link(
+				"http://localhost/orders?status=open&page=7&size=5"));
+
+		assertThat(builder.getTemplate().getHref(), is("http://localhost/orders?status=open{&page,size}"));
+		assertThat(builder.getLink(1, 20, Link.REL_NEXT).getHref(),
+				is("http://localhost/orders?status=open&page=1&size=20"));
+		assertThat(builder.getTemplate().expand(1, 20).getHref(), is("http://localhost/orders?status=open&page=1&size=20"));
+	}
+
+	@Test
+	public void usesCustomParameterNames() {
+
+		PaginationLinkBuilder builder = new PaginationLinkBuilder(new Link("http://localhost/orders"), "p", "s");
+
+		assertThat(builder.getTemplate().getHref(), is("http://localhost/orders{?p,s}"));
+		assertThat(builder.getLink(1, 20, Link.REL_NEXT).getHref(), is("http://localhost/orders?p=1&s=20"));
+	}
+
+	@Test
+	public void createsLinksEqualToExpandedTemplate() {
+
+		Link template = builder.getTemplate();
+
+		for (long i = 0; i < 3; i++) {
+			assertThat(builder.getLink(i, 10, Link.REL_SELF), is(template.expand(i, 10)));
+		}
+	}
+
+	@Test
+	public void addsPaginationLinksToPagedResources() {
+
+		PagedResources<Object> resources = new PagedResources<Object>(Collections.emptyList(), new PageMetadata(20, 1,
+				100));
+
+		assertThat(builder.addPaginationLinks(resources), is(sameInstance(resources)));
+		assertThat(resources.getNextLink().getHref(), is("http://localhost/orders?page=2&size=20"));
+		assertThat(resources.getPreviousLink().getHref(), is("http://localhost/orders?page=0&size=20"));
+	}
+
+	@Test
+	public void keepsExistingSelfLink() {
+
+		PagedResources<Object> resources = new PagedResources<Object>(Collections.emptyList(), new PageMetadata(20, 1,
+				100), new Link("http://localhost/orders?page=1&size=20"));
+
+		builder.addPaginationLinks(resources);
+
+		Link self = resources.getLink(Link.REL_SELF);
+
+		assertThat(self, is(new Link("http://localhost/orders?page=1&size=20")));
+		assertThat(self.isTemplated(), is(false));
+		assertThat(resources.getLinks(), hasSize(6));
+		assertThat(resources.getLink(PaginationLinkBuilder.REL_PAGE).getHref(), is("http://localhost/orders{?page,size}"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsTemplatedBaseLink() {
+		new PaginationLinkBuilder(new Link("http://localhost/orders{?page}"));
+	}
+}
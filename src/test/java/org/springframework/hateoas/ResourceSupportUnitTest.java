@@ -18,7 +18,12 @@ package org.springframework.hateoas;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
 
 import org.junit.Test;
 
@@ -156,4 +161,181 @@ public class ResourceSupportUnitTest {
 		assertThat(support.hasLink("self"), is(true));
 		assertThat(support.hasLink("another"), is(true));
 	}
+
+	@Test
+	public void findsLazyLinkByRelWithoutBuildingOtherLinks() {
+
+		LazyLinkUnitTest.CountingSupplier self = new LazyLinkUnitTest.CountingSupplier("/self");
+		LazyLinkUnitTest.CountingSupplier orders = new LazyLinkUnitTest.CountingSupplier("/orders");
+
+		ResourceSupport support = new ResourceSupport();
+		support.add(Link.REL_SELF, self);
+		support.add("orders", orders);
+
+		assertThat(support.hasLink("orders"), is(true));
+		assertThat(support.hasLink("foo"), is(false));
+		assertThat(self.invocations, is(0));
+		assertThat(orders.invocations, is(0));
+
+		assertThat(support.getLink("orders").getHref(), is("/orders"));
+		assertThat(self.invocations, is(0));
+		assertThat(orders.invocations, is(1));
+	}
+
+	@Test
+	public void exposesLinksAsModifiableListView() {
+
+		Link first = new Link("/first", "first");
+		Link second = new Link("/second", "second");
+		Link third = new Link("/third", "third");
+
+		ResourceSupport support = new ResourceSupport();
+		List<Link> links = support.getLinks();
+
+		links.add(second);
+		links.add(0, first);
+		links.add(third);
+
+		assertThat(support.getLinks(), contains(first, second, third));
+		assertThat(links.remove(1), is(second));
+		assertThat(support.getLinks(), contains(first, third));
+		assertThat(links.set(0, second), is(first));
+		assertThat(support.getLink("second"), is(second));
+
+		links.clear();
+
+		assertThat(support.hasLinks(), is(false));
+		assertThat(support.getLinks(), is(empty()));
+	}
+
+	@Test
+	public void keepsLinkOrderWhenGrowingAndShrinking() {
+
+		int size = ResourceSupport.EXACT_SIZE_THRESHOLD * 4;
+
+		List<Link> expected = new ArrayList<Link>();
+		ResourceSupport support = new ResourceSupport();
+
+		for (int i = 0; i < size; i++) {
+
+			Link link = new Link("/" + i, "rel" + i);
+			expected.add(link);
+			support.add(link);
+
+			assertThat(support.getLinks(), is(expected));
+		}
+
+		while (!expected.isEmpty()) {
+
+			int index = expected.size() / 2;
+
+			assertThat(support.getLinks().remove(index), is(expected.remove(index)));
+			assertThat(support.getLinks(), is(expected));
+			assertThat(support.hashCode(), is(expected.hashCode()));
+		}
+
+		assertThat(support.hasLinks(), is(false));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void rejectsInvalidIndexOnLinksView() {
+
+		ResourceSupport support = new ResourceSupport();
+		support.add(new Link("/self"));
+
+		support.getLinks().get(1);
+	}
+
+	@Test
+	public void removesLinksViaListIterator() {
+
+		ResourceSupport support = new ResourceSupport();
+		support.add(new Link("/self"), new Link("/first", "first"), new Link("/second", "second"));
+
+		for (Iterator<Link> iterator = support.getLinks().iterator(); iterator.hasNext();) {
+			if (iterator.next().getRel().equals("first")) {
+				iterator.remove();
+			}
+		}
+
+		assertThat(support.getLinks(), contains(new Link("/self"), new Link("/second", "second")));
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void failsIteratorOnLinkAddedToResource() {
+
+		ResourceSupport support = new ResourceSupport();
+		support.add(new Link("/self"));
+		support.add(new Link("/second", "second"));
+
+		for (Link link : support.getLinks()) {
+			support.add(new Link(link.getHref() + "/copy", "copy"));
+		}
+	}
+
+	@Test
+	public void modifiesLinksThroughListIterator() {
+
+		ResourceSupport support = new ResourceSupport();
+		support.add(new Link("/self"));
+		support.add(new Link("/second", "second"));
+
+		ListIterator<Link> iterator = support.getLinks().listIterator();
+		iterator.next();
+		iterator.remove();
+		iterator.add(new Link("/first", "first"));
+		iterator.next();
+		iterator.set(new Link("/third", "third"));
+
+		assertThat(support.getLinks(), contains(new Link("/first", "first"), new Link("/third", "third")));
+		assertThat(iterator.hasNext(), is(false));
+		assertThat(iterator.previous(), is(new Link("/third", "third")));
+	}
+
+	@Test
+	public void returnsSameLinksView() {
+
+		ResourceSupport support = new ResourceSupport();
+		support.add(new Link("/self"));
+
+		assertThat(support.getLinks(), is(sameInstance(support.getLinks())));
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void failsSubListOnLinkRemovedThroughView() {
+
+		ResourceSupport support = new ResourceSupport();
+		support.add(new Link("/self"));
+		support.add(new Link("/second", "second"));
+
+		List<Link> subList = support.getLinks().subList(0, 1);
+		support.getLinks().remove(1);
+
+		subList.size();
+	}
+
+	@Test
+	public void rejectsModificationOfFrozenLinks() {
+
+		ResourceSupport support = new ResourceSupport();
+		support.add(new Link("/self"));
+		support.freezeLinks();
+
+		try {
+			support.add(new Link("/foo", "foo"));
+			fail("Expected IllegalStateException!");
+		} catch (IllegalStateException o_O) {}
+
+		try {
+			support.getLinks().set(0, new Link("/foo", "foo"));
+			fail("Expected IllegalStateException!");
+		} catch (IllegalStateException o_O) {}
+
+		try {
+			support.removeLinks();
+			fail("Expected IllegalStateException!");
+		} catch (IllegalStateException o_O) {}
+
+		assertThat(support.getLinks(), contains(new Link("/self")));
+	}
 }
@@ -18,7 +18,11 @@ package org.springframework.hateoas;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.Test;
@@ -70,4 +74,56 @@ public class ResourcesUnitTest {
 		assertThat(left, is(not(right)));
 		assertThat(right, is(not(left)));
 	}
+
+	@Test
+	public void copiesContentOnConstruction() {
+
+		List<String> content = new ArrayList<String>(Arrays.asList("foo"));
+		Resources<String> resources = new Resources<String>(content);
+
+		content.add("bar");
+
+		assertThat(resources.getContent().size(), is(1));
+	}
+
+	@Test
+	public void adoptsContentWithoutCopying() {
+
+		List<String> content = new ArrayList<String>(Arrays.asList("foo"));
+		Resources<String> resources = Resources.adopt(content, new Link("localhost"));
+
+		content.add("bar");
+
+		assertThat(resources.getContent().size(), is(2));
+		assertThat(resources.hasLink(Link.REL_SELF), is(true));
+		assertThat(resources, is(new Resources<String>(content, new Link("localhost"))));
+	}
+
+	@Test
+	public void returnsSameReadOnlyContentView() {
+
+		Resources<String> resources = Resources.adopt(Arrays.asList("foo"));
+		Collection<String> content = resources.getContent();
+
+		assertThat(resources.getContent(), is(sameInstance(content)));
+
+		try {
+			content.clear();
+			fail("Expected UnsupportedOperationException!");
+		} catch (UnsupportedOperationException o_O) {}
+	}
+
+	@Test
+	public void wrapsElementsLazily() {
+
+		List<String> content = new ArrayList<String>(Arrays.asList("foo", "bar"));
+		Resources<Resource<String>> resources = Resources.wrapLazily(content);
+
+		assertThat(resources, is(Resources.<Resource<String>, String> wrap(content)));
+
+		content.add("foobar");
+
+		assertThat(resources.getContent().size(), is(3));
+		assertThat(resources.iterator().next().getContent(), is("foo"));
+	}
 }
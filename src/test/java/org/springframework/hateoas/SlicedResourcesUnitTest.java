@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+
+import org.junit.Test;
+import org.springframework.hateoas.SlicedResources.SliceMetadata;
+
+/**
+ * Unit tests for {@link SlicedResources}.
+ * 
+ * @author agent
+ */
+public class SlicedResourcesUnitTest {
+
+	static final Link TEMPLATE = new Link("http://localhost/orders{?page,size}");
+
+	@Test
+	public void addsNextLinkOnlyForFirstSlice() {
+
+		SlicedResources<Object> resources = new SlicedResources<Object>(Collections.emptyList(), new SliceMetadata(20, 0,
+				true));
+		resources.addPaginationLinks(TEMPLATE);
+
+		assertThat(resources.getPreviousLink(), is(nullValue()));
+		assertThat(resources.getNextLink(), is(new Link("http://localhost/orders?page=1&size=20", Link.REL_NEXT)));
+	}
+
+	@Test
+	public void addsPreviousLinkOnlyForLastSlice() {
+
+		SlicedResources<Object> resources = new SlicedResources<Object>(Collections.emptyList(), new SliceMetadata(20, 2,
+				false));
+		resources.addPaginationLinks(TEMPLATE);
+
+		assertThat(resources.getPreviousLink(), is(new Link("http://localhost/orders?page=1&size=20",
+				Link.REL_PREVIOUS)));
+		assertThat(resources.getNextLink(), is(nullValue()));
+	}
+
+	@Test
+	public void usesOnlyVariablesContainedInTemplate() {
+
+		SlicedResources<Object> resources = new SlicedResources<Object>(Collections.emptyList(), new SliceMetadata(20, 0,
+				true));
+		resources.addPaginationLinks(new Link("http://localhost/orders{?page}"));
+
+		assertThat(resources.getNextLink().getHref(), is("http://localhost/orders?page=1"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsPaginationLinksWithoutMetadata() {
+		new SlicedResources<Object>(Collections.emptyList(), null).addPaginationLinks(TEMPLATE);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void preventsNegativeSliceNumber() {
+		new SliceMetadata(10, -1, false);
+	}
+
+	@Test
+	public void equalsForSameContentAndMetadata() {
+
+		SlicedResources<Object> left = new SlicedResources<Object>(Collections.emptyList(), new SliceMetadata(20, 0, true));
+		SlicedResources<Object> right = new SlicedResources<Object>(Collections.emptyList(),
+				new SliceMetadata(20, 0, true));
+
+		assertThat(left, is(right));
+		assertThat(left.hashCode(), is(right.hashCode()));
+		assertThat(left, is(not(new SlicedResources<Object>(Collections.emptyList(), new SliceMetadata(20, 0, false)))));
+	}
+}
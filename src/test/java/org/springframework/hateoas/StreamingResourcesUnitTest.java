@@ -0,0 +1,138 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link StreamingResources}.
+ * 
+ * @author agent
+ */
+public class StreamingResourcesUnitTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNullContent() {
+		new StreamingResources<String>(null);
+	}
+
+	@Test
+	public void exposesLinks() {
+
+		StreamingResources<String> resources = new StreamingResources<String>(Arrays.asList("foo").iterator(), new Link(
+				"localhost"));
+
+		assertThat(resources.getLinks(), hasItem(new Link("localhost")));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void handsOutContentOnlyOnce() {
+
+		StreamingResources<String> resources = new StreamingResources<String>(Arrays.asList("foo").iterator());
+
+		assertThat(resources.getContent().next(), is("foo"));
+		resources.getContent();
+	}
+
+	@Test
+	public void assemblesElementsLazily() {
+
+		CountingAssembler assembler = new CountingAssembler();
+		StreamingResources<Resource<String>> resources = StreamingResources.assemble(
+				Arrays.asList("foo", "bar").iterator(), assembler);
+
+		assertThat(assembler.invocations, is(0));
+
+		Iterator<Resource<String>> content = resources.getContent();
+
+		assertThat(content.next().getContent(), is("foo"));
+		assertThat(assembler.invocations, is(1));
+		assertThat(content.next().getContent(), is("bar"));
+		assertThat(assembler.invocations, is(2));
+		assertThat(content.hasNext(), is(false));
+	}
+
+	@Test
+	public void closesCloseableSourceOfAssembledContent() throws IOException {
+
+		CloseableIterator source = new CloseableIterator(Arrays.asList("foo").iterator());
+		StreamingResources<Resource<String>> resources = StreamingResources.assemble(source, new CountingAssembler());
+
+		StreamingResources.close(resources.getContent());
+
+		assertThat(source.closed, is(true));
+	}
+
+	@Test
+	public void doesNotConsiderStreamsWithEqualLinksEqual() {
+
+		StreamingResources<String> left = new StreamingResources<String>(Arrays.asList("foo").iterator());
+		StreamingResources<String> right = new StreamingResources<String>(Arrays.asList("foo").iterator());
+
+		assertThat(left, is(left));
+		assertThat(left, is(not(right)));
+	}
+
+	static class CountingAssembler implements ResourceAssembler<String, Resource<String>> {
+
+		int invocations = 0;
+
+		@Override
+		public Resource<String> toResource(String entity) {
+
+			invocations++;
+			return new Resource<String>(entity);
+		}
+	}
+
+	static class CloseableIterator implements Iterator<String>, Closeable {
+
+		private final Iterator<String> delegate;
+		boolean closed = false;
+
+		public CloseableIterator(Iterator<String> delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return delegate.hasNext();
+		}
+
+		@Override
+		public String next() {
+			return delegate.next();
+		}
+
+		@Override
+		public void remove() {
+			delegate.remove();
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.closed = true;
+		}
+	}
+}
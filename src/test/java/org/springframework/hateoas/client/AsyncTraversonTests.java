@@ -0,0 +1,410 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import static net.jadler.Jadler.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureCallback;
+
+/**
+ * Integration tests for {@link AsyncTraverson}.
+ * 
+ * @author agent
+ */
+public class AsyncTraversonTests {
+
+	URI baseUri;
+	Server server;
+	AsyncTraverson traverson;
+
+	@Before
+	public void setUp() {
+
+		this.server = new Server();
+		this.baseUri = URI.create(server.rootResource());
+		this.traverson = new AsyncTraverson(baseUri, MediaTypes.HAL_JSON);
+
+		Resource<Actor> actor = new Resource<Actor>(new Actor("Keanu Reaves"));
+		String actorUri = server.mockResourceFor(actor);
+
+		Resource<Movie> movie = new Resource<Movie>(new Movie("The Matrix"));
+		movie.add(new Link(actorUri, "actor"));
+
+		server.mockResourceFor(movie);
+		server.finishMocking();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		if (server != null) {
+			server.close();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNullBaseUri() {
+		new AsyncTraverson(null, MediaTypes.HAL_JSON);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsInvalidMaximumNumberOfConcurrentRequests() {
+		traverson.setMaxConcurrentRequests(0);
+	}
+
+	@Test
+	public void readsTraversalIntoJsonPathExpression() throws Exception {
+
+		ListenableFuture<String> name = traverson.follow("movies", "movie", "actor").toObject("$.name");
+		assertThat(name.get(5, TimeUnit.SECONDS), is("Keanu Reaves"));
+	}
+
+	@Test
+	public void readsTraversalIntoResourceInstance() throws Exception {
+
+		ParameterizedTypeReference<Resource<Actor>> type = new ParameterizedTypeReference<Resource<Actor>>() {};
+		Resource<Actor> result = traverson.follow("movies", "movie", "actor").toObject(type).get(5, TimeUnit.SECONDS);
+
+		assertThat(result.getContent().name, is("Keanu Reaves"));
+	}
+
+	@Test
+	public void returnsLinkFoundForLastRel() throws Exception {
+
+		Link link = traverson.follow("movies", "movie").asLink().get(5, TimeUnit.SECONDS);
+
+		assertThat(link.getRel(), is("movie"));
+		assertThat(link.getHref(), startsWith(server.rootResource() + "/movies/"));
+	}
+
+	@Test
+	public void sendsConfiguredHeaders() throws Exception {
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.add("Link", "<http://www.example.com>;rel=\"home\"");
+
+		ResponseEntity<String> entity = traverson.follow("movies", "movie", "actor").withHeaders(headers)
+				.toEntity(String.class).get(5, TimeUnit.SECONDS);
+
+		assertThat(entity.getBody(), containsString("Keanu Reaves"));
+
+		verifyThatRequest(). //
+				havingPath(startsWith("/actors/")). //
+				havingHeader("Link", hasItem("<http://www.example.com>;rel=\"home\"")). //
+				receivedOnce();
+	}
+
+	@Test
+	public void failsIfLinkCannotBeFound() throws Exception {
+
+		try {
+			traverson.follow("movies", "unknown").asLink().get(5, TimeUnit.SECONDS);
+			fail("Expected ExecutionException!");
+		} catch (ExecutionException o_O) {
+			assertThat(o_O.getCause(), is(instanceOf(IllegalStateException.class)));
+		}
+	}
+
+	@Test
+	public void runsTraversalsConcurrentlyWithLimitedRequests() throws Exception {
+
+		traverson.setMaxConcurrentRequests(2);
+
+		List<ListenableFuture<String>> names = new ArrayList<ListenableFuture<String>>();
+
+		for (int i = 0; i < 10; i++) {
+			names.add(traverson.follow("movies", "movie", "actor").<String> toObject("$.name"));
+		}
+
+		for (ListenableFuture<String> name : names) {
+			assertThat(name.get(10, TimeUnit.SECONDS), is("Keanu Reaves"));
+		}
+
+		verifyThatRequest(). //
+				havingPathEqualTo("/"). //
+				receivedTimes(10);
+	}
+
+	@Test
+	public void followsMultiplePathsRequestingSharedResourcesOnce() throws Exception {
+
+		AsyncTraverson traverson = setUpShop();
+
+		Map<List<String>, String> names = traverson.followAll(). //
+				follow("customers", "customer", "orders"). //
+				follow("customers", "customer", "addresses"). //
+				follow("customers", "customer"). //
+				<String> toObjects("$.name").get(5, TimeUnit.SECONDS);
+
+		List<List<String>> routes = new ArrayList<List<String>>();
+		routes.add(Arrays.asList("customers", "customer", "orders"));
+		routes.add(Arrays.asList("customers", "customer", "addresses"));
+		routes.add(Arrays.asList("customers", "customer"));
+
+		assertThat(new ArrayList<List<String>>(names.keySet()), is(routes));
+		assertThat(names.values(), contains("orders", "addresses", "customer"));
+
+		verifyThatRequest(). //
+				havingPathEqualTo("/shop"). //
+				receivedOnce();
+
+		verifyThatRequest(). //
+				havingPathEqualTo("/customers"). //
+				receivedOnce();
+
+		verifyThatRequest(). //
+				havingPathEqualTo("/customers/1"). //
+				receivedOnce();
+	}
+
+	@Test
+	public void returnsLinksForMultiplePathsWithoutRequestingTargets() throws Exception {
+
+		AsyncTraverson traverson = setUpShop();
+
+		Map<List<String>, Link> links = traverson.followAll(). //
+				follow("customers", "customer", "orders"). //
+				follow("customers", "customer", "addresses"). //
+				asLinks().get(5, TimeUnit.SECONDS);
+
+		assertThat(links.get(Arrays.asList("customers", "customer", "orders")),
+				is(new Link(server.rootResource() + "/orders", "orders")));
+		assertThat(links.get(Arrays.asList("customers", "customer", "addresses")),
+				is(new Link(server.rootResource() + "/addresses", "addresses")));
+
+		verifyThatRequest(). //
+				havingPathEqualTo("/orders"). //
+				receivedNever();
+	}
+
+	@Test
+	public void readsMultiplePathsIntoObjects() throws Exception {
+
+		AsyncTraverson traverson = setUpShop();
+
+		Map<List<String>, String> representations = traverson.followAll(). //
+				follow("customers", "customer", "orders"). //
+				follow("customers", "customer", "addresses"). //
+				toObjects(String.class).get(5, TimeUnit.SECONDS);
+
+		assertThat(representations.get(Arrays.asList("customers", "customer", "orders")), containsString("orders"));
+		assertThat(representations.get(Arrays.asList("customers", "customer", "addresses")), containsString("addresses"));
+	}
+
+	@Test
+	public void failsTraversalOfMultiplePathsIfOneLinkCannotBeFound() throws Exception {
+
+		AsyncTraverson traverson = setUpShop();
+
+		try {
+			traverson.followAll().follow("customers", "customer", "orders").follow("customers", "unknown").asLinks()
+					.get(5, TimeUnit.SECONDS);
+			fail("Expected ExecutionException!");
+		} catch (ExecutionException o_O) {
+			assertThat(o_O.getCause(), is(instanceOf(IllegalStateException.class)));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsTraversalWithoutPaths() {
+		traverson.followAll().asLinks();
+	}
+
+	@Test
+	public void followsRelFromEveryItemRequestingSharedResourcesOnce() throws Exception {
+
+		AsyncTraverson traverson = setUpOrders(true);
+
+		List<Integer> numbers = traverson.follow().followEach("$._embedded.orders[*]", "invoice"). //
+				<Integer> toObjects("$.number").get(5, TimeUnit.SECONDS);
+
+		assertThat(numbers, contains(1, 2, 1));
+
+		verifyThatRequest(). //
+				havingPathEqualTo("/invoices/1"). //
+				receivedOnce();
+	}
+
+	@Test
+	public void returnsLinksFoundInItemsInItemOrder() throws Exception {
+
+		AsyncTraverson traverson = setUpOrders(true);
+
+		List<Link> links = traverson.follow().followEach("$._embedded.orders[*]", "invoice").asLinks()
+				.get(5, TimeUnit.SECONDS);
+
+		assertThat(links, contains(new Link(server.rootResource() + "/invoices/1", "invoice"), new Link(server
+				.rootResource() + "/invoices/2", "invoice"), new Link(server.rootResource() + "/invoices/1", "invoice")));
+
+		verifyThatRequest(). //
+				havingPath(startsWith("/invoices/")). //
+				receivedNever();
+	}
+
+	@Test
+	public void failsFanOutIfOneItemFails() throws Exception {
+
+		AsyncTraverson traverson = setUpOrders(false);
+
+		try {
+			traverson.follow().followEach("$._embedded.orders[*]", "invoice").toObjects(String.class)
+					.get(5, TimeUnit.SECONDS);
+			fail("Expected ExecutionException!");
+		} catch (ExecutionException o_O) {
+			assertThat(o_O.getCause(), is(instanceOf(IllegalStateException.class)));
+		}
+	}
+
+	@Test
+	public void handsResultsAndFailuresOfItemsToCallbackInItemOrder() throws Exception {
+
+		AsyncTraverson traverson = setUpOrders(false);
+		final List<Object> results = Collections.synchronizedList(new ArrayList<Object>());
+
+		traverson.follow().followEach("$._embedded.orders[*]", "invoice"). //
+				withMaxConcurrency(2). //
+				inItemOrder(). //
+				forEach(String.class, new ListenableFutureCallback<String>() {
+
+					@Override
+					public void onSuccess(String result) {
+						results.add(result);
+					}
+
+					@Override
+					public void onFailure(Throwable failure) {
+						results.add(failure);
+					}
+				}).get(5, TimeUnit.SECONDS);
+
+		assertThat(results, hasSize(4));
+		assertThat(results.get(0), is((Object) "{ \"number\" : 1 }"));
+		assertThat(results.get(1), is((Object) "{ \"number\" : 2 }"));
+		assertThat(results.get(2), is((Object) "{ \"number\" : 1 }"));
+		assertThat(results.get(3), is(instanceOf(IllegalStateException.class)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsInvalidMaximumConcurrencyForFanOut() {
+		traverson.follow().followEach("$._embedded.orders[*]", "invoice").withMaxConcurrency(0);
+	}
+
+	private AsyncTraverson setUpOrders(boolean linkFromEveryItem) {
+
+		String root = server.rootResource();
+
+		stub("/orders", "{ \"_embedded\" : { \"orders\" : [ " //
+				+ "{ \"_links\" : { \"invoice\" : { \"href\" : \"" + root + "/invoices/1\" }}}, " //
+				+ "{ \"_links\" : { \"invoice\" : { \"href\" : \"" + root + "/invoices/2\" }}}, " //
+				+ "{ \"_links\" : { \"invoice\" : { \"href\" : \"" + root + "/invoices/1\" }}}" //
+				+ (linkFromEveryItem ? "" : ", { \"_links\" : { }}") + " ]}}");
+		stub("/invoices/1", "{ \"number\" : 1 }");
+		stub("/invoices/2", "{ \"number\" : 2 }");
+
+		return new AsyncTraverson(URI.create(root + "/orders"), MediaTypes.HAL_JSON);
+	}
+
+	@Test
+	public void iteratesOverContentOfAllPages() throws Exception {
+
+		String root = server.rootResource();
+
+		for (int i = 0; i < 3; i++) {
+
+			onRequest(). //
+					havingPathEqualTo("/pages"). //
+					havingParameterEqualTo("page", String.valueOf(i)). //
+					respond(). //
+					withBody(page(i, root));
+		}
+
+		onRequest(). //
+				havingPathEqualTo("/pages"). //
+				havingQueryString(nullValue()). //
+				respond(). //
+				withBody(page(0, root));
+
+		AsyncTraverson traverson = new AsyncTraverson(URI.create(root + "/pages"), MediaTypes.HAL_JSON);
+
+		PagedResourcesIterator<Resource<Actor>> iterator = traverson.follow().toIterator(
+				new ParameterizedTypeReference<PagedResources<Resource<Actor>>>() {}, 2);
+
+		List<String> names = new ArrayList<String>();
+
+		while (iterator.hasNext()) {
+			names.add(iterator.next().getContent().name);
+		}
+
+		assertThat(names, contains("0-0", "0-1", "1-0", "1-1", "2-0", "2-1"));
+
+		verifyThatRequest(). //
+				havingPathEqualTo("/pages"). //
+				receivedTimes(3);
+	}
+
+	private static String page(int number, String root) {
+
+		return "{ \"_links\" : { \"self\" : { \"href\" : \"" + root + "/pages{?page,size}\", \"templated\" : true }}, " //
+				+ "\"_embedded\" : { \"actors\" : [ { \"name\" : \"" + number + "-0\" }, { \"name\" : \"" + number
+				+ "-1\" } ]}, " //
+				+ "\"page\" : { \"size\" : 2, \"number\" : " + number + ", \"totalElements\" : 6, \"totalPages\" : 3 }}";
+	}
+
+	private AsyncTraverson setUpShop() {
+
+		String root = server.rootResource();
+
+		stub("/shop", "{ \"_links\" : { \"customers\" : { \"href\" : \"" + root + "/customers\" }}}");
+		stub("/customers", "{ \"_links\" : { \"customer\" : { \"href\" : \"" + root + "/customers/1\" }}}");
+		stub("/customers/1", "{ \"name\" : \"customer\", \"_links\" : { " //
+				+ "\"orders\" : { \"href\" : \"" + root + "/orders\" }, " //
+				+ "\"addresses\" : { \"href\" : \"" + root + "/addresses\" }}}");
+		stub("/orders", "{ \"name\" : \"orders\" }");
+		stub("/addresses", "{ \"name\" : \"addresses\" }");
+
+		return new AsyncTraverson(URI.create(root + "/shop"), MediaTypes.HAL_JSON);
+	}
+
+	private static void stub(String path, String body) {
+
+		onRequest(). //
+				havingPathEqualTo(path). //
+				respond(). //
+				withBody(body);
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Unit tests for {@link CachedResponse}.
+ * 
+ * @author agent
+ */
+public class CachedResponseUnitTest {
+
+	static final long NOW = 1000000L;
+	static final byte[] BODY = "{}".getBytes();
+
+	@Test
+	public void usesMaxAgeForExpiry() {
+
+		CachedResponse response = CachedResponse.of(response("Cache-Control", "public, max-age=60"), NOW);
+
+		assertThat(response.getExpires(), is(NOW + 60000));
+		assertThat(response.isFresh(NOW + 59999), is(true));
+		assertThat(response.isFresh(NOW + 60000), is(false));
+	}
+
+	@Test
+	public void prefersMaxAgeOverExpires() {
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("Cache-Control", "max-age=10");
+		headers.setExpires(NOW + 60000);
+
+		assertThat(CachedResponse.of(response(headers), NOW).getExpires(), is(NOW + 10000));
+	}
+
+	@Test
+	public void usesExpiresHeaderIfNoMaxAgeGiven() {
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.setExpires(NOW + 60000);
+
+		assertThat(CachedResponse.of(response(headers), NOW).getExpires(), is(NOW + 60000));
+	}
+
+	@Test
+	public void considersInvalidExpiresHeaderExpired() {
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("Expires", "0");
+		headers.setETag("\"1\"");
+
+		assertThat(CachedResponse.of(response(headers), NOW).isFresh(NOW), is(false));
+	}
+
+	@Test
+	public void doesNotStoreNoStoreResponses() {
+		assertThat(CachedResponse.of(response("Cache-Control", "no-store"), NOW), is(nullValue()));
+	}
+
+	@Test
+	public void doesNotStoreResponsesWithNoStoreAfterMaxAge() {
+		assertThat(CachedResponse.of(response("Cache-Control", "max-age=60, no-store"), NOW), is(nullValue()));
+	}
+
+	@Test
+	public void doesNotStoreResponsesWithNoStoreAfterNoCache() {
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("Cache-Control", "no-cache, no-store");
+		headers.setETag("\"1\"");
+
+		assertThat(CachedResponse.of(response(headers), NOW), is(nullValue()));
+	}
+
+	@Test
+	public void prefersNoCacheOverMaxAge() {
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("Cache-Control", "max-age=60, no-cache");
+		headers.setETag("\"1\"");
+
+		CachedResponse response = CachedResponse.of(response(headers), NOW);
+
+		assertThat(response.isFresh(NOW), is(false));
+		assertThat(response.isRevalidatable(), is(true));
+	}
+
+	@Test
+	public void storesNoCacheResponsesWithValidatorsForRevalidation() {
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("Cache-Control", "no-cache");
+		headers.set("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT");
+
+		CachedResponse response = CachedResponse.of(response(headers), NOW);
+
+		assertThat(response.isFresh(NOW), is(false));
+		assertThat(response.isRevalidatable(), is(true));
+	}
+
+	@Test
+	public void doesNotStoreResponsesThatCanNeitherBeReusedNorRevalidated() {
+		assertThat(CachedResponse.of(response(new HttpHeaders()), NOW), is(nullValue()));
+	}
+
+	@Test
+	public void doesNotStoreNonOkResponses() {
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("Cache-Control", "max-age=60");
+
+		assertThat(CachedResponse.of(new ResponseEntity<byte[]>(BODY, headers, HttpStatus.NON_AUTHORITATIVE_INFORMATION),
+				NOW), is(nullValue()));
+	}
+
+	@Test
+	public void addsConditionalHeaders() {
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag("\"1\"");
+		headers.set("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT");
+
+		HttpHeaders request = new HttpHeaders();
+		CachedResponse.of(response(headers), NOW).addConditionalHeaders(request);
+
+		assertThat(request.getIfNoneMatch(), contains("\"1\""));
+		assertThat(request.getFirst("If-Modified-Since"), is("Wed, 21 Oct 2015 07:28:00 GMT"));
+	}
+
+	@Test
+	public void updatesFreshnessOnRevalidation() {
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("Cache-Control", "no-cache");
+		headers.setETag("\"1\"");
+
+		HttpHeaders notModified = new HttpHeaders();
+		notModified.set("Cache-Control", "max-age=60");
+		notModified.setContentLength(0);
+
+		CachedResponse response = CachedResponse.of(response(headers), NOW).revalidated(notModified, NOW);
+
+		assertThat(response.getBody(), is(BODY));
+		assertThat(response.isFresh(NOW), is(true));
+		assertThat(response.getHeaders().getETag(), is("\"1\""));
+		assertThat(response.getHeaders().containsKey("Content-Length"), is(false));
+	}
+
+	private static ResponseEntity<byte[]> response(String header, String value) {
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(header, value);
+
+		return response(headers);
+	}
+
+	private static ResponseEntity<byte[]> response(HttpHeaders headers) {
+		return new ResponseEntity<byte[]>(BODY, headers, HttpStatus.OK);
+	}
+}
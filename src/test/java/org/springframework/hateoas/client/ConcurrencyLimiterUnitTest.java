@@ -0,0 +1,185 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+import org.springframework.util.concurrent.ListenableFuture;
+
+/**
+ * Unit tests for {@link ConcurrencyLimiter}.
+ * 
+ * @author agent
+ */
+public class ConcurrencyLimiterUnitTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonPositiveConcurrency() {
+		new ConcurrencyLimiter(0);
+	}
+
+	@Test
+	public void queuesOperationsExceedingLimit() throws Exception {
+
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(2);
+		List<DeferredListenableFuture<String>> operations = new ArrayList<DeferredListenableFuture<String>>();
+		List<ListenableFuture<String>> results = new ArrayList<ListenableFuture<String>>();
+
+		for (int i = 0; i < 3; i++) {
+			results.add(limiter.submit(new RecordingOperation(operations)));
+		}
+
+		assertThat(operations, hasSize(2));
+		assertThat(limiter.getRunning(), is(2));
+		assertThat(limiter.getPending(), is(1));
+
+		operations.get(0).complete("first");
+
+		assertThat(results.get(0).get(), is("first"));
+		assertThat(operations, hasSize(3));
+		assertThat(limiter.getRunning(), is(2));
+		assertThat(limiter.getPending(), is(0));
+
+		operations.get(1).complete("second");
+		operations.get(2).complete("third");
+
+		assertThat(results.get(2).get(), is("third"));
+		assertThat(limiter.getRunning(), is(0));
+	}
+
+	@Test
+	public void propagatesFailures() throws Exception {
+
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(1);
+		List<DeferredListenableFuture<String>> operations = new ArrayList<DeferredListenableFuture<String>>();
+
+		ListenableFuture<String> result = limiter.submit(new RecordingOperation(operations));
+		operations.get(0).fail(new IllegalStateException());
+
+		try {
+			result.get();
+			fail("Expected ExecutionException!");
+		} catch (ExecutionException o_O) {
+			assertThat(o_O.getCause(), is(instanceOf(IllegalStateException.class)));
+		}
+
+		assertThat(limiter.getRunning(), is(0));
+	}
+
+	@Test
+	public void releasesSlotIfOperationCannotBeStarted() throws Exception {
+
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(1);
+
+		ListenableFuture<String> result = limiter.submit(new Callable<ListenableFuture<String>>() {
+
+			@Override
+			public ListenableFuture<String> call() {
+				throw new IllegalArgumentException();
+			}
+		});
+
+		assertThat(result.isDone(), is(true));
+		assertThat(limiter.getRunning(), is(0));
+	}
+
+	@Test
+	public void startsQueuedOperationsFailingSynchronouslyWithoutRecursion() throws Exception {
+
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(1);
+		List<DeferredListenableFuture<String>> operations = new ArrayList<DeferredListenableFuture<String>>();
+		List<ListenableFuture<String>> results = new ArrayList<ListenableFuture<String>>();
+
+		limiter.submit(new RecordingOperation(operations));
+
+		for (int i = 0; i < 100000; i++) {
+			results.add(limiter.submit(new Callable<ListenableFuture<String>>() {
+
+				@Override
+				public ListenableFuture<String> call() {
+					throw new IllegalArgumentException();
+				}
+			}));
+		}
+
+		assertThat(limiter.getPending(), is(100000));
+
+		operations.get(0).complete("first");
+
+		assertThat(results.get(results.size() - 1).isDone(), is(true));
+		assertThat(limiter.getRunning(), is(0));
+		assertThat(limiter.getPending(), is(0));
+	}
+
+	@Test
+	public void cancelsStartedOperationAndReleasesSlot() {
+
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(1);
+		List<DeferredListenableFuture<String>> operations = new ArrayList<DeferredListenableFuture<String>>();
+
+		ListenableFuture<String> result = limiter.submit(new RecordingOperation(operations));
+		limiter.submit(new RecordingOperation(operations));
+
+		result.cancel(true);
+
+		assertThat(operations.get(0).isCancelled(), is(true));
+		assertThat(operations, hasSize(2));
+		assertThat(limiter.getRunning(), is(1));
+		assertThat(limiter.getPending(), is(0));
+	}
+
+	@Test
+	public void removesCancelledOperationFromQueue() {
+
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(1);
+		List<DeferredListenableFuture<String>> operations = new ArrayList<DeferredListenableFuture<String>>();
+
+		limiter.submit(new RecordingOperation(operations));
+		limiter.submit(new RecordingOperation(operations)).cancel(true);
+
+		assertThat(limiter.getPending(), is(0));
+
+		operations.get(0).complete("first");
+
+		assertThat(operations, hasSize(1));
+		assertThat(limiter.getRunning(), is(0));
+	}
+
+	static class RecordingOperation implements Callable<ListenableFuture<String>> {
+
+		final List<DeferredListenableFuture<String>> operations;
+
+		public RecordingOperation(List<DeferredListenableFuture<String>> operations) {
+			this.operations = operations;
+		}
+
+		@Override
+		public ListenableFuture<String> call() {
+
+			DeferredListenableFuture<String> future = new DeferredListenableFuture<String>();
+			operations.add(future);
+
+			return future;
+		}
+	}
+}
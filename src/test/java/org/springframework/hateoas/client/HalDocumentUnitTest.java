@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link HalDocument}.
+ * 
+ * @author agent
+ */
+public class HalDocumentUnitTest {
+
+	@Test
+	public void returnsNullForEmptyOrNonObjectRepresentation() throws Exception {
+
+		assertThat(parse(""), is(nullValue()));
+		assertThat(parse("[]"), is(nullValue()));
+	}
+
+	@Test
+	public void returnsHrefOfFirstLinkWithRel() throws Exception {
+
+		HalDocument document = parse("{ '_links' : { 'self' : { 'href' : '/self' }, "
+				+ "'orders' : [ { 'href' : '/first' }, { 'href' : '/second' } ]}}");
+
+		assertThat(document.getSelfHref(), is("/self"));
+		assertThat(document.getHref("orders"), is("/first"));
+		assertThat(document.getHref("invoices"), is(nullValue()));
+	}
+
+	@Test
+	public void looksUpEmbeddedResourceBySelfLink() throws Exception {
+
+		HalDocument document = parse("{ '_embedded' : { 'orders' : [ " //
+				+ "{ '_links' : { 'self' : { 'href' : '/orders/1' }}}, " //
+				+ "{ '_links' : { 'self' : { 'href' : '/orders/2' }}} ]}}");
+
+		assertThat(document.getEmbedded("orders", "/orders/2").getSelfHref(), is("/orders/2"));
+		assertThat(document.getEmbedded("orders", "/orders/3"), is(nullValue()));
+		assertThat(document.getEmbedded("orders", null), is(nullValue()));
+	}
+
+	@Test
+	public void returnsSingleEmbeddedResourceIfNoHrefGiven() throws Exception {
+
+		HalDocument document = parse("{ '_embedded' : { 'order' : { '_links' : { 'self' : { 'href' : '/orders/1' }}}}}");
+
+		assertThat(document.getEmbedded("order", null).getSelfHref(), is("/orders/1"));
+		assertThat(document.getEmbedded("order", "/orders/1").getSelfHref(), is("/orders/1"));
+		assertThat(document.getEmbedded("order", "/orders/2"), is(nullValue()));
+	}
+
+	@Test
+	public void ignoresEmbeddedResourcesWithoutSelfLink() throws Exception {
+
+		HalDocument document = parse("{ '_embedded' : { 'order' : { 'name' : 'value' }}}");
+
+		assertThat(document.getEmbedded("order", null), is(nullValue()));
+	}
+
+	private static HalDocument parse(String source) throws Exception {
+		return HalDocument.parse(source.replace('\'', '"').getBytes("UTF-8"));
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Resource;
+
+/**
+ * Unit tests for {@link HalNdjsonReader}.
+ * 
+ * @author agent
+ */
+public class HalNdjsonReaderUnitTest {
+
+	static final String FIRST = "{\"name\":\"Keanu Reaves\",\"_links\":{\"self\":{\"href\":\"http://localhost/actors/1\"}}}";
+	static final String SECOND = "{\"name\":\"Carrie-Anne Moss\",\"_links\":{\"self\":{\"href\":\"http://localhost/actors/2\"}}}";
+
+	static final ParameterizedTypeReference<Resource<Actor>> TYPE = new ParameterizedTypeReference<Resource<Actor>>() {};
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNullStream() throws IOException {
+		new HalNdjsonReader<Resource<Actor>>(null, TYPE);
+	}
+
+	@Test
+	public void readsOneResourcePerLine() throws IOException {
+
+		HalNdjsonReader<Resource<Actor>> reader = new HalNdjsonReader<Resource<Actor>>(toStream(FIRST + "\n" + SECOND
+				+ "\n"), TYPE);
+
+		try {
+
+			assertThat(reader.hasNext(), is(true));
+
+			Resource<Actor> first = reader.next();
+			assertThat(first.getContent().name, is("Keanu Reaves"));
+			assertThat(first.getId(), is(new Link("http://localhost/actors/1")));
+
+			assertThat(reader.hasNext(), is(true));
+			assertThat(reader.next().getContent().name, is("Carrie-Anne Moss"));
+			assertThat(reader.hasNext(), is(false));
+
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void readsEmptyStream() throws IOException {
+		assertThat(new HalNdjsonReader<Resource<Actor>>(toStream(""), TYPE).hasNext(), is(false));
+	}
+
+	@Test
+	public void readsElementsBeforeStreamIsComplete() throws IOException {
+
+		final byte[] firstLine = (FIRST + "\n").getBytes("UTF-8");
+
+		InputStream stream = new InputStream() {
+
+			boolean served = false;
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+
+				if (served) {
+					throw new IOException("Rest of the stream not available yet!");
+				}
+
+				served = true;
+				System.arraycopy(firstLine, 0, b, off, firstLine.length);
+				return firstLine.length;
+			}
+
+			@Override
+			public int read() throws IOException {
+				throw new UnsupportedOperationException();
+			}
+		};
+
+		HalNdjsonReader<Resource<Actor>> reader = new HalNdjsonReader<Resource<Actor>>(stream, TYPE);
+
+		assertThat(reader.hasNext(), is(true));
+		assertThat(reader.next().getContent().name, is("Keanu Reaves"));
+	}
+
+	private static InputStream toStream(String source) throws IOException {
+		return new ByteArrayInputStream(source.getBytes("UTF-8"));
+	}
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+/**
+ * Unit tests for {@link HedgingClientHttpRequestFactory}.
+ * 
+ * @author agent
+ */
+public class HedgingClientHttpRequestFactoryUnitTest {
+
+	static final URI URI = java.net.URI.create("http://localhost/orders");
+
+	ExecutorService executor;
+	StubRequestFactory delegate;
+	HedgingClientHttpRequestFactory factory;
+
+	@Before
+	public void setUp() {
+
+		this.executor = Executors.newCachedThreadPool();
+		this.delegate = new StubRequestFactory();
+		this.factory = new HedgingClientHttpRequestFactory(delegate, executor);
+
+		factory.setInitialDelay(50, TimeUnit.MILLISECONDS);
+		factory.setBudget(1);
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void usesResponseOfHedgedRequestIfFaster() throws Exception {
+
+		ClientHttpResponse slow = mock(ClientHttpResponse.class);
+		ClientHttpResponse fast = mock(ClientHttpResponse.class);
+
+		delegate.respond(2000, slow);
+		delegate.respond(0, fast);
+
+		long start = System.currentTimeMillis();
+
+		assertThat(factory.createRequest(URI, HttpMethod.GET).execute(), is(fast));
+		assertThat(System.currentTimeMillis() - start, is(lessThan(1000L)));
+		assertThat(factory.getHedgedRequests(), is(1L));
+
+		verify(slow, timeout(5000)).close();
+		verify(fast, never()).close();
+	}
+
+	@Test
+	public void doesNotHedgeWithoutBudget() throws Exception {
+
+		ClientHttpResponse response = mock(ClientHttpResponse.class);
+		delegate.respond(200, response);
+
+		factory.setBudget(0);
+
+		assertThat(factory.createRequest(URI, HttpMethod.GET).execute(), is(response));
+		assertThat(factory.getHedgedRequests(), is(0L));
+		assertThat(delegate.requests, hasSize(1));
+	}
+
+	@Test
+	public void limitsHedgedRequestsToBudget() throws Exception {
+
+		factory.setBudget(0.5);
+
+		for (int i = 0; i < 4; i++) {
+			delegate.respond(100, mock(ClientHttpResponse.class));
+			delegate.respond(100, mock(ClientHttpResponse.class));
+		}
+
+		for (int i = 0; i < 4; i++) {
+			factory.createRequest(URI, HttpMethod.GET).execute();
+		}
+
+		assertThat(factory.getHedgedRequests(), is(2L));
+	}
+
+	@Test
+	public void usesResponseOfHedgedRequestIfOriginalOneFails() throws Exception {
+
+		ClientHttpResponse response = mock(ClientHttpResponse.class);
+
+		delegate.fail(200, new IOException());
+		delegate.respond(300, response);
+
+		assertThat(factory.createRequest(URI, HttpMethod.GET).execute(), is(response));
+	}
+
+	@Test(expected = IOException.class)
+	public void rethrowsFailureOfOriginalRequestIfNotHedged() throws Exception {
+
+		delegate.fail(0, new IOException());
+		factory.createRequest(URI, HttpMethod.GET).execute();
+	}
+
+	@Test
+	public void copiesHeadersToDelegateRequests() throws Exception {
+
+		delegate.respond(0, mock(ClientHttpResponse.class));
+
+		ClientHttpRequest request = factory.createRequest(URI, HttpMethod.HEAD);
+		request.getHeaders().add("Accept", "application/hal+json");
+		request.execute();
+
+		assertThat(delegate.requests.get(0).getHeaders().getFirst("Accept"), is("application/hal+json"));
+		assertThat(delegate.requests.get(0).getMethod(), is(HttpMethod.HEAD));
+	}
+
+	@Test
+	public void handsOtherRequestsToDelegateDirectly() throws Exception {
+
+		ClientHttpRequest request = factory.createRequest(URI, HttpMethod.POST);
+
+		assertThat(delegate.requests, hasSize(1));
+		assertThat(request, is(delegate.requests.get(0)));
+	}
+
+	@Test
+	public void calculatesDelayFromObservedLatencies() throws Exception {
+
+		factory.setInitialDelay(10, TimeUnit.SECONDS);
+		factory.setBudget(0);
+
+		for (int i = 0; i < 2 * HedgingClientHttpRequestFactory.MIN_SAMPLES; i++) {
+			delegate.respond(0, mock(ClientHttpResponse.class));
+			factory.createRequest(URI, HttpMethod.GET).execute();
+		}
+
+		assertThat(factory.getDelay(TimeUnit.SECONDS), is(lessThan(1L)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsInvalidPercentile() {
+		factory.setPercentile(1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNegativeBudget() {
+		factory.setBudget(-1);
+	}
+
+	/**
+	 * {@link ClientHttpRequestFactory} handing out requests answered with the scripted outcomes in order.
+	 */
+	static class StubRequestFactory implements ClientHttpRequestFactory {
+
+		final Queue<Object[]> outcomes = new LinkedList<Object[]>();
+		final List<ClientHttpRequest> requests = Collections.synchronizedList(new ArrayList<ClientHttpRequest>());
+
+		void respond(long latency, ClientHttpResponse response) {
+			outcomes.add(new Object[] { latency, response });
+		}
+
+		void fail(long latency, IOException exception) {
+			outcomes.add(new Object[] { latency, exception });
+		}
+
+		@Override
+		public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+
+			final Object[] outcome;
+
+			synchronized (outcomes) {
+				outcome = outcomes.poll();
+			}
+
+			MockClientHttpRequest request = new MockClientHttpRequest(httpMethod, uri) {
+
+				@Override
+				protected ClientHttpResponse executeInternal() throws IOException {
+
+					try {
+						Thread.sleep((Long) outcome[0]);
+					} catch (InterruptedException o_O) {
+						Thread.currentThread().interrupt();
+					}
+
+					if (outcome[1] instanceof IOException) {
+						throw (IOException) outcome[1];
+					}
+
+					return (ClientHttpResponse) outcome[1];
+				}
+			};
+
+			requests.add(request);
+
+			return request;
+		}
+	}
+}
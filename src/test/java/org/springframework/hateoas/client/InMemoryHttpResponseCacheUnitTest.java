@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Unit tests for {@link InMemoryHttpResponseCache}.
+ * 
+ * @author agent
+ */
+public class InMemoryHttpResponseCacheUnitTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonPositiveMaximumSize() {
+		new InMemoryHttpResponseCache(0);
+	}
+
+	@Test
+	public void storesAndEvictsResponses() {
+
+		InMemoryHttpResponseCache cache = new InMemoryHttpResponseCache(1024);
+		CachedResponse response = response(10);
+
+		cache.put("key", response);
+
+		assertThat(cache.get("key"), is(response));
+		assertThat(cache.getBytes(), is(10L));
+
+		cache.evict("key");
+
+		assertThat(cache.get("key"), is(nullValue()));
+		assertThat(cache.getBytes(), is(0L));
+	}
+
+	@Test
+	public void replacesResponseForSameKey() {
+
+		InMemoryHttpResponseCache cache = new InMemoryHttpResponseCache(1024);
+
+		cache.put("key", response(10));
+		cache.put("key", response(20));
+
+		assertThat(cache.size(), is(1));
+		assertThat(cache.getBytes(), is(20L));
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedResponsesExceedingMaximumSize() {
+
+		InMemoryHttpResponseCache cache = new InMemoryHttpResponseCache(30);
+
+		cache.put("first", response(10));
+		cache.put("second", response(10));
+		cache.put("third", response(10));
+
+		cache.get("first");
+		cache.put("fourth", response(10));
+
+		assertThat(cache.get("first"), is(notNullValue()));
+		assertThat(cache.get("second"), is(nullValue()));
+		assertThat(cache.getBytes(), is(30L));
+	}
+
+	@Test
+	public void doesNotStoreResponsesExceedingMaximumSize() {
+
+		InMemoryHttpResponseCache cache = new InMemoryHttpResponseCache(5);
+		cache.put("key", response(10));
+
+		assertThat(cache.size(), is(0));
+	}
+
+	@Test
+	public void clearsCache() {
+
+		InMemoryHttpResponseCache cache = new InMemoryHttpResponseCache(1024);
+		cache.put("key", response(10));
+		cache.clear();
+
+		assertThat(cache.size(), is(0));
+		assertThat(cache.getBytes(), is(0L));
+	}
+
+	private static CachedResponse response(int size) {
+		return new CachedResponse(new byte[size], new HttpHeaders(), Long.MAX_VALUE);
+	}
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.PagedResources.PageMetadata;
+import org.springframework.hateoas.client.PagedResourcesIterator.PageLoader;
+import org.springframework.util.concurrent.ListenableFuture;
+
+/**
+ * Unit tests for {@link PagedResourcesIterator}.
+ * 
+ * @author agent
+ */
+public class PagedResourcesIteratorUnitTest {
+
+	static final Link TEMPLATE = new Link("/orders{?page,size}");
+
+	StubPageLoader loader = new StubPageLoader();
+
+	@Test
+	public void requestsPagesWithinWindowInAdvance() {
+
+		for (int i = 1; i < 5; i++) {
+			loader.pages.put("/orders?page=" + i + "&size=2", page(i, 5, TEMPLATE));
+		}
+
+		PagedResourcesIterator<String> iterator = new PagedResourcesIterator<String>(page(0, 5, TEMPLATE),
+				loader, 2);
+
+		assertThat(iterator.next(), is("0-0"));
+		assertThat(loader.requested, contains("/orders?page=1&size=2", "/orders?page=2&size=2"));
+
+		iterator.next();
+		iterator.next();
+
+		assertThat(loader.requested, hasSize(3));
+		assertThat(loader.requested.get(2), is("/orders?page=3&size=2"));
+	}
+
+	@Test
+	public void handsOutContentOfAllPagesInOrder() {
+
+		for (int i = 1; i < 3; i++) {
+			loader.pages.put("/orders?page=" + i + "&size=2", page(i, 3, TEMPLATE));
+		}
+
+		PagedResourcesIterator<String> iterator = new PagedResourcesIterator<String>(page(0, 3, TEMPLATE),
+				loader, 4);
+
+		assertThat(collect(iterator), contains("0-0", "0-1", "1-0", "1-1", "2-0", "2-1"));
+		assertThat(loader.requested, hasSize(2));
+	}
+
+	@Test
+	public void followsNextLinksIfPagesCannotBeAddressedDirectly() {
+
+		loader.pages.put("/orders?page=1", page(1, 2, new Link("/orders?page=2", Link.REL_NEXT)));
+		loader.pages.put("/orders?page=2", page(2, 2));
+
+		PagedResourcesIterator<String> iterator = new PagedResourcesIterator<String>(page(0, 2, new Link(
+				"/orders?page=1", Link.REL_NEXT)), loader, 4);
+
+		assertThat(iterator.next(), is("0-0"));
+		assertThat(loader.requested, contains("/orders?page=1"));
+
+		assertThat(collect(iterator), contains("0-1", "1-0", "1-1", "2-0", "2-1"));
+	}
+
+	@Test
+	public void cancelsPagesRequestedInAdvanceOnClose() {
+
+		DeferredListenableFuture<PagedResources<String>> pending = new DeferredListenableFuture<PagedResources<String>>();
+		loader.pages.put("/orders?page=1&size=2", pending);
+
+		PagedResourcesIterator<String> iterator = new PagedResourcesIterator<String>(page(0, 2, TEMPLATE),
+				loader, 2);
+
+		iterator.next();
+		iterator.close();
+
+		assertThat(pending.isCancelled(), is(true));
+		assertThat(iterator.hasNext(), is(false));
+	}
+
+	@Test
+	public void rethrowsFailureOfPageRequest() {
+
+		DeferredListenableFuture<PagedResources<String>> failed = new DeferredListenableFuture<PagedResources<String>>();
+		failed.fail(new IllegalArgumentException());
+
+		PagedResourcesIterator<String> iterator = new PagedResourcesIterator<String>(failed, loader, 2);
+
+		try {
+			iterator.hasNext();
+			fail("Expected IllegalArgumentException!");
+		} catch (IllegalArgumentException o_O) {}
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void rejectsNextIfAllPagesConsumed() {
+
+		PagedResourcesIterator<String> iterator = new PagedResourcesIterator<String>(page(0, 1), loader, 2);
+
+		collect(iterator);
+		iterator.next();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsInvalidWindow() {
+		new PagedResourcesIterator<String>(page(0, 1), loader, 0);
+	}
+
+	private static List<String> collect(PagedResourcesIterator<String> iterator) {
+
+		List<String> result = new ArrayList<String>();
+
+		while (iterator.hasNext()) {
+			result.add(iterator.next());
+		}
+
+		return result;
+	}
+
+	private static ListenableFuture<PagedResources<String>> page(int number, int totalPages, Link... links) {
+
+		PageMetadata metadata = new PageMetadata(2, number, totalPages * 2, totalPages);
+		DeferredListenableFuture<PagedResources<String>> page = new DeferredListenableFuture<PagedResources<String>>();
+		page.complete(new PagedResources<String>(Arrays.asList(number + "-0", number + "-1"), metadata, links));
+
+		return page;
+	}
+
+	static class StubPageLoader implements PageLoader<String> {
+
+		final Map<String, ListenableFuture<PagedResources<String>>> pages = new HashMap<String, ListenableFuture<PagedResources<String>>>();
+		final List<String> requested = new ArrayList<String>();
+
+		@Override
+		public ListenableFuture<PagedResources<String>> load(String uri) {
+
+			requested.add(uri);
+			return pages.get(uri);
+		}
+	}
+}
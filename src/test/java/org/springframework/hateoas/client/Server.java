@@ -1,5 +1,5 @@
 /*
- * Copyright 2013-2014 the original author or authors.
+ * Copyright 2013-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,8 +27,10 @@ import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.RelProvider;
 import org.springframework.hateoas.Resource;
+import org.springframework.hateoas.ResourceSupport;
 import org.springframework.hateoas.Resources;
 import org.springframework.hateoas.core.EvoInflectorRelProvider;
+import org.springframework.hateoas.hal.BinaryHalFormat;
 import org.springframework.hateoas.hal.Jackson2HalModule;
 import org.springframework.http.MediaType;
 import org.springframework.util.LinkedMultiValueMap;
@@ -89,6 +91,23 @@ public class Server implements Closeable {
 				respond(). //
 				withBody("{ \"_links\" : { \"self\" : { \"href\" : \"/{?template}\" }}}"). //
 				withContentType(MediaTypes.HAL_JSON.toString());
+
+		// For binary HAL access
+
+		try {
+
+			ResourceSupport resource = new ResourceSupport();
+			resource.add(new Link(rootResource() + "/link", "movies"));
+
+			onRequest(). //
+					havingPathEqualTo("/smile"). //
+					respond(). //
+					withBody(BinaryHalFormat.SMILE.createObjectMapper(relProvider, null).writeValueAsBytes(resource)). //
+					withContentType(MediaTypes.HAL_SMILE.toString());
+
+		} catch (JsonProcessingException e) {
+			throw new RuntimeException(e);
+		}
 	}
 
 	public String rootResource() {
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Unit tests for {@link TraversalRouteCache}.
+ * 
+ * @author agent
+ */
+public class TraversalRouteCacheUnitTest {
+
+	MutableClockRouteCache cache;
+
+	@Before
+	public void setUp() {
+		this.cache = new MutableClockRouteCache(10, 1000, null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonPositiveMaximumSize() {
+		new TraversalRouteCache(0, 1000);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonPositiveTimeToLive() {
+		new TraversalRouteCache(10, 0);
+	}
+
+	@Test
+	public void cachesResolvedRoute() throws Exception {
+
+		CountingResolver resolver = new CountingResolver("/foo");
+
+		assertThat(cache.get("key"), is(nullValue()));
+		assertThat(cache.resolve("key", resolver), is("/foo"));
+		assertThat(cache.get("key"), is("/foo"));
+		assertThat(resolver.invocations, is(1));
+	}
+
+	@Test
+	public void expiresRoutesAfterTimeToLive() throws Exception {
+
+		cache.resolve("key", new CountingResolver("/foo"));
+
+		cache.now = 999;
+		assertThat(cache.get("key"), is("/foo"));
+
+		cache.now = 1000;
+		assertThat(cache.get("key"), is(nullValue()));
+		assertThat(cache.size(), is(0));
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedRoutesExceedingMaximumSize() throws Exception {
+
+		TraversalRouteCache cache = new TraversalRouteCache(2, 1000);
+
+		cache.resolve("first", new CountingResolver("/first"));
+		cache.resolve("second", new CountingResolver("/second"));
+		cache.get("first");
+		cache.resolve("third", new CountingResolver("/third"));
+
+		assertThat(cache.get("first"), is("/first"));
+		assertThat(cache.get("second"), is(nullValue()));
+		assertThat(cache.size(), is(2));
+	}
+
+	@Test
+	public void evictsRoutes() throws Exception {
+
+		cache.resolve("key", new CountingResolver("/foo"));
+
+		assertThat(cache.evict("key"), is(true));
+		assertThat(cache.evict("key"), is(false));
+		assertThat(cache.get("key"), is(nullValue()));
+	}
+
+	@Test
+	public void evictsAllRoutes() throws Exception {
+
+		cache.resolve("first", new CountingResolver("/first"));
+		cache.resolve("second", new CountingResolver("/second"));
+		cache.evictAll();
+
+		assertThat(cache.size(), is(0));
+	}
+
+	@Test
+	public void refreshesUsedRoutesAheadOfExpiry() throws Exception {
+
+		ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+		MutableClockRouteCache cache = new MutableClockRouteCache(10, 1000, scheduler);
+		CountingResolver resolver = new CountingResolver("/foo");
+
+		cache.resolve("key", resolver);
+		cache.get("key");
+
+		ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler).schedule(captor.capture(), eq(800L), eq(TimeUnit.MILLISECONDS));
+
+		cache.now = 800;
+		captor.getValue().run();
+
+		assertThat(resolver.invocations, is(2));
+
+		cache.now = 1500;
+		assertThat(cache.get("key"), is("/foo"));
+	}
+
+	@Test
+	public void doesNotRefreshUnusedRoutes() throws Exception {
+
+		ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+		MutableClockRouteCache cache = new MutableClockRouteCache(10, 1000, scheduler);
+		CountingResolver resolver = new CountingResolver("/foo");
+
+		cache.resolve("key", resolver);
+
+		ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler).schedule(captor.capture(), eq(800L), eq(TimeUnit.MILLISECONDS));
+
+		captor.getValue().run();
+
+		assertThat(resolver.invocations, is(1));
+	}
+
+	@Test
+	public void keepsRouteIfRefreshFails() throws Exception {
+
+		ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+		MutableClockRouteCache cache = new MutableClockRouteCache(10, 1000, scheduler);
+		CountingResolver resolver = new CountingResolver("/foo");
+
+		cache.resolve("key", resolver);
+		cache.get("key");
+
+		ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler).schedule(captor.capture(), eq(800L), eq(TimeUnit.MILLISECONDS));
+
+		resolver.fail = true;
+		captor.getValue().run();
+
+		assertThat(cache.get("key"), is("/foo"));
+	}
+
+	static class MutableClockRouteCache extends TraversalRouteCache {
+
+		long now;
+
+		public MutableClockRouteCache(int maxSize, long timeToLive, ScheduledExecutorService scheduler) {
+			super(maxSize, timeToLive, scheduler);
+		}
+
+		@Override
+		protected long getCurrentTime() {
+			return now;
+		}
+	}
+
+	static class CountingResolver implements Callable<String> {
+
+		final String uri;
+		int invocations;
+		boolean fail;
+
+		public CountingResolver(String uri) {
+			this.uri = uri;
+		}
+
+		@Override
+		public String call() {
+
+			invocations++;
+
+			if (fail) {
+				throw new IllegalStateException();
+			}
+
+			return uri;
+		}
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.springframework.hateoas.client.TraversalTree.Node;
+
+/**
+ * Unit tests for {@link TraversalTree}.
+ * 
+ * @author agent
+ */
+public class TraversalTreeUnitTest {
+
+	@Test
+	public void mergesCommonPrefixes() {
+
+		TraversalTree tree = new TraversalTree();
+		tree.add(Arrays.asList("customers", "customer", "orders"));
+		tree.add(Arrays.asList("customers", "customer", "addresses"));
+		tree.add(Arrays.asList("customers", "customer"));
+
+		Node root = tree.getRoot();
+		assertThat(root.getChildren(), hasSize(1));
+		assertThat(root.getIndex(), is(-1));
+
+		Node customers = root.getChildren().iterator().next();
+		assertThat(customers.getRel(), is("customers"));
+		assertThat(customers.getChildren(), hasSize(1));
+
+		Node customer = customers.getChildren().iterator().next();
+		assertThat(customer.getIndex(), is(2));
+		assertThat(customer.getChildren(), hasSize(2));
+		assertThat(customer.getChildren().iterator().next().getIndex(), is(0));
+	}
+
+	@Test
+	public void ignoresDuplicatePaths() {
+
+		TraversalTree tree = new TraversalTree();
+		tree.add(Arrays.asList("customers", "customer"));
+		tree.add(Arrays.asList("customers", "customer"));
+
+		assertThat(tree.getPaths(), hasSize(1));
+		assertThat(tree.getPaths().get(0), is(Arrays.asList("customers", "customer")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsEmptyPath() {
+		new TraversalTree().add(Collections.<String> emptyList());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsEmptyRel() {
+		new TraversalTree().add(Arrays.asList("customers", ""));
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.client;
+
+import static net.jadler.Jadler.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.Resource;
+import org.springframework.hateoas.client.TraversonTests.CountingInterceptor;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Integration tests for {@link TraversonFactory}.
+ *
+ * @author agent
+ */
+public class TraversonFactoryTests {
+
+	URI baseUri;
+	Server server;
+	TraversonFactory factory;
+
+	@Before
+	public void setUp() {
+
+		this.server = new Server();
+		this.baseUri = URI.create(server.rootResource());
+		this.factory = new TraversonFactory(MediaTypes.HAL_JSON);
+
+		Resource<Actor> actor = new Resource<Actor>(new Actor("Keanu Reaves"));
+		String actorUri = server.mockResourceFor(actor);
+
+		Resource<Movie> movie = new Resource<Movie>(new Movie("The Matrix"));
+		movie.add(new Link(actorUri, "actor"));
+
+		server.mockResourceFor(movie);
+		server.finishMocking();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		if (server != null) {
+			server.close();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsEmptyMediaTypes() {
+		new TraversonFactory();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNullBaseUri() {
+		factory.create(null);
+	}
+
+	@Test
+	public void createsTraversonsUsingSharedConverters() {
+
+		List<HttpMessageConverter<?>> converters = factory.getMessageConverters();
+		assertThat(converters.get(converters.size() - 1), is(instanceOf(MappingJackson2HttpMessageConverter.class)));
+
+		Traverson first = factory.create(baseUri);
+		Traverson second = factory.create(baseUri);
+
+		assertThat(first, is(not(sameInstance(second))));
+		assertThat(first.follow("movies", "movie", "actor").<String> toObject("$.name"), is("Keanu Reaves"));
+		assertThat(second.follow("movies", "movie", "actor").toObject(Actor.class).name, is("Keanu Reaves"));
+		assertThat(factory.getMessageConverters(), is(sameInstance(converters)));
+	}
+
+	@Test
+	public void createsRestTemplateWithModifiableMessageConverters() {
+
+		factory.setRequestFactory(new SimpleClientHttpRequestFactory());
+
+		RestTemplate template = (RestTemplate) ReflectionTestUtils.getField(factory, "operations");
+		template.getMessageConverters().add(new StringHttpMessageConverter());
+
+		assertThat(factory.getMessageConverters(), hasSize(template.getMessageConverters().size() - 1));
+	}
+
+	@Test
+	public void sharesConfiguredRestOperations() {
+
+		CountingInterceptor interceptor = new CountingInterceptor();
+
+		RestTemplate template = new RestTemplate();
+		template.setMessageConverters(factory.getMessageConverters());
+		template.setInterceptors(Collections.<ClientHttpRequestInterceptor> singletonList(interceptor));
+
+		factory.setRestOperations(template);
+
+		factory.create(baseUri).follow("movies").toObject("$._links.movie.href");
+		factory.create(baseUri).follow("movies").toObject("$._links.movie.href");
+
+		assertThat(interceptor.intercepted, is(4));
+	}
+
+	@Test
+	public void usesConfiguredRequestFactory() {
+
+		factory.setRequestFactory(new SimpleClientHttpRequestFactory());
+
+		assertThat(factory.create(baseUri).follow("movies", "movie", "actor").<String> toObject("$.name"),
+				is("Keanu Reaves"));
+	}
+
+	@Test
+	public void sharesConfiguredRouteCache() {
+
+		factory.setRouteCache(new TraversalRouteCache(10, 60000));
+
+		factory.create(baseUri).follow("movies", "movie", "actor").<String> toObject("$.name");
+		assertThat(factory.create(baseUri).follow("movies", "movie", "actor").<String> toObject("$.name"),
+				is("Keanu Reaves"));
+
+		verifyThatRequest(). //
+				havingPathEqualTo("/movies"). //
+				receivedOnce();
+	}
+
+	@Test
+	public void warmsUpGivenTypes() {
+
+		factory.warmUp(Actor.class, new ParameterizedTypeReference<Resource<Actor>>() {}.getType());
+
+		Resource<Actor> actor = factory.create(baseUri).follow("movies", "movie", "actor")
+				.toObject(new ParameterizedTypeReference<Resource<Actor>>() {});
+
+		assertThat(actor.getContent().name, is("Keanu Reaves"));
+	}
+}
@@ -24,6 +24,8 @@ import java.net.URI;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.After;
 import org.junit.Before;
@@ -40,6 +42,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
@@ -260,6 +263,347 @@ public class TraversonTests {
 		assertThat(converters.get(0), is(instanceOf(StringHttpMessageConverter.class)));
 	}
 
+	@Test
+	public void followsLinksInSmileRepresentation() {
+
+		Link link = new Traverson(URI.create(server.rootResource().concat("/smile")), MediaTypes.HAL_SMILE).follow(
+				"movies").asLink();
+
+		assertThat(link.getHref(), endsWith("/link"));
+		assertThat(link.getRel(), is("movies"));
+	}
+
+	@Test
+	public void returnsDefaultMessageConvertersForBinaryHal() {
+
+		List<HttpMessageConverter<?>> converters = Traverson.getDefaultMessageConverters(MediaTypes.HAL_SMILE);
+
+		assertThat(converters, hasSize(2));
+		assertThat(converters.get(1), is(instanceOf(MappingJackson2HttpMessageConverter.class)));
+		assertThat(converters.get(1).getSupportedMediaTypes(), hasItem(MediaTypes.HAL_SMILE));
+	}
+
+	@Test
+	public void stopsReadingIntermediateResponsesOnceLinkWasFound() {
+
+		onRequest(). //
+				havingPathEqualTo("/large"). //
+				respond(). //
+				withBody("{ \"_links\" : { \"next\" : { \"href\" : \"/next\" }}, \"_embedded\" : { not even JSON");
+
+		Traverson traverson = new Traverson(URI.create(server.rootResource() + "/large"), MediaTypes.HAL_JSON);
+
+		assertThat(traverson.follow("next").asLink().getHref(), is("/next"));
+	}
+
+	@Test
+	public void reusesFreshResponsesFromResponseCache() {
+
+		onRequest(). //
+				havingPathEqualTo("/fresh"). //
+				respond(). //
+				withBody("{ \"_links\" : { \"next\" : { \"href\" : \"/next\" }}}"). //
+				withHeader("Cache-Control", "max-age=60");
+
+		Traverson traverson = new Traverson(URI.create(server.rootResource() + "/fresh"), MediaTypes.HAL_JSON);
+		traverson.setResponseCache(new InMemoryHttpResponseCache(1024));
+
+		assertThat(traverson.follow("next").asLink().getHref(), is("/next"));
+		assertThat(traverson.follow("next").asLink().getHref(), is("/next"));
+
+		verifyThatRequest(). //
+				havingPathEqualTo("/fresh"). //
+				receivedOnce();
+	}
+
+	@Test
+	public void revalidatesStaleResponsesUsingEtag() {
+
+		onRequest(). //
+				havingPathEqualTo("/stale"). //
+				respond(). //
+				withBody("{ \"_links\" : { \"next\" : { \"href\" : \"/next\" }}}"). //
+				withHeader("Cache-Control", "no-cache"). //
+				withHeader("ETag", "\"1\""). //
+				thenRespond(). //
+				withStatus(304). //
+				withBody(""). //
+				withHeader("ETag", "\"1\"");
+
+		Traverson traverson = new Traverson(URI.create(server.rootResource() + "/stale"), MediaTypes.HAL_JSON);
+		traverson.setResponseCache(new InMemoryHttpResponseCache(1024));
+
+		assertThat(traverson.follow("next").asLink().getHref(), is("/next"));
+		assertThat(traverson.follow("next").asLink().getHref(), is("/next"));
+
+		verifyThatRequest(). //
+				havingPathEqualTo("/stale"). //
+				receivedTimes(2);
+
+		verifyThatRequest(). //
+				havingPathEqualTo("/stale"). //
+				havingHeader("If-None-Match", hasItem("\"1\"")). //
+				receivedOnce();
+	}
+
+	@Test
+	public void doesNotCacheResponsesThatMustNotBeStored() {
+
+		onRequest(). //
+				havingPathEqualTo("/no-store"). //
+				respond(). //
+				withBody("{ \"_links\" : { \"next\" : { \"href\" : \"/next\" }}}"). //
+				withHeader("Cache-Control", "no-store"). //
+				withHeader("ETag", "\"1\"");
+
+		InMemoryHttpResponseCache cache = new InMemoryHttpResponseCache(1024);
+
+		Traverson traverson = new Traverson(URI.create(server.rootResource() + "/no-store"), MediaTypes.HAL_JSON);
+		traverson.setResponseCache(cache);
+
+		traverson.follow("next").asLink();
+		traverson.follow("next").asLink();
+
+		assertThat(cache.size(), is(0));
+
+		verifyThatRequest(). //
+				havingPathEqualTo("/no-store"). //
+				receivedTimes(2);
+	}
+
+	@Test
+	public void onlyIssuesFinalRequestForCachedRoute() {
+
+		traverson.setRouteCache(new TraversalRouteCache(10, 60000));
+
+		assertThat(traverson.follow("movies", "movie", "actor").<String> toObject("$.name"), is("Keanu Reaves"));
+		assertThat(traverson.follow("movies", "movie", "actor").<String> toObject("$.name"), is("Keanu Reaves"));
+
+		verifyThatRequest(). //
+				havingPathEqualTo("/"). //
+				receivedOnce();
+
+		verifyThatRequest(). //
+				havingPath(startsWith("/actors/")). //
+				receivedTimes(2);
+	}
+
+	@Test
+	public void traversesAgainIfCachedRouteIsGone() {
+
+		onRequest(). //
+				havingPathEqualTo("/moving"). //
+				respond(). //
+				withBody("{ \"_links\" : { \"next\" : { \"href\" : \"" + server.rootResource() + "/old\" }}}"). //
+				thenRespond(). //
+				withBody("{ \"_links\" : { \"next\" : { \"href\" : \"" + server.rootResource() + "/new\" }}}");
+
+		onRequest(). //
+				havingPathEqualTo("/old"). //
+				respond(). //
+				withBody("old"). //
+				withContentType(MediaType.TEXT_PLAIN_VALUE). //
+				thenRespond(). //
+				withStatus(410);
+
+		onRequest(). //
+				havingPathEqualTo("/new"). //
+				respond(). //
+				withBody("new"). //
+				withContentType(MediaType.TEXT_PLAIN_VALUE);
+
+		Traverson traverson = new Traverson(URI.create(server.rootResource() + "/moving"), MediaTypes.HAL_JSON);
+		traverson.setRouteCache(new TraversalRouteCache(10, 60000));
+
+		assertThat(traverson.follow("next").toObject(String.class), is("old"));
+		assertThat(traverson.follow("next").toObject(String.class), is("new"));
+
+		verifyThatRequest(). //
+				havingPathEqualTo("/moving"). //
+				receivedTimes(2);
+	}
+
+	@Test
+	public void skipsRequestsForEmbeddedResourcesIfPreferred() {
+
+		String root = server.rootResource();
+
+		onRequest(). //
+				havingPathEqualTo("/orders"). //
+				respond(). //
+				withBody("{ \"_links\" : { \"order\" : { \"href\" : \"" + root + "/orders/1\" }}, " //
+						+ "\"_embedded\" : { \"order\" : [ " //
+						+ "{ \"_links\" : { \"self\" : { \"href\" : \"" + root + "/orders/0\" }}}, " //
+						+ "{ \"_links\" : { \"self\" : { \"href\" : \"" + root + "/orders/1\" }, " //
+						+ "\"invoice\" : { \"href\" : \"" + root + "/invoices/1\" }}} ]}}");
+
+		onRequest(). //
+				havingPathEqualTo("/invoices/1"). //
+				respond(). //
+				withBody("invoice"). //
+				withContentType(MediaType.TEXT_PLAIN_VALUE);
+
+		Traverson traverson = new Traverson(URI.create(root + "/orders"), MediaTypes.HAL_JSON);
+
+		assertThat(traverson.follow("order", "invoice").preferEmbeddedResources().toObject(String.class), is("invoice"));
+
+		verifyThatRequest(). //
+				havingPath(startsWith("/orders/")). //
+				receivedNever();
+
+		verifyThatRequest(). //
+				havingPathEqualTo("/invoices/1"). //
+				receivedOnce();
+	}
+
+	@Test
+	public void requestsEmbeddedResourceIfItDoesNotContainLinkToFollow() {
+
+		String root = server.rootResource();
+
+		onRequest(). //
+				havingPathEqualTo("/orders"). //
+				respond(). //
+				withBody("{ \"_embedded\" : { \"order\" : " //
+						+ "{ \"_links\" : { \"self\" : { \"href\" : \"" + root + "/orders/1\" }}}}}");
+
+		onRequest(). //
+				havingPathEqualTo("/orders/1"). //
+				respond(). //
+				withBody("{ \"_links\" : { \"invoice\" : { \"href\" : \"" + root + "/invoices/1\" }}}");
+
+		Traverson traverson = new Traverson(URI.create(root + "/orders"), MediaTypes.HAL_JSON);
+
+		assertThat(traverson.follow("order", "invoice").preferEmbeddedResources().asLink().getHref(), is(root
+				+ "/invoices/1"));
+
+		verifyThatRequest(). //
+				havingPathEqualTo("/orders/1"). //
+				receivedOnce();
+	}
+
+	@Test
+	public void requestsResourcesIfEmbeddedResourcesAreNotPreferred() {
+
+		String root = server.rootResource();
+
+		onRequest(). //
+				havingPathEqualTo("/orders"). //
+				respond(). //
+				withBody("{ \"_links\" : { \"order\" : { \"href\" : \"" + root + "/orders/1\" }}, " //
+						+ "\"_embedded\" : { \"order\" : { \"_links\" : { " //
+						+ "\"self\" : { \"href\" : \"" + root + "/orders/1\" }, " //
+						+ "\"invoice\" : { \"href\" : \"" + root + "/invoices/1\" }}}}}");
+
+		onRequest(). //
+				havingPathEqualTo("/orders/1"). //
+				respond(). //
+				withBody("{ \"_links\" : { \"invoice\" : { \"href\" : \"" + root + "/invoices/2\" }}}");
+
+		Traverson traverson = new Traverson(URI.create(root + "/orders"), MediaTypes.HAL_JSON);
+
+		assertThat(traverson.follow("order", "invoice").asLink().getHref(), is(root + "/invoices/2"));
+	}
+
+	@Test
+	public void prefersLinksFromLinkHeaders() {
+
+		String root = server.rootResource();
+
+		onRequest(). //
+				havingPathEqualTo("/headers"). //
+				respond(). //
+				withBody("{ \"_links\" : { \"next\" : { \"href\" : \"/body\" }}}"). //
+				withHeader("Link", "<" + root + "/header>; rel=\"next\"");
+
+		Traverson traverson = new Traverson(URI.create(root + "/headers"), MediaTypes.HAL_JSON);
+
+		assertThat(traverson.follow("next").asLink().getHref(), is("/body"));
+		assertThat(traverson.follow("next").preferLinkHeaders().asLink().getHref(), is(root + "/header"));
+	}
+
+	@Test
+	public void fallsBackToBodyIfLinkHeaderDoesNotContainRel() {
+
+		onRequest(). //
+				havingPathEqualTo("/headers"). //
+				respond(). //
+				withBody("{ \"_links\" : { \"next\" : { \"href\" : \"/body\" }}}"). //
+				withHeader("Link", "</other>; rel=\"other\"");
+
+		Traverson traverson = new Traverson(URI.create(server.rootResource() + "/headers"), MediaTypes.HAL_JSON);
+
+		assertThat(traverson.follow("next").preferLinkHeaders().asLink().getHref(), is("/body"));
+	}
+
+	@Test
+	public void usesHeadRequestsToFindLinkHeaders() {
+
+		String root = server.rootResource();
+
+		onRequest(). //
+				havingMethodEqualTo("HEAD"). //
+				havingPathEqualTo("/probe"). //
+				respond(). //
+				withHeader("Link", "<" + root + "/header>; rel=\"next\"");
+
+		Traverson traverson = new Traverson(URI.create(root + "/probe"), MediaTypes.HAL_JSON);
+
+		assertThat(traverson.follow("next").probeLinkHeadersWithHead().asLink().getHref(), is(root + "/header"));
+
+		verifyThatRequest(). //
+				havingMethodEqualTo("GET"). //
+				havingPathEqualTo("/probe"). //
+				receivedNever();
+	}
+
+	@Test
+	public void fallsBackToGetIfHeadIsNotSupported() {
+
+		onRequest(). //
+				havingMethodEqualTo("HEAD"). //
+				havingPathEqualTo("/no-head"). //
+				respond(). //
+				withStatus(405);
+
+		onRequest(). //
+				havingMethodEqualTo("GET"). //
+				havingPathEqualTo("/no-head"). //
+				respond(). //
+				withBody("{ \"_links\" : { \"next\" : { \"href\" : \"/body\" }}}");
+
+		Traverson traverson = new Traverson(URI.create(server.rootResource() + "/no-head"), MediaTypes.HAL_JSON);
+
+		assertThat(traverson.follow("next").probeLinkHeadersWithHead().asLink().getHref(), is("/body"));
+
+		verifyThatRequest(). //
+				havingMethodEqualTo("HEAD"). //
+				havingPathEqualTo("/no-head"). //
+				receivedOnce();
+	}
+
+	@Test
+	public void usesConfiguredRequestFactory() {
+
+		ExecutorService executor = Executors.newCachedThreadPool();
+
+		try {
+
+			HedgingClientHttpRequestFactory factory = new HedgingClientHttpRequestFactory(
+					new SimpleClientHttpRequestFactory(), executor);
+			traverson.setRequestFactory(factory);
+
+			assertThat(traverson.follow("movies", "movie", "actor").<String> toObject("$.name"), is("Keanu Reaves"));
+
+		} finally {
+			executor.shutdownNow();
+		}
+
+		verifyThatRequest(). //
+				havingPath(startsWith("/actors/")). //
+				receivedOnce();
+	}
+
 	private void setUpActors() {
 
 		Resource<Actor> actor = new Resource<Actor>(new Actor("Keanu Reaves"));
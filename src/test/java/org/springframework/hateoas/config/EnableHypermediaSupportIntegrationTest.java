@@ -19,6 +19,7 @@ import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -41,8 +42,12 @@ import org.springframework.hateoas.config.EnableHypermediaSupport.HypermediaType
 import org.springframework.hateoas.config.HypermediaSupportBeanDefinitionRegistrar.Jackson2ModuleRegisteringBeanPostProcessor;
 import org.springframework.hateoas.core.DelegatingEntityLinks;
 import org.springframework.hateoas.core.DelegatingRelProvider;
+import org.springframework.hateoas.hal.BinaryHalLinkDiscoverer;
 import org.springframework.hateoas.hal.HalLinkDiscoverer;
+import org.springframework.hateoas.mvc.EtagMappingJackson2HttpMessageConverter;
+import org.springframework.hateoas.mvc.HalNdjsonHttpMessageConverter;
 import org.springframework.hateoas.mvc.TypeConstrainedMappingJackson2HttpMessageConverter;
+import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -135,6 +140,67 @@ public class EnableHypermediaSupportIntegrationTest {
 		context.close();
 	}
 
+	@Test
+	public void registersBinaryHalLinkDiscoverers() {
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(HalConfig.class);
+		LinkDiscoverers discoverers = context.getBean(LinkDiscoverers.class);
+
+		assertThat(discoverers.getLinkDiscovererFor(MediaTypes.HAL_SMILE), is(instanceOf(BinaryHalLinkDiscoverer.class)));
+		assertThat(discoverers.getLinkDiscovererFor(MediaTypes.HAL_CBOR), is(instanceOf(BinaryHalLinkDiscoverer.class)));
+		context.close();
+	}
+
+	@Test
+	public void registersBinaryHalMessageConverters() {
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(HalConfig.class);
+		RestTemplate template = context.getBean(RestTemplate.class);
+
+		List<MediaType> mediaTypes = new ArrayList<MediaType>();
+
+		for (HttpMessageConverter<?> converter : template.getMessageConverters()) {
+			mediaTypes.addAll(converter.getSupportedMediaTypes());
+		}
+
+		assertThat(mediaTypes, hasItems(MediaTypes.HAL_SMILE, MediaTypes.HAL_CBOR));
+		context.close();
+	}
+
+	@Test
+	public void registersHalStreamMessageConverter() {
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(HalConfig.class);
+		RestTemplate template = context.getBean(RestTemplate.class);
+
+		assertThat(template.getMessageConverters(),
+				Matchers.<HttpMessageConverter<?>> hasItem(instanceOf(HalNdjsonHttpMessageConverter.class)));
+		context.close();
+	}
+
+	@Test
+	public void doesNotRegisterEtagSupportingHalMessageConverterByDefault() {
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(HalConfig.class);
+		RequestMappingHandlerAdapter adapter = context.getBean(RequestMappingHandlerAdapter.class);
+
+		assertThat(adapter.getMessageConverters().get(0),
+				is(instanceOf(TypeConstrainedMappingJackson2HttpMessageConverter.class)));
+		assertThat(adapter.getMessageConverters().get(0),
+				is(not(instanceOf(EtagMappingJackson2HttpMessageConverter.class))));
+		context.close();
+	}
+
+	@Test
+	public void registersEtagSupportingHalMessageConverterIfConditionalRequestsAreEnabled() {
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(ConditionalRequestsConfig.class);
+		RequestMappingHandlerAdapter adapter = context.getBean(RequestMappingHandlerAdapter.class);
+
+		assertThat(adapter.getMessageConverters().get(0), is(instanceOf(EtagMappingJackson2HttpMessageConverter.class)));
+		context.close();
+	}
+
 	private static void assertEntityLinksSetUp(ApplicationContext context) {
 
 		Map<String, EntityLinks> discoverers = context.getBeansOfType(EntityLinks.class);
@@ -224,4 +290,14 @@ public class EnableHypermediaSupportIntegrationTest {
 	static class DelegateConfig {
 
 	}
+
+	@Configuration
+	@EnableHypermediaSupport(type = HypermediaType.HAL, conditionalRequests = true)
+	static class ConditionalRequestsConfig {
+
+		@Bean
+		public RequestMappingHandlerAdapter rmh() {
+			return new RequestMappingHandlerAdapter();
+		}
+	}
 }
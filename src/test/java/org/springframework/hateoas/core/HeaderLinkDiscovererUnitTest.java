@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+
+import org.junit.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Links;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Unit tests for {@link HeaderLinkDiscoverer}.
+ * 
+ * @author agent
+ */
+public class HeaderLinkDiscovererUnitTest {
+
+	static final String HEADER = "<http://localhost/orders?page=2&size=20>; rel=\"next last\"; title=\"Next, please\", "
+			+ "</orders{?page,size}>;rel=search, <http://localhost/self>; rel=\"self\"";
+
+	HeaderLinkDiscoverer discoverer = new HeaderLinkDiscoverer();
+
+	@Test
+	public void findsLinkWithOneOfMultipleRels() {
+
+		assertThat(discoverer.findLinkWithRel("next", HEADER), is(new Link("http://localhost/orders?page=2&size=20",
+				"next")));
+		assertThat(discoverer.findLinkWithRel("last", HEADER), is(new Link("http://localhost/orders?page=2&size=20",
+				"last")));
+	}
+
+	@Test
+	public void findsLinkWithUnquotedRelAfterQuotedParameterContainingComma() {
+
+		Link link = discoverer.findLinkWithRel("search", HEADER);
+
+		assertThat(link.getHref(), is("/orders{?page,size}"));
+		assertThat(link.isTemplated(), is(true));
+	}
+
+	@Test
+	public void comparesRelsCaseInsensitively() {
+		assertThat(discoverer.findLinkWithRel("SELF", HEADER), is(new Link("http://localhost/self", "SELF")));
+	}
+
+	@Test
+	public void returnsNullForUnknownRelOrEmptyHeader() {
+
+		assertThat(discoverer.findLinkWithRel("title", HEADER), is(nullValue()));
+		assertThat(discoverer.findLinkWithRel("next", ""), is(nullValue()));
+		assertThat(discoverer.findLinkWithRel("next", "no links at all"), is(nullValue()));
+	}
+
+	@Test
+	public void findsAllLinksWithRel() {
+
+		String header = "</first>; rel=\"item\", </second>; rel=\"item\", </other>; rel=\"other\"";
+
+		assertThat(discoverer.findLinksWithRel("item", header),
+				contains(new Link("/first", "item"), new Link("/second", "item")));
+	}
+
+	@Test
+	public void readsHeaderFromInputStream() {
+
+		ByteArrayInputStream stream = new ByteArrayInputStream(HEADER.getBytes());
+		assertThat(discoverer.findLinkWithRel("self", stream), is(new Link("http://localhost/self")));
+	}
+
+	@Test
+	public void findsLinkInMultipleHeaderValues() {
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.add("Link", "</first>; rel=\"first\"");
+		headers.add("Link", "</next>; rel=\"next\"");
+
+		assertThat(discoverer.findLinkWithRel("next", headers), is(new Link("/next", "next")));
+		assertThat(discoverer.findLinkWithRel("next", new HttpHeaders()), is(nullValue()));
+	}
+
+	@Test
+	public void readsHeadersRenderedForLinks() {
+
+		Links links = new Links(new Link("http://localhost/orders", "orders"), new Link("http://localhost"));
+		assertThat(discoverer.findLinkWithRel("orders", links.toString()), is(new Link("http://localhost/orders",
+				"orders")));
+	}
+}
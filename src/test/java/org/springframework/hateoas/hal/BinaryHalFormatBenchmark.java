@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.hal;
+
+import org.springframework.hateoas.LinkDiscoverer;
+import org.springframework.hateoas.Resource;
+import org.springframework.hateoas.Resources;
+import org.springframework.hateoas.core.AnnotationRelProvider;
+import org.springframework.hateoas.hal.Jackson2HalModule.HalHandlerInstantiator;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Little helper to compare payload size, serialization, deserialization and link discovery throughput of HAL rendered
+ * as JSON, Smile and CBOR. Run with the number of embedded items and iterations as optional arguments.
+ * 
+ * @author agent
+ */
+class BinaryHalFormatBenchmark {
+
+	private static final int DEFAULT_ITEMS = 100;
+	private static final int DEFAULT_ITERATIONS = 20000;
+
+	public static void main(String... args) throws Exception {
+
+		int items = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITEMS;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ITERATIONS;
+
+		Resources<Resource<SimplePojo>> resources = BinaryHalFormatUnitTest.createResources(items);
+
+		ObjectMapper json = new ObjectMapper();
+		json.registerModule(new Jackson2HalModule());
+		json.setHandlerInstantiator(new HalHandlerInstantiator(new AnnotationRelProvider(), null));
+
+		run("JSON", json, new HalLinkDiscoverer(), resources, iterations);
+
+		for (BinaryHalFormat format : BinaryHalFormat.getAvailableFormats()) {
+			run(format.name(), format.createObjectMapper(new AnnotationRelProvider(), null), new BinaryHalLinkDiscoverer(
+					format), resources, iterations);
+		}
+	}
+
+	private static void run(String name, ObjectMapper mapper, LinkDiscoverer discoverer, Object value, int iterations)
+			throws Exception {
+
+		JavaType type = mapper.getTypeFactory().constructParametricType(Resources.class,
+				mapper.getTypeFactory().constructParametricType(Resource.class, SimplePojo.class));
+
+		byte[] payload = mapper.writeValueAsBytes(value);
+		String raw = new String(payload, discoverer.supports(MediaType.APPLICATION_JSON) ? "UTF-8" : "ISO-8859-1");
+
+		// Warm up
+		for (int i = 0; i < iterations; i++) {
+			mapper.readValue(mapper.writeValueAsBytes(value), type);
+		}
+
+		long start = System.nanoTime();
+
+		for (int i = 0; i < iterations; i++) {
+			mapper.writeValueAsBytes(value);
+		}
+
+		long serialization = System.nanoTime() - start;
+		start = System.nanoTime();
+
+		for (int i = 0; i < iterations; i++) {
+			mapper.readValue(payload, type);
+		}
+
+		long deserialization = System.nanoTime() - start;
+		start = System.nanoTime();
+
+		for (int i = 0; i < iterations; i++) {
+			discoverer.findLinkWithRel("self", raw);
+		}
+
+		long discovery = System.nanoTime() - start;
+
+		System.out.println(String.format("%-5s %8d bytes, write %8.2f us/op, read %8.2f us/op, discover %8.2f us/op",
+				name, payload.length, serialization / 1000d / iterations, deserialization / 1000d / iterations, discovery
+						/ 1000d / iterations));
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.hal;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.Resource;
+import org.springframework.hateoas.Resources;
+import org.springframework.hateoas.UriTemplate;
+import org.springframework.hateoas.core.AnnotationRelProvider;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Unit tests for {@link BinaryHalFormat}.
+ * 
+ * @author agent
+ */
+public class BinaryHalFormatUnitTest {
+
+	@Test
+	public void detectsFormatsOnTheClasspath() {
+
+		assertThat(BinaryHalFormat.getAvailableFormats(), hasItems(BinaryHalFormat.SMILE, BinaryHalFormat.CBOR));
+		assertThat(BinaryHalFormat.SMILE.createJsonFactory(), is(instanceOf(SmileFactory.class)));
+		assertThat(BinaryHalFormat.CBOR.createJsonFactory(), is(instanceOf(CBORFactory.class)));
+	}
+
+	@Test
+	public void looksUpFormatByMediaType() {
+
+		assertThat(BinaryHalFormat.forMediaType(MediaTypes.HAL_SMILE), is(BinaryHalFormat.SMILE));
+		assertThat(BinaryHalFormat.forMediaType(MediaTypes.HAL_CBOR), is(BinaryHalFormat.CBOR));
+		assertThat(BinaryHalFormat.forMediaType(MediaTypes.HAL_JSON), is(nullValue()));
+		assertThat(BinaryHalFormat.forMediaType(MediaType.APPLICATION_JSON), is(nullValue()));
+		assertThat(BinaryHalFormat.forMediaType(null), is(nullValue()));
+	}
+
+	@Test
+	public void roundTripsResourcesInAllFormats() throws Exception {
+
+		Resources<Resource<SimplePojo>> resources = createResources(10);
+
+		for (BinaryHalFormat format : BinaryHalFormat.getAvailableFormats()) {
+
+			ObjectMapper mapper = format.createObjectMapper(new AnnotationRelProvider(), null);
+			JavaType type = mapper.getTypeFactory().constructParametricType(Resources.class,
+					mapper.getTypeFactory().constructParametricType(Resource.class, SimplePojo.class));
+
+			Resources<Resource<SimplePojo>> result = mapper.readValue(mapper.writeValueAsBytes(resources), type);
+
+			assertThat(result, is(resources));
+		}
+	}
+
+	@Test
+	public void rendersSmallerPayloadThanJson() throws Exception {
+
+		Resources<Resource<SimplePojo>> resources = createResources(100);
+
+		ObjectMapper jsonMapper = new ObjectMapper();
+		jsonMapper.registerModule(new Jackson2HalModule());
+		jsonMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(new AnnotationRelProvider(), null));
+
+		int jsonSize = jsonMapper.writeValueAsBytes(resources).length;
+
+		ObjectMapper smileMapper = BinaryHalFormat.SMILE.createObjectMapper(new AnnotationRelProvider(), null);
+		assertThat(smileMapper.writeValueAsBytes(resources).length, is(lessThan(jsonSize)));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void derivesObjectMapperFromJsonMapper() throws Exception {
+
+		ObjectMapper jsonMapper = new ObjectMapper();
+		jsonMapper.registerModule(new Jackson2HalModule());
+		jsonMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(new AnnotationRelProvider(),
+				new DefaultCurieProvider("foo", new UriTemplate("http://localhost/rels/{rel}"))));
+		jsonMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+		for (BinaryHalFormat format : BinaryHalFormat.getAvailableFormats()) {
+
+			ObjectMapper mapper = format.createObjectMapper(jsonMapper);
+
+			assertThat(mapper.getFactory(), is(instanceOf(format.createJsonFactory().getClass())));
+			assertThat(mapper.getDeserializationConfig().isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES),
+					is(false));
+
+			Resource<SimplePojo> resource = new Resource<SimplePojo>(new SimplePojo("text", 1), new Link(
+					"http://localhost/pojos/1", "bar"));
+			Map<String, Object> result = new ObjectMapper(format.createJsonFactory()).readValue(
+					mapper.writeValueAsBytes(resource), Map.class);
+
+			assertThat((Map<String, Object>) result.get("_links"), hasKey("curies"));
+		}
+	}
+
+	static Resources<Resource<SimplePojo>> createResources(int count) {
+
+		List<Resource<SimplePojo>> content = new ArrayList<Resource<SimplePojo>>(count);
+
+		for (int i = 0; i < count; i++) {
+			content.add(new Resource<SimplePojo>(new SimplePojo("text" + i, i), new Link("http://localhost/pojos/" + i)));
+		}
+
+		return new Resources<Resource<SimplePojo>>(content, new Link("http://localhost/pojos"));
+	}
+}
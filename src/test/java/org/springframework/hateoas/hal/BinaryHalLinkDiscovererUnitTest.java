@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.hal;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import org.hamcrest.Matchers;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkDiscoverer;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.hateoas.core.AnnotationRelProvider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit tests for {@link BinaryHalLinkDiscoverer}.
+ * 
+ * @author agent
+ */
+public class BinaryHalLinkDiscovererUnitTest {
+
+	LinkDiscoverer discoverer;
+	byte[] representation;
+
+	@Before
+	public void setUp() throws Exception {
+
+		this.discoverer = new BinaryHalLinkDiscoverer(BinaryHalFormat.SMILE);
+
+		ResourceSupport resource = new ResourceSupport();
+		resource.add(new Link("selfHref"));
+		resource.add(new Link("firstHref", "relation"));
+		resource.add(new Link("secondHref", "relation"));
+
+		ObjectMapper mapper = BinaryHalFormat.SMILE.createObjectMapper(new AnnotationRelProvider(), null);
+		this.representation = mapper.writeValueAsBytes(resource);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNullFormat() {
+		new BinaryHalLinkDiscoverer((BinaryHalFormat) null);
+	}
+
+	@Test
+	public void supportsMediaTypeOfFormat() {
+
+		assertThat(discoverer.supports(MediaTypes.HAL_SMILE), is(true));
+		assertThat(discoverer.supports(MediaTypes.HAL_JSON), is(false));
+	}
+
+	@Test
+	public void findsSingleLink() {
+
+		assertThat(discoverer.findLinkWithRel("self", new ByteArrayInputStream(representation)), is(new Link("selfHref")));
+
+		List<Link> links = discoverer.findLinksWithRel("self", new ByteArrayInputStream(representation));
+		assertThat(links, hasSize(1));
+		assertThat(links, hasItem(new Link("selfHref")));
+	}
+
+	@Test
+	public void findsAllLinks() {
+
+		List<Link> links = discoverer.findLinksWithRel("relation", new ByteArrayInputStream(representation));
+
+		assertThat(links, hasSize(2));
+		assertThat(links, hasItems(new Link("firstHref", "relation"), new Link("secondHref", "relation")));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void rejectsStringRepresentation() throws Exception {
+		discoverer.findLinkWithRel("relation", new String(representation, "ISO-8859-1"));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void rejectsStringRepresentationForAllLinks() throws Exception {
+		discoverer.findLinksWithRel("relation", new String(representation, "ISO-8859-1"));
+	}
+
+	@Test
+	public void returnsNullForInexistingLink() {
+		assertThat(discoverer.findLinkWithRel("something", new ByteArrayInputStream(representation)), is(nullValue()));
+	}
+
+	@Test
+	public void returnsEmptyListForNonExistingLinkContainer() throws Exception {
+
+		byte[] empty = BinaryHalFormat.SMILE.createObjectMapper(new AnnotationRelProvider(), null).writeValueAsBytes(
+				new ResourceSupport());
+
+		assertThat(discoverer.findLinksWithRel("self", new ByteArrayInputStream(empty)), is(Matchers.<Link> empty()));
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2013-2014 the original author or authors.
+ * Copyright 2013-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import static org.junit.Assert.*;
 
 import org.junit.Test;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Links;
 import org.springframework.hateoas.UriTemplate;
 
 /**
@@ -96,4 +97,18 @@ public class DefaultCurieProviderUnitTest {
 	public void doesNotPrefixQualifiedRelsForRelAsString() {
 		assertThat(provider.getNamespacedRelFor("custom:rel"), is("custom:rel"));
 	}
+
+	@Test
+	public void returnsSameCurieInformationForSubsequentCalls() {
+
+		Links links = new Links(new Link("http://amazon.com", "book"));
+		Object curieInformation = provider.getCurieInformation(links);
+
+		assertThat(provider.getCurieInformation(links), is(sameInstance(curieInformation)));
+	}
+
+	@Test
+	public void returnsCachedNamespacedRel() {
+		assertThat(provider.getNamespacedRelFor("book"), is(sameInstance(provider.getNamespacedRelFor("book"))));
+	}
 }
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.hal;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.hateoas.Resources;
+import org.springframework.hateoas.VersionedResource;
+import org.springframework.hateoas.core.AnnotationRelProvider;
+import org.springframework.hateoas.core.Relation;
+import org.springframework.hateoas.hal.Jackson2HalModule.HalHandlerInstantiator;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Unit tests for {@link HalRepresentationCache}.
+ * 
+ * @author agent
+ */
+public class HalRepresentationCacheUnitTest {
+
+	HalRepresentationCache cache;
+	ObjectMapper mapper, plainMapper;
+
+	@Before
+	public void setUp() {
+
+		this.cache = new HalRepresentationCache(1024 * 1024);
+		this.mapper = createMapper(cache);
+		this.plainMapper = createMapper(null);
+	}
+
+	@After
+	public void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonPositiveMaximumSize() {
+		new HalRepresentationCache(0);
+	}
+
+	@Test
+	public void rendersSameRepresentationAsWithoutCache() throws Exception {
+
+		Resources<Object> resources = createResources();
+		String expected = plainMapper.writeValueAsString(resources);
+
+		assertThat(mapper.writeValueAsString(resources), is(expected));
+		assertThat(mapper.writeValueAsString(resources), is(expected));
+		assertThat(mapper.writeValueAsBytes(resources), is(plainMapper.writeValueAsBytes(resources)));
+	}
+
+	@Test
+	public void reusesRenderedRepresentationOfUnchangedVersion() throws Exception {
+
+		Person person = new Person("Dave", 1L, "http://localhost/persons/1");
+		Resources<Person> resources = new Resources<Person>(Arrays.asList(person));
+
+		mapper.writeValueAsBytes(resources);
+		mapper.writeValueAsBytes(resources);
+
+		assertThat(person.rendered, is(1));
+		assertThat(cache.size(), is(1));
+		assertThat(cache.getMisses(), is(1L));
+		assertThat(cache.getHits(), is(1L));
+	}
+
+	@Test
+	public void rendersNewVersionAgain() throws Exception {
+
+		Person person = new Person("Dave", 1L, "http://localhost/persons/1");
+		mapper.writeValueAsBytes(new Resources<Person>(Arrays.asList(person)));
+
+		Person updated = new Person("Carter", 2L, "http://localhost/persons/1");
+		String result = mapper.writeValueAsString(new Resources<Person>(Arrays.asList(updated)));
+
+		assertThat(result, containsString("Carter"));
+		assertThat(updated.rendered, is(1));
+		assertThat(cache.size(), is(2));
+	}
+
+	@Test
+	public void keysRepresentationsBySelfLink() throws Exception {
+
+		Person first = new Person("Dave", 1L, "http://localhost/persons/1");
+		Person second = new Person("Dave", 1L, "http://example.com/persons/1");
+
+		String result = mapper.writeValueAsString(new Resources<Person>(Arrays.asList(first, second)));
+
+		assertThat(result, containsString("http://localhost/persons/1"));
+		assertThat(result, containsString("http://example.com/persons/1"));
+		assertThat(cache.size(), is(2));
+	}
+
+	@Test
+	public void doesNotCacheUnversionedResources() throws Exception {
+
+		Person person = new Person("Dave", null, "http://localhost/persons/1");
+		Resources<Person> resources = new Resources<Person>(Arrays.asList(person));
+
+		mapper.writeValueAsBytes(resources);
+		mapper.writeValueAsBytes(resources);
+
+		assertThat(person.rendered, is(2));
+		assertThat(cache.size(), is(0));
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedRepresentationsExceedingMaximumSize() throws Exception {
+
+		Person first = new Person("Dave", 1L, "http://localhost/persons/1");
+		int size = mapper.writeValueAsBytes(first).length;
+
+		HalRepresentationCache cache = new HalRepresentationCache(2 * size);
+		ObjectMapper mapper = createMapper(cache);
+
+		Person second = new Person("Dave", 1L, "http://localhost/persons/2");
+		Person third = new Person("Dave", 1L, "http://localhost/persons/3");
+
+		mapper.writeValueAsBytes(new Resources<Person>(Arrays.asList(first, second)));
+		mapper.writeValueAsBytes(new Resources<Person>(Arrays.asList(first, third)));
+
+		assertThat(cache.size(), is(2));
+		assertThat(cache.getBytes(), is(2L * size));
+
+		mapper.writeValueAsBytes(new Resources<Person>(Arrays.asList(second)));
+
+		assertThat(second.rendered, is(2));
+	}
+
+	@Test
+	public void doesNotUseCacheForPrettyPrintedOutput() throws Exception {
+
+		Person person = new Person("Dave", 1L, "http://localhost/persons/1");
+		mapper.enable(SerializationFeature.INDENT_OUTPUT);
+
+		mapper.writeValueAsBytes(new Resources<Person>(Arrays.asList(person)));
+
+		assertThat(cache.size(), is(0));
+	}
+
+	@Test
+	public void doesNotUseCacheIfLinksAreFiltered() throws Exception {
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addParameter("rels", "persons");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+		Person person = new Person("Dave", 1L, "http://localhost/persons/1");
+		mapper.writeValueAsBytes(new Resources<Person>(Arrays.asList(person)));
+
+		assertThat(cache.size(), is(0));
+	}
+
+	@Test
+	public void clearsCache() throws Exception {
+
+		mapper.writeValueAsBytes(createResources());
+		cache.clear();
+
+		assertThat(cache.size(), is(0));
+		assertThat(cache.getBytes(), is(0L));
+	}
+
+	private static Resources<Object> createResources() {
+
+		Person first = new Person("Dave", 1L, "http://localhost/persons/1");
+		Person second = new Person("Carter äöü", 3L, "http://localhost/persons/2");
+		Person unversioned = new Person("Oliver", null, "http://localhost/persons/3");
+
+		ResourceSupport other = new ResourceSupport();
+		other.add(new Link("http://localhost/other"));
+
+		return new Resources<Object>(Arrays.<Object> asList(first, second, unversioned, other),
+				new Link("http://localhost/persons"));
+	}
+
+	private static ObjectMapper createMapper(HalRepresentationCache cache) {
+
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.registerModule(new Jackson2HalModule());
+		mapper.setHandlerInstantiator(new HalHandlerInstantiator(new AnnotationRelProvider(), null, true, cache));
+
+		return mapper;
+	}
+
+	@Relation(collectionRelation = "persons")
+	static class Person extends ResourceSupport implements VersionedResource {
+
+		final String name;
+		final Long version;
+		int rendered;
+
+		public Person(String name, Long version, String self) {
+
+			this.name = name;
+			this.version = version;
+
+			add(new Link(self));
+		}
+
+		@JsonProperty
+		public String getName() {
+
+			rendered++;
+			return name;
+		}
+
+		@Override
+		public Object getResourceVersion() {
+			return version;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2014 the original author or authors.
+ * Copyright 2012-2015 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,28 +18,52 @@ package org.springframework.hateoas.hal;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.hateoas.AbstractJackson2MarshallingIntegrationTest;
+import org.springframework.hateoas.CursorResources;
+import org.springframework.hateoas.CursorResources.CursorMetadata;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkFilter;
+import org.springframework.hateoas.LinkPrototypes;
+import org.springframework.hateoas.LinkSupplier;
 import org.springframework.hateoas.Links;
 import org.springframework.hateoas.PagedResources;
 import org.springframework.hateoas.PagedResources.PageMetadata;
 import org.springframework.hateoas.Resource;
 import org.springframework.hateoas.ResourceSupport;
 import org.springframework.hateoas.Resources;
+import org.springframework.hateoas.SlicedResources;
+import org.springframework.hateoas.SlicedResources.SliceMetadata;
+import org.springframework.hateoas.StaticLink;
+import org.springframework.hateoas.StreamingResources;
 import org.springframework.hateoas.UriTemplate;
 import org.springframework.hateoas.core.AnnotationRelProvider;
 import org.springframework.hateoas.core.EmbeddedWrappers;
 import org.springframework.hateoas.hal.Jackson2HalModule.HalHandlerInstantiator;
-
+import org.springframework.hateoas.hal.Jackson2HalModule.HalLinkListSerializer;
+import org.springframework.hateoas.hal.Jackson2HalModule.HalStreamingResourcesSerializer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.HandlerInstantiator;
 
 /**
  * Integration tests for Jackson 2 HAL integration.
@@ -61,6 +85,8 @@ public class Jackson2HalIntegrationTest extends AbstractJackson2MarshallingInteg
 
 	static final String ANNOTATED_PAGED_RESOURCES = "{\"_links\":{\"next\":{\"href\":\"foo\"},\"prev\":{\"href\":\"bar\"}},\"_embedded\":{\"pojos\":[{\"text\":\"test1\",\"number\":1,\"_links\":{\"self\":{\"href\":\"localhost\"}}},{\"text\":\"test2\",\"number\":2,\"_links\":{\"self\":{\"href\":\"localhost\"}}}]},\"page\":{\"size\":2,\"totalElements\":4,\"totalPages\":2,\"number\":0}}";
 
+	static final String ANNOTATED_SLICED_RESOURCES = "{\"_links\":{\"next\":{\"href\":\"/pojos?page=1&size=2\"}},\"_embedded\":{\"pojos\":[{\"text\":\"test1\",\"number\":1,\"_links\":{\"self\":{\"href\":\"localhost\"}}},{\"text\":\"test2\",\"number\":2,\"_links\":{\"self\":{\"href\":\"localhost\"}}}]},\"slice\":{\"size\":2,\"number\":0,\"hasNext\":true}}";
+
 	static final Links PAGINATION_LINKS = new Links(new Link("foo", Link.REL_NEXT), new Link("bar", Link.REL_PREVIOUS));
 
 	static final String CURIED_DOCUMENT = "{\"_links\":{\"self\":{\"href\":\"foo\"},\"foo:myrel\":{\"href\":\"bar\"},\"curies\":[{\"href\":\"http://localhost:8080/rels/{rel}\",\"name\":\"foo\",\"templated\":true}]}}";
@@ -280,6 +306,35 @@ public class Jackson2HalIntegrationTest extends AbstractJackson2MarshallingInteg
 		assertThat(result, is(setupAnnotatedPagedResources()));
 	}
 
+	@Test
+	public void serializesSlicedResources() throws Exception {
+		assertThat(write(setupAnnotatedSlicedResources()), is(ANNOTATED_SLICED_RESOURCES));
+	}
+
+	@Test
+	public void deserializesSlicedResources() throws Exception {
+
+		SlicedResources<Resource<SimpleAnnotatedPojo>> result = mapper.readValue(
+				ANNOTATED_SLICED_RESOURCES,
+				mapper.getTypeFactory().constructParametricType(SlicedResources.class,
+						mapper.getTypeFactory().constructParametricType(Resource.class, SimpleAnnotatedPojo.class)));
+
+		assertThat(result, is(setupAnnotatedSlicedResources()));
+	}
+
+	@Test
+	public void serializesCursorResources() throws Exception {
+
+		CursorResources<Resource<SimpleAnnotatedPojo>> resources = new CursorResources<Resource<SimpleAnnotatedPojo>>(
+				Collections.singleton(new Resource<SimpleAnnotatedPojo>(new SimpleAnnotatedPojo("test1", 1))),
+				new CursorMetadata(1, "dGVzdDE", null));
+		resources.addPaginationLinks(new Link("/pojos{?cursor,size}"));
+
+		assertThat(write(resources), is("{\"_links\":{\"next\":{\"href\":\"/pojos?cursor=dGVzdDE&size=1\"}},"
+				+ "\"_embedded\":{\"pojos\":[{\"text\":\"test1\",\"number\":1}]},"
+				+ "\"slice\":{\"size\":1,\"hasNext\":true,\"hasPrevious\":false}}"));
+	}
+
 	/**
 	 * @see #125
 	 */
@@ -361,6 +416,321 @@ public class Jackson2HalIntegrationTest extends AbstractJackson2MarshallingInteg
 		assertThat(write(resources), is("{\"_embedded\":{\"pojos\":[]}}"));
 	}
 
+	@Test
+	public void rendersStaticLinksIdenticallyForSubsequentRequests() throws Exception {
+
+		ResourceSupport resourceSupport = new ResourceSupport();
+		resourceSupport.add(new StaticLink("localhost"));
+		resourceSupport.add(new StaticLink("/foo{?bar}", "search"));
+
+		String expected = "{\"_links\":{\"self\":{\"href\":\"localhost\"},\"search\":{\"href\":\"/foo{?bar}\",\"templated\":true}}}";
+
+		assertThat(write(resourceSupport), is(expected));
+		assertThat(getStaticLinkCache(mapper).size(), is(2));
+		assertThat(write(resourceSupport), is(expected));
+		assertThat(getStaticLinkCache(mapper).size(), is(2));
+	}
+
+	@Test
+	public void writesStaticLinksFromFragmentCache() throws Exception {
+
+		ResourceSupport resourceSupport = new ResourceSupport();
+		resourceSupport.add(new StaticLink("localhost"));
+
+		assertThat(write(resourceSupport), is(SINGLE_LINK_REFERENCE));
+
+		// Replace the rendered fragment to verify subsequent requests write the cached one
+		@SuppressWarnings("unchecked")
+		Map<Object, JsonFragment> fragments = (Map<Object, JsonFragment>) ReflectionTestUtils.getField(
+				getStaticLinkCache(mapper), "fragments");
+		fragments.put(new StaticLink("localhost"), new JsonFragment("{\"href\":\"cached\"}".getBytes("UTF-8")));
+
+		assertThat(write(resourceSupport), is("{\"_links\":{\"self\":{\"href\":\"cached\"}}}"));
+	}
+
+	@Test
+	public void rendersStaticLinksInArrays() throws Exception {
+
+		ResourceSupport resourceSupport = new ResourceSupport();
+		resourceSupport.add(new StaticLink("localhost"));
+		resourceSupport.add(new Link("localhost2"));
+
+		assertThat(write(resourceSupport), is(LIST_LINK_REFERENCE));
+		assertThat(write(resourceSupport), is(LIST_LINK_REFERENCE));
+		assertThat(getStaticLinkCache(mapper).size(), is(1));
+	}
+
+	@Test
+	public void rendersCuriesCorrectlyForSubsequentRequests() throws Exception {
+
+		Resources<Object> resources = new Resources<Object>(Collections.emptySet(), new Link("foo"), new Link("bar",
+				"myrel"));
+		ObjectMapper mapper = getCuriedObjectMapper();
+
+		assertThat(mapper.writeValueAsString(resources), is(CURIED_DOCUMENT));
+		assertThat(mapper.writeValueAsString(resources), is(CURIED_DOCUMENT));
+		assertThat(getStaticLinkCache(mapper).size(), is(1));
+	}
+
+	@Test
+	public void rendersStaticLinksWithPrettyPrinter() throws Exception {
+
+		ResourceSupport resourceSupport = new ResourceSupport();
+		resourceSupport.add(new StaticLink("localhost"));
+
+		String expected = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(resourceSupport);
+
+		assertThat(expected, containsString("\n"));
+		assertThat(mapper.writerWithDefaultPrettyPrinter().writeValueAsString(resourceSupport), is(expected));
+		assertThat(getStaticLinkCache(mapper).size(), is(0));
+	}
+
+	@Test
+	public void rendersStreamingResourcesLikeResources() throws Exception {
+
+		Resources<Resource<SimpleAnnotatedPojo>> resources = setupAnnotatedResources();
+		resources.add(new Link("localhost"));
+
+		StreamingResources<Resource<SimpleAnnotatedPojo>> streaming = new StreamingResources<Resource<SimpleAnnotatedPojo>>(
+				setupAnnotatedResources().getContent().iterator(), new Link("localhost"));
+
+		assertThat(write(streaming), is(write(resources)));
+	}
+
+	@Test
+	public void omitsEmbeddedForEmptyStreamingResources() throws Exception {
+
+		StreamingResources<Object> streaming = new StreamingResources<Object>(Collections.emptyList().iterator(),
+				new Link("localhost"));
+
+		assertThat(write(streaming), is(SINGLE_LINK_REFERENCE));
+	}
+
+	@Test
+	public void closesEmptyContentOfStreamingResources() throws Exception {
+
+		CloseableIterator<Object> content = new CloseableIterator<Object>(Collections.emptyList().iterator());
+
+		assertThat(write(new StreamingResources<Object>(content, new Link("localhost"))), is(SINGLE_LINK_REFERENCE));
+		assertThat(content.closed, is(true));
+	}
+
+	@Test
+	public void closesContentOfStreamingResourcesAfterRendering() throws Exception {
+
+		CloseableIterator<Object> content = new CloseableIterator<Object>(Collections.<Object> singleton(
+				new SimplePojo("foo", 1)).iterator());
+
+		write(new StreamingResources<Object>(content));
+
+		assertThat(content.hasNext(), is(false));
+		assertThat(content.closed, is(true));
+	}
+
+	@Test
+	public void rendersStreamingResourcesUnderCollectionRelsInOrder() throws Exception {
+
+		List<Object> content = new ArrayList<Object>();
+		content.add(new SimpleAnnotatedPojo("test1", 1));
+		content.add(new SimplePojo("test2", 2));
+
+		StreamingResources<Object> streaming = new StreamingResources<Object>(content.iterator());
+
+		assertThat(write(streaming),
+				is("{\"_embedded\":{\"pojos\":[{\"text\":\"test1\",\"number\":1}],\"content\":[{\"text\":\"test2\",\"number\":2}]}}"));
+	}
+
+	@Test(expected = JsonProcessingException.class)
+	public void rejectsStreamingResourcesWithNonConsecutiveRels() throws Exception {
+
+		List<Object> content = new ArrayList<Object>();
+		content.add(new SimplePojo("test1", 1));
+		content.add(new SimpleAnnotatedPojo("test2", 2));
+		content.add(new SimplePojo("test3", 3));
+
+		write(new StreamingResources<Object>(content.iterator()));
+	}
+
+	@Test
+	public void flushesStreamingResourcesInChunks() throws Exception {
+
+		int numberOfElements = HalStreamingResourcesSerializer.FLUSH_INTERVAL * 3;
+		List<SimplePojo> content = new ArrayList<SimplePojo>(numberOfElements);
+
+		for (int i = 0; i < numberOfElements; i++) {
+			content.add(new SimplePojo("test", i));
+		}
+
+		final AtomicInteger flushes = new AtomicInteger();
+
+		OutputStream stream = new ByteArrayOutputStream() {
+
+			@Override
+			public void flush() throws IOException {
+				flushes.incrementAndGet();
+			}
+		};
+
+		mapper.writeValue(stream, new StreamingResources<SimplePojo>(content.iterator()));
+
+		assertThat(flushes.get(), is(greaterThanOrEqualTo(3)));
+	}
+
+	@Test
+	public void rendersRequestedLinksOnly() throws Exception {
+
+		ResourceSupport resourceSupport = new ResourceSupport();
+		resourceSupport.add(new Link("localhost"));
+		resourceSupport.add(new Link("localhost2", Link.REL_NEXT));
+
+		bindRequestWithRels("self");
+
+		try {
+			assertThat(write(resourceSupport), is(SINGLE_LINK_REFERENCE));
+		} finally {
+			RequestContextHolder.resetRequestAttributes();
+		}
+	}
+
+	@Test
+	public void omitsLinksIfNoneRequested() throws Exception {
+
+		ResourceSupport resourceSupport = new ResourceSupport();
+		resourceSupport.add(new Link("localhost"));
+
+		bindRequestWithRels("next");
+
+		try {
+			assertThat(write(resourceSupport), is(EMPTY_DOCUMENT));
+		} finally {
+			RequestContextHolder.resetRequestAttributes();
+		}
+	}
+
+	@Test
+	public void rendersRequestedCuriedLinksWithCuries() throws Exception {
+
+		ResourceSupport resourceSupport = new ResourceSupport();
+		resourceSupport.add(new Link("foo"));
+		resourceSupport.add(new Link("bar", "myrel"));
+		resourceSupport.add(new Link("baz", "otherrel"));
+
+		bindRequestWithRels("self", "foo:myrel");
+
+		try {
+			assertThat(getCuriedObjectMapper().writeValueAsString(resourceSupport), is(CURIED_DOCUMENT));
+		} finally {
+			RequestContextHolder.resetRequestAttributes();
+		}
+	}
+
+	@Test
+	public void rendersAllEmbeddedsIfLinksAreFiltered() throws Exception {
+
+		Resources<Resource<SimpleAnnotatedPojo>> resources = setupAnnotatedResources();
+		resources.add(new Link("localhost"));
+
+		StreamingResources<Resource<SimpleAnnotatedPojo>> streaming = new StreamingResources<Resource<SimpleAnnotatedPojo>>(
+				setupAnnotatedResources().getContent().iterator(), new Link("localhost"));
+
+		String expected = SINGLE_LINK_REFERENCE.substring(0, SINGLE_LINK_REFERENCE.length() - 1) + ","
+				+ ANNOTATED_EMBEDDED_RESOURCES_REFERENCE.substring(1);
+
+		bindRequestWithRels("self");
+
+		try {
+			assertThat(write(resources), is(expected));
+			assertThat(write(streaming), is(expected));
+		} finally {
+			RequestContextHolder.resetRequestAttributes();
+		}
+	}
+
+	@Test
+	public void rendersLazyLinks() throws Exception {
+
+		ResourceSupport resourceSupport = new ResourceSupport();
+		resourceSupport.add(Link.REL_SELF, new LinkSupplier() {
+
+			@Override
+			public Link getLink() {
+				return new Link("localhost");
+			}
+		});
+
+		assertThat(write(resourceSupport), is(SINGLE_LINK_REFERENCE));
+	}
+
+	@Test
+	public void doesNotBuildLazyLinksNotRequested() throws Exception {
+
+		ResourceSupport resourceSupport = new ResourceSupport();
+		resourceSupport.add(new Link("localhost"));
+		resourceSupport.add(Link.REL_NEXT, new LinkSupplier() {
+
+			@Override
+			public Link getLink() {
+				throw new IllegalStateException("Must not be invoked!");
+			}
+		});
+
+		bindRequestWithRels("self");
+
+		try {
+			assertThat(write(resourceSupport), is(SINGLE_LINK_REFERENCE));
+		} finally {
+			RequestContextHolder.resetRequestAttributes();
+		}
+	}
+
+	@Test
+	public void rendersBoundLinksLikePlainLinks() throws Exception {
+
+		Link self = new Link("http://localhost/customers/{id}");
+		Link orders = new Link("http://localhost/customers/{id}/orders{?page}", "orders");
+		Link address = new Link("http://localhost/customers/{id}/address", "related");
+		Link related = new Link("http://localhost/customers/{id}/addresses", "related");
+
+		ResourceSupport expected = new ResourceSupport();
+		expected.add(self.expand(4711), new Link("http://localhost/customers/4711/orders{?page}", "orders"),
+				address.expand(4711), related.expand(4711));
+
+		ResourceSupport resource = new ResourceSupport();
+		resource.add(new LinkPrototypes(self, orders, address, related).bind(4711));
+
+		assertThat(write(resource), is(write(expected)));
+		assertThat(write(resource), containsString("\"templated\":true"));
+	}
+
+	@Test
+	public void rendersLazilyWrappedResourcesLikeWrappedOnes() throws Exception {
+
+		List<SimplePojo> content = Arrays.asList(new SimplePojo("text", 1), new SimplePojo("other", 2));
+		Link link = new Link("localhost");
+
+		Resources<Resource<SimplePojo>> expected = Resources.wrap(content);
+		expected.add(link);
+
+		assertThat(write(Resources.wrapLazily(content, link)), is(write(expected)));
+	}
+
+	private static void bindRequestWithRels(String... rels) {
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addParameter(LinkFilter.PARAMETER, rels);
+
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	private static JsonFragmentCache getStaticLinkCache(ObjectMapper mapper) {
+
+		HandlerInstantiator instantiator = mapper.getSerializationConfig().getHandlerInstantiator();
+		Object serializer = instantiator.serializerInstance(mapper.getSerializationConfig(), null,
+				HalLinkListSerializer.class);
+
+		return (JsonFragmentCache) ReflectionTestUtils.getField(serializer, "staticLinks");
+	}
+
 	private static Resources<Resource<SimpleAnnotatedPojo>> setupAnnotatedPagedResources() {
 
 		List<Resource<SimpleAnnotatedPojo>> content = new ArrayList<Resource<SimpleAnnotatedPojo>>();
@@ -370,6 +740,19 @@ public class Jackson2HalIntegrationTest extends AbstractJackson2MarshallingInteg
 		return new PagedResources<Resource<SimpleAnnotatedPojo>>(content, new PageMetadata(2, 0, 4), PAGINATION_LINKS);
 	}
 
+	private static SlicedResources<Resource<SimpleAnnotatedPojo>> setupAnnotatedSlicedResources() {
+
+		List<Resource<SimpleAnnotatedPojo>> content = new ArrayList<Resource<SimpleAnnotatedPojo>>();
+		content.add(new Resource<SimpleAnnotatedPojo>(new SimpleAnnotatedPojo("test1", 1), new Link("localhost")));
+		content.add(new Resource<SimpleAnnotatedPojo>(new SimpleAnnotatedPojo("test2", 2), new Link("localhost")));
+
+		SlicedResources<Resource<SimpleAnnotatedPojo>> resources = new SlicedResources<Resource<SimpleAnnotatedPojo>>(
+				content, new SliceMetadata(2, 0, true));
+		resources.addPaginationLinks(new Link("/pojos{?page,size}"));
+
+		return resources;
+	}
+
 	private static Resources<Resource<SimpleAnnotatedPojo>> setupAnnotatedResources() {
 
 		List<Resource<SimpleAnnotatedPojo>> content = new ArrayList<Resource<SimpleAnnotatedPojo>>();
@@ -401,4 +784,34 @@ public class Jackson2HalIntegrationTest extends AbstractJackson2MarshallingInteg
 
 		return mapper;
 	}
+
+	static class CloseableIterator<T> implements Iterator<T>, Closeable {
+
+		private final Iterator<T> delegate;
+		boolean closed = false;
+
+		public CloseableIterator(Iterator<T> delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return delegate.hasNext();
+		}
+
+		@Override
+		public T next() {
+			return delegate.next();
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void close() {
+			this.closed = true;
+		}
+	}
 }
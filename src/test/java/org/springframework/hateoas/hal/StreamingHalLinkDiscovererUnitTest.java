@@ -0,0 +1,137 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.hal;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkDiscoverer;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.core.AbstractLinkDiscovererUnitTest;
+import org.springframework.http.MediaType;
+
+/**
+ * Unit tests for {@link StreamingHalLinkDiscoverer}.
+ * 
+ * @author agent
+ */
+public class StreamingHalLinkDiscovererUnitTest extends AbstractLinkDiscovererUnitTest {
+
+	static final LinkDiscoverer discoverer = new StreamingHalLinkDiscoverer();
+	static final String SAMPLE = "{ _links : { self : { href : 'selfHref' }, " + //
+			"relation : [ { href : 'firstHref' }, { href : 'secondHref' }], " + //
+			"'http://foo.com/bar' : { href : 'fullRelHref' } }}";
+
+	@Test
+	public void discoversFullyQualifiedRel() {
+		assertThat(getDiscoverer().findLinkWithRel("http://foo.com/bar", SAMPLE), is(notNullValue()));
+	}
+
+	@Test
+	public void supportsHalJson() {
+
+		assertThat(discoverer.supports(MediaTypes.HAL_JSON), is(true));
+		assertThat(discoverer.supports(MediaType.APPLICATION_XML), is(false));
+	}
+
+	@Test
+	public void skipsPropertiesPrecedingLinks() {
+
+		String representation = "{ \"name\" : { \"_links\" : { \"self\" : { \"href\" : \"nested\" }}}, "
+				+ "\"tags\" : [ 1, 2 ], \"_links\" : { \"self\" : { \"href\" : \"selfHref\" }}}";
+
+		assertThat(discoverer.findLinkWithRel("self", representation), is(new Link("selfHref")));
+	}
+
+	@Test
+	public void ignoresLinksNotNestedInLinksObjectDirectly() {
+
+		String representation = "{ \"_embedded\" : { \"self\" : { \"href\" : \"embedded\" }}, "
+				+ "\"_links\" : { \"other\" : { \"self\" : { \"href\" : \"nested\" }}}}";
+
+		assertThat(discoverer.findLinkWithRel("self", representation), is(nullValue()));
+	}
+
+	@Test
+	public void ignoresLinkObjectsWithoutHref() {
+		assertThat(discoverer.findLinksWithRel("self", "{ \"_links\" : { \"self\" : [ { \"name\" : \"foo\" }, 42 ]}}"),
+				is(empty()));
+	}
+
+	@Test
+	public void stopsReadingOnceLinkWasFound() throws Exception {
+
+		String representation = "{ \"_links\" : { \"next\" : { \"href\" : \"nextHref\" }}, \"_embedded\" : { invalid";
+		TrackingInputStream stream = new TrackingInputStream(representation.getBytes("UTF-8"));
+
+		assertThat(discoverer.findLinkWithRel("next", stream), is(new Link("nextHref", "next")));
+		assertThat(stream.closed, is(true));
+	}
+
+	@Test
+	public void stopsReadingAtEndOfLinksObject() throws Exception {
+
+		String representation = "{ \"_links\" : { \"self\" : { \"href\" : \"selfHref\" }}, \"_embedded\" : { invalid";
+		assertThat(discoverer.findLinkWithRel("next", representation), is(nullValue()));
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.core.AbstractLinkDiscovererUnitTest#getDiscoverer()
+	 */
+	@Override
+	protected LinkDiscoverer getDiscoverer() {
+		return discoverer;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.core.AbstractLinkDiscovererUnitTest#getInputString()
+	 */
+	@Override
+	protected String getInputString() {
+		return SAMPLE;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.core.AbstractLinkDiscovererUnitTest#getInputStringWithoutLinkContainer()
+	 */
+	@Override
+	protected String getInputStringWithoutLinkContainer() {
+		return "{}";
+	}
+
+	static class TrackingInputStream extends ByteArrayInputStream {
+
+		boolean closed;
+
+		public TrackingInputStream(byte[] bytes) {
+			super(bytes);
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.closed = true;
+			super.close();
+		}
+	}
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkFilter;
+import org.springframework.hateoas.Resource;
+import org.springframework.hateoas.ResourceAssembler;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.hateoas.Resources;
+import org.springframework.hateoas.mvc.CachingResourceAssembler.KeyExtractor;
+import org.springframework.hateoas.mvc.CachingResourceAssembler.Statistics;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Unit tests for {@link CachingResourceAssembler}.
+ * 
+ * @author agent
+ */
+public class CachingResourceAssemblerUnitTest {
+
+	static final KeyExtractor<Person> EXTRACTOR = new KeyExtractor<Person>() {
+
+		@Override
+		public Object getId(Person entity) {
+			return entity.id;
+		}
+
+		@Override
+		public Object getVersion(Person entity) {
+			return entity.version;
+		}
+	};
+
+	CountingAssembler delegate = new CountingAssembler();
+	CachingResourceAssembler<Person, Resource<Person>> assembler = new CachingResourceAssembler<Person, Resource<Person>>(
+			delegate, EXTRACTOR, 2);
+
+	@After
+	public void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	public void returnsCachedResourceForSameVersion() {
+
+		Resource<Person> resource = assembler.toResource(new Person(1L, 0));
+
+		assertThat(assembler.toResource(new Person(1L, 0)), is(sameInstance(resource)));
+		assertThat(delegate.invocations, is(1));
+
+		Statistics statistics = assembler.getStatistics();
+
+		assertThat(statistics.getHits(), is(1L));
+		assertThat(statistics.getMisses(), is(1L));
+		assertThat(statistics.getSize(), is(1));
+		assertThat(statistics.getHitRatio(), is(0.5));
+	}
+
+	@Test
+	public void assemblesResourceAgainForNewVersion() {
+
+		Resource<Person> resource = assembler.toResource(new Person(1L, 0));
+
+		assertThat(assembler.toResource(new Person(1L, 1)), is(not(sameInstance(resource))));
+		assertThat(delegate.invocations, is(2));
+	}
+
+	@Test
+	public void cachesResourcesPerBaseUri() {
+
+		bindRequest("localhost");
+		Resource<Person> resource = assembler.toResource(new Person(1L, 0));
+
+		bindRequest("example.com");
+		assertThat(assembler.toResource(new Person(1L, 0)), is(not(sameInstance(resource))));
+
+		bindRequest("localhost");
+		assertThat(assembler.toResource(new Person(1L, 0)), is(sameInstance(resource)));
+		assertThat(delegate.invocations, is(2));
+	}
+
+	@Test
+	public void cachesResourcesPerRequestedRels() {
+
+		bindRequest("localhost", "self");
+		Resource<Person> sparse = assembler.toResource(new Person(1L, 0));
+
+		bindRequest("localhost", null);
+		Resource<Person> full = assembler.toResource(new Person(1L, 0));
+
+		assertThat(full, is(not(sameInstance(sparse))));
+
+		bindRequest("localhost", "self");
+		assertThat(assembler.toResource(new Person(1L, 0)), is(sameInstance(sparse)));
+
+		bindRequest("localhost", null);
+		assertThat(assembler.toResource(new Person(1L, 0)), is(sameInstance(full)));
+		assertThat(delegate.invocations, is(2));
+	}
+
+	@Test
+	public void calculatesBaseUriOncePerRequest() {
+
+		bindRequest("localhost");
+		assembler.toResource(new Person(1L, 0));
+
+		ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+		((MockHttpServletRequest) attributes.getRequest()).setServerName("example.com");
+
+		assembler.toResource(new Person(1L, 0));
+		assertThat(delegate.invocations, is(1));
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedResource() {
+
+		assembler.toResource(new Person(1L, 0));
+		assembler.toResource(new Person(2L, 0));
+		assembler.toResource(new Person(1L, 0));
+		assembler.toResource(new Person(3L, 0));
+
+		assertThat(assembler.getStatistics().getEvictions(), is(1L));
+		assertThat(assembler.getStatistics().getSize(), is(2));
+
+		assembler.toResource(new Person(1L, 0));
+		assertThat(delegate.invocations, is(3));
+
+		assembler.toResource(new Person(2L, 0));
+		assertThat(delegate.invocations, is(4));
+	}
+
+	@Test
+	public void expiresResourcesAfterTimeToLive() {
+
+		final long[] time = new long[] { 0 };
+
+		CachingResourceAssembler<Person, Resource<Person>> assembler = new CachingResourceAssembler<Person, Resource<Person>>(
+				delegate, EXTRACTOR, 2, 100) {
+
+			@Override
+			protected long getCurrentTime() {
+				return time[0];
+			}
+		};
+
+		assembler.toResource(new Person(1L, 0));
+
+		time[0] = 99;
+		assembler.toResource(new Person(1L, 0));
+		assertThat(delegate.invocations, is(1));
+
+		time[0] = 100;
+		assembler.toResource(new Person(1L, 0));
+		assertThat(delegate.invocations, is(2));
+		assertThat(assembler.getStatistics().getEvictions(), is(1L));
+	}
+
+	@Test
+	public void evictsResourcesForId() {
+
+		assembler.toResource(new Person(1L, 0));
+		assembler.toResource(new Person(2L, 0));
+
+		assembler.evict(1L);
+
+		assertThat(assembler.getStatistics().getSize(), is(1));
+
+		assembler.evictAll();
+
+		assertThat(assembler.getStatistics().getSize(), is(0));
+	}
+
+	@Test
+	public void doesNotCacheResourcesForEntitiesWithoutId() {
+
+		assembler.toResource(new Person(null, 0));
+		assembler.toResource(new Person(null, 0));
+
+		assertThat(delegate.invocations, is(2));
+		assertThat(assembler.getStatistics().getSize(), is(0));
+	}
+
+	@Test
+	public void rejectsModificationOfCachedResourceLinks() {
+
+		Resource<Person> resource = assembler.toResource(new Person(1L, 0));
+
+		try {
+			resource.add(new Link("/foo", "foo"));
+			fail("Expected IllegalStateException!");
+		} catch (IllegalStateException o_O) {}
+
+		try {
+			resource.getLinks().clear();
+			fail("Expected IllegalStateException!");
+		} catch (IllegalStateException o_O) {}
+
+		Resource<Person> cached = assembler.toResource(new Person(1L, 0));
+
+		assertThat(cached, is(sameInstance(resource)));
+		assertThat(cached.getLinks(), hasSize(1));
+	}
+
+	@Test
+	public void doesNotFreezeLinksOfUncachedResources() {
+
+		assembler.toResource(new Person(null, 0)).add(new Link("/foo", "foo"));
+	}
+
+	@Test
+	public void spreadsLargeCacheAcrossSegments() {
+
+		CachingResourceAssembler<Person, Resource<Person>> assembler = new CachingResourceAssembler<Person, Resource<Person>>(
+				delegate, EXTRACTOR, 1000);
+
+		for (long i = 0; i < 500; i++) {
+			assembler.toResource(new Person(i, 0));
+		}
+
+		for (long i = 0; i < 500; i++) {
+			assembler.toResource(new Person(i, 0));
+		}
+
+		Statistics statistics = assembler.getStatistics();
+
+		assertThat(statistics.getSize(), is(500));
+		assertThat(statistics.getHits(), is(500L));
+		assertThat(statistics.getMisses(), is(500L));
+		assertThat(statistics.getEvictions(), is(0L));
+		assertThat(delegate.invocations, is(500));
+
+		assembler.evict(1L);
+		assertThat(assembler.getStatistics().getSize(), is(499));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsCollectionResources() {
+
+		ResourceAssembler<Person, ResourceSupport> delegate = new ResourceAssembler<Person, ResourceSupport>() {
+
+			@Override
+			public ResourceSupport toResource(Person entity) {
+				return new Resources<Person>(Collections.singleton(entity));
+			}
+		};
+
+		new CachingResourceAssembler<Person, ResourceSupport>(delegate, EXTRACTOR, 2).toResource(new Person(1L, 0));
+	}
+
+	private static void bindRequest(String host) {
+		bindRequest(host, null);
+	}
+
+	private static void bindRequest(String host, String rels) {
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setServerName(host);
+
+		if (rels != null) {
+			request.addParameter(LinkFilter.PARAMETER, rels);
+		}
+
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	static class Person {
+
+		final Long id;
+		final long version;
+
+		public Person(Long id, long version) {
+			this.id = id;
+			this.version = version;
+		}
+	}
+
+	static class CountingAssembler implements ResourceAssembler<Person, Resource<Person>> {
+
+		int invocations;
+
+		@Override
+		public Resource<Person> toResource(Person entity) {
+
+			invocations++;
+			return new Resource<Person>(entity, new Link("/people/" + entity.id));
+		}
+	}
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkFilter;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.hateoas.StreamingResources;
+import org.springframework.hateoas.VersionedResource;
+import org.springframework.hateoas.core.AnnotationRelProvider;
+import org.springframework.hateoas.hal.Jackson2HalModule;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit tests for {@link EtagMappingJackson2HttpMessageConverter}.
+ * 
+ * @author agent
+ */
+public class EtagMappingJackson2HttpMessageConverterUnitTest {
+
+	EtagMappingJackson2HttpMessageConverter converter;
+	MockHttpServletRequest request;
+
+	@Before
+	public void setUp() {
+
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.registerModule(new Jackson2HalModule());
+		mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(new AnnotationRelProvider(), null));
+
+		converter = new EtagMappingJackson2HttpMessageConverter(ResourceSupport.class);
+		converter.setSupportedMediaTypes(Arrays.asList(MediaTypes.HAL_JSON));
+		converter.setObjectMapper(mapper);
+
+		request = new MockHttpServletRequest("GET", "/");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	@After
+	public void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	public void addsEtagCalculatedFromRepresentation() throws Exception {
+
+		MockHttpServletResponse response = write(createResource("/foo"));
+
+		assertThat(response.getStatus(), is(200));
+		assertThat(response.getHeader("ETag"), is(notNullValue()));
+		assertThat(response.getContentAsString(), is("{\"_links\":{\"self\":{\"href\":\"/foo\"}}}"));
+		assertThat(response.getContentLength(), is(response.getContentAsByteArray().length));
+
+		assertThat(write(createResource("/foo")).getHeader("ETag"), is(response.getHeader("ETag")));
+		assertThat(write(createResource("/bar")).getHeader("ETag"), is(not(response.getHeader("ETag"))));
+	}
+
+	@Test
+	public void answersMatchingConditionalRequestWithNotModified() throws Exception {
+
+		String etag = write(createResource("/foo")).getHeader("ETag");
+
+		request.addHeader("If-None-Match", "\"other\", " + etag);
+		MockHttpServletResponse response = write(createResource("/foo"));
+
+		assertThat(response.getStatus(), is(304));
+		assertThat(response.getHeader("ETag"), is(etag));
+		assertThat(response.getContentAsByteArray().length, is(0));
+	}
+
+	@Test
+	public void writesBodyForOutdatedConditionalRequest() throws Exception {
+
+		request.addHeader("If-None-Match", "\"outdated\"");
+		MockHttpServletResponse response = write(createResource("/foo"));
+
+		assertThat(response.getStatus(), is(200));
+		assertThat(response.getContentAsString(), is("{\"_links\":{\"self\":{\"href\":\"/foo\"}}}"));
+	}
+
+	@Test
+	public void derivesEtagFromVersionWithoutRendering() throws Exception {
+
+		VersionedPerson person = new VersionedPerson(1L);
+		String etag = write(person).getHeader("ETag");
+
+		assertThat(person.rendered, is(1));
+		assertThat(write(new VersionedPerson(1L)).getHeader("ETag"), is(etag));
+		assertThat(write(new VersionedPerson(2L)).getHeader("ETag"), is(not(etag)));
+
+		request.addHeader("If-None-Match", etag);
+		person = new VersionedPerson(1L);
+		MockHttpServletResponse response = write(person);
+
+		assertThat(response.getStatus(), is(304));
+		assertThat(person.rendered, is(0));
+	}
+
+	@Test
+	public void includesRequestedRelsInVersionEtag() throws Exception {
+
+		String etag = write(new VersionedPerson(1L)).getHeader("ETag");
+
+		request = new MockHttpServletRequest("GET", "/");
+		request.addParameter(LinkFilter.PARAMETER, "self");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+		assertThat(write(new VersionedPerson(1L)).getHeader("ETag"), is(not(etag)));
+	}
+
+	@Test
+	public void includesBaseUriInVersionEtag() throws Exception {
+
+		String etag = write(new VersionedPerson(1L)).getHeader("ETag");
+
+		request = new MockHttpServletRequest("GET", "/");
+		request.setServerName("example.com");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+		assertThat(write(new VersionedPerson(1L)).getHeader("ETag"), is(not(etag)));
+	}
+
+	@Test
+	public void usesSameVersionEtagForRelsRequestedInDifferentOrder() throws Exception {
+
+		request = new MockHttpServletRequest("GET", "/");
+		request.addParameter(LinkFilter.PARAMETER, "self,next");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+		String etag = write(new VersionedPerson(1L)).getHeader("ETag");
+
+		request = new MockHttpServletRequest("GET", "/");
+		request.addParameter(LinkFilter.PARAMETER, "next self");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+		assertThat(write(new VersionedPerson(1L)).getHeader("ETag"), is(etag));
+	}
+
+	@Test
+	public void doesNotBufferStreamingResources() throws Exception {
+
+		MockHttpServletResponse response = write(new StreamingResources<Object>(Arrays.asList().iterator()));
+
+		assertThat(response.getHeader("ETag"), is(nullValue()));
+		assertThat(response.getContentAsString(), is("{}"));
+	}
+
+	@Test
+	public void doesNotAddEtagForNonGetRequests() throws Exception {
+
+		request.setMethod("POST");
+
+		assertThat(write(createResource("/foo")).getHeader("ETag"), is(nullValue()));
+	}
+
+	@Test
+	public void doesNotAddEtagOutsideOfRequest() throws Exception {
+
+		RequestContextHolder.resetRequestAttributes();
+
+		assertThat(write(createResource("/foo")).getHeader("ETag"), is(nullValue()));
+	}
+
+	@Test
+	public void matchesIfNoneMatchHeaders() {
+
+		assertThat(EtagMappingJackson2HttpMessageConverter.matches("\"foo\"", "\"foo\""), is(true));
+		assertThat(EtagMappingJackson2HttpMessageConverter.matches("W/\"foo\"", "\"foo\""), is(true));
+		assertThat(EtagMappingJackson2HttpMessageConverter.matches("*", "\"foo\""), is(true));
+		assertThat(EtagMappingJackson2HttpMessageConverter.matches("\"bar\", \"foo\"", "\"foo\""), is(true));
+		assertThat(EtagMappingJackson2HttpMessageConverter.matches("\"bar\"", "\"foo\""), is(false));
+		assertThat(EtagMappingJackson2HttpMessageConverter.matches(null, "\"foo\""), is(false));
+	}
+
+	private MockHttpServletResponse write(Object object) throws Exception {
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		converter.write(object, MediaTypes.HAL_JSON, new ServletServerHttpResponse(response));
+
+		return response;
+	}
+
+	private static ResourceSupport createResource(String href) {
+
+		ResourceSupport resource = new ResourceSupport();
+		resource.add(new Link(href));
+
+		return resource;
+	}
+
+	static class VersionedPerson extends ResourceSupport implements VersionedResource {
+
+		final Long version;
+		int rendered;
+
+		public VersionedPerson(Long version) {
+			this.version = version;
+		}
+
+		@JsonProperty
+		public String getName() {
+
+			rendered++;
+			return "Dave";
+		}
+
+		@Override
+		public Object getResourceVersion() {
+			return version;
+		}
+	}
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.hateoas.mvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.Resource;
+import org.springframework.hateoas.Resources;
+import org.springframework.hateoas.StreamingResources;
+import org.springframework.hateoas.core.AnnotationRelProvider;
+import org.springframework.hateoas.hal.Jackson2HalModule;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit tests for {@link HalNdjsonHttpMessageConverter}.
+ * 
+ * @author agent
+ */
+public class HalNdjsonHttpMessageConverterUnitTest {
+
+	static final Link LINK = new Link("http://localhost/people?page=1", Link.REL_NEXT);
+
+	HalNdjsonHttpMessageConverter converter;
+	MockHttpOutputMessage message;
+
+	@Before
+	public void setUp() {
+
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.registerModule(new Jackson2HalModule());
+		mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(new AnnotationRelProvider(), null));
+
+		this.converter = new HalNdjsonHttpMessageConverter(mapper);
+		this.message = new MockHttpOutputMessage();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNullObjectMapper() {
+		new HalNdjsonHttpMessageConverter(null);
+	}
+
+	@Test
+	public void writesCollectionResourcesOnly() {
+
+		assertThat(converter.canWrite(Resources.class, MediaTypes.HAL_NDJSON), is(true));
+		assertThat(converter.canWrite(StreamingResources.class, MediaTypes.HAL_NDJSON), is(true));
+		assertThat(converter.canWrite(Resource.class, MediaTypes.HAL_NDJSON), is(false));
+		assertThat(converter.canWrite(Resources.class, MediaTypes.HAL_JSON), is(false));
+		assertThat(converter.canRead(Resources.class, MediaTypes.HAL_NDJSON), is(false));
+	}
+
+	@Test
+	public void writesOneDocumentPerLine() throws Exception {
+
+		converter.write(new Resources<Resource<Person>>(createPeople(3)), MediaTypes.HAL_NDJSON, message);
+
+		String[] lines = message.getBodyAsString().split("\n");
+
+		assertThat(lines.length, is(3));
+		assertThat(lines[0], is("{\"name\":\"Dave0\",\"_links\":{\"self\":{\"href\":\"http://localhost/people/0\"}}}"));
+		assertThat(lines[2], is("{\"name\":\"Dave2\",\"_links\":{\"self\":{\"href\":\"http://localhost/people/2\"}}}"));
+		assertThat(message.getBodyAsString(), endsWith("\n"));
+	}
+
+	@Test
+	public void writesStreamingResources() throws Exception {
+
+		StreamingResources<Resource<Person>> resources = new StreamingResources<Resource<Person>>(createPeople(
+				HalNdjsonHttpMessageConverter.FLUSH_INTERVAL + 1).iterator());
+
+		converter.write(resources, MediaTypes.HAL_NDJSON, message);
+
+		assertThat(message.getBodyAsString().split("\n").length, is(HalNdjsonHttpMessageConverter.FLUSH_INTERVAL + 1));
+	}
+
+	@Test
+	public void writesEmptyBodyForEmptyContent() throws Exception {
+
+		converter.write(new Resources<Object>(new ArrayList<Object>()), MediaTypes.HAL_NDJSON, message);
+
+		assertThat(message.getBodyAsString(), is(""));
+	}
+
+	@Test
+	public void doesNotCloseBodyAfterWriting() throws Exception {
+
+		final AtomicBoolean closed = new AtomicBoolean();
+		final ByteArrayOutputStream body = new ByteArrayOutputStream() {
+
+			@Override
+			public void close() {
+				closed.set(true);
+			}
+		};
+
+		final HttpHeaders headers = new HttpHeaders();
+
+		converter.write(new Resources<Resource<Person>>(createPeople(1)), MediaTypes.HAL_NDJSON, new HttpOutputMessage() {
+
+			@Override
+			public HttpHeaders getHeaders() {
+				return headers;
+			}
+
+			@Override
+			public OutputStream getBody() {
+				return body;
+			}
+		});
+
+		assertThat(closed.get(), is(false));
+		assertThat(body.toString("UTF-8"), endsWith("}\n"));
+	}
+
+	@Test
+	public void exposesLinksAsHeader() throws Exception {
+
+		converter.write(new Resources<Resource<Person>>(createPeople(1), LINK), MediaTypes.HAL_NDJSON, message);
+
+		List<String> header = message.getHeaders().get("Link");
+
+		assertThat(header, hasSize(1));
+		assertThat(Link.valueOf(header.get(0)), is(LINK));
+		assertThat(message.getBodyAsString(), not(containsString(LINK.getHref())));
+	}
+
+	@Test
+	public void doesNotDuplicateLinksAlreadyMovedToHeader() throws Exception {
+
+		Resources<Resource<Person>> resources = new Resources<Resource<Person>>(createPeople(1), LINK);
+		ResponseEntity<Resources<Resource<Person>>> entity = HeaderLinksResponseEntity
+				.wrap(new ResponseEntity<Resources<Resource<Person>>>(resources, HttpStatus.OK));
+
+		converter.write(entity.getBody(), MediaTypes.HAL_NDJSON, message);
+
+		assertThat(message.getHeaders().get("Link"), is(nullValue()));
+		assertThat(entity.getHeaders().get("Link"), hasSize(1));
+	}
+
+	static List<Resource<Person>> createPeople(int count) {
+
+		List<Resource<Person>> people = new ArrayList<Resource<Person>>(count);
+
+		for (int i = 0; i < count; i++) {
+			people.add(new Resource<Person>(new Person("Dave" + i), Arrays.asList(new Link("http://localhost/people/" + i))));
+		}
+
+		return people;
+	}
+
+	public static class Person {
+
+		private String name;
+
+		Person() {}
+
+		public Person(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+}
@@ -29,13 +29,18 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.CursorResources;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.Resource;
 import org.springframework.hateoas.Resources;
+import org.springframework.hateoas.SlicedResources;
+import org.springframework.hateoas.SlicedResources.SliceMetadata;
 import org.springframework.hateoas.config.EnableHypermediaSupport;
 import org.springframework.hateoas.config.EnableHypermediaSupport.HypermediaType;
+import org.springframework.hateoas.mvc.TypeReferences.CursorResourcesType;
 import org.springframework.hateoas.mvc.TypeReferences.ResourceType;
 import org.springframework.hateoas.mvc.TypeReferences.ResourcesType;
+import org.springframework.hateoas.mvc.TypeReferences.SlicedResourcesType;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ContextConfiguration;
@@ -56,6 +61,12 @@ public class TypeReferencesIntegrationTests {
 	private static final String RESOURCE = String.format("{ \"_links\" : { \"self\" : \"/resource\" }, %s }", USER);
 	private static final String RESOURCES_OF_USER = String.format(
 			"{ \"_links\" : { \"self\" : \"/resources\" }, \"_embedded\" : { \"users\" : [ { %s } ] }}", USER);
+	private static final String SLICED_RESOURCES_OF_USER = String.format("{ \"_links\" : { \"next\" : "
+			+ "\"/resources?page=1\" }, \"_embedded\" : { \"users\" : [ { %s } ] }, \"slice\" : { \"size\" : 1, "
+			+ "\"number\" : 0, \"hasNext\" : true } }", USER);
+	private static final String CURSOR_RESOURCES_OF_USER = String.format("{ \"_links\" : { \"next\" : "
+			+ "\"/resources?cursor=abc\" }, \"_embedded\" : { \"users\" : [ { %s } ] }, \"slice\" : { \"size\" : 1, "
+			+ "\"hasNext\" : true, \"hasPrevious\" : false } }", USER);
 	private static final String RESOURCES_OF_RESOURCE = String.format(
 			"{ \"_links\" : { \"self\" : \"/resources\" }, \"_embedded\" : { \"users\" : [ %s ] }}", RESOURCE);
 
@@ -130,6 +141,37 @@ public class TypeReferencesIntegrationTests {
 		assertExpectedUserResource(nested.iterator().next());
 	}
 
+	@Test
+	public void usesSlicedResourcesTypeReference() {
+
+		server.expect(requestTo("/resources")).andRespond(withSuccess(SLICED_RESOURCES_OF_USER, MediaTypes.HAL_JSON));
+
+		ResponseEntity<SlicedResources<User>> response = template.exchange("/resources", HttpMethod.GET, null,
+				new SlicedResourcesType<User>() {});
+		SlicedResources<User> body = response.getBody();
+
+		assertThat(body.getNextLink().getHref(), is("/resources?page=1"));
+		assertThat(body.getMetadata(), is(new SliceMetadata(1, 0, true)));
+		assertThat(body.getContent(), hasSize(1));
+		assertExpectedUser(body.getContent().iterator().next());
+	}
+
+	@Test
+	public void usesCursorResourcesTypeReference() {
+
+		server.expect(requestTo("/resources")).andRespond(withSuccess(CURSOR_RESOURCES_OF_USER, MediaTypes.HAL_JSON));
+
+		ResponseEntity<CursorResources<User>> response = template.exchange("/resources", HttpMethod.GET, null,
+				new CursorResourcesType<User>() {});
+		CursorResources<User> body = response.getBody();
+
+		assertThat(body.getNextLink().getHref(), is("/resources?cursor=abc"));
+		assertThat(body.getMetadata().hasNext(), is(true));
+		assertThat(body.getMetadata().hasPrevious(), is(false));
+		assertThat(body.getContent(), hasSize(1));
+		assertExpectedUser(body.getContent().iterator().next());
+	}
+
 	private static void assertExpectedUserResource(Resource<User> user) {
 
 		assertThat(user.hasLink("self"), is(true));